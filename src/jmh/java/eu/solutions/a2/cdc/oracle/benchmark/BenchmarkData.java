@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.benchmark;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import eu.solutions.a2.cdc.oracle.OraCdcLogMinerStatement;
+import eu.solutions.a2.cdc.oracle.OraCdcTestFixtures;
+import eu.solutions.a2.cdc.oracle.OraDumpDecoder;
+import eu.solutions.a2.cdc.oracle.OraLogMiner;
+import eu.solutions.a2.cdc.oracle.OraTable4LogMiner;
+
+/**
+ * 
+ * Table definition and redo records shared by benchmarks
+ * 
+ * @author averemee
+ *
+ */
+public class BenchmarkData {
+
+	// 10, 1000, SQRT(3)
+	static final String NUMBER_10 = "c10b";
+	static final String NUMBER_1000 = "c20b";
+	static final String NUMBER_SQRT3 = "c1024a153351";
+	// DATE '2020-02-04 13:59:23'
+	static final String DATE = "787802040e3c18";
+	static final String VARCHAR_SALES = "53414c4553";
+	static final String VARCHAR_BOSTON = "424f53544f4e";
+	static final String VARCHAR_GREEK = "cea3ceb1cf8220ceb5cf85cf87ceb1cf81ceb9cf83cf84cf8e";
+
+	static final String INSERT =
+			"insert into \"SCOTT\".\"DEPT\"(\"DEPTNO\",\"DNAME\",\"LOC\",\"BUDGET\",\"RATIO\",\"CREATED\") values ('" +
+			NUMBER_10 + "','" + VARCHAR_SALES + "','" + VARCHAR_BOSTON + "','" + NUMBER_1000 + "','" +
+			NUMBER_SQRT3 + "',TO_DATE('" + DATE + "'));";
+	static final String UPDATE =
+			"update \"SCOTT\".\"DEPT\" set \"DNAME\" = '" + VARCHAR_GREEK + "', \"BUDGET\" = '" + NUMBER_10 +
+			"' where \"DEPTNO\" = '" + NUMBER_10 + "' and \"DNAME\" = '" + VARCHAR_SALES + "' and \"LOC\" = '" +
+			VARCHAR_BOSTON + "' and \"BUDGET\" = '" + NUMBER_1000 + "' and ROWID = 'AAAWbzAAEAAAB6FAAA';";
+	static final String DELETE =
+			"delete from \"SCOTT\".\"DEPT\" where \"DEPTNO\" = '" + NUMBER_10 + "' and \"DNAME\" = '" +
+			VARCHAR_SALES + "' and \"LOC\" = '" + VARCHAR_BOSTON + "' and \"BUDGET\" = '" + NUMBER_1000 +
+			"' and ROWID = 'AAAWbzAAEAAAB6FAAA';";
+
+	static OraDumpDecoder decoder() {
+		return new OraDumpDecoder("AL32UTF8", "AL16UTF16");
+	}
+
+	static OraTable4LogMiner table() {
+		return OraCdcTestFixtures.table("SCOTT", "DEPT",
+				OraCdcTestFixtures.column("DEPTNO", Types.INTEGER, true, false),
+				OraCdcTestFixtures.column("DNAME", Types.VARCHAR, false, true),
+				OraCdcTestFixtures.column("LOC", Types.VARCHAR, false, true),
+				OraCdcTestFixtures.column("BUDGET", Types.INTEGER, false, false),
+				OraCdcTestFixtures.column("RATIO", Types.NUMERIC, false, true),
+				OraCdcTestFixtures.column("CREATED", Types.TIMESTAMP, false, true));
+	}
+
+	static OraCdcLogMinerStatement statement(final short operation, final String sqlRedo, final long scn) {
+		return new OraCdcLogMinerStatement(
+				74590, operation, sqlRedo, System.currentTimeMillis(), scn,
+				" 0x000098.000001b5.0010 ", 7, "AAAWbzAAEAAAB6FAAA");
+	}
+
+	static OraCdcLogMinerStatement insert(final long scn) {
+		return statement(OraLogMiner.V$LOGMNR_CONTENTS_INSERT, INSERT, scn);
+	}
+
+	/**
+	 * 
+	 * @return values of INSERT in order of table columns as received by sink connector
+	 * @throws SQLException
+	 */
+	static Object[] sinkValues() throws SQLException {
+		return new Object[] {
+				OraDumpDecoder.toInt(NUMBER_10),
+				decoder().fromVarchar2(VARCHAR_SALES),
+				decoder().fromVarchar2(VARCHAR_BOSTON),
+				OraDumpDecoder.toInt(NUMBER_1000),
+				ByteBuffer.wrap(OraDumpDecoder.toByteArray(NUMBER_SQRT3)),
+				OraDumpDecoder.toTimestamp(DATE)
+		};
+	}
+
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.solutions.a2.cdc.oracle.utils.GzipUtil;
+
+/**
+ * 
+ * GzipUtil compress and decompress of SQL_REDO text
+ * 
+ * @author averemee
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GzipUtilBenchmark {
+
+	@Param({"1", "16"})
+	public int redoCount;
+
+	private String sqlRedo;
+	private byte[] compressed;
+
+	@Setup
+	public void setup() {
+		final StringBuilder sb = new StringBuilder(redoCount * BenchmarkData.INSERT.length());
+		for (int i = 0; i < redoCount; i++) {
+			sb.append(BenchmarkData.INSERT);
+		}
+		sqlRedo = sb.toString();
+		compressed = GzipUtil.compress(sqlRedo);
+	}
+
+	@Benchmark
+	public byte[] compress() {
+		return GzipUtil.compress(sqlRedo);
+	}
+
+	@Benchmark
+	public String decompress() {
+		return GzipUtil.decompress(compressed);
+	}
+
+}
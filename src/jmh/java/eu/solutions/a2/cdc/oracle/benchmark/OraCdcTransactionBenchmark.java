@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.benchmark;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.solutions.a2.cdc.oracle.OraCdcLogMinerStatement;
+import eu.solutions.a2.cdc.oracle.OraCdcTransaction;
+
+/**
+ * 
+ * OraCdcTransaction (Chronicle Queue) append and read throughput
+ * 
+ * @author averemee
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OraCdcTransactionBenchmark {
+
+	static final int READ_BATCH = 10_000;
+
+	private static Path queuesRoot() {
+		return FileSystems.getDefault().getPath(System.getProperty("java.io.tmpdir"));
+	}
+
+	@State(Scope.Thread)
+	public static class AppendState {
+		OraCdcTransaction transaction;
+		OraCdcLogMinerStatement statement;
+
+		@Setup(Level.Iteration)
+		public void setup() throws IOException {
+			statement = BenchmarkData.insert(275168436063L);
+			transaction = new OraCdcTransaction(queuesRoot(), "0000270016000100", statement);
+		}
+
+		@TearDown(Level.Iteration)
+		public void tearDown() {
+			transaction.close();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ReadState {
+		OraCdcTransaction transaction;
+		final OraCdcLogMinerStatement statement = new OraCdcLogMinerStatement();
+
+		@Setup(Level.Invocation)
+		public void setup() throws IOException {
+			final OraCdcLogMinerStatement insert = BenchmarkData.insert(275168436063L);
+			transaction = new OraCdcTransaction(queuesRoot(), "0000270016000200", insert);
+			for (int i = 1; i < READ_BATCH; i++) {
+				transaction.addStatement(insert);
+			}
+		}
+
+		@TearDown(Level.Invocation)
+		public void tearDown() {
+			transaction.close();
+		}
+	}
+
+	@Benchmark
+	public void append(final AppendState state) {
+		state.transaction.addStatement(state.statement);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(READ_BATCH)
+	public int read(final ReadState state) {
+		int count = 0;
+		while (state.transaction.getStatement(state.statement)) {
+			count++;
+		}
+		return count;
+	}
+
+}
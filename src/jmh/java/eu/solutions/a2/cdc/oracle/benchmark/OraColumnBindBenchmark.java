@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.benchmark;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.solutions.a2.cdc.oracle.OraCdcJdbcSinkConnectionPool;
+import eu.solutions.a2.cdc.oracle.OraColumn;
+
+/**
+ * 
+ * OraColumn.bindWithPrepStmt for one row, JDBC driver cost excluded
+ * 
+ * @author averemee
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OraColumnBindBenchmark {
+
+	@Param({"" + OraCdcJdbcSinkConnectionPool.DB_TYPE_ORACLE, "" + OraCdcJdbcSinkConnectionPool.DB_TYPE_POSTGRESQL})
+	public int dbType;
+
+	private List<OraColumn> columns;
+	private Object[] values;
+	private PreparedStatement statement;
+
+	@Setup
+	public void setup() throws SQLException {
+		columns = BenchmarkData.table().getAllColumns();
+		values = BenchmarkData.sinkValues();
+		statement = new NoopPreparedStatement();
+	}
+
+	@Benchmark
+	public void bindRow() throws SQLException {
+		for (int i = 0; i < values.length; i++) {
+			columns.get(i).bindWithPrepStmt(dbType, statement, i + 1, values[i]);
+		}
+	}
+
+}
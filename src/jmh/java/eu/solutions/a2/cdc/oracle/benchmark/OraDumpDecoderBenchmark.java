@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.solutions.a2.cdc.oracle.OraDumpDecoder;
+
+/**
+ * 
+ * OraDumpDecoder NUMBER, DATE and VARCHAR2 decoding
+ * 
+ * @author averemee
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OraDumpDecoderBenchmark {
+
+	private final OraDumpDecoder odd = BenchmarkData.decoder();
+
+	@Benchmark
+	public int numberToInt() throws SQLException {
+		return OraDumpDecoder.toInt(BenchmarkData.NUMBER_1000);
+	}
+
+	@Benchmark
+	public double numberToDouble() throws SQLException {
+		return OraDumpDecoder.toDouble(BenchmarkData.NUMBER_SQRT3);
+	}
+
+	@Benchmark
+	public BigDecimal numberToBigDecimal() throws SQLException {
+		return OraDumpDecoder.toBigDecimal(BenchmarkData.NUMBER_SQRT3);
+	}
+
+	@Benchmark
+	public Timestamp dateToTimestamp() throws SQLException {
+		return OraDumpDecoder.toTimestamp(BenchmarkData.DATE);
+	}
+
+	@Benchmark
+	public String varchar2Ascii() throws SQLException {
+		return odd.fromVarchar2(BenchmarkData.VARCHAR_BOSTON);
+	}
+
+	@Benchmark
+	public String varchar2Multibyte() throws SQLException {
+		return odd.fromVarchar2(BenchmarkData.VARCHAR_GREEK);
+	}
+
+}
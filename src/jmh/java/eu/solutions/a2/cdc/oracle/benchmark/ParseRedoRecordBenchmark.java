@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.benchmark;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.solutions.a2.cdc.oracle.OraCdcLogMinerStatement;
+import eu.solutions.a2.cdc.oracle.OraCdcSourceQueryProfile;
+import eu.solutions.a2.cdc.oracle.OraLogMiner;
+import eu.solutions.a2.cdc.oracle.OraTable4LogMiner;
+
+/**
+ * 
+ * OraTable4LogMiner.parseRedoRecord for INSERT, UPDATE and DELETE
+ * 
+ * @author averemee
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseRedoRecordBenchmark {
+
+	private OraTable4LogMiner table;
+	private OraCdcLogMinerStatement insert;
+	private OraCdcLogMinerStatement update;
+	private OraCdcLogMinerStatement delete;
+
+	@Setup
+	public void setup() {
+		table = BenchmarkData.table();
+		insert = BenchmarkData.insert(275168436063L);
+		update = BenchmarkData.statement(
+				OraLogMiner.V$LOGMNR_CONTENTS_UPDATE, BenchmarkData.UPDATE, 275168436064L);
+		delete = BenchmarkData.statement(
+				OraLogMiner.V$LOGMNR_CONTENTS_DELETE, BenchmarkData.DELETE, 275168436065L);
+	}
+
+	@Benchmark
+	public SourceRecord insert() throws SQLException {
+		return table.parseRedoRecord(insert, null);
+	}
+
+	@Benchmark
+	public SourceRecord update() throws SQLException {
+		return table.parseRedoRecord(update, null);
+	}
+
+	@Benchmark
+	public SourceRecord updateDelta() throws SQLException {
+		return table.parseRedoRecord(update, null, OraCdcSourceQueryProfile.FULL, true);
+	}
+
+	@Benchmark
+	public SourceRecord delete() throws SQLException {
+		return table.parseRedoRecord(delete, null);
+	}
+
+}
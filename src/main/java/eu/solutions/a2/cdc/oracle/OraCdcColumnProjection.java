@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 
+ * Per table column include/exclude lists (a2.column.include and a2.column.exclude)
+ * Each entry is OWNER.TABLE.COLUMN
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcColumnProjection {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcColumnProjection.class);
+
+	private final Map<String, Set<String>> includes;
+	private final Map<String, Set<String>> excludes;
+
+	/**
+	 * 
+	 * @param includeList  list of OWNER.TABLE.COLUMN to include, other columns of table are skipped
+	 * @param excludeList  list of OWNER.TABLE.COLUMN to exclude
+	 */
+	public OraCdcColumnProjection(final List<String> includeList, final List<String> excludeList) {
+		this.includes = parse(includeList);
+		this.excludes = parse(excludeList);
+		LOGGER.debug("Column projection set for {} table(s) with include list and {} table(s) with exclude list.",
+				includes.size(), excludes.size());
+	}
+
+	/**
+	 * 
+	 * @param owner   table owner
+	 * @param table   table name
+	 * @param column  column name
+	 * @return true if column must be processed
+	 */
+	public boolean isProjected(final String owner, final String table, final String column) {
+		final String tableKey = owner + "." + table;
+		final Set<String> tableIncludes = includes.get(tableKey);
+		if (tableIncludes != null && !tableIncludes.contains(column)) {
+			return false;
+		}
+		final Set<String> tableExcludes = excludes.get(tableKey);
+		return tableExcludes == null || !tableExcludes.contains(column);
+	}
+
+	/**
+	 * 
+	 * @param owner   table owner
+	 * @param table   table name
+	 * @return true if any include or exclude rule is set for table
+	 */
+	public boolean hasRules(final String owner, final String table) {
+		final String tableKey = owner + "." + table;
+		return includes.containsKey(tableKey) || excludes.containsKey(tableKey);
+	}
+
+	/**
+	 * 
+	 * @param entry   list entry
+	 * @return true when entry is in OWNER.TABLE.COLUMN format
+	 */
+	public static boolean isValidEntry(final String entry) {
+		return StringUtils.countMatches(StringUtils.trim(entry), '.') == 2 &&
+				!StringUtils.startsWith(StringUtils.trim(entry), ".") &&
+				!StringUtils.endsWith(StringUtils.trim(entry), ".") &&
+				!StringUtils.contains(entry, "..");
+	}
+
+	private static Map<String, Set<String>> parse(final List<String> list) {
+		if (list == null || list.size() == 0) {
+			return Collections.emptyMap();
+		}
+		final Map<String, Set<String>> result = new HashMap<>();
+		for (String entry : list) {
+			if (StringUtils.isBlank(entry)) {
+				continue;
+			}
+			if (!isValidEntry(entry)) {
+				throw new ConnectException("Invalid column projection entry '" + entry +
+						"', must be OWNER.TABLE.COLUMN!");
+			}
+			final String upperEntry = StringUtils.upperCase(StringUtils.trim(entry));
+			final int lastDot = StringUtils.lastIndexOf(upperEntry, '.');
+			result
+				.computeIfAbsent(StringUtils.substring(upperEntry, 0, lastDot), k -> new HashSet<>())
+				.add(StringUtils.substring(upperEntry, lastDot + 1));
+		}
+		return result;
+	}
+
+}
@@ -45,7 +45,7 @@ public class OraCdcInitialLoadThread extends Thread {
 	private final OraCdcInitialLoad metrics;
 	private final CountDownLatch runLatch;
 	private final Map<Long, OraTable4LogMiner> tablesInProcessing;
-	private final Path queuesRoot;
+	private final OraCdcSpillRoots queuesRoot;
 	private final BlockingQueue<OraTable4InitialLoad> tablesQueue;
 	private final AtomicBoolean running;
 	private final int selectThreadCount;
@@ -54,7 +54,7 @@ public class OraCdcInitialLoadThread extends Thread {
 			final int waitInterval,
 			final long asOfScn,
 			final Map<Long, OraTable4LogMiner> tablesInProcessing,
-			final Path queuesRoot,
+			final OraCdcSpillRoots queuesRoot,
 			final OraRdbmsInfo rdbmsInfo,
 			final OraCdcInitialLoad metrics,
 			final BlockingQueue<OraTable4InitialLoad> tablesQueue) throws SQLException {
@@ -87,8 +87,11 @@ public class OraCdcInitialLoadThread extends Thread {
 				TimeUnit.MILLISECONDS, workQueue, new ThreadPoolExecutor.AbortPolicy());
 			tablesInProcessing.forEach((k, oraTable) -> {
 				try {
+					final Path spillRoot = queuesRoot.next();
+					final long createStart = System.nanoTime();
 					final OraTable4InitialLoad table4Load =
-						new OraTable4InitialLoad(queuesRoot, oraTable, metrics);
+						new OraTable4InitialLoad(spillRoot, oraTable, metrics);
+					queuesRoot.addQueueCreated(spillRoot, System.nanoTime() - createStart);
 					threadPool.submit(() -> {
 						table4Load.readTableData(asOfScn, runLatch, tablesQueue);
 					});
@@ -14,6 +14,7 @@
 package eu.solutions.a2.cdc.oracle;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,7 +56,9 @@ public class OraCdcJdbcSinkConnector extends SinkConnector {
 	public List<Map<String, String>> taskConfigs(int maxTasks) {
 		final List<Map<String, String>> configs = new ArrayList<>(maxTasks);
 		for (int i = 0; i < maxTasks; i++) {
-			configs.add(props);
+			final Map<String, String> taskProps = new HashMap<>(props);
+			taskProps.put(OraCdcJdbcSinkConnectorConfig.TASK_PARAM_ID, Integer.toString(i));
+			configs.add(taskProps);
 		}
 		return configs;
 	}
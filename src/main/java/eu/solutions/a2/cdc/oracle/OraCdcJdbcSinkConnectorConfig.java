@@ -30,6 +30,8 @@ public class OraCdcJdbcSinkConnectorConfig extends AbstractConfig {
 	private static final String AUTO_CREATE_DOC = "Automatically create the destination table if missed";
 	public static final String AUTO_CREATE_DEFAULT = "false";
 
+	public static final String TASK_PARAM_ID = "task.id";
+
 	public static ConfigDef config() {
 		return new ConfigDef()
 				.define(ParamConstants.CONNECTION_URL_PARAM, Type.STRING,
@@ -46,7 +48,11 @@ public class OraCdcJdbcSinkConnectorConfig extends AbstractConfig {
 						ConfigDef.ValidString.in(ParamConstants.SCHEMA_TYPE_KAFKA, ParamConstants.SCHEMA_TYPE_DEBEZIUM),
 						Importance.HIGH, ParamConstants.SCHEMA_TYPE_DOC)
 				.define(AUTO_CREATE_PARAM, Type.BOOLEAN, AUTO_CREATE_DEFAULT,
-						Importance.HIGH, AUTO_CREATE_DOC);
+						Importance.HIGH, AUTO_CREATE_DOC)
+				.define(ParamConstants.METRICS_HTTP_PORT_PARAM, Type.INT,
+						ParamConstants.METRICS_HTTP_PORT_DEFAULT,
+						ConfigDef.Range.between(0, 65535),
+						Importance.LOW, ParamConstants.METRICS_HTTP_PORT_DOC);
 	}
 
 	public OraCdcJdbcSinkConnectorConfig(Map<?, ?> originals) {
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
@@ -30,6 +31,8 @@ import org.apache.kafka.connect.sink.SinkTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcMetricsHttpServer;
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcMetricsSource;
 import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
 import eu.solutions.a2.cdc.oracle.utils.Version;
 
@@ -42,12 +45,13 @@ public class OraCdcJdbcSinkTask extends SinkTask {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcJdbcSinkTask.class);
 
-	private final Map<String, OraTable4SinkConnector> tablesInProcessing = new HashMap<>();
+	private final Map<String, OraTable4SinkConnector> tablesInProcessing = new ConcurrentHashMap<>();
 	private OraCdcJdbcSinkConnectorConfig config;
 	private int batchSize = 1000;
 	private boolean autoCreateTable = false;
 	private int schemaType;
 	private OraCdcJdbcSinkConnectionPool sinkPool;
+	private OraCdcMetricsSource metricsSource;
 
 	@Override
 	public String version() {
@@ -83,6 +87,14 @@ public class OraCdcJdbcSinkTask extends SinkTask {
 			schemaType = ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM;
 		else
 			schemaType = ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD;
+		final int metricsHttpPort = config.getInt(ParamConstants.METRICS_HTTP_PORT_PARAM);
+		if (metricsHttpPort > 0) {
+			final String connectorName = props.get("name");
+			final String taskId = props.getOrDefault(OraCdcJdbcSinkConnectorConfig.TASK_PARAM_ID, "0");
+			metricsSource = writer -> tablesInProcessing.forEach(
+					(tableName, oraTable) -> oraTable.getMetrics().collectMetrics(writer, connectorName, taskId));
+			OraCdcMetricsHttpServer.register(metricsHttpPort, metricsSource);
+		}
 	}
 
 	@Override
@@ -145,6 +157,10 @@ public class OraCdcJdbcSinkTask extends SinkTask {
 
 	@Override
 	public void stop() {
+		if (metricsSource != null) {
+			OraCdcMetricsHttpServer.unregister(metricsSource);
+			metricsSource = null;
+		}
 		sinkPool = null;
 	}
 
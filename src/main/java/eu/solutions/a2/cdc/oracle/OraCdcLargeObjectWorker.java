@@ -22,6 +22,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcJfr;
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcLobReadEvent;
 import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
 import eu.solutions.a2.cdc.oracle.utils.GzipUtil;
 import oracle.jdbc.OraclePreparedStatement;
@@ -63,6 +65,10 @@ public class OraCdcLargeObjectWorker {
 			final NUMBER srcConId) throws SQLException {
 
 		final long processingStartMillis = System.currentTimeMillis();
+		final OraCdcLobReadEvent jfrEvent = OraCdcJfr.AVAILABLE ? new OraCdcLobReadEvent() : null;
+		if (jfrEvent != null) {
+			jfrEvent.begin();
+		}
 		if (LOGGER.isDebugEnabled()) {
 			if (isCdb) {
 				LOGGER.debug("readLobData started for SCN={}, RS_ID='{}', XID='{}', DATA_OBJ#={}, Parent OP RS_ID='{}', CON_ID={} for LOB column {} (OBJECT_ID={})",
@@ -232,6 +238,14 @@ public class OraCdcLargeObjectWorker {
 						oraColumn.getColumnName(), xid, (System.currentTimeMillis() - processingStartMillis), ba.length);
 			}
 		}
+		if (jfrEvent != null && jfrEvent.shouldCommit()) {
+			jfrEvent.xid = xid;
+			jfrEvent.scn = scn;
+			jfrEvent.dataObjectId = dataObjectId;
+			jfrEvent.column = oraColumn.getColumnName();
+			jfrEvent.bytes = ba == null ? 0 : ba.length;
+			jfrEvent.commit();
+		}
 		return new OraCdcLargeObjectHolder(oraColumn.getLobObjectId(), ba);
 	}
 
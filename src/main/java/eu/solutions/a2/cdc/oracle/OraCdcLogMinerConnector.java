@@ -61,74 +61,82 @@ public class OraCdcLogMinerConnector extends SourceConnector {
 		LOGGER.info("Starting oracdc '{}' logminer source connector", connectorName);
 		config = new OraCdcSourceConnectorConfig(props);
 
-		// Initialize connection pool
-		try {
-			if (!"".equals(config.getString(ParamConstants.CONNECTION_URL_PARAM))) {
-				LOGGER.trace("Connecting to Oracle RDBMS using JDBC URL, username, and password.");
-				OraPoolConnectionFactory.init(
-					config.getString(ParamConstants.CONNECTION_URL_PARAM),
-					config.getString(ParamConstants.CONNECTION_USER_PARAM),
-					config.getString(ParamConstants.CONNECTION_PASSWORD_PARAM));
-			} else if (!"".equals(config.getString(ParamConstants.CONNECTION_WALLET_PARAM))) {
-				LOGGER.trace("Connecting to Oracle RDBMS using Oracle Wallet");
-				OraPoolConnectionFactory.init4Wallet(
-						config.getString(ParamConstants.CONNECTION_WALLET_PARAM),
-						config.getString(ParamConstants.CONNECTION_TNS_ADMIN_PARAM),
-						config.getString(ParamConstants.CONNECTION_TNS_ALIAS_PARAM));
-			} else {
+		final String replayFileName = config.getString(ParamConstants.LGMNR_REPLAY_FILE_PARAM);
+		final boolean replay = StringUtils.isNotBlank(replayFileName);
+		if (replay) {
+			LOGGER.info("LogMiner recording {} will be replayed without database connection.", replayFileName);
+		} else {
+			// Initialize connection pool
+			try {
+				if (!"".equals(config.getString(ParamConstants.CONNECTION_URL_PARAM))) {
+					LOGGER.trace("Connecting to Oracle RDBMS using JDBC URL, username, and password.");
+					OraPoolConnectionFactory.init(
+						config.getString(ParamConstants.CONNECTION_URL_PARAM),
+						config.getString(ParamConstants.CONNECTION_USER_PARAM),
+						config.getString(ParamConstants.CONNECTION_PASSWORD_PARAM));
+				} else if (!"".equals(config.getString(ParamConstants.CONNECTION_WALLET_PARAM))) {
+					LOGGER.trace("Connecting to Oracle RDBMS using Oracle Wallet");
+					OraPoolConnectionFactory.init4Wallet(
+							config.getString(ParamConstants.CONNECTION_WALLET_PARAM),
+							config.getString(ParamConstants.CONNECTION_TNS_ADMIN_PARAM),
+							config.getString(ParamConstants.CONNECTION_TNS_ALIAS_PARAM));
+				} else {
+					validConfig = false;
+					LOGGER.error("Database connection parameters are not properly set\n. Both {}, and {} are not set",
+							ParamConstants.CONNECTION_URL_PARAM,
+							ParamConstants.CONNECTION_WALLET_PARAM);
+					throw new ConnectException("Database connection parameters are not properly set!");
+				}
+				LOGGER.trace("Oracle UCP successfully created.");
+			} catch (SQLException e) {
 				validConfig = false;
-				LOGGER.error("Database connection parameters are not properly set\n. Both {}, and {} are not set",
-						ParamConstants.CONNECTION_URL_PARAM,
-						ParamConstants.CONNECTION_WALLET_PARAM);
-				throw new ConnectException("Database connection parameters are not properly set!");
+				LOGGER.error("Unable to initialize database connection.");
+				LOGGER.error(ExceptionUtils.getExceptionStackTrace(e));
+				LOGGER.error("{} will not run!", OraCdcLogMinerConnector.class.getCanonicalName());
 			}
-			LOGGER.trace("Oracle UCP successfully created.");
-		} catch (SQLException e) {
-			validConfig = false;
-			LOGGER.error("Unable to initialize database connection.");
-			LOGGER.error(ExceptionUtils.getExceptionStackTrace(e));
-			LOGGER.error("{} will not run!", OraCdcLogMinerConnector.class.getCanonicalName());
 		}
 
 		if (validConfig) {
-			try (Connection connection = OraPoolConnectionFactory.getConnection()) {
-				OraRdbmsInfo rdbmsInfo = new OraRdbmsInfo(connection);
-				LOGGER.info("Connected to $ORACLE_SID={}, version={}, running on {}, OS {}.",
-						rdbmsInfo.getInstanceName(), rdbmsInfo.getVersionString(), rdbmsInfo.getHostName(), rdbmsInfo.getPlatformName());
+			if (!replay) {
+				try (Connection connection = OraPoolConnectionFactory.getConnection()) {
+					OraRdbmsInfo rdbmsInfo = new OraRdbmsInfo(connection);
+					LOGGER.info("Connected to $ORACLE_SID={}, version={}, running on {}, OS {}.",
+							rdbmsInfo.getInstanceName(), rdbmsInfo.getVersionString(), rdbmsInfo.getHostName(), rdbmsInfo.getPlatformName());
 
-				if (rdbmsInfo.isCdb() && !rdbmsInfo.isCdbRoot()) {
-					validConfig = false;
-					throw new SQLException("Must connected to CDB$ROOT while using oracdc for mining data using LogMiner!!!");
-				} else {
-					LOGGER.trace("Connected CDB$ROOT, Oracle RDBMS version {}.", rdbmsInfo.getVersionString());
-				}
-
-				if (config.getBoolean(ParamConstants.MAKE_STANDBY_ACTIVE_PARAM)) {
-					if (StringUtils.isAllBlank(ParamConstants.STANDBY_WALLET_PARAM)) {
-						validConfig = false;
-						throw new SQLException("Parameter " + ParamConstants.STANDBY_WALLET_PARAM + " not set!!!");
-					}
-					if (StringUtils.isAllBlank(ParamConstants.STANDBY_TNS_ADMIN_PARAM)) {
-						validConfig = false;
-						throw new SQLException("Parameter " + ParamConstants.STANDBY_TNS_ADMIN_PARAM + " not set!!!");
-					}
-					if (StringUtils.isAllBlank(ParamConstants.STANDBY_TNS_ALIAS_PARAM)) {
+					if (rdbmsInfo.isCdb() && !rdbmsInfo.isCdbRoot()) {
 						validConfig = false;
-						throw new SQLException("Parameter " + ParamConstants.STANDBY_TNS_ALIAS_PARAM + " not set!!!");
+						throw new SQLException("Must connected to CDB$ROOT while using oracdc for mining data using LogMiner!!!");
+					} else {
+						LOGGER.trace("Connected CDB$ROOT, Oracle RDBMS version {}.", rdbmsInfo.getVersionString());
 					}
-					if (validConfig) {
-						OraPoolConnectionFactory.init4Standby(
-							config.getString(ParamConstants.STANDBY_WALLET_PARAM),
-							config.getString(ParamConstants.STANDBY_TNS_ADMIN_PARAM),
-							config.getString(ParamConstants.STANDBY_TNS_ALIAS_PARAM));
-						LOGGER.info("Connection to PHYSICAL STANDBY will be used for LogMiner calls");
+
+					if (config.getBoolean(ParamConstants.MAKE_STANDBY_ACTIVE_PARAM)) {
+						if (StringUtils.isAllBlank(ParamConstants.STANDBY_WALLET_PARAM)) {
+							validConfig = false;
+							throw new SQLException("Parameter " + ParamConstants.STANDBY_WALLET_PARAM + " not set!!!");
+						}
+						if (StringUtils.isAllBlank(ParamConstants.STANDBY_TNS_ADMIN_PARAM)) {
+							validConfig = false;
+							throw new SQLException("Parameter " + ParamConstants.STANDBY_TNS_ADMIN_PARAM + " not set!!!");
+						}
+						if (StringUtils.isAllBlank(ParamConstants.STANDBY_TNS_ALIAS_PARAM)) {
+							validConfig = false;
+							throw new SQLException("Parameter " + ParamConstants.STANDBY_TNS_ALIAS_PARAM + " not set!!!");
+						}
+						if (validConfig) {
+							OraPoolConnectionFactory.init4Standby(
+								config.getString(ParamConstants.STANDBY_WALLET_PARAM),
+								config.getString(ParamConstants.STANDBY_TNS_ADMIN_PARAM),
+								config.getString(ParamConstants.STANDBY_TNS_ALIAS_PARAM));
+							LOGGER.info("Connection to PHYSICAL STANDBY will be used for LogMiner calls");
+						}
 					}
+				} catch (SQLException sqle) {
+					validConfig = false;
+					LOGGER.error("Unable to validate connection information.");
+					LOGGER.error(ExceptionUtils.getExceptionStackTrace(sqle));
+					LOGGER.error("Exiting!");
 				}
-			} catch (SQLException sqle) {
-				validConfig = false;
-				LOGGER.error("Unable to validate connection information.");
-				LOGGER.error(ExceptionUtils.getExceptionStackTrace(sqle));
-				LOGGER.error("Exiting!");
 			}
 
 			final String schemaTypeString = config.getString(ParamConstants.SCHEMA_TYPE_PARAM);
@@ -143,18 +151,37 @@ public class OraCdcLogMinerConnector extends SourceConnector {
 			if ("".equals(tmpdir) || tmpdir == null) {
 				tmpdir = System.getProperty("java.io.tmpdir");
 			}
-			if (Files.isDirectory(Paths.get(tmpdir))) {
-				if (!Files.isWritable(Paths.get(tmpdir))) {
-					LOGGER.error("Parameter {} points to non-writable directory {}.",
-							ParamConstants.TEMP_DIR_PARAM, tmpdir);
-					validConfig = false;
+			for (String dir : OraCdcSpillRoots.parse(tmpdir)) {
+				if (Files.isDirectory(Paths.get(dir))) {
+					if (!Files.isWritable(Paths.get(dir))) {
+						LOGGER.error("Parameter {} points to non-writable directory {}.",
+								ParamConstants.TEMP_DIR_PARAM, dir);
+						validConfig = false;
+					} else {
+						LOGGER.trace("Parameter {} points to valid temp directory {}.",
+								ParamConstants.TEMP_DIR_PARAM, dir);
+					}
 				} else {
-					LOGGER.trace("Parameter {} points to valid temp directory {}.",
-							ParamConstants.TEMP_DIR_PARAM, tmpdir);
+					LOGGER.error("Parameter {} set to non-existent directory {}.",
+							ParamConstants.TEMP_DIR_PARAM, dir);
+					validConfig = false;
 				}
-			} else {
-				LOGGER.error("Parameter {} set to non-existent directory {}.",
-						ParamConstants.TEMP_DIR_PARAM, tmpdir);
+			}
+
+			for (String param : new String[] {ParamConstants.COLUMN_INCLUDE_PARAM, ParamConstants.COLUMN_EXCLUDE_PARAM}) {
+				for (String entry : config.getList(param)) {
+					if (!OraCdcColumnProjection.isValidEntry(entry)) {
+						LOGGER.error("Parameter {} contains invalid entry {}, must be OWNER.TABLE.COLUMN.",
+								param, entry);
+						validConfig = false;
+					}
+				}
+			}
+
+			try {
+				new OraCdcRowFilter(config.getString(ParamConstants.ROW_FILTER_PARAM));
+			} catch (ConnectException ce) {
+				LOGGER.error("Parameter {}: {}", ParamConstants.ROW_FILTER_PARAM, ce.getMessage());
 				validConfig = false;
 			}
 
@@ -228,6 +255,22 @@ public class OraCdcLogMinerConnector extends SourceConnector {
 			taskParam.put(ParamConstants.TABLE_INCLUDE_PARAM,
 					config.originalsStrings().get(ParamConstants.TABLE_INCLUDE_PARAM));
 		}
+		final List<String> columnIncludeList = config.getList(ParamConstants.COLUMN_INCLUDE_PARAM);
+		if (columnIncludeList.size() > 0) {
+			LOGGER.trace("Include column list set.");
+			taskParam.put(ParamConstants.COLUMN_INCLUDE_PARAM,
+					config.originalsStrings().get(ParamConstants.COLUMN_INCLUDE_PARAM));
+		}
+		final List<String> columnExcludeList = config.getList(ParamConstants.COLUMN_EXCLUDE_PARAM);
+		if (columnExcludeList.size() > 0) {
+			LOGGER.trace("Exclude column list set.");
+			taskParam.put(ParamConstants.COLUMN_EXCLUDE_PARAM,
+					config.originalsStrings().get(ParamConstants.COLUMN_EXCLUDE_PARAM));
+		}
+		if (StringUtils.isNotBlank(config.getString(ParamConstants.ROW_FILTER_PARAM))) {
+			taskParam.put(ParamConstants.ROW_FILTER_PARAM,
+					config.getString(ParamConstants.ROW_FILTER_PARAM));
+		}
 		taskParam.put(ParamConstants.TABLE_LIST_STYLE_PARAM,
 				config.getString(ParamConstants.TABLE_LIST_STYLE_PARAM));
 		
@@ -248,6 +291,22 @@ public class OraCdcLogMinerConnector extends SourceConnector {
 			taskParam.put(ParamConstants.LGMNR_START_SCN_PARAM, Long.toString(firstScn));
 		}
 		taskParam.put(ParamConstants.TEMP_DIR_PARAM, tmpdir);
+		taskParam.put(ParamConstants.TEMP_DIR_POLICY_PARAM,
+				config.getString(ParamConstants.TEMP_DIR_POLICY_PARAM));
+		taskParam.put(ParamConstants.TEMP_DIR_POOL_SIZE_PARAM,
+				config.getInt(ParamConstants.TEMP_DIR_POOL_SIZE_PARAM).toString());
+		taskParam.put(ParamConstants.SPILL_COMPRESSION_PARAM,
+				config.getString(ParamConstants.SPILL_COMPRESSION_PARAM));
+		taskParam.put(ParamConstants.SOURCE_QUERY_PARAM,
+				config.getString(ParamConstants.SOURCE_QUERY_PARAM));
+		taskParam.put(ParamConstants.SOURCE_QUERY_LENGTH_PARAM,
+				config.getInt(ParamConstants.SOURCE_QUERY_LENGTH_PARAM).toString());
+		taskParam.put(ParamConstants.UPDATE_MODE_PARAM,
+				config.getString(ParamConstants.UPDATE_MODE_PARAM));
+		taskParam.put(ParamConstants.TABLE_METRICS_IDLE_MS_PARAM,
+				config.getLong(ParamConstants.TABLE_METRICS_IDLE_MS_PARAM).toString());
+		taskParam.put(ParamConstants.METRICS_HTTP_PORT_PARAM,
+				config.getInt(ParamConstants.METRICS_HTTP_PORT_PARAM).toString());
 		taskParam.put(ParamConstants.PERSISTENT_STATE_FILE_PARAM, stateFileName);
 		// Just pass...
 		taskParam.put(ParamConstants.INITIAL_LOAD_PARAM, config.getString(ParamConstants.INITIAL_LOAD_PARAM));
@@ -255,9 +314,52 @@ public class OraCdcLogMinerConnector extends SourceConnector {
 		taskParam.put(ParamConstants.PROCESS_LOBS_PARAM, processLobs.toString());
 		taskParam.put(ParamConstants.CONNECTION_BACKOFF_PARAM, 
 				config.getInt(ParamConstants.CONNECTION_BACKOFF_PARAM).toString());
+		taskParam.put(ParamConstants.HEARTBEAT_INTERVAL_MS_PARAM,
+				config.getInt(ParamConstants.HEARTBEAT_INTERVAL_MS_PARAM).toString());
+		taskParam.put(ParamConstants.HEARTBEAT_TOPIC_PARAM,
+				config.getString(ParamConstants.HEARTBEAT_TOPIC_PARAM));
+
+		final String sharedMiningGroup = config.getString(ParamConstants.SHARED_MINING_GROUP_PARAM);
+		if (StringUtils.isNotBlank(sharedMiningGroup)) {
+			taskParam.put(ParamConstants.SHARED_MINING_GROUP_PARAM, sharedMiningGroup);
+		}
 
-		final List<Map<String, String>> configs = new ArrayList<>(1);
-		configs.add(taskParam);
+		taskParam.put(ParamConstants.MINING_STRATEGY_PARAM,
+				config.getString(ParamConstants.MINING_STRATEGY_PARAM));
+		final Boolean keepLogMinerSession = config.getBoolean(ParamConstants.LGMNR_KEEP_SESSION_PARAM);
+		taskParam.put(ParamConstants.LGMNR_KEEP_SESSION_PARAM, keepLogMinerSession.toString());
+		final String recordFileName = config.getString(ParamConstants.LGMNR_RECORD_FILE_PARAM);
+		if (StringUtils.isNotBlank(recordFileName)) {
+			taskParam.put(ParamConstants.LGMNR_RECORD_FILE_PARAM, recordFileName);
+		}
+		final String replayFileName = config.getString(ParamConstants.LGMNR_REPLAY_FILE_PARAM);
+		if (StringUtils.isNotBlank(replayFileName)) {
+			taskParam.put(ParamConstants.LGMNR_REPLAY_FILE_PARAM, replayFileName);
+		}
+		taskParam.put(ParamConstants.SPILL_HIGH_WATERMARK_PARAM,
+				config.getLong(ParamConstants.SPILL_HIGH_WATERMARK_PARAM).toString());
+		taskParam.put(ParamConstants.SPILL_LOW_WATERMARK_PARAM,
+				config.getLong(ParamConstants.SPILL_LOW_WATERMARK_PARAM).toString());
+		taskParam.put(ParamConstants.COMMITTED_HIGH_WATERMARK_PARAM,
+				config.getInt(ParamConstants.COMMITTED_HIGH_WATERMARK_PARAM).toString());
+		taskParam.put(ParamConstants.COMMITTED_LOW_WATERMARK_PARAM,
+				config.getInt(ParamConstants.COMMITTED_LOW_WATERMARK_PARAM).toString());
+
+		final List<Map<String, String>> configs;
+		if (ParamConstants.TASK_DISTRIBUTION_HASH.equals(config.getString(ParamConstants.TASK_DISTRIBUTION_PARAM)) &&
+				maxTasks > 1) {
+			LOGGER.info("Rows will be distributed between {} tasks using hash of DATA_OBJ#", maxTasks);
+			configs = new ArrayList<>(maxTasks);
+			for (int taskId = 0; taskId < maxTasks; taskId++) {
+				final Map<String, String> hashTaskParam = new HashMap<>(taskParam);
+				hashTaskParam.put(OraCdcSourceConnectorConfig.TASK_PARAM_ID, Integer.toString(taskId));
+				hashTaskParam.put(OraCdcSourceConnectorConfig.TASK_PARAM_COUNT, Integer.toString(maxTasks));
+				configs.add(hashTaskParam);
+			}
+		} else {
+			configs = new ArrayList<>(1);
+			configs.add(taskParam);
+		}
 		LOGGER.trace("END: taskConfigs(int maxTasks)");
 		return configs;
 	}
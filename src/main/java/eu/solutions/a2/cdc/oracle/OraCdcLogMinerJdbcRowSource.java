@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcLogMinerMgmt;
+import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+import oracle.jdbc.OraclePreparedStatement;
+import oracle.jdbc.OracleResultSet;
+import oracle.sql.NUMBER;
+
+/**
+ * 
+ * Reads V$LOGMNR_CONTENTS and data dictionary using JDBC connections
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcLogMinerJdbcRowSource implements OraCdcLogMinerRowSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcLogMinerJdbcRowSource.class);
+
+	private final boolean isCdb;
+	private final boolean processLobs;
+	private final boolean committedSinceWindowStart;
+	private final String mineDataSql;
+	private final OraLogMiner logMiner;
+	private Connection connLogMiner;
+	private PreparedStatement psLogMiner;
+	private OraclePreparedStatement psReadLob;
+	private OracleResultSet rsLogMiner;
+	private final Connection connDictionary;
+	private final PreparedStatement psCheckTable;
+
+	public OraCdcLogMinerJdbcRowSource(
+			final OraCdcLogMinerMgmt metrics,
+			final long firstScn,
+			final String mineDataSql,
+			final String checkTableSql,
+			final Long redoSizeThreshold,
+			final Integer redoFilesCount,
+			final boolean processLobs,
+			final boolean committedDataOnly,
+			final boolean keepLogMinerSession) throws SQLException {
+		this.processLobs = processLobs;
+		// With COMMITTED_DATA_ONLY every window is mined from first SCN of oldest open transaction,
+		// transactions committed before window start are already processed
+		committedSinceWindowStart = committedDataOnly;
+		if (committedSinceWindowStart) {
+			this.mineDataSql = "select * from (\n" + mineDataSql + ") where COMMIT_SCN >= ?";
+		} else {
+			this.mineDataSql = mineDataSql;
+		}
+		connLogMiner = OraPoolConnectionFactory.getLogMinerConnection();
+		connDictionary = OraPoolConnectionFactory.getConnection();
+
+		final OraRdbmsInfo rdbmsInfo = OraRdbmsInfo.getInstance();
+		isCdb = rdbmsInfo.isCdb();
+
+		if (redoSizeThreshold != null) {
+			logMiner = new OraLogMiner(connLogMiner, connDictionary, metrics, firstScn, redoSizeThreshold,
+					committedDataOnly, keepLogMinerSession);
+		} else {
+			logMiner = new OraLogMiner(connLogMiner, connDictionary, metrics, firstScn, redoFilesCount,
+					committedDataOnly, keepLogMinerSession);
+		}
+		if (logMiner.getDbId() == rdbmsInfo.getDbId()) {
+			LOGGER.debug("Database Id for dictionary and mining connections: {}", logMiner.getDbId());
+			if (logMiner.isDictionaryAvailable()) {
+				LOGGER.info("Mining database {} is in OPEN mode", logMiner.getDbUniqueName());
+				if (logMiner.getDbUniqueName().equals(rdbmsInfo.getDbUniqueName())) {
+					LOGGER.info("Same database will be used for dictionary query and mining");
+				} else {
+					LOGGER.info("Active DataGuard database {} will be used for mining", logMiner.getDbUniqueName());
+				}
+			} else {
+				LOGGER.info("Mining database {} is in MOUNT mode", logMiner.getDbUniqueName());
+				LOGGER.info("DataGuard database {} will be used for mining", logMiner.getDbUniqueName());
+			}
+		} else {
+			throw new SQLException("Unable to mine data from databases with different DBID!!!");
+		}
+
+		// Finally - prepare for mining...
+		psLogMiner = connLogMiner.prepareStatement(
+				this.mineDataSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		psCheckTable = connDictionary.prepareStatement(
+				checkTableSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		if (processLobs) {
+			psReadLob = (OraclePreparedStatement) connLogMiner.prepareStatement(
+					isCdb ? OraDictSqlTexts.MINE_LOB_CDB :
+							OraDictSqlTexts.MINE_LOB_NON_CDB,
+					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		}
+	}
+
+	@Override
+	public boolean nextWindow() throws SQLException {
+		return logMiner.next();
+	}
+
+	@Override
+	public void stopWindow() throws SQLException {
+		logMiner.stop();
+		if (rsLogMiner != null) {
+			rsLogMiner.close();
+			rsLogMiner = null;
+		}
+	}
+
+	@Override
+	public boolean next() throws SQLException {
+		if (rsLogMiner == null) {
+			rsLogMiner = executeMineData();
+		}
+		return rsLogMiner.next();
+	}
+
+	@Override
+	public void reopen() throws SQLException {
+		if (rsLogMiner != null) {
+			rsLogMiner.close();
+		}
+		rsLogMiner = executeMineData();
+	}
+
+	private OracleResultSet executeMineData() throws SQLException {
+		if (committedSinceWindowStart) {
+			psLogMiner.setLong(1, logMiner.getWindowFirstChange());
+		}
+		return (OracleResultSet) psLogMiner.executeQuery();
+	}
+
+	@Override
+	public short getShort(final String column) throws SQLException {
+		return rsLogMiner.getShort(column);
+	}
+
+	@Override
+	public int getInt(final String column) throws SQLException {
+		return rsLogMiner.getInt(column);
+	}
+
+	@Override
+	public long getLong(final String column) throws SQLException {
+		return rsLogMiner.getLong(column);
+	}
+
+	@Override
+	public boolean getBoolean(final String column) throws SQLException {
+		return rsLogMiner.getBoolean(column);
+	}
+
+	@Override
+	public String getString(final String column) throws SQLException {
+		return rsLogMiner.getString(column);
+	}
+
+	@Override
+	public Date getDate(final String column) throws SQLException {
+		return rsLogMiner.getDate(column);
+	}
+
+	@Override
+	public NUMBER getNUMBER(final String column) throws SQLException {
+		return rsLogMiner.getNUMBER(column);
+	}
+
+	@Override
+	public Map<String, Object> checkTable(final long dataObjectId, final long conId) throws SQLException {
+		psCheckTable.setLong(1, dataObjectId);
+		if (isCdb) {
+			psCheckTable.setLong(2, conId);
+		}
+		Map<String, Object> result = null;
+		ResultSet rsCheckTable = psCheckTable.executeQuery();
+		if (rsCheckTable.next()) {
+			result = new HashMap<>();
+			result.put("IS_TABLE", rsCheckTable.getString("IS_TABLE"));
+			result.put("PARENT_OBJECT_ID", rsCheckTable.getLong("PARENT_OBJECT_ID"));
+			result.put("OWNER", rsCheckTable.getString("OWNER"));
+			result.put("TABLE_NAME", rsCheckTable.getString("TABLE_NAME"));
+			result.put("DEPENDENCIES", rsCheckTable.getString("DEPENDENCIES"));
+			if (isCdb) {
+				result.put("PDB_NAME", rsCheckTable.getString("PDB_NAME"));
+			}
+		}
+		rsCheckTable.close();
+		rsCheckTable = null;
+		psCheckTable.clearParameters();
+		return result;
+	}
+
+	@Override
+	public OraTable4LogMiner getTable(final long combinedDataObjectId,
+			final Supplier<OraTable4LogMiner> reader) throws SQLException {
+		return reader.get();
+	}
+
+	@Override
+	public long getMiningScn() {
+		return logMiner.getLowWaterChange();
+	}
+
+	@Override
+	public void reconnect() throws SQLException {
+		connLogMiner = OraPoolConnectionFactory.getLogMinerConnection();
+		psLogMiner = connLogMiner.prepareStatement(
+				mineDataSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		if (processLobs) {
+			psReadLob = (OraclePreparedStatement) connLogMiner.prepareStatement(
+					isCdb ? OraDictSqlTexts.MINE_LOB_CDB :
+							OraDictSqlTexts.MINE_LOB_NON_CDB,
+					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		}
+		logMiner.createStatements(connLogMiner);
+	}
+
+	@Override
+	public void close() {
+		if (logMiner.isKeepSession()) {
+			try {
+				logMiner.endSession();
+			} catch (SQLException sqle) {
+				LOGGER.error("Unable to end LogMiner session!");
+				LOGGER.error(ExceptionUtils.getExceptionStackTrace(sqle));
+			}
+		}
+	}
+
+	/**
+	 * LogMiner session, used for reading LOB data
+	 * 
+	 * @return LogMiner session
+	 */
+	public OraLogMiner getLogMiner() {
+		return logMiner;
+	}
+
+	/**
+	 * Statement for reading LOB data, null when LOB processing is not enabled
+	 * 
+	 * @return statement for reading LOB data
+	 */
+	public OraclePreparedStatement getPsReadLob() {
+		return psReadLob;
+	}
+
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+import oracle.sql.NUMBER;
+
+/**
+ * 
+ * Records rows and data dictionary answers of another OraCdcLogMinerRowSource to
+ * gzip-compressed file for OraCdcLogMinerReplay (a2.logminer.record.file)
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcLogMinerRecorder implements OraCdcLogMinerRowSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcLogMinerRecorder.class);
+	private static final int BUFFER_SIZE = 0x10000;
+
+	private final OraCdcLogMinerRowSource source;
+	private final String fileName;
+	private final boolean isCdb;
+	private final DataOutputStream out;
+	private final OraCdcLogMinerRecording.Row row = new OraCdcLogMinerRecording.Row();
+	// Row is written on next fetch, after dictionary answers requested for it
+	private boolean rowPending = false;
+	private long rowCount = 0;
+
+	/**
+	 * 
+	 * @param source     recorded row source
+	 * @param fileName   recording file name
+	 * @param rdbmsInfo  database information
+	 * @param firstScn   first SCN of mining
+	 * @param firstRsId  RS_ID of worker rewind or null when worker is not rewound
+	 * @param firstSsn   SSN of worker rewind
+	 * @throws IOException
+	 */
+	public OraCdcLogMinerRecorder(final OraCdcLogMinerRowSource source, final String fileName,
+			final OraRdbmsInfo rdbmsInfo, final long firstScn,
+			final String firstRsId, final long firstSsn) throws IOException {
+		this.source = source;
+		this.fileName = fileName;
+		this.isCdb = rdbmsInfo.isCdb();
+		out = new DataOutputStream(new BufferedOutputStream(
+				new GZIPOutputStream(new FileOutputStream(fileName), BUFFER_SIZE), BUFFER_SIZE));
+		OraCdcLogMinerRecording.writeHeader(out, rdbmsInfo, firstScn, firstRsId, firstSsn);
+		LOGGER.info("LogMiner rows and dictionary answers will be recorded to {}.", fileName);
+	}
+
+	@Override
+	public boolean nextWindow() throws SQLException {
+		final boolean ready = source.nextWindow();
+		if (ready) {
+			try {
+				flushRow();
+				out.writeByte(OraCdcLogMinerRecording.WINDOW);
+			} catch (IOException ioe) {
+				throw recordingException(ioe);
+			}
+		}
+		return ready;
+	}
+
+	@Override
+	public void stopWindow() throws SQLException {
+		try {
+			flushRow();
+			out.writeByte(OraCdcLogMinerRecording.WINDOW_END);
+		} catch (IOException ioe) {
+			throw recordingException(ioe);
+		}
+		source.stopWindow();
+	}
+
+	@Override
+	public boolean next() throws SQLException {
+		try {
+			flushRow();
+		} catch (IOException ioe) {
+			throw recordingException(ioe);
+		}
+		if (source.next()) {
+			row.capture(source, isCdb);
+			rowPending = true;
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public void reopen() throws SQLException {
+		try {
+			flushRow();
+			out.writeByte(OraCdcLogMinerRecording.REOPEN);
+		} catch (IOException ioe) {
+			throw recordingException(ioe);
+		}
+		source.reopen();
+	}
+
+	@Override
+	public short getShort(final String column) throws SQLException {
+		return row.getShort(column);
+	}
+
+	@Override
+	public int getInt(final String column) throws SQLException {
+		return row.getInt(column);
+	}
+
+	@Override
+	public long getLong(final String column) throws SQLException {
+		return row.getLong(column);
+	}
+
+	@Override
+	public boolean getBoolean(final String column) throws SQLException {
+		return row.getBoolean(column);
+	}
+
+	@Override
+	public String getString(final String column) throws SQLException {
+		return row.getString(column);
+	}
+
+	@Override
+	public Date getDate(final String column) throws SQLException {
+		return row.getDate(column);
+	}
+
+	@Override
+	public NUMBER getNUMBER(final String column) throws SQLException {
+		return source.getNUMBER(column);
+	}
+
+	@Override
+	public Map<String, Object> checkTable(final long dataObjectId, final long conId) throws SQLException {
+		final Map<String, Object> checkTable = source.checkTable(dataObjectId, conId);
+		try {
+			OraCdcLogMinerRecording.writeCheckTable(out, dataObjectId, conId, checkTable);
+		} catch (IOException ioe) {
+			throw recordingException(ioe);
+		}
+		return checkTable;
+	}
+
+	@Override
+	public OraTable4LogMiner getTable(final long combinedDataObjectId,
+			final Supplier<OraTable4LogMiner> reader) throws SQLException {
+		final OraTable4LogMiner table = source.getTable(combinedDataObjectId, reader);
+		try {
+			OraCdcLogMinerRecording.writeTable(out, combinedDataObjectId, table);
+		} catch (IOException ioe) {
+			throw recordingException(ioe);
+		}
+		return table;
+	}
+
+	@Override
+	public long getMiningScn() {
+		return source.getMiningScn();
+	}
+
+	@Override
+	public void reconnect() throws SQLException {
+		source.reconnect();
+	}
+
+	@Override
+	public void close() {
+		source.close();
+		try {
+			flushRow();
+			out.close();
+			LOGGER.info("{} LogMiner rows recorded to {}.", rowCount, fileName);
+		} catch (IOException ioe) {
+			LOGGER.error("Unable to close LogMiner recording {}!", fileName);
+			LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
+		}
+	}
+
+	private void flushRow() throws IOException {
+		if (rowPending) {
+			row.write(out);
+			rowPending = false;
+			rowCount++;
+		}
+	}
+
+	private SQLException recordingException(final IOException ioe) {
+		LOGGER.error("Unable to write LogMiner recording {}!", fileName);
+		return new SQLException(ioe);
+	}
+
+}
@@ -0,0 +1,382 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 
+ * File format of LogMiner recording written by OraCdcLogMinerRecorder and read by OraCdcLogMinerReplay.
+ * Header contains database information, first SCN, RS_ID and SSN of rewind position
+ * (RS_ID is null when recording was started without rewind), followed by tagged records:
+ * W - start of LogMiner window, E - end of LogMiner window, O - cursor reopened,
+ * R - V$LOGMNR_CONTENTS row, D - data dictionary check result, T - table definition.
+ * Dictionary and table records are written before the row which caused dictionary lookup.
+ * 
+ * @author averemee
+ *
+ */
+final class OraCdcLogMinerRecording {
+
+	static final int MAGIC = 0x4F52434C;
+	static final short VERSION = 3;
+
+	static final byte WINDOW = 'W';
+	static final byte WINDOW_END = 'E';
+	static final byte REOPEN = 'O';
+	static final byte ROW = 'R';
+	static final byte DICTIONARY = 'D';
+	static final byte TABLE = 'T';
+
+	private OraCdcLogMinerRecording() {}
+
+	static void writeHeader(final DataOutput out,
+			final OraRdbmsInfo rdbmsInfo, final long firstScn,
+			final String firstRsId, final long firstSsn) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		writeString(out, rdbmsInfo.getVersionString());
+		out.writeShort(rdbmsInfo.getInstanceNumber());
+		writeString(out, rdbmsInfo.getInstanceName());
+		writeString(out, rdbmsInfo.getHostName());
+		out.writeInt(rdbmsInfo.getCpuCoreCount());
+		out.writeLong(rdbmsInfo.getDbId());
+		writeString(out, rdbmsInfo.getDatabaseName());
+		writeString(out, rdbmsInfo.getPlatformName());
+		out.writeBoolean(rdbmsInfo.isCdb());
+		out.writeBoolean(rdbmsInfo.isCdbRoot());
+		writeString(out, rdbmsInfo.getDbCharset());
+		writeString(out, rdbmsInfo.getDbNCharCharset());
+		writeString(out, rdbmsInfo.getDbUniqueName());
+		out.writeLong(firstScn);
+		writeString(out, firstRsId);
+		out.writeLong(firstSsn);
+	}
+
+	/**
+	 * Reads header, first SCN, RS_ID and SSN are read by caller after this call
+	 * 
+	 * @param in
+	 * @return database information
+	 * @throws IOException
+	 */
+	static OraRdbmsInfo readHeader(final DataInput in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a LogMiner recording!");
+		}
+		final short version = in.readShort();
+		if (version != VERSION) {
+			throw new IOException("Unsupported LogMiner recording version " + version + "!");
+		}
+		return new OraRdbmsInfo(
+				readString(in), in.readShort(), readString(in), readString(in),
+				in.readInt(), in.readLong(), readString(in), readString(in),
+				in.readBoolean(), in.readBoolean(), readString(in), readString(in), readString(in));
+	}
+
+	static void writeCheckTable(final DataOutput out,
+			final long dataObjectId, final long conId, final Map<String, Object> checkTable) throws IOException {
+		out.writeByte(DICTIONARY);
+		out.writeLong(dataObjectId);
+		out.writeLong(conId);
+		out.writeBoolean(checkTable != null);
+		if (checkTable != null) {
+			writeString(out, (String) checkTable.get("IS_TABLE"));
+			out.writeLong((long) checkTable.get("PARENT_OBJECT_ID"));
+			writeString(out, (String) checkTable.get("OWNER"));
+			writeString(out, (String) checkTable.get("TABLE_NAME"));
+			writeString(out, (String) checkTable.get("DEPENDENCIES"));
+			writeString(out, (String) checkTable.get("PDB_NAME"));
+		}
+	}
+
+	/**
+	 * Reads data dictionary check result after DATA_OBJ# and CON_ID
+	 * 
+	 * @param in
+	 * @return data dictionary check result or null when object is out of scope
+	 * @throws IOException
+	 */
+	static Map<String, Object> readCheckTable(final DataInput in) throws IOException {
+		if (in.readBoolean()) {
+			final Map<String, Object> checkTable = new HashMap<>();
+			checkTable.put("IS_TABLE", readString(in));
+			checkTable.put("PARENT_OBJECT_ID", in.readLong());
+			checkTable.put("OWNER", readString(in));
+			checkTable.put("TABLE_NAME", readString(in));
+			checkTable.put("DEPENDENCIES", readString(in));
+			checkTable.put("PDB_NAME", readString(in));
+			return checkTable;
+		} else {
+			return null;
+		}
+	}
+
+	static void writeTable(final DataOutput out,
+			final long combinedDataObjectId, final OraTable4LogMiner table) throws IOException {
+		out.writeByte(TABLE);
+		out.writeLong(combinedDataObjectId);
+		writeString(out, table.getPdbName());
+		writeString(out, table.getTableOwner());
+		writeString(out, table.getTableName());
+		out.writeBoolean(table.isProcessLobs());
+		out.writeBoolean(table.isTableWithPk());
+		out.writeBoolean(table.isRowLevelScn());
+		final List<OraColumn> columns = table.getAllColumns();
+		out.writeInt(columns.size());
+		for (final OraColumn column : columns) {
+			writeString(out, column.getColumnName());
+			writeString(out, column.getNameFromId());
+			out.writeBoolean(column.isPartOfPk());
+			out.writeInt(column.getJdbcType());
+			out.writeBoolean(column.isNullable());
+			out.writeInt(column.getDataScale() == null ? Integer.MIN_VALUE : column.getDataScale());
+			writeBoolean(out, column.isBinaryFloatDouble());
+			writeBoolean(out, column.isLocalTimeZone());
+		}
+	}
+
+	/**
+	 * Reads table definition after combined DATA_OBJ#
+	 * 
+	 * @param in
+	 * @return table definition in format of a2.dictionary.file for OraTable4LogMiner(Map, int)
+	 * @throws IOException
+	 */
+	static Map<String, Object> readTable(final DataInput in) throws IOException {
+		final Map<String, Object> tableData = new HashMap<>();
+		tableData.put("pdbName", readString(in));
+		tableData.put("tableOwner", readString(in));
+		tableData.put("tableName", readString(in));
+		tableData.put("processLobs", in.readBoolean());
+		tableData.put("tableWithPk", in.readBoolean());
+		tableData.put("rowLevelScn", in.readBoolean());
+		final int columnCount = in.readInt();
+		final List<Map<String, Object>> columns = new ArrayList<>(columnCount);
+		for (int i = 0; i < columnCount; i++) {
+			final Map<String, Object> columnData = new HashMap<>();
+			columnData.put("columnName", readString(in));
+			columnData.put("nameFromId", readString(in));
+			columnData.put("partOfPk", in.readBoolean());
+			columnData.put("jdbcType", in.readInt());
+			columnData.put("nullable", in.readBoolean());
+			final int dataScale = in.readInt();
+			columnData.put("dataScale", dataScale == Integer.MIN_VALUE ? null : dataScale);
+			columnData.put("binaryFloatDouble", readBoolean(in));
+			columnData.put("localTimeZone", readBoolean(in));
+			columns.add(columnData);
+		}
+		tableData.put("columns", columns);
+		return tableData;
+	}
+
+	static void writeString(final DataOutput out, final String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+		} else {
+			final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	static String readString(final DataInput in) throws IOException {
+		final int length = in.readInt();
+		if (length < 0) {
+			return null;
+		} else {
+			final byte[] bytes = new byte[length];
+			in.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static void writeBoolean(final DataOutput out, final Boolean value) throws IOException {
+		out.writeByte(value == null ? -1 : (value ? 1 : 0));
+	}
+
+	private static Boolean readBoolean(final DataInput in) throws IOException {
+		final byte value = in.readByte();
+		return value < 0 ? null : value == 1;
+	}
+
+	/**
+	 * 
+	 * Recorded V$LOGMNR_CONTENTS row
+	 * 
+	 */
+	static final class Row {
+
+		private long scn;
+		private long commitScn;
+		private long timestamp;
+		private short operation;
+		private String xid;
+		private int xidUsn;
+		private int xidSlt;
+		private long xidSqn;
+		private String rsId;
+		private long ssn;
+		private boolean csf;
+		private String rowId;
+		private long dataObjectId;
+		private int conId;
+		private String sqlRedo;
+
+		void capture(final OraCdcLogMinerRowSource source, final boolean isCdb) throws SQLException {
+			scn = source.getLong("SCN");
+			commitScn = source.getLong("COMMIT_SCN");
+			final Date date = source.getDate("TIMESTAMP");
+			timestamp = date == null ? Long.MIN_VALUE : date.getTime();
+			operation = source.getShort("OPERATION_CODE");
+			xid = source.getString("XID");
+			xidUsn = source.getInt("XIDUSN");
+			xidSlt = source.getInt("XIDSLT");
+			xidSqn = source.getLong("XIDSQN");
+			rsId = source.getString("RS_ID");
+			ssn = source.getLong("SSN");
+			csf = source.getBoolean("CSF");
+			rowId = source.getString("ROW_ID");
+			dataObjectId = source.getLong("DATA_OBJ#");
+			conId = isCdb ? source.getInt("CON_ID") : 0;
+			sqlRedo = source.getString("SQL_REDO");
+		}
+
+		void write(final DataOutput out) throws IOException {
+			out.writeByte(ROW);
+			out.writeLong(scn);
+			out.writeLong(commitScn);
+			out.writeLong(timestamp);
+			out.writeShort(operation);
+			writeString(out, xid);
+			out.writeInt(xidUsn);
+			out.writeInt(xidSlt);
+			out.writeLong(xidSqn);
+			writeString(out, rsId);
+			out.writeLong(ssn);
+			out.writeBoolean(csf);
+			writeString(out, rowId);
+			out.writeLong(dataObjectId);
+			out.writeInt(conId);
+			writeString(out, sqlRedo);
+		}
+
+		/**
+		 * Reads row after record tag
+		 * 
+		 * @param in
+		 * @throws IOException
+		 */
+		void read(final DataInput in) throws IOException {
+			scn = in.readLong();
+			commitScn = in.readLong();
+			timestamp = in.readLong();
+			operation = in.readShort();
+			xid = readString(in);
+			xidUsn = in.readInt();
+			xidSlt = in.readInt();
+			xidSqn = in.readLong();
+			rsId = readString(in);
+			ssn = in.readLong();
+			csf = in.readBoolean();
+			rowId = readString(in);
+			dataObjectId = in.readLong();
+			conId = in.readInt();
+			sqlRedo = readString(in);
+		}
+
+		short getShort(final String column) throws SQLException {
+			if ("OPERATION_CODE".equals(column)) {
+				return operation;
+			} else {
+				return (short) getLong(column);
+			}
+		}
+
+		int getInt(final String column) throws SQLException {
+			return (int) getLong(column);
+		}
+
+		long getLong(final String column) throws SQLException {
+			switch (column) {
+			case "SCN":
+				return scn;
+			case "COMMIT_SCN":
+				return commitScn;
+			case "SSN":
+				return ssn;
+			case "DATA_OBJ#":
+				return dataObjectId;
+			case "CON_ID":
+				return conId;
+			case "XIDUSN":
+				return xidUsn;
+			case "XIDSLT":
+				return xidSlt;
+			case "XIDSQN":
+				return xidSqn;
+			case "OPERATION_CODE":
+				return operation;
+			default:
+				throw notRecorded(column);
+			}
+		}
+
+		boolean getBoolean(final String column) throws SQLException {
+			if ("CSF".equals(column)) {
+				return csf;
+			} else {
+				throw notRecorded(column);
+			}
+		}
+
+		String getString(final String column) throws SQLException {
+			switch (column) {
+			case "XID":
+				return xid;
+			case "RS_ID":
+				return rsId;
+			case "ROW_ID":
+				return rowId;
+			case "SQL_REDO":
+				return sqlRedo;
+			default:
+				throw notRecorded(column);
+			}
+		}
+
+		Date getDate(final String column) throws SQLException {
+			if ("TIMESTAMP".equals(column)) {
+				return timestamp == Long.MIN_VALUE ? null : new Date(timestamp);
+			} else {
+				throw notRecorded(column);
+			}
+		}
+
+		private static SQLException notRecorded(final String column) {
+			return new SQLException("Column " + column + " is not available in LogMiner recording!");
+		}
+
+	}
+
+}
@@ -0,0 +1,315 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+import oracle.sql.NUMBER;
+
+/**
+ * 
+ * Replays file written by OraCdcLogMinerRecorder without database connection (a2.logminer.replay.file).
+ * Rows are returned at full speed, when recording is completed nextWindow() returns false.
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcLogMinerReplay implements OraCdcLogMinerRowSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcLogMinerReplay.class);
+	private static final int BUFFER_SIZE = 0x10000;
+
+	private final String fileName;
+	private final DataInputStream in;
+	private final OraRdbmsInfo rdbmsInfo;
+	private final long firstScn;
+	private final String firstRsId;
+	private final long firstSsn;
+	private final Function<Map<String, Object>, OraTable4LogMiner> tableBuilder;
+	private final Map<Long, Map<String, Object>> checkTableData = new HashMap<>();
+	private final Map<Long, Map<String, Object>> tableData = new HashMap<>();
+	private final OraCdcLogMinerRecording.Row row = new OraCdcLogMinerRecording.Row();
+	private boolean windowOpen = false;
+	private boolean windowRowsRead = false;
+	private volatile boolean completed = false;
+	private long rowCount = 0;
+	private long replayStarted = 0;
+
+	/**
+	 * 
+	 * @param fileName      recording created with a2.logminer.record.file
+	 * @param tableBuilder  creates table from recorded definition in format of a2.dictionary.file
+	 * @throws IOException
+	 */
+	public OraCdcLogMinerReplay(final String fileName,
+			final Function<Map<String, Object>, OraTable4LogMiner> tableBuilder) throws IOException {
+		this.fileName = fileName;
+		this.tableBuilder = tableBuilder;
+		in = new DataInputStream(new BufferedInputStream(
+				new GZIPInputStream(new FileInputStream(fileName), BUFFER_SIZE), BUFFER_SIZE));
+		rdbmsInfo = OraCdcLogMinerRecording.readHeader(in);
+		firstScn = in.readLong();
+		firstRsId = OraCdcLogMinerRecording.readString(in);
+		firstSsn = in.readLong();
+		LOGGER.info("Replaying LogMiner recording {} of database {} (DBID={}) from SCN {}, RS_ID '{}', SSN {}.",
+				fileName, rdbmsInfo.getDbUniqueName(), rdbmsInfo.getDbId(), firstScn, firstRsId, firstSsn);
+	}
+
+	@Override
+	public boolean nextWindow() throws SQLException {
+		if (replayStarted == 0) {
+			replayStarted = System.currentTimeMillis();
+		}
+		while (!completed) {
+			final int tag = readTag();
+			if (tag == OraCdcLogMinerRecording.WINDOW) {
+				windowOpen = true;
+				windowRowsRead = false;
+				return true;
+			} else if (tag != -1) {
+				throw unexpectedRecord(tag);
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void stopWindow() throws SQLException {
+		if (windowOpen) {
+			// Skip rows not fetched by worker
+			while (next()) {}
+			windowOpen = false;
+		}
+	}
+
+	@Override
+	public boolean next() throws SQLException {
+		while (windowOpen && !windowRowsRead) {
+			final int tag = readTag();
+			switch (tag) {
+			case OraCdcLogMinerRecording.ROW:
+				try {
+					row.read(in);
+				} catch (IOException ioe) {
+					throw replayException(ioe);
+				}
+				rowCount++;
+				return true;
+			case OraCdcLogMinerRecording.REOPEN:
+				// Cursor position is defined by recording
+				break;
+			case OraCdcLogMinerRecording.WINDOW_END:
+			case -1:
+				windowRowsRead = true;
+				break;
+			default:
+				throw unexpectedRecord(tag);
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void reopen() throws SQLException {
+		// Cursor position is defined by recording
+	}
+
+	@Override
+	public short getShort(final String column) throws SQLException {
+		return row.getShort(column);
+	}
+
+	@Override
+	public int getInt(final String column) throws SQLException {
+		return row.getInt(column);
+	}
+
+	@Override
+	public long getLong(final String column) throws SQLException {
+		return row.getLong(column);
+	}
+
+	@Override
+	public boolean getBoolean(final String column) throws SQLException {
+		return row.getBoolean(column);
+	}
+
+	@Override
+	public String getString(final String column) throws SQLException {
+		return row.getString(column);
+	}
+
+	@Override
+	public Date getDate(final String column) throws SQLException {
+		return row.getDate(column);
+	}
+
+	@Override
+	public NUMBER getNUMBER(final String column) throws SQLException {
+		throw new SQLException("LOB processing is not supported with LogMiner replay!");
+	}
+
+	@Override
+	public Map<String, Object> checkTable(final long dataObjectId, final long conId) throws SQLException {
+		final long key = (conId << 32) | (dataObjectId & 0xFFFFFFFFL);
+		if (checkTableData.containsKey(key)) {
+			return checkTableData.get(key);
+		} else {
+			LOGGER.error("Data dictionary answer for DATA_OBJ# {}, CON_ID {} not found in {}!",
+					dataObjectId, conId, fileName);
+			throw new SQLException("Data dictionary answer not found in LogMiner recording!");
+		}
+	}
+
+	@Override
+	public OraTable4LogMiner getTable(final long combinedDataObjectId,
+			final Supplier<OraTable4LogMiner> reader) throws SQLException {
+		final Map<String, Object> table = tableData.get(combinedDataObjectId);
+		if (table == null) {
+			LOGGER.error("Table definition for combined DATA_OBJ# {} not found in {}!",
+					combinedDataObjectId, fileName);
+			throw new SQLException("Table definition not found in LogMiner recording!");
+		}
+		return tableBuilder.apply(table);
+	}
+
+	@Override
+	public long getMiningScn() {
+		// Window boundaries are not recorded
+		return firstScn;
+	}
+
+	@Override
+	public void reconnect() throws SQLException {
+	}
+
+	@Override
+	public void close() {
+		try {
+			in.close();
+		} catch (IOException ioe) {
+			LOGGER.error("Unable to close LogMiner recording {}!", fileName);
+			LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
+		}
+	}
+
+	/**
+	 * Database information from recording, also registered as OraRdbmsInfo.getInstance()
+	 * when there is no instance created from database connection
+	 * 
+	 * @return database information
+	 */
+	public OraRdbmsInfo getRdbmsInfo() {
+		return rdbmsInfo;
+	}
+
+	public long getFirstScn() {
+		return firstScn;
+	}
+
+	/**
+	 * Worker must be rewound to this position, rows skipped by recorded worker
+	 * while rewinding are present in recording
+	 * 
+	 * @return RS_ID of worker rewind or null when recording was started without rewind
+	 */
+	public String getFirstRsId() {
+		return firstRsId;
+	}
+
+	public long getFirstSsn() {
+		return firstSsn;
+	}
+
+	/**
+	 * 
+	 * @return true when all records of recording are read
+	 */
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Reads record tag, dictionary and table records are stored for lookups
+	 * 
+	 * @return tag of window or row record, -1 at end of recording
+	 * @throws SQLException
+	 */
+	private int readTag() throws SQLException {
+		if (completed) {
+			return -1;
+		}
+		try {
+			while (true) {
+				final int tag = in.read();
+				if (tag == OraCdcLogMinerRecording.DICTIONARY) {
+					final long dataObjectId = in.readLong();
+					final long conId = in.readLong();
+					checkTableData.put((conId << 32) | (dataObjectId & 0xFFFFFFFFL),
+							OraCdcLogMinerRecording.readCheckTable(in));
+				} else if (tag == OraCdcLogMinerRecording.TABLE) {
+					final long combinedDataObjectId = in.readLong();
+					tableData.put(combinedDataObjectId, OraCdcLogMinerRecording.readTable(in));
+				} else {
+					if (tag == -1) {
+						replayCompleted();
+					}
+					return tag;
+				}
+			}
+		} catch (EOFException eof) {
+			LOGGER.warn("Unexpected end of LogMiner recording {}, file was not closed properly.", fileName);
+			replayCompleted();
+			return -1;
+		} catch (IOException ioe) {
+			throw replayException(ioe);
+		}
+	}
+
+	private void replayCompleted() {
+		completed = true;
+		LOGGER.info("Replay of {} completed: {} rows in {} ms.",
+				fileName, rowCount, System.currentTimeMillis() - replayStarted);
+	}
+
+	private SQLException unexpectedRecord(final int tag) {
+		LOGGER.error("Unexpected record '{}' in LogMiner recording {}!", (char) tag, fileName);
+		return new SQLException("Corrupted LogMiner recording!");
+	}
+
+	private SQLException replayException(final IOException ioe) {
+		LOGGER.error("Unable to read LogMiner recording {}!", fileName);
+		return new SQLException(ioe);
+	}
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import oracle.sql.NUMBER;
+
+/**
+ * 
+ * Source of V$LOGMNR_CONTENTS rows and data dictionary answers for OraCdcLogMinerWorkerThread.
+ * Column getters use V$LOGMNR_CONTENTS column names and return values of current row.
+ * 
+ * @author averemee
+ *
+ */
+public interface OraCdcLogMinerRowSource {
+
+	/**
+	 * Starts next LogMiner window
+	 * 
+	 * @return true when window with new redo data is ready
+	 * @throws SQLException
+	 */
+	boolean nextWindow() throws SQLException;
+
+	/**
+	 * Ends current LogMiner window and closes cursor
+	 * 
+	 * @throws SQLException
+	 */
+	void stopWindow() throws SQLException;
+
+	/**
+	 * Moves to next row of current window, cursor is opened on first call
+	 * 
+	 * @return false when there are no more rows in current window
+	 * @throws SQLException
+	 */
+	boolean next() throws SQLException;
+
+	/**
+	 * Closes cursor (if opened) and opens it again from first row of current window
+	 * 
+	 * @throws SQLException
+	 */
+	void reopen() throws SQLException;
+
+	short getShort(final String column) throws SQLException;
+
+	int getInt(final String column) throws SQLException;
+
+	long getLong(final String column) throws SQLException;
+
+	boolean getBoolean(final String column) throws SQLException;
+
+	String getString(final String column) throws SQLException;
+
+	Date getDate(final String column) throws SQLException;
+
+	NUMBER getNUMBER(final String column) throws SQLException;
+
+	/**
+	 * Data dictionary check for object from redo record
+	 * 
+	 * @param dataObjectId  DATA_OBJ#
+	 * @param conId         CON_ID, 0 for non-CDB
+	 * @return IS_TABLE, PARENT_OBJECT_ID, OWNER, TABLE_NAME, DEPENDENCIES and PDB_NAME values
+	 *         or null when object is out of scope
+	 * @throws SQLException
+	 */
+	Map<String, Object> checkTable(final long dataObjectId, final long conId) throws SQLException;
+
+	/**
+	 * Table definition for new table
+	 * 
+	 * @param combinedDataObjectId  combined CON_ID and DATA_OBJ# of table
+	 * @param reader                reads table definition from data dictionary
+	 * @return table definition
+	 * @throws SQLException
+	 */
+	OraTable4LogMiner getTable(final long combinedDataObjectId,
+			final Supplier<OraTable4LogMiner> reader) throws SQLException;
+
+	/**
+	 * First SCN from which current window is mined, with COMMITTED_DATA_ONLY it is
+	 * first SCN of oldest transaction open at start of window
+	 * 
+	 * @return first SCN of current LogMiner window
+	 */
+	long getMiningScn();
+
+	/**
+	 * Restores connections after SQLRecoverableException
+	 * 
+	 * @throws SQLException
+	 */
+	void reconnect() throws SQLException;
+
+	/**
+	 * Releases resources when worker is stopped
+	 */
+	void close();
+
+}
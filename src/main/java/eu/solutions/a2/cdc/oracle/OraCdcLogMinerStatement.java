@@ -13,6 +13,7 @@
 
 package eu.solutions.a2.cdc.oracle;
 
+import eu.solutions.a2.cdc.oracle.utils.SqlRedoCompressor;
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.wire.WireOut;
@@ -27,6 +28,9 @@ import net.openhft.chronicle.wire.WriteMarshallable;
  */
 public class OraCdcLogMinerStatement implements ReadMarshallable, WriteMarshallable {
 
+	/** Set in serialized OPERATION_CODE when SQL_REDO is stored compressed */
+	private static final short COMPRESSED_SQL_REDO = 0x4000;
+
 	/** (((long)V$LOGMNR_CONTENTS.CON_ID) << 32) | (V$LOGMNR_CONTENTS.DATA_OBJ# & 0xFFFFFFFFL) */
 	private long tableId;
 	/** V$LOGMNR_CONTENTS.OPERATION_CODE */
@@ -45,6 +49,10 @@ public class OraCdcLogMinerStatement implements ReadMarshallable, WriteMarshalla
 	private String rowId;
 	/** BLOB/CLOB count, default 0 */
 	private byte lobCount;
+	/** Compress SQL_REDO when writing to queue */
+	private boolean compressSqlRedo = false;
+	/** Size of SQL_REDO in queue after last write, -1 when not written */
+	private int sqlRedoSpillLength = -1;
 
 	/**
 	 * 
@@ -152,6 +160,10 @@ public class OraCdcLogMinerStatement implements ReadMarshallable, WriteMarshalla
 		this.lobCount = lobCount;
 	}
 
+	public void setCompressSqlRedo(boolean compressSqlRedo) {
+		this.compressSqlRedo = compressSqlRedo;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder(1024);
@@ -183,12 +195,40 @@ public class OraCdcLogMinerStatement implements ReadMarshallable, WriteMarshalla
 		return sb.toString();
 	}
 
+	/**
+	 * Approximate size of serialized statement
+	 * 
+	 * @return size in bytes
+	 */
+	public int size() {
+		// 35 bytes for fixed length fields (tableId, operation, ts, scn, ssn, lobCount)
+		// and up to 4 bytes for length of every string (sqlRedo, rsId, rowId)
+		return 35 + 3 * 4 +
+				(sqlRedoSpillLength >= 0 ? sqlRedoSpillLength : (sqlRedo == null ? 0 : sqlRedo.length())) +
+				(rsId == null ? 0 : rsId.length()) +
+				(rowId == null ? 0 : rowId.length());
+	}
+
 	@Override
 	public void writeMarshallable(WireOut wire) {
-		wire.bytes()
-			.writeLong(tableId)
-			.writeShort(operation)
-			.write8bit(sqlRedo)
+		final Bytes<?> raw = wire.bytes();
+		raw.writeLong(tableId);
+		final SqlRedoCompressor.Block block = compressSqlRedo ?
+				SqlRedoCompressor.compress(sqlRedo) : null;
+		if (block == null) {
+			sqlRedoSpillLength = sqlRedo == null ? 0 : sqlRedo.length();
+			raw
+				.writeShort(operation)
+				.write8bit(sqlRedo);
+		} else {
+			sqlRedoSpillLength = block.length + 4;
+			raw
+				.writeShort((short) (operation | COMPRESSED_SQL_REDO))
+				.writeStopBit(block.substitutedLength)
+				.writeStopBit(block.length)
+				.write(block.data, 0, block.length);
+		}
+		raw
 			.writeLong(ts)
 			.writeLong(scn)
 			.write8bit(rsId)
@@ -203,7 +243,15 @@ public class OraCdcLogMinerStatement implements ReadMarshallable, WriteMarshalla
 		Bytes<?> raw = wire.bytes();
 		tableId = raw.readLong();
 		operation = raw.readShort();
-		sqlRedo = raw.read8bit();
+		if ((operation & COMPRESSED_SQL_REDO) != 0) {
+			operation = (short) (operation & ~COMPRESSED_SQL_REDO);
+			final int substitutedLength = (int) raw.readStopBit();
+			final byte[] data = new byte[(int) raw.readStopBit()];
+			raw.read(data);
+			sqlRedo = SqlRedoCompressor.decompress(substitutedLength, data);
+		} else {
+			sqlRedo = raw.read8bit();
+		}
 		ts = raw.readLong();
 		scn = raw.readLong();
 		rsId = raw.read8bit();
@@ -15,7 +15,6 @@ package eu.solutions.a2.cdc.oracle;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
@@ -33,10 +32,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -44,16 +44,27 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcJfr;
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcParseBatchEvent;
 import eu.solutions.a2.cdc.oracle.jmx.OraCdcInitialLoad;
 import eu.solutions.a2.cdc.oracle.jmx.OraCdcLogMinerMgmt;
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcMetricsHttpServer;
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcMetricsSource;
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcSourceTableInfo;
 import eu.solutions.a2.cdc.oracle.schema.FileUtils;
+import eu.solutions.a2.cdc.oracle.utils.CopyOnWriteLongObjectMap;
 import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+import eu.solutions.a2.cdc.oracle.utils.LongHashSet;
+import eu.solutions.a2.cdc.oracle.utils.LongObjectHashMap;
 import eu.solutions.a2.cdc.oracle.utils.OraSqlUtils;
 import eu.solutions.a2.cdc.oracle.utils.Version;
 
@@ -66,6 +77,15 @@ public class OraCdcLogMinerTask extends SourceTask {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcLogMinerTask.class);
 	private static final int WAIT_FOR_WORKER_MILLIS = 50;
+	private static final long WAIT_FOR_TABLE_METRICS_CHECK_MILLIS = 60_000;
+	private static final Schema HEARTBEAT_SCHEMA = SchemaBuilder
+			.struct()
+			.name("eu.solutions.a2.cdc.oracle.Heartbeat")
+			.field("SCN", Schema.INT64_SCHEMA)
+			.field("RS_ID", Schema.STRING_SCHEMA)
+			.field("SSN", Schema.INT64_SCHEMA)
+			.field("ts_ms", Schema.INT64_SCHEMA)
+			.build();
 
 	private int batchSize;
 	private int pollInterval;
@@ -78,16 +98,30 @@ public class OraCdcLogMinerTask extends SourceTask {
 	private OraRdbmsInfo rdbmsInfo;
 	private OraCdcLogMinerMgmt metrics;
 	private OraDumpDecoder odd;
-	private Map<Long, OraTable4LogMiner> tablesInProcessing;
-	private Set<Long> tablesOutOfScope;
-	private Map<String, OraCdcTransaction> activeTransactions;
+	private CopyOnWriteLongObjectMap<OraTable4LogMiner> tablesInProcessing;
+	// Owned by worker for own LogMiner session, used only for subscriber scope check with shared mining
+	private LongHashSet tablesOutOfScope;
+	private LongObjectHashMap<OraCdcTransaction> activeTransactions;
 	private BlockingQueue<OraCdcTransaction> committedTransactions;
 	private OraCdcLogMinerWorkerThread worker;
 	private OraCdcTransaction transaction;
 	private boolean lastStatementInTransaction = true;
+	// Commit to poll latency is recorded once per transaction, for its first emitted record
+	private boolean commitToPollRecorded = false;
 	private boolean needToStoreState = false;
 	private boolean useOracdcSchemas = false;
 	private boolean processLobs = false;
+	private boolean spillReclaimerRegistered = false;
+	private OraCdcSourceQueryProfile sourceQueryProfile;
+	private OraCdcColumnProjection columnProjection;
+	private OraCdcRowFilter rowFilter;
+	private boolean deltaUpdates = false;
+	private String connectorName;
+	private long tableMetricsIdleMs = 0;
+	private long lastTableMetricsCheck;
+	private final Map<String, OraCdcSourceTableInfo> tableMetrics = new ConcurrentHashMap<>();
+	private int metricsHttpPort = 0;
+	private OraCdcMetricsSource metricsSource;
 	private CountDownLatch runLatch;
 	private AtomicBoolean isPollRunning;
 	private boolean execInitialLoad = false;
@@ -97,6 +131,20 @@ public class OraCdcLogMinerTask extends SourceTask {
 	private OraTable4InitialLoad table4InitialLoad;
 	private boolean lastRecordInTable = true;
 	private OraCdcInitialLoad initialLoadMetrics;
+	private int heartbeatInterval;
+	private String heartbeatTopic;
+	private long lastSentScn = 0;
+	private long lastSentCommitScn = 0;
+	private boolean committedDataOnly = false;
+	private int taskId = 0;
+	private int taskCount = 1;
+	private OraCdcSharedMiner sharedMiner;
+	private String subscriberCheckTableSql;
+	private Connection subscriberConnection;
+	private PreparedStatement psSubscriberCheckTable;
+	private final Map<SourceRecord, OraCdcTransaction.SentRecord> unackedRecords =
+			Collections.synchronizedMap(new IdentityHashMap<>());
+	private final List<OraCdcTransaction> sentTransactions = new LinkedList<>();
 
 	@Override
 	public String version() {
@@ -140,15 +188,133 @@ public class OraCdcLogMinerTask extends SourceTask {
 		if (processLobs) {
 			LOGGER.info("oracdc will process Oracle LOBs");
 		}
+		sourceQueryProfile = new OraCdcSourceQueryProfile(
+				props.getOrDefault(ParamConstants.SOURCE_QUERY_PARAM, ParamConstants.SOURCE_QUERY_OMIT),
+				Integer.parseInt(props.getOrDefault(ParamConstants.SOURCE_QUERY_LENGTH_PARAM, "256")));
+		if (props.containsKey(ParamConstants.COLUMN_INCLUDE_PARAM) ||
+				props.containsKey(ParamConstants.COLUMN_EXCLUDE_PARAM)) {
+			columnProjection = new OraCdcColumnProjection(
+					props.containsKey(ParamConstants.COLUMN_INCLUDE_PARAM) ?
+							Arrays.asList(props.get(ParamConstants.COLUMN_INCLUDE_PARAM).split("\\s*,\\s*")) :
+							null,
+					props.containsKey(ParamConstants.COLUMN_EXCLUDE_PARAM) ?
+							Arrays.asList(props.get(ParamConstants.COLUMN_EXCLUDE_PARAM).split("\\s*,\\s*")) :
+							null);
+		}
+		deltaUpdates = ParamConstants.UPDATE_MODE_DELTA.equals(props.get(ParamConstants.UPDATE_MODE_PARAM));
+		if (props.containsKey(ParamConstants.TABLE_METRICS_IDLE_MS_PARAM)) {
+			tableMetricsIdleMs = Long.parseLong(props.get(ParamConstants.TABLE_METRICS_IDLE_MS_PARAM));
+		} else {
+			tableMetricsIdleMs = ParamConstants.TABLE_METRICS_IDLE_MS_DEFAULT;
+		}
+		lastTableMetricsCheck = System.currentTimeMillis();
+		if (props.containsKey(ParamConstants.METRICS_HTTP_PORT_PARAM)) {
+			metricsHttpPort = Integer.parseInt(props.get(ParamConstants.METRICS_HTTP_PORT_PARAM));
+		}
+		if (deltaUpdates) {
+			LOGGER.info("UPDATE records will contain only changed columns, UPDATE without changes will be skipped.");
+		}
+		if (props.containsKey(ParamConstants.ROW_FILTER_PARAM)) {
+			rowFilter = new OraCdcRowFilter(props.get(ParamConstants.ROW_FILTER_PARAM));
+			if (columnProjection != null) {
+				rowFilter.checkProjection(columnProjection);
+			}
+		}
+		final String sharedMiningGroup = props.get(ParamConstants.SHARED_MINING_GROUP_PARAM);
+		committedDataOnly = ParamConstants.MINING_STRATEGY_COMMITTED.equals(
+				props.get(ParamConstants.MINING_STRATEGY_PARAM));
+		final boolean keepLogMinerSession = Boolean.parseBoolean(props.get(ParamConstants.LGMNR_KEEP_SESSION_PARAM));
+		String recordFileName = props.get(ParamConstants.LGMNR_RECORD_FILE_PARAM);
+		final boolean record = StringUtils.isNotBlank(recordFileName);
+		final String replayFileName = props.get(ParamConstants.LGMNR_REPLAY_FILE_PARAM);
+		final boolean replay = StringUtils.isNotBlank(replayFileName);
+		if (record && replay) {
+			LOGGER.error("Parameters {} and {} can not be used together!",
+					ParamConstants.LGMNR_RECORD_FILE_PARAM, ParamConstants.LGMNR_REPLAY_FILE_PARAM);
+			throw new ConnectException("Recording and replay of LogMiner rows can not be used together!");
+		}
+		if ((record || replay) && (processLobs || sharedMiningGroup != null)) {
+			LOGGER.error("Parameters {} and {} are not supported with {} or {}!",
+					ParamConstants.LGMNR_RECORD_FILE_PARAM, ParamConstants.LGMNR_REPLAY_FILE_PARAM,
+					ParamConstants.PROCESS_LOBS_PARAM, ParamConstants.SHARED_MINING_GROUP_PARAM);
+			throw new ConnectException("Recording and replay of LogMiner rows are not supported with LOB processing or shared mining!");
+		}
+		if (replay && ParamConstants.INITIAL_LOAD_EXECUTE.equals(props.get(ParamConstants.INITIAL_LOAD_PARAM))) {
+			LOGGER.error("Parameter {} can not be used with {}={}!",
+					ParamConstants.LGMNR_REPLAY_FILE_PARAM, ParamConstants.INITIAL_LOAD_PARAM, ParamConstants.INITIAL_LOAD_EXECUTE);
+			throw new ConnectException("Initial load is not supported during replay of LogMiner rows!");
+		}
+		heartbeatInterval = Integer.parseInt(props.get(ParamConstants.HEARTBEAT_INTERVAL_MS_PARAM));
+		if (sharedMiningGroup != null && heartbeatInterval > 0) {
+			LOGGER.warn("Heartbeats are not supported with shared mining, parameter {} ignored.",
+					ParamConstants.HEARTBEAT_INTERVAL_MS_PARAM);
+			heartbeatInterval = 0;
+		}
+		if (heartbeatInterval > 0) {
+			heartbeatTopic = props.get(ParamConstants.HEARTBEAT_TOPIC_PARAM);
+			LOGGER.info("oracdc will send heartbeat records to topic {} every {} ms", heartbeatTopic, heartbeatInterval);
+		}
+
+		connectorName = props.get("name");
+		if (props.containsKey(OraCdcSourceConnectorConfig.TASK_PARAM_COUNT)) {
+			taskId = Integer.parseInt(props.get(OraCdcSourceConnectorConfig.TASK_PARAM_ID));
+			taskCount = Integer.parseInt(props.get(OraCdcSourceConnectorConfig.TASK_PARAM_COUNT));
+			if (props.containsKey(ParamConstants.SHARED_MINING_GROUP_PARAM)) {
+				LOGGER.error("Parameters {} and {} can not be used together!",
+						ParamConstants.TASK_DISTRIBUTION_PARAM, ParamConstants.SHARED_MINING_GROUP_PARAM);
+				throw new ConnectException("Hash distribution of tasks is not supported with shared mining!");
+			}
+			connectorName += "-" + taskId;
+			if (record) {
+				recordFileName += "." + taskId;
+			}
+			LOGGER.info("Task {} of {} will process tables with mod(OBJECT_ID, {}) = {}",
+					taskId, taskCount, taskCount, taskId);
+		}
 
-		try (Connection connDictionary = OraPoolConnectionFactory.getConnection()) {
-			rdbmsInfo = OraRdbmsInfo.getInstance();
+		try (Connection connDictionary = replay ? null : OraPoolConnectionFactory.getConnection()) {
+			final OraCdcLogMinerReplay replaySource;
+			if (replay) {
+				replaySource = new OraCdcLogMinerReplay(replayFileName, tableData -> {
+					final OraTable4LogMiner table = new OraTable4LogMiner(tableData, schemaType, columnProjection);
+					table.setTopicDecoderPartition(topic, topicNameStyle, topicNameDelimiter, odd, partition);
+					table.setRowFilter(rowFilter);
+					return table;
+				});
+				rdbmsInfo = replaySource.getRdbmsInfo();
+				LOGGER.info("Replaying LogMiner recording {} of database {} (DBID={}).",
+						replayFileName, rdbmsInfo.getDatabaseName(), rdbmsInfo.getDbId());
+			} else {
+				replaySource = null;
+				rdbmsInfo = OraRdbmsInfo.getInstance();
+				if (rowFilter != null) {
+					rowFilter.validate(connDictionary, rdbmsInfo.isCdb());
+				}
+			}
 			odd = new OraDumpDecoder(rdbmsInfo.getDbCharset(), rdbmsInfo.getDbNCharCharset());
-			metrics = new OraCdcLogMinerMgmt(rdbmsInfo, props.get("name"), this);
+			metrics = new OraCdcLogMinerMgmt(rdbmsInfo, connectorName, this);
+			if (metricsHttpPort > 0) {
+				metricsSource = writer -> {
+					metrics.collectMetrics(writer, connectorName);
+					tableMetrics.forEach((fqn, tableInfo) -> tableInfo.collectMetrics(writer, connectorName));
+					if (initialLoadMetrics != null) {
+						initialLoadMetrics.collectMetrics(writer, connectorName);
+					}
+				};
+				OraCdcMetricsHttpServer.register(metricsHttpPort, metricsSource);
+			}
 
 			final String sourcePartitionName = rdbmsInfo.getInstanceName() + "_" + rdbmsInfo.getHostName();
 			LOGGER.debug("Source Partition {} set to {}.", sourcePartitionName, rdbmsInfo.getDbId());
-			partition = Collections.singletonMap(sourcePartitionName, ((Long)rdbmsInfo.getDbId()).toString());
+			if (taskCount > 1) {
+				// Each task has own offsets
+				final Map<String, String> taskPartition = new HashMap<>();
+				taskPartition.put(sourcePartitionName, ((Long)rdbmsInfo.getDbId()).toString());
+				taskPartition.put("TASK", taskId + "/" + taskCount);
+				partition = Collections.unmodifiableMap(taskPartition);
+			} else {
+				partition = Collections.singletonMap(sourcePartitionName, ((Long)rdbmsInfo.getDbId()).toString());
+			}
 
 			final Long redoSizeThreshold;
 			final Integer redoFilesCount;
@@ -171,7 +337,10 @@ public class OraCdcLogMinerTask extends SourceTask {
 						Arrays.asList(props.get(ParamConstants.TABLE_INCLUDE_PARAM).split("\\s*,\\s*"));
 			}
 			final boolean tableListGenerationStatic;
-			if (ParamConstants.TABLE_LIST_STYLE_STATIC.equalsIgnoreCase(props.get(ParamConstants.TABLE_LIST_STYLE_PARAM))) {
+			if (replay) {
+				// Recorded rows are already filtered, there is no dictionary to build the static list
+				tableListGenerationStatic = false;
+			} else if (ParamConstants.TABLE_LIST_STYLE_STATIC.equalsIgnoreCase(props.get(ParamConstants.TABLE_LIST_STYLE_PARAM))) {
 				// ParamConstants.TABLE_LIST_STYLE_STATIC
 				tableListGenerationStatic = true;
 			} else {
@@ -179,8 +348,13 @@ public class OraCdcLogMinerTask extends SourceTask {
 				tableListGenerationStatic = false;
 			}
 
-			final Path queuesRoot = FileSystems.getDefault().getPath(
-					props.get(ParamConstants.TEMP_DIR_PARAM));
+			final OraCdcSpillRoots queuesRoot = new OraCdcSpillRoots(
+					props.get(ParamConstants.TEMP_DIR_PARAM),
+					props.get(ParamConstants.TEMP_DIR_POLICY_PARAM));
+			metrics.setSpillRoots(queuesRoot);
+			OraCdcSpillReclaimer.register(queuesRoot, processLobs,
+					Integer.parseInt(props.getOrDefault(ParamConstants.TEMP_DIR_POOL_SIZE_PARAM, "0")));
+			spillReclaimerRegistered = true;
 
 			if (useOracdcSchemas) {
 				// Use stored schema only in this mode
@@ -188,12 +362,14 @@ public class OraCdcLogMinerTask extends SourceTask {
 				if (!StringUtils.isEmpty(schemaFileName)) {
 					try {
 						LOGGER.info("Loading stored schema definitions from file {}.", schemaFileName);
-						tablesInProcessing = FileUtils.readDictionaryFile(schemaFileName, schemaType);
+						tablesInProcessing = new CopyOnWriteLongObjectMap<>(
+								FileUtils.readDictionaryFile(schemaFileName, schemaType, columnProjection));
 						LOGGER.info("{} table schema definitions loaded from file {}.",
 								tablesInProcessing.size(), schemaFileName);
 						tablesInProcessing.forEach((key, table) -> {
 							table.setTopicDecoderPartition(
 									topic, topicNameStyle, topicNameDelimiter, odd, partition);
+							table.setRowFilter(rowFilter);
 							metrics.addTableInProcessing(table.fqn());
 						});
 					} catch (IOException ioe) {
@@ -203,26 +379,38 @@ public class OraCdcLogMinerTask extends SourceTask {
 				}
 			}
 			if (tablesInProcessing == null) {
-				tablesInProcessing = new ConcurrentHashMap<>();
+				tablesInProcessing = new CopyOnWriteLongObjectMap<>();
 			}
-			tablesOutOfScope = new HashSet<>();
-			activeTransactions = new HashMap<>();
+			tablesOutOfScope = new LongHashSet();
+			activeTransactions = new LongObjectHashMap<>();
 			committedTransactions = new LinkedBlockingQueue<>();
 
 			boolean rewind = false;
 			final long firstScn;
 			String firstRsId = null;
 			long firstSsn = 0;
+			// Only for a2.mining.strategy=committed, see OraCdcLogMinerWorkerThread.rewindCommitted()
+			long firstCommitScn = 0;
+			long miningScn = 0;
 			final boolean startScnFromProps = props.containsKey(ParamConstants.LGMNR_START_SCN_PARAM);
 			stateFileName = props.get(ParamConstants.PERSISTENT_STATE_FILE_PARAM);
+			if (taskCount > 1) {
+				stateFileName += "." + taskId;
+			}
 			final Path stateFilePath = Paths.get(stateFileName);
 			// Initial load
 			if (ParamConstants.INITIAL_LOAD_EXECUTE.equals(props.get(ParamConstants.INITIAL_LOAD_PARAM))) {
 				execInitialLoad = true;
 				initialLoadStatus = ParamConstants.INITIAL_LOAD_EXECUTE;
 			}
-			Map<String, Object> offsetFromKafka = context.offsetStorageReader().offset(partition);
-			if (stateFilePath.toFile().exists()) {
+			Map<String, Object> offsetFromKafka = replay ? null : context.offsetStorageReader().offset(partition);
+			if (replay) {
+				// Replay always starts from the beginning of recording,
+				// worker is rewound to position stored in recording header
+				firstScn = replaySource.getFirstScn();
+				LOGGER.info("Persistent state file {} and Kafka offsets ignored, replay starts from SCN {}.",
+						stateFileName, firstScn);
+			} else if (stateFilePath.toFile().exists()) {
 				// File with stored state exists
 				final long restoreStarted = System.currentTimeMillis();
 				OraCdcPersistentState persistentState = OraCdcPersistentState.fromFile(stateFileName);
@@ -259,6 +447,11 @@ public class OraCdcLogMinerTask extends SourceTask {
 					firstScn = persistentState.getLastScn();
 					firstRsId = persistentState.getLastRsId();
 					firstSsn = persistentState.getLastSsn();
+					if (committedDataOnly &&
+							persistentState.getLastCommitScn() != null && persistentState.getMiningScn() != null) {
+						firstCommitScn = persistentState.getLastCommitScn();
+						miningScn = persistentState.getMiningScn();
+					}
 
 					if (offsetFromKafka != null && offsetFromKafka.size() > 0) {
 						LOGGER.info("Last read SCN={}, RS_ID (RBA)='{}', SSN={}",
@@ -285,7 +478,7 @@ public class OraCdcLogMinerTask extends SourceTask {
 						for (int i = 0; i < persistentState.getInProgressTransactions().size(); i++) {
 							final OraCdcTransaction oct = OraCdcTransaction.restoreFromMap(
 									persistentState.getInProgressTransactions().get(i));
-							activeTransactions.put(oct.getXid(), oct);
+							activeTransactions.put(oct.getXidKey(), oct);
 							LOGGER.debug("Restored in progress transaction {}", oct.toString());
 						}
 					}
@@ -314,6 +507,11 @@ public class OraCdcLogMinerTask extends SourceTask {
 					firstScn = (long) offsetFromKafka.get("SCN");
 					firstRsId = (String) offsetFromKafka.get("RS_ID");
 					firstSsn = (long) offsetFromKafka.get("SSN");
+					if (committedDataOnly &&
+							offsetFromKafka.get("COMMIT_SCN") != null && offsetFromKafka.get("MINING_SCN") != null) {
+						firstCommitScn = (long) offsetFromKafka.get("COMMIT_SCN");
+						miningScn = (long) offsetFromKafka.get("MINING_SCN");
+					}
 					rewind = true;
 					LOGGER.warn("Persistent state file {} not found!", stateFileName);
 					LOGGER.warn("oracdc will use offset from Kafka cluster: SCN={}, RS_ID(RBA)='{}', SSN={}",
@@ -430,7 +628,7 @@ public class OraCdcLogMinerTask extends SourceTask {
 					mineDataSql += "where OPERATION_CODE in (1,2,3,7,36) ";
 				}
 			}
-			if (rdbmsInfo.isCdb()) {
+			if (rdbmsInfo.isCdb() && !replay) {
 				// Do not process objects from CDB$ROOT and PDB$SEED
 				mineDataSql += rdbmsInfo.getConUidsList(OraPoolConnectionFactory.getLogMinerConnection());
 			}
@@ -440,7 +638,7 @@ public class OraCdcLogMinerTask extends SourceTask {
 				LOGGER.debug("Initial load table list SQL {}", initialLoadSql);
 				tablesQueue = new LinkedBlockingQueue<>();
 				buildInitialLoadTableList(initialLoadSql);
-				initialLoadMetrics = new OraCdcInitialLoad(rdbmsInfo, props.get("name"));
+				initialLoadMetrics = new OraCdcInitialLoad(rdbmsInfo, connectorName);
 				initialLoadWorker = new OraCdcInitialLoadThread(
 						WAIT_FOR_WORKER_MILLIS,
 						firstScn,
@@ -451,31 +649,178 @@ public class OraCdcLogMinerTask extends SourceTask {
 						tablesQueue);
 			}
 
-			worker = new OraCdcLogMinerWorkerThread(
-					this,
-					pollInterval,
-					partition,
-					firstScn,
-					mineDataSql,
-					checkTableSql,
-					redoSizeThreshold,
-					redoFilesCount,
-					tablesInProcessing,
-					tablesOutOfScope,
-					schemaType,
-					useOracdcSchemas,
-					processLobs,
-					topic,
-					odd,
-					queuesRoot,
-					activeTransactions,
-					committedTransactions,
-					metrics,
-					topicNameStyle,
-					topicNameDelimiter,
-					Integer.parseInt(props.get(ParamConstants.CONNECTION_BACKOFF_PARAM)));
-			if (rewind) {
-				worker.rewind(firstScn, firstRsId, firstSsn);
+			if (sharedMiningGroup == null) {
+				final OraCdcLogMinerRowSource rowSource;
+				if (replay) {
+					rowSource = replaySource;
+				} else {
+					final OraCdcLogMinerJdbcRowSource jdbcRowSource = new OraCdcLogMinerJdbcRowSource(metrics,
+							firstCommitScn > 0 ? miningScn : firstScn, mineDataSql, checkTableSql,
+							redoSizeThreshold, redoFilesCount, processLobs, committedDataOnly, keepLogMinerSession);
+					jdbcRowSource.getLogMiner().setFirstCommitChange(firstCommitScn);
+					if (record) {
+						// Rows fetched while rewinding are recorded too, rewind position is
+						// stored in recording header and worker is rewound again on replay
+						rowSource = new OraCdcLogMinerRecorder(jdbcRowSource,
+								recordFileName, rdbmsInfo, firstScn,
+								rewind && !committedDataOnly ? firstRsId : null, firstSsn);
+						LOGGER.info("LogMiner rows will be recorded to {}.", recordFileName);
+					} else {
+						rowSource = jdbcRowSource;
+					}
+				}
+				worker = new OraCdcLogMinerWorkerThread(
+						() -> stop(false),
+						pollInterval,
+						partition,
+						rowSource,
+						tablesInProcessing,
+						tablesOutOfScope,
+						schemaType,
+						useOracdcSchemas,
+						processLobs,
+						topic,
+						odd,
+						queuesRoot,
+						activeTransactions,
+						committedTransactions,
+						metrics,
+						topicNameStyle,
+						topicNameDelimiter,
+						Integer.parseInt(props.get(ParamConstants.CONNECTION_BACKOFF_PARAM)),
+						heartbeatInterval);
+				if (replay) {
+					if (replaySource.getFirstRsId() != null) {
+						worker.rewind(firstScn, replaySource.getFirstRsId(), replaySource.getFirstSsn());
+					}
+				} else if (rewind) {
+					rewindWorker(firstScn, firstRsId, firstSsn, firstCommitScn);
+				}
+			} else {
+				// Shared LogMiner session mines all tables, filtering is performed by each subscriber
+				subscriberCheckTableSql = checkTableSql;
+				final String sharedMineDataSql;
+				final String sharedCheckTableSql;
+				if (rdbmsInfo.isCdb()) {
+					sharedMineDataSql = OraDictSqlTexts.MINE_DATA_CDB;
+					sharedCheckTableSql = OraDictSqlTexts.CHECK_TABLE_CDB + OraDictSqlTexts.CHECK_TABLE_CDB_WHERE_PARAM;
+				} else {
+					sharedMineDataSql = OraDictSqlTexts.MINE_DATA_NON_CDB;
+					sharedCheckTableSql = OraDictSqlTexts.CHECK_TABLE_NON_CDB + OraDictSqlTexts.CHECK_TABLE_NON_CDB_WHERE_PARAM;
+				}
+				synchronized (OraCdcSharedMiner.class) {
+					sharedMiner = OraCdcSharedMiner.get(sharedMiningGroup);
+					final boolean startSharedWorker = sharedMiner == null;
+					if (sharedMiner == null) {
+						final String groupStateFileName = stateFilePath
+								.resolveSibling("oracdc.shared." + sharedMiningGroup + ".state").toString();
+						sharedMiner = new OraCdcSharedMiner(
+								sharedMiningGroup, props, groupStateFileName, activeTransactions);
+						// Worker of group has own metrics, it may run longer than task which created it
+						final OraCdcLogMinerMgmt sharedMetrics = new OraCdcLogMinerMgmt(
+								rdbmsInfo, "shared-mining-" + sharedMiningGroup, null);
+						sharedMetrics.setSpillRoots(queuesRoot);
+						sharedMiner.setMetrics(sharedMetrics);
+						long sharedFirstScn = firstScn;
+						String sharedFirstRsId = firstRsId;
+						long sharedFirstSsn = firstSsn;
+						long sharedFirstCommitScn = firstCommitScn;
+						long sharedMiningScn = miningScn;
+						boolean sharedRewind = rewind;
+						if (!startScnFromProps && Paths.get(groupStateFileName).toFile().exists()) {
+							final OraCdcPersistentState groupState = OraCdcPersistentState.fromFile(groupStateFileName);
+							sharedFirstScn = groupState.getLastScn();
+							sharedFirstRsId = groupState.getLastRsId();
+							sharedFirstSsn = groupState.getLastSsn();
+							if (committedDataOnly &&
+									groupState.getLastCommitScn() != null && groupState.getMiningScn() != null) {
+								sharedFirstCommitScn = groupState.getLastCommitScn();
+								sharedMiningScn = groupState.getMiningScn();
+							} else {
+								sharedFirstCommitScn = 0;
+							}
+							sharedRewind = true;
+							if (groupState.getInProgressTransactions() != null) {
+								for (int i = 0; i < groupState.getInProgressTransactions().size(); i++) {
+									final OraCdcTransaction oct = OraCdcTransaction.restoreFromMap(
+											groupState.getInProgressTransactions().get(i));
+									activeTransactions.put(oct.getXidKey(), oct);
+									LOGGER.debug("Restored shared mining in progress transaction {}", oct.toString());
+								}
+							}
+							if (groupState.getCommittedTransactions() != null) {
+								for (int i = 0; i < groupState.getCommittedTransactions().size(); i++) {
+									final OraCdcTransaction oct = OraCdcTransaction.restoreFromMap(
+											groupState.getCommittedTransactions().get(i));
+									sharedMiner.addPending(oct);
+									LOGGER.debug("Restored shared mining committed transaction {}", oct.toString());
+								}
+							}
+							LOGGER.info("Shared mining group {} will start from SCN={}, RS_ID (RBA)='{}', SSN={} stored in {}.",
+									sharedMiningGroup, sharedFirstScn, sharedFirstRsId, sharedFirstSsn, groupStateFileName);
+						}
+						final OraCdcLogMinerJdbcRowSource sharedRowSource = new OraCdcLogMinerJdbcRowSource(
+								sharedMetrics,
+								sharedFirstCommitScn > 0 ? sharedMiningScn : sharedFirstScn,
+								sharedMineDataSql + (processLobs ?
+										"where OPERATION_CODE in (1,2,3,97,36) or (OPERATION_CODE=0 and DATA_OBJ#=DATA_OBJD# and DATA_OBJ#!=0)" :
+										"where OPERATION_CODE in (1,2,3,7,36) ") +
+									(rdbmsInfo.isCdb() ?
+										rdbmsInfo.getConUidsList(OraPoolConnectionFactory.getLogMinerConnection()) : ""),
+								sharedCheckTableSql,
+								redoSizeThreshold,
+								redoFilesCount,
+								processLobs,
+								committedDataOnly,
+								keepLogMinerSession);
+						sharedRowSource.getLogMiner().setFirstCommitChange(sharedFirstCommitScn);
+						worker = new OraCdcLogMinerWorkerThread(
+								sharedMiner::workerFailed,
+								pollInterval,
+								// Tables of shared worker are used only for scope check, records are built by subscribers
+								Collections.emptyMap(),
+								sharedRowSource,
+								sharedMiner.getTablesInProcessing(),
+								new LongHashSet(),
+								schemaType,
+								useOracdcSchemas,
+								processLobs,
+								topic,
+								odd,
+								queuesRoot,
+								activeTransactions,
+								sharedMiner.getCommittedTransactions(),
+								sharedMetrics,
+								topicNameStyle,
+								topicNameDelimiter,
+								Integer.parseInt(props.get(ParamConstants.CONNECTION_BACKOFF_PARAM)),
+								0);
+						if (sharedRewind) {
+							rewindWorker(sharedFirstScn, sharedFirstRsId, sharedFirstSsn, sharedFirstCommitScn);
+						}
+						sharedMiner.setWorker(worker);
+						OraCdcSharedMiner.register(sharedMiner);
+					} else {
+						worker = sharedMiner.getWorker();
+						if (!activeTransactions.isEmpty()) {
+							// Running group is already past start of these transactions and can not return their rows,
+							// transactions and state file are left untouched for next start
+							LOGGER.error("State file {} contains {} in progress transaction(s), they can not be completed by already running shared mining group {}!",
+									stateFileName, activeTransactions.size(), sharedMiningGroup);
+							LOGGER.error("Start connector without parameter {} until these transactions are sent, or stop all connectors of group {} and start this connector first.",
+									ParamConstants.SHARED_MINING_GROUP_PARAM, sharedMiningGroup);
+							throw new ConnectException("Unable to join running shared mining group " + sharedMiningGroup +
+									" with in progress transactions in state file " + stateFileName + "!");
+						}
+						LOGGER.info("Joined running shared mining group {}, processing starts from current mining position.",
+								sharedMiningGroup);
+					}
+					sharedMiner.subscribe(this, committedTransactions, props);
+					if (startSharedWorker) {
+						// Started after first subscription, transactions without subscribers are skipped
+						startWorker(props, true);
+					}
+				}
 			}
 
 		} catch (SQLException | InvalidPathException | IOException e) {
@@ -483,16 +828,73 @@ public class OraCdcLogMinerTask extends SourceTask {
 			LOGGER.error(ExceptionUtils.getExceptionStackTrace(e));
 			throw new ConnectException(e);
 		}
+		if (transaction != null) {
+			// Restored current transaction is counted by worker watermarks until acknowledged
+			worker.transactionSent(transaction);
+		}
 		LOGGER.trace("Starting worker thread.");
 		if (execInitialLoad) {
 			initialLoadWorker.start();
 		}
-		worker.start();
+		if (sharedMiner == null) {
+			startWorker(props, false);
+		}
 		needToStoreState = true;
 		runLatch = new CountDownLatch(1);
 		isPollRunning = new AtomicBoolean(false);
 	}
 
+	/**
+	 * Positions worker after last processed row
+	 * 
+	 * @param firstScn        SCN of last processed row
+	 * @param firstRsId       RS_ID of last processed row
+	 * @param firstSsn        SSN of last processed row
+	 * @param firstCommitScn  COMMIT_SCN of last processed row for a2.mining.strategy=committed,
+	 *                        0 when not stored
+	 * @throws SQLException
+	 */
+	private void rewindWorker(final long firstScn, final String firstRsId, final long firstSsn,
+			final long firstCommitScn) throws SQLException {
+		if (!committedDataOnly) {
+			worker.rewind(firstScn, firstRsId, firstSsn);
+		} else if (firstCommitScn > 0) {
+			// With COMMITTED_DATA_ONLY rows are returned in commit order, not in SCN/RS_ID/SSN order
+			worker.rewindCommitted(firstCommitScn, firstScn, firstRsId, firstSsn);
+		} else {
+			LOGGER.warn("COMMIT_SCN of last processed row not stored, mining starts from SCN = {} for {}={}.",
+					firstScn, ParamConstants.MINING_STRATEGY_PARAM, ParamConstants.MINING_STRATEGY_COMMITTED);
+			LOGGER.warn("Transactions open at SCN = {} are returned without earlier changes and rows after SCN = {}, RS_ID = '{}', SSN = {} may be sent again.",
+					firstScn, firstScn, firstRsId, firstSsn);
+		}
+	}
+
+	/**
+	 * Applies spill settings to worker and starts it
+	 * 
+	 * @param props  task properties
+	 * @param shared true for worker of shared mining group, column projection and row filter
+	 *               are not set for it, they are applied by each subscriber
+	 */
+	private void startWorker(final Map<String, String> props, final boolean shared) {
+		worker.setWatermarks(
+				Long.parseLong(props.getOrDefault(ParamConstants.SPILL_HIGH_WATERMARK_PARAM, "0")),
+				Long.parseLong(props.getOrDefault(ParamConstants.SPILL_LOW_WATERMARK_PARAM, "0")),
+				Integer.parseInt(props.getOrDefault(ParamConstants.COMMITTED_HIGH_WATERMARK_PARAM, "0")),
+				Integer.parseInt(props.getOrDefault(ParamConstants.COMMITTED_LOW_WATERMARK_PARAM, "0")));
+		worker.setCompressSqlRedo(ParamConstants.SPILL_COMPRESSION_LZ4.equals(
+				props.get(ParamConstants.SPILL_COMPRESSION_PARAM)));
+		worker.setCommittedDataOnly(committedDataOnly);
+		if (taskCount > 1) {
+			worker.setTaskDistribution(taskId, taskCount);
+		}
+		if (!shared) {
+			worker.setColumnProjection(columnProjection);
+			worker.setRowFilter(rowFilter);
+		}
+		worker.start();
+	}
+
 	@Override
 	public List<SourceRecord> poll() throws InterruptedException {
 		LOGGER.trace("BEGIN: poll()");
@@ -550,10 +952,19 @@ public class OraCdcLogMinerTask extends SourceTask {
 			// Load data from archived redo...
 			int recordCount = 0;
 			int parseTime = 0;
+			int skippedCount = 0;
+			final OraCdcParseBatchEvent jfrEvent = OraCdcJfr.AVAILABLE ? new OraCdcParseBatchEvent() : null;
+			if (jfrEvent != null) {
+				jfrEvent.begin();
+			}
 			while (recordCount < batchSize) {
 				if (lastStatementInTransaction) {
 					// End of transaction, need to poll new
 					transaction = committedTransactions.poll();
+					if (transaction != null) {
+						worker.transactionSent(transaction);
+						commitToPollRecorded = false;
+					}
 				}
 				if (transaction == null) {
 					// No more records produced by LogMiner worker
@@ -577,7 +988,14 @@ public class OraCdcLogMinerTask extends SourceTask {
 						lastStatementInTransaction = !processTransaction;
 
 						if (processTransaction) {
-							final OraTable4LogMiner oraTable = tablesInProcessing.get(stmt.getTableId());
+							OraTable4LogMiner oraTable = tablesInProcessing.get(stmt.getTableId());
+							if (oraTable == null && sharedMiner != null) {
+								oraTable = checkSubscriberScope(stmt.getTableId());
+								if (oraTable == null) {
+									// Table is out of scope for this connector
+									continue;
+								}
+							}
 							if (oraTable == null) {
 								LOGGER.error("Strange consistency issue for DATA_OBJ# {}, transaction XID {}, statement SCN={}, RS_ID='{}', SSN={}.\n Exiting.",
 										stmt.getTableId(), transaction.getXid(), stmt.getScn(), stmt.getRsId(), stmt.getSsn());
@@ -586,10 +1004,44 @@ public class OraCdcLogMinerTask extends SourceTask {
 							} else {
 								try {
 									final long startParseTs = System.currentTimeMillis();
-									SourceRecord record = oraTable.parseRedoRecord(stmt, lobs);
+									final long startParseNanos = System.nanoTime();
+									SourceRecord record = committedDataOnly ?
+											oraTable.parseRedoRecord(stmt, lobs, sourceQueryProfile, deltaUpdates,
+													OraCdcRecordBuilder.logMinerCommittedOffset(
+															stmt.getScn(), stmt.getRsId(), stmt.getSsn(),
+															transaction.getCommitScn(), transaction.getMiningScn())) :
+											oraTable.parseRedoRecord(stmt, lobs, sourceQueryProfile, deltaUpdates);
+									final long parseNanos = System.nanoTime() - startParseNanos;
+									metrics.addParseTime(parseNanos / 1_000);
+									if (tableMetricsIdleMs > 0) {
+										tableMetrics
+											.computeIfAbsent(oraTable.fqn(), fqn -> new OraCdcSourceTableInfo(connectorName, fqn))
+											.addRecord(stmt.getOperation(),
+													stmt.getSqlRedo() == null ? 0 : stmt.getSqlRedo().length(),
+													parseNanos, stmt.getScn(), record != null);
+									}
+									if (record == null) {
+										if (oraTable.isNoopUpdateSkipped()) {
+											metrics.addNoopUpdate();
+										} else {
+											// Filtered by a2.row.filter
+											metrics.addFilteredRecord(oraTable.fqn());
+										}
+										skippedCount++;
+										continue;
+									}
 									result.add(record);
+									if (!commitToPollRecorded) {
+										if (transaction.getCommitSeenMillis() > 0) {
+											metrics.addCommitToPollLatency(System.currentTimeMillis() - transaction.getCommitSeenMillis());
+										}
+										commitToPollRecorded = true;
+									}
+									unackedRecords.put(record, transaction.recordSent());
 									recordCount++;
 									parseTime += (System.currentTimeMillis() - startParseTs);
+									lastSentScn = stmt.getScn();
+									lastSentCommitScn = transaction.getCommitScn();
 								} catch (SQLException e) {
 									LOGGER.error(e.getMessage());
 									LOGGER.error(ExceptionUtils.getExceptionStackTrace(e));
@@ -601,19 +1053,38 @@ public class OraCdcLogMinerTask extends SourceTask {
 					} while (processTransaction && recordCount < batchSize);
 					if (lastStatementInTransaction) {
 						// close Cronicle queue only when all statements are processed
+						// and acknowledged by Kafka, see commit()
 						if (LOGGER.isDebugEnabled()) {
 							LOGGER.debug("End of processing transaction XID {}, first change {}, commit SCN {}.",
 								transaction.getXid(), transaction.getFirstChange(), transaction.getCommitScn());
 						}
-						transaction.close();
+						synchronized (sentTransactions) {
+							sentTransactions.add(transaction);
+						}
 						transaction = null;
 					}
 				}
 			}
+			if (jfrEvent != null && (recordCount > 0 || skippedCount > 0) && jfrEvent.shouldCommit()) {
+				jfrEvent.records = recordCount;
+				jfrEvent.skippedRecords = skippedCount;
+				jfrEvent.xid = transaction == null ? null : transaction.getXid();
+				jfrEvent.lastScn = lastSentScn;
+				jfrEvent.commit();
+			}
+			if (tableMetricsIdleMs > 0 &&
+					System.currentTimeMillis() - lastTableMetricsCheck > Math.min(tableMetricsIdleMs, WAIT_FOR_TABLE_METRICS_CHECK_MILLIS)) {
+				unregisterIdleTableMetrics();
+			}
 			if (recordCount == 0) {
-				synchronized (this) {
-					LOGGER.debug("Waiting {} ms", pollInterval);
-					Thread.sleep(pollInterval);
+				final SourceRecord heartbeat = heartbeatRecord();
+				if (heartbeat != null) {
+					result.add(heartbeat);
+				} else {
+					synchronized (this) {
+						LOGGER.debug("Waiting {} ms", pollInterval);
+						Thread.sleep(pollInterval);
+					}
 				}
 			} else {
 				metrics.addSentRecords(result.size(), parseTime);
@@ -624,6 +1095,114 @@ public class OraCdcLogMinerTask extends SourceTask {
 		return result;
 	}
 
+	/**
+	 * Builds heartbeat record with worker position when there are no transactions to send
+	 * 
+	 * @return heartbeat record or null
+	 */
+	private SourceRecord heartbeatRecord() {
+		if (heartbeatInterval > 0 && transaction == null) {
+			// Committed transactions queue is checked by worker together with offset capture
+			final Map<String, Object> offset = worker.pollHeartbeatOffset();
+			// Do not move offset back when worker position is captured before sending last transaction
+			if (offset != null && (committedDataOnly ?
+					((long) offset.get("COMMIT_SCN")) >= lastSentCommitScn :
+					((long) offset.get("SCN")) >= lastSentScn)) {
+				final Struct value = new Struct(HEARTBEAT_SCHEMA);
+				value.put("SCN", offset.get("SCN"));
+				value.put("RS_ID", offset.get("RS_ID"));
+				value.put("SSN", offset.get("SSN"));
+				value.put("ts_ms", System.currentTimeMillis());
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug("Sending heartbeat with SCN={}, RS_ID='{}', SSN={}",
+							offset.get("SCN"), offset.get("RS_ID"), offset.get("SSN"));
+				}
+				return new SourceRecord(partition, offset, heartbeatTopic, HEARTBEAT_SCHEMA, value);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks table from shared mining against a2.include/a2.exclude of this connector
+	 * 
+	 * @param combinedDataObjectId
+	 * @return table definition or null when table is out of scope
+	 */
+	private OraTable4LogMiner checkSubscriberScope(final long combinedDataObjectId) {
+		if (tablesOutOfScope.contains(combinedDataObjectId)) {
+			return null;
+		}
+		final boolean isCdb = rdbmsInfo.isCdb();
+		final int tableId = (int) combinedDataObjectId;
+		final int conId = (int) (combinedDataObjectId >> 32);
+		OraTable4LogMiner oraTable = null;
+		try {
+			if (psSubscriberCheckTable == null) {
+				subscriberConnection = OraPoolConnectionFactory.getConnection();
+				psSubscriberCheckTable = subscriberConnection.prepareStatement(subscriberCheckTableSql,
+						ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			}
+			psSubscriberCheckTable.setInt(1, tableId);
+			if (isCdb) {
+				psSubscriberCheckTable.setInt(2, conId);
+			}
+			final ResultSet rsCheckTable = psSubscriberCheckTable.executeQuery();
+			if (rsCheckTable.next()) {
+				oraTable = new OraTable4LogMiner(
+						isCdb ? rsCheckTable.getString("PDB_NAME") : null,
+						isCdb ? (short) conId : null,
+						rsCheckTable.getString("OWNER"), rsCheckTable.getString("TABLE_NAME"),
+						"ENABLED".equalsIgnoreCase(rsCheckTable.getString("DEPENDENCIES")),
+						schemaType, useOracdcSchemas, processLobs,
+						isCdb, odd, partition, topic, topicNameStyle, topicNameDelimiter,
+						columnProjection, rowFilter);
+				tablesInProcessing.put(combinedDataObjectId, oraTable);
+				metrics.addTableInProcessing(oraTable.fqn());
+			} else {
+				synchronized (tablesOutOfScope) {
+					tablesOutOfScope.add(combinedDataObjectId);
+				}
+				metrics.addTableOutOfScope();
+			}
+			rsCheckTable.close();
+			psSubscriberCheckTable.clearParameters();
+		} catch (SQLException sqle) {
+			LOGGER.error("Unable to check OBJECT_ID {} from CON_ID {} for shared mining!", tableId, conId);
+			LOGGER.error(ExceptionUtils.getExceptionStackTrace(sqle));
+			isPollRunning.set(false);
+			throw new ConnectException(sqle);
+		}
+		return oraTable;
+	}
+
+	@Override
+	public void commitRecord(SourceRecord record) throws InterruptedException {
+		final OraCdcTransaction.SentRecord sent = unackedRecords.remove(record);
+		if (sent != null) {
+			sent.getTransaction().recordAcked(sent);
+		}
+	}
+
+	@Override
+	public void commit() throws InterruptedException {
+		// Release transactions with all records acknowledged by Kafka
+		synchronized (sentTransactions) {
+			final Iterator<OraCdcTransaction> iterator = sentTransactions.iterator();
+			while (iterator.hasNext()) {
+				final OraCdcTransaction sent = iterator.next();
+				if (sent.allSentRecordsAcked()) {
+					if (LOGGER.isDebugEnabled()) {
+						LOGGER.debug("All records of transaction XID {} acknowledged, releasing.", sent.getXid());
+					}
+					sent.close();
+					worker.transactionReleased(sent);
+					iterator.remove();
+				}
+			}
+		}
+	}
+
 	@Override
 	public void stop() {
 		stop(true);
@@ -634,7 +1213,9 @@ public class OraCdcLogMinerTask extends SourceTask {
 		if (runLatch != null ) {
 			// We can stop before runLatch initialization due to invalid parameters
 			runLatch.countDown();
-			if (stopWorker) {
+			// Worker of shared mining is stopped only by last subscriber
+			final boolean lastSubscriber = sharedMiner != null && sharedMiner.unsubscribe(this, committedTransactions);
+			if (stopWorker && (sharedMiner == null || lastSubscriber)) {
 				worker.shutdown();
 				while (worker.isRunning()) {
 					try {
@@ -654,9 +1235,32 @@ public class OraCdcLogMinerTask extends SourceTask {
 					}
 				}
 			}
+			if (worker != null) {
+				// Shared worker continues without transactions of this subscriber
+				synchronized (sentTransactions) {
+					for (final OraCdcTransaction trans : sentTransactions) {
+						worker.transactionReleased(trans);
+					}
+				}
+				if (transaction != null) {
+					worker.transactionReleased(transaction);
+				}
+			}
+			if (psSubscriberCheckTable != null) {
+				try {
+					psSubscriberCheckTable.close();
+					subscriberConnection.close();
+				} catch (SQLException sqle) {
+					LOGGER.error(ExceptionUtils.getExceptionStackTrace(sqle));
+				}
+				psSubscriberCheckTable = null;
+			}
 			if (needToStoreState) {
 				try {
 					saveState(true);
+					if (lastSubscriber) {
+						sharedMiner.saveState();
+					}
 				} catch(IOException ioe) {
 					LOGGER.error("Unable to save state to file " + stateFileName + "!");
 					LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
@@ -668,6 +1272,66 @@ public class OraCdcLogMinerTask extends SourceTask {
 				LOGGER.info("Check Connect log files for errors.");
 			}
 		}
+		if (spillReclaimerRegistered) {
+			OraCdcSpillReclaimer.unregister();
+			spillReclaimerRegistered = false;
+		}
+		if (metricsSource != null) {
+			OraCdcMetricsHttpServer.unregister(metricsSource);
+			metricsSource = null;
+		}
+		tableMetrics.forEach((fqn, tableInfo) -> tableInfo.unregister());
+		tableMetrics.clear();
+	}
+
+	/**
+	 * Returns transaction attributes for state file. Chronicle Queue files of transaction
+	 * shared with other subscribers of shared mining group are claimed by this connector
+	 * and transaction is closed
+	 * 
+	 * @param trans transaction
+	 * @return transaction attributes
+	 * @throws IOException
+	 */
+	private Map<String, Object> transactionState(final OraCdcTransaction trans) throws IOException {
+		if (trans.isShared()) {
+			trans.claim(connectorName);
+			final Map<String, Object> attrs = trans.attrsAsMap();
+			trans.close();
+			return attrs;
+		} else {
+			return trans.attrsAsMap();
+		}
+	}
+
+	/**
+	 * Called by LogMiner worker of shared mining group before publishing transaction
+	 * 
+	 * @param tableIds OBJECT_ID of tables changed by transaction
+	 * @return false when all tables are known to be out of scope for this connector
+	 */
+	boolean isAnyTableInScope(final long[] tableIds) {
+		synchronized (tablesOutOfScope) {
+			for (final long tableId : tableIds) {
+				if (!tablesOutOfScope.contains(tableId)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void unregisterIdleTableMetrics() {
+		lastTableMetricsCheck = System.currentTimeMillis();
+		final Iterator<Map.Entry<String, OraCdcSourceTableInfo>> iterator = tableMetrics.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final OraCdcSourceTableInfo tableInfo = iterator.next().getValue();
+			if (tableInfo.getIdleTimeMillis() > tableMetricsIdleMs) {
+				LOGGER.debug("Unregistering metrics for idle table {}.", tableInfo.getTableName());
+				tableInfo.unregister();
+				iterator.remove();
+			}
+		}
 	}
 
 	/**
@@ -689,22 +1353,44 @@ public class OraCdcLogMinerTask extends SourceTask {
 		ops.setLastScn(worker.getLastScn());
 		ops.setLastRsId(worker.getLastRsId());
 		ops.setLastSsn(worker.getLastSsn());
+		if (committedDataOnly && worker.getLastCommitScn() > 0) {
+			ops.setLastCommitScn(worker.getLastCommitScn());
+			ops.setMiningScn(worker.getLastMiningScn());
+		}
 		ops.setInitialLoad(initialLoadStatus);
 		if (saveFinalState) {
+			final List<Map<String, Object>> committed = new ArrayList<>();
+			synchronized (sentTransactions) {
+				// Transactions sent but not acknowledged by Kafka are replayed from Chronicle queue
+				for (final OraCdcTransaction trans : sentTransactions) {
+					if (trans.allSentRecordsAcked()) {
+						trans.close();
+					} else {
+						committed.add(transactionState(trans));
+						LOGGER.debug("Added to state file not acknowledged transaction {}", trans.toString());
+					}
+				}
+				sentTransactions.clear();
+			}
 			if (transaction != null) {
-				ops.setCurrentTransaction(transaction.attrsAsMap());
+				if (committed.isEmpty()) {
+					ops.setCurrentTransaction(transactionState(transaction));
+				} else {
+					// Keep order of transactions
+					committed.add(transactionState(transaction));
+				}
 				LOGGER.debug("Added to state file transaction {}", transaction.toString());
 			}
-			if (!committedTransactions.isEmpty()) {
-				final List<Map<String, Object>> committed = new ArrayList<>();
-				committedTransactions.stream().forEach(trans -> {
-					committed.add(trans.attrsAsMap());
-					LOGGER.debug("Added to state file committed transaction {}", trans.toString());
-				});
+			for (final OraCdcTransaction trans : committedTransactions) {
+				committed.add(transactionState(trans));
+				LOGGER.debug("Added to state file committed transaction {}", trans.toString());
+			}
+			if (!committed.isEmpty()) {
 				ops.setCommittedTransactions(committed);
 			}
 		}
-		if (!activeTransactions.isEmpty()) {
+		// In progress transactions of shared mining are saved by OraCdcSharedMiner
+		if (sharedMiner == null && !activeTransactions.isEmpty()) {
 			final List<Map<String, Object>> wip = new ArrayList<>();
 			activeTransactions.forEach((xid, trans) -> {
 				wip.add(trans.attrsAsMap());
@@ -724,17 +1410,25 @@ public class OraCdcLogMinerTask extends SourceTask {
 			});
 			ops.setProcessedTablesIds(wipTables);
 		}
-		if (!tablesOutOfScope.isEmpty()) {
+		final long[] oosIds;
+		if (sharedMiner == null && worker != null) {
+			oosIds = worker.getTablesOutOfScope();
+		} else {
+			synchronized (tablesOutOfScope) {
+				oosIds = tablesOutOfScope.toArray();
+			}
+		}
+		if (oosIds.length > 0) {
 			final List<Long> oosTables = new ArrayList<>();
-			tablesOutOfScope.forEach(combinedId -> {
+			for (final long combinedId : oosIds) {
 				oosTables.add(combinedId);
 				metrics.addTableOutOfScope();
 				if (LOGGER.isDebugEnabled()) {
-					final int tableId = (int) ((long) combinedId);
+					final int tableId = (int) combinedId;
 					final int conId = (int) (combinedId >> 32);
 					LOGGER.debug("Added to state file in out of scope table OBJECT_ID {} from CON_ID {}", tableId, conId);
 				}
-			});
+			}
 			ops.setOutOfScopeTablesIds(oosTables);
 		}
 		try {
@@ -798,7 +1492,8 @@ public class OraCdcLogMinerTask extends SourceTask {
 							tableOwner, tableName,
 							"ENABLED".equalsIgnoreCase(rsCheckTable.getString("DEPENDENCIES")),
 							schemaType, useOracdcSchemas, processLobs,
-							isCdb, odd, partition, topic, topicNameStyle, topicNameDelimiter);
+							isCdb, odd, partition, topic, topicNameStyle, topicNameDelimiter,
+							columnProjection, rowFilter);
 					tablesInProcessing.put(combinedDataObjectId, oraTable);
 					metrics.addTableInProcessing(oraTable.fqn());
 					LOGGER.debug("Restored metadata for table {}, OBJECT_ID={}, CON_ID={}",
@@ -822,6 +1517,10 @@ public class OraCdcLogMinerTask extends SourceTask {
 			final boolean isCdb = rdbmsInfo.isCdb();
 			while (resultSet.next()) {
 				final long objectId = resultSet.getLong("OBJECT_ID");
+				if (taskCount > 1 && (objectId % taskCount) != taskId) {
+					// Table processed by another task
+					continue;
+				}
 				final long conId = isCdb ? resultSet.getLong("CON_ID") : 0L;
 				final long combinedDataObjectId = (conId << 32) | (objectId & 0xFFFFFFFFL);
 				final String tableName = resultSet.getString("TABLE_NAME");
@@ -833,7 +1532,8 @@ public class OraCdcLogMinerTask extends SourceTask {
 							resultSet.getString("OWNER"), tableName,
 							"ENABLED".equalsIgnoreCase(resultSet.getString("DEPENDENCIES")),
 							schemaType, useOracdcSchemas, processLobs,
-							isCdb, odd, partition, topic, topicNameStyle, topicNameDelimiter);
+							isCdb, odd, partition, topic, topicNameStyle, topicNameDelimiter,
+							columnProjection, rowFilter);
 					tablesInProcessing.put(combinedDataObjectId, oraTable);
 				}
 			}
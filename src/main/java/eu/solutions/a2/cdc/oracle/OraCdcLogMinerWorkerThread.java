@@ -15,17 +15,17 @@ package eu.solutions.a2.cdc.oracle;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLRecoverableException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -34,10 +34,13 @@ import org.apache.kafka.connect.errors.ConnectException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcDictionaryLookupEvent;
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcJfr;
 import eu.solutions.a2.cdc.oracle.jmx.OraCdcLogMinerMgmt;
+import eu.solutions.a2.cdc.oracle.utils.CopyOnWriteLongObjectMap;
 import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
-import oracle.jdbc.OraclePreparedStatement;
-import oracle.jdbc.OracleResultSet;
+import eu.solutions.a2.cdc.oracle.utils.LongHashSet;
+import eu.solutions.a2.cdc.oracle.utils.LongObjectHashMap;
 
 /**
  * 
@@ -48,35 +51,46 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcLogMinerWorkerThread.class);
 	private static final int ORA_17410 = 17410;
+	private static final long TRANSACTIONS_SNAPSHOT_INTERVAL_MILLIS = 1_000;
 
-	private final OraCdcLogMinerTask task;
+	// Called when worker stops because of error
+	private final Runnable failureHandler;
 	private final int pollInterval;
 	private final OraRdbmsInfo rdbmsInfo;
 	private final OraCdcLogMinerMgmt metrics;
 	private final CountDownLatch runLatch;
 	private boolean logMinerReady = false;
 	private final Map<String, String> partition;
-	private final Map<Long, OraTable4LogMiner> tablesInProcessing;
-	private final Map<Long, Long> partitionsInProcessing;
-	private final Set<Long> tablesOutOfScope;
+	private final CopyOnWriteLongObjectMap<OraTable4LogMiner> tablesInProcessing;
+	private final LongObjectHashMap<Long> partitionsInProcessing;
+	private final LongHashSet tablesOutOfScope;
+	// Tables and partitions processed by other tasks, only with hash distribution of tasks
+	private final LongHashSet tablesOfOtherTasks;
+	private int taskId = 0;
+	private int taskCount = 1;
 	private final int schemaType;
 	private final String topic;
 	private final OraDumpDecoder odd;
-	private final OraLogMiner logMiner;
-	private Connection connLogMiner;
-	private PreparedStatement psLogMiner;
-	private OraclePreparedStatement psReadLob;
-	private OracleResultSet rsLogMiner;
-	private final String mineDataSql;
-	private final Connection connDictionary;
-	private final PreparedStatement psCheckTable;
-	private final Path queuesRoot;
-	private final Map<String, OraCdcTransaction> activeTransactions;
+	private final OraCdcLogMinerRowSource rsLogMiner;
+	private final OraCdcSpillRoots queuesRoot;
+	private final LongObjectHashMap<OraCdcTransaction> activeTransactions;
+	private int unconfirmedTransactions = 0;
 	private final BlockingQueue<OraCdcTransaction> committedTransactions;
+	// Taken from committedTransactions by poll() of task(s) and not yet acknowledged by Kafka
+	private final Set<OraCdcTransaction> sentTransactions = Collections.newSetFromMap(new ConcurrentHashMap<>());
 	private final boolean useOracdcSchemas;
 	private long lastScn;
 	private String lastRsId;
 	private long lastSsn;
+	private boolean committedDataOnly = false;
+	// COMMIT_SCN and first SCN of LogMiner window of last row, only with COMMITTED_DATA_ONLY
+	private long lastCommitScn;
+	private long lastMiningScn;
+	// Rows up to this position are already processed, only with COMMITTED_DATA_ONLY
+	private long skipCommitScn = 0;
+	private long skipScn;
+	private String skipRsId;
+	private long skipSsn;
 	private final AtomicBoolean running;
 	private boolean isCdb;
 	private final boolean processLobs;
@@ -84,40 +98,51 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 	private final String topicNameDelimiter;
 	private OraCdcLargeObjectWorker lobWorker;
 	private final int connectionRetryBackoff;
+	private final int heartbeatInterval;
+	private long lastHeartbeatMillis;
+	private long lastTransactionsSnapshotMillis = 0;
+	// Guards heartbeatOffset and adding to committedTransactions
+	private final Object heartbeatLock = new Object();
+	private Map<String, Object> heartbeatOffset;
+	private long spillHighWatermark = 0;
+	private long spillLowWatermark = 0;
+	private int committedHighWatermark = 0;
+	private int committedLowWatermark = 0;
+	private boolean compressSqlRedo = false;
+	private OraCdcColumnProjection columnProjection;
+	private OraCdcRowFilter rowFilter;
 
 	public OraCdcLogMinerWorkerThread(
-			final OraCdcLogMinerTask task,
+			final Runnable failureHandler,
 			final int pollInterval,
 			final Map<String, String> partition,
-			final long firstScn,
-			final String mineDataSql,
-			final String checkTableSql,
-			final Long redoSizeThreshold,
-			final Integer redoFilesCount,
-			final Map<Long, OraTable4LogMiner> tablesInProcessing,
-			final Set<Long> tablesOutOfScope,
+			final OraCdcLogMinerRowSource rowSource,
+			final CopyOnWriteLongObjectMap<OraTable4LogMiner> tablesInProcessing,
+			final LongHashSet tablesOutOfScope,
 			final int schemaType,
 			final boolean useOracdcSchemas,
 			final boolean processLobs,
 			final String topic,
 			final OraDumpDecoder odd,
-			final Path queuesRoot,
-			final Map<String, OraCdcTransaction> activeTransactions,
+			final OraCdcSpillRoots queuesRoot,
+			final LongObjectHashMap<OraCdcTransaction> activeTransactions,
 			final BlockingQueue<OraCdcTransaction> committedTransactions,
 			final OraCdcLogMinerMgmt metrics,
 			final int topicNameStyle,
 			final String topicNameDelimiter,
-			final int connectionRetryBackoff) throws SQLException {
+			final int connectionRetryBackoff,
+			final int heartbeatInterval) throws SQLException {
 		LOGGER.info("Initializing oracdc logminer archivelog worker thread");
 		this.setName("OraCdcLogMinerWorkerThread-" + System.nanoTime());
-		this.task = task;
+		this.failureHandler = failureHandler;
 		this.pollInterval = pollInterval;
 		this.partition = partition;
-		this.mineDataSql = mineDataSql;
+		this.rsLogMiner = rowSource;
 		this.tablesInProcessing = tablesInProcessing;
 		// We do not need concurrency for this map
-		this.partitionsInProcessing = new HashMap<>();
+		this.partitionsInProcessing = new LongObjectHashMap<>();
 		this.tablesOutOfScope = tablesOutOfScope;
+		this.tablesOfOtherTasks = new LongHashSet();
 		this.queuesRoot = queuesRoot;
 		this.odd = odd;
 		this.schemaType = schemaType;
@@ -125,55 +150,24 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 		this.processLobs = processLobs;
 		this.topic = topic;
 		this.activeTransactions = activeTransactions;
+		activeTransactions.forEach((xidKey, transaction) -> {
+			if (!transaction.isXidKeyKnown()) {
+				unconfirmedTransactions++;
+			}
+		});
 		this.committedTransactions = committedTransactions;
 		this.metrics = metrics;
 		this.topicNameStyle = topicNameStyle;
 		this.topicNameDelimiter = topicNameDelimiter;
 		this.connectionRetryBackoff = connectionRetryBackoff;
+		this.heartbeatInterval = heartbeatInterval;
+		lastHeartbeatMillis = System.currentTimeMillis();
 		runLatch = new CountDownLatch(1);
 		running = new AtomicBoolean(false);
 		try {
-			connLogMiner = OraPoolConnectionFactory.getLogMinerConnection();
-			connDictionary = OraPoolConnectionFactory.getConnection();
-
 			rdbmsInfo = OraRdbmsInfo.getInstance();
 			isCdb = rdbmsInfo.isCdb();
-
-			if (redoSizeThreshold != null) {
-				logMiner = new OraLogMiner(connLogMiner, metrics, firstScn, redoSizeThreshold);
-			} else {
-				logMiner = new OraLogMiner(connLogMiner, metrics, firstScn, redoFilesCount);
-			}
-			if (logMiner.getDbId() == rdbmsInfo.getDbId()) {
-				LOGGER.debug("Database Id for dictionary and mining connections: {}", logMiner.getDbId());
-				if (logMiner.isDictionaryAvailable()) {
-					LOGGER.info("Mining database {} is in OPEN mode", logMiner.getDbUniqueName());
-					if (logMiner.getDbUniqueName().equals(rdbmsInfo.getDbUniqueName())) {
-						LOGGER.info("Same database will be used for dictionary query and mining");
-					} else {
-						LOGGER.info("Active DataGuard database {} will be used for mining", logMiner.getDbUniqueName());
-					}
-				} else {
-					LOGGER.info("Mining database {} is in MOUNT mode", logMiner.getDbUniqueName());
-					LOGGER.info("DataGuard database {} will be used for mining", logMiner.getDbUniqueName());
-				}
-			} else {
-				throw new SQLException("Unable to mine data from databases with different DBID!!!");
-			}
-
-			// Finally - prepare for mining...
-			psLogMiner = connLogMiner.prepareStatement(
-					mineDataSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-			psCheckTable = connDictionary.prepareStatement(
-					checkTableSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-			logMinerReady = logMiner.next();
-			if (processLobs) {
-				psReadLob = (OraclePreparedStatement) connLogMiner.prepareStatement(
-						isCdb ? OraDictSqlTexts.MINE_LOB_CDB :
-								OraDictSqlTexts.MINE_LOB_NON_CDB,
-						ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-			}
-
+			logMinerReady = rsLogMiner.nextWindow();
 		} catch (SQLException e) {
 			LOGGER.error("Unable to start logminer archivelog worker thread!");
 			LOGGER.error(ExceptionUtils.getExceptionStackTrace(e));
@@ -185,7 +179,7 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 		if (logMinerReady) {
 			LOGGER.info("Rewinding LogMiner ResultSet to first position after SCN = {}, RS_ID = '{}', SSN = {}.",
 					firstScn, firstRsId, firstSsn);
-			rsLogMiner = (OracleResultSet) psLogMiner.executeQuery();
+			rsLogMiner.reopen();
 			int recordCount = 0;
 			long rewindElapsed = System.currentTimeMillis();
 			boolean rewindNeeded = true;
@@ -199,8 +193,7 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 						// Hit this with 10.2.0.5
 						rewindNeeded = false;
 						// Need to reopen cursor
-						rsLogMiner.close();
-						rsLogMiner = (OracleResultSet) psLogMiner.executeQuery();
+						rsLogMiner.reopen();
 					} else {
 						recordCount++;
 						if (firstScn == scn &&
@@ -224,6 +217,31 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 		}
 	}
 
+	/**
+	 * Skips already processed rows after restart with COMMITTED_DATA_ONLY. Rows are returned in commit order
+	 * and rows of transactions committed before firstCommitScn are not returned by LogMiner query, so rows
+	 * with COMMIT_SCN = firstCommitScn are skipped up to and including row at SCN/RS_ID/SSN
+	 * 
+	 * @param firstCommitScn  COMMIT_SCN of last processed row
+	 * @param firstScn        SCN of last processed row
+	 * @param firstRsId       RS_ID of last processed row
+	 * @param firstSsn        SSN of last processed row
+	 */
+	public void rewindCommitted(final long firstCommitScn,
+			final long firstScn, final String firstRsId, final long firstSsn) {
+		LOGGER.info("Rows with COMMIT_SCN = {} will be skipped up to SCN = {}, RS_ID = '{}', SSN = {}.",
+				firstCommitScn, firstScn, firstRsId, firstSsn);
+		skipCommitScn = firstCommitScn;
+		skipScn = firstScn;
+		skipRsId = firstRsId;
+		skipSsn = firstSsn;
+		lastScn = firstScn;
+		lastRsId = firstRsId;
+		lastSsn = firstSsn;
+		lastCommitScn = firstCommitScn;
+		lastMiningScn = rsLogMiner.getMiningScn();
+	}
+
 	@Override
 	public void run()  {
 		LOGGER.info("BEGIN: OraCdcLogMinerWorkerThread.run()");
@@ -232,49 +250,82 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 			long lastGuaranteedScn = 0;
 			String lastGuaranteedRsId = null;
 			long lastGuaranteedSsn = 0;
+			long lastGuaranteedCommitScn = 0;
+			long lastGuaranteedMiningScn = 0;
 			try {
 				if (logMinerReady) {
-					if (rsLogMiner == null) {
-						rsLogMiner = (OracleResultSet) psLogMiner.executeQuery();
-					}
 					boolean isRsLogMinerRowAvailable = rsLogMiner.next();
 					while (isRsLogMinerRowAvailable && runLatch.getCount() > 0) {
 						boolean fetchRsLogMinerNext = true;
 						final short operation = rsLogMiner.getShort("OPERATION_CODE");
-						final String xid = rsLogMiner.getString("XID");
+						final long xidKey = OraCdcTransaction.packXid(
+								rsLogMiner.getInt("XIDUSN"), rsLogMiner.getInt("XIDSLT"), rsLogMiner.getLong("XIDSQN"));
 						lastScn = rsLogMiner.getLong("SCN");
 						lastRsId = rsLogMiner.getString("RS_ID");
 						lastSsn = rsLogMiner.getLong("SSN");
-						OraCdcTransaction transaction = activeTransactions.get(xid);
+						if (committedDataOnly) {
+							lastCommitScn = rsLogMiner.getLong("COMMIT_SCN");
+							lastMiningScn = rsLogMiner.getMiningScn();
+							if (skipCommitScn > 0) {
+								if (lastCommitScn == skipCommitScn) {
+									if (lastScn == skipScn &&
+											StringUtils.equals(lastRsId, skipRsId) &&
+											lastSsn == skipSsn &&
+											!rsLogMiner.getBoolean("CSF")) {
+										LOGGER.info("Skipped rows up to SCN = {}, RS_ID = '{}', SSN = {}.",
+												skipScn, skipRsId, skipSsn);
+										skipCommitScn = 0;
+									}
+									isRsLogMinerRowAvailable = rsLogMiner.next();
+									continue;
+								} else {
+									LOGGER.warn("Row with SCN = {}, RS_ID = '{}', SSN = {} not found, processing continues from COMMIT_SCN = {}.",
+											skipScn, skipRsId, skipSsn, lastCommitScn);
+									skipCommitScn = 0;
+								}
+							}
+						}
+						OraCdcTransaction transaction = activeTransactions.get(xidKey);
+						if (unconfirmedTransactions > 0) {
+							transaction = confirmXidKey(xidKey, transaction);
+						}
 						switch (operation) {
 						case OraLogMiner.V$LOGMNR_CONTENTS_COMMIT:
 							if (transaction != null) {
 								// SCN of commit
 								transaction.setCommitScn(lastScn);
-								committedTransactions.add(transaction);
-								activeTransactions.remove(xid);
+								final long commitSeenMillis = System.currentTimeMillis();
+								transaction.setCommitSeenMillis(commitSeenMillis);
+								metrics.addFetchToCommitLatency(commitSeenMillis - transaction.getFirstFetchMillis());
+								synchronized (heartbeatLock) {
+									committedTransactions.add(transaction);
+								}
+								activeTransactions.remove(xidKey);
 								metrics.addCommittedRecords(transaction.length());
 								if (LOGGER.isDebugEnabled()) {
-									LOGGER.debug("Performing commit at SCN {} for transaction XID {}", lastScn, xid);
+									LOGGER.debug("Performing commit at SCN {} for transaction XID {}",
+											lastScn, transaction.getXid());
 								}
 							} else {
 								if (LOGGER.isDebugEnabled()) {
-									LOGGER.debug("Skipping commit at SCN {} for transaction XID {}", lastScn, xid);
+									LOGGER.debug("Skipping commit at SCN {} for transaction XID {}",
+											lastScn, OraCdcTransaction.xidKeyToString(xidKey));
 								}
 							}
 							break;
 						case OraLogMiner.V$LOGMNR_CONTENTS_ROLLBACK:
 							if (transaction != null) {
 								if (LOGGER.isDebugEnabled()) {
-									LOGGER.debug("Rolling back at SCN transaction XID {} with {} records.",
-											lastScn, xid, transaction.length());
+									LOGGER.debug("Rolling back at SCN {} transaction XID {} with {} records.",
+											lastScn, transaction.getXid(), transaction.length());
 								}
 								metrics.addRolledBackRecords(transaction.length());
 								transaction.close();
-								activeTransactions.remove(xid);
+								activeTransactions.remove(xidKey);
 							} else {
 								if (LOGGER.isDebugEnabled()) {
-									LOGGER.debug("Skipping rollback at SCN {} for transaction XID {}", lastScn, xid);
+									LOGGER.debug("Skipping rollback at SCN {} for transaction XID {}",
+											lastScn, OraCdcTransaction.xidKeyToString(xidKey));
 								}
 							}
 							break;
@@ -294,7 +345,8 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 							}
 							// First check for table definition...
 							OraTable4LogMiner oraTable = tablesInProcessing.get(combinedDataObjectId);
-							if (oraTable == null && !tablesOutOfScope.contains(combinedDataObjectId)) {
+							if (oraTable == null && !tablesOutOfScope.contains(combinedDataObjectId) &&
+									(taskCount == 1 || !tablesOfOtherTasks.contains(combinedDataObjectId))) {
 								// Check for partitions
 								Long combinedParentTableId = partitionsInProcessing.get(combinedDataObjectId);
 								if (combinedParentTableId != null) {
@@ -302,17 +354,18 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 									oraTable = tablesInProcessing.get(combinedDataObjectId);
 								} else {
 									// Check for object...
-									psCheckTable.setLong(1, dataObjectId);
-									if (isCdb) {
-										psCheckTable.setLong(2, conId);
+									final OraCdcDictionaryLookupEvent jfrEvent =
+											OraCdcJfr.AVAILABLE ? new OraCdcDictionaryLookupEvent() : null;
+									if (jfrEvent != null) {
+										jfrEvent.begin();
 									}
-									ResultSet rsCheckTable = psCheckTable.executeQuery();
-									if (rsCheckTable.next()) {
+									final Map<String, Object> checkTable = rsLogMiner.checkTable(dataObjectId, conId);
+									if (checkTable != null) {
 										//May be this is partition, so just check tablesInProcessing map for table
 										boolean needNewTableDefinition = true;
-										final boolean isPartition = StringUtils.equals("N", rsCheckTable.getString("IS_TABLE"));
+										final boolean isPartition = StringUtils.equals("N", (String) checkTable.get("IS_TABLE"));
 										if (isPartition) {
-											final long parentTableId = rsCheckTable.getLong("PARENT_OBJECT_ID");
+											final long parentTableId = (long) checkTable.get("PARENT_OBJECT_ID");
 											combinedParentTableId = isCdb ?
 													((conId << 32) | (parentTableId & 0xFFFFFFFFL)) :
 													parentTableId;
@@ -324,38 +377,53 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 												combinedDataObjectId = combinedParentTableId;
 											}
 										}
+										if (needNewTableDefinition && taskCount > 1 &&
+												((isPartition ? combinedParentTableId : combinedDataObjectId) & 0xFFFFFFFFL) % taskCount != taskId) {
+											// Table is processed by another task, distributed by OBJECT_ID of table as initial load
+											tablesOfOtherTasks.add(combinedDataObjectId);
+											needNewTableDefinition = false;
+										}
 										//Get table definition from RDBMS
 										if (needNewTableDefinition) {
-											final String tableName = rsCheckTable.getString("TABLE_NAME");
-											final String tableOwner = rsCheckTable.getString("OWNER");
-											oraTable = new OraTable4LogMiner(
-												isCdb ? rsCheckTable.getString("PDB_NAME") : null,
-												isCdb ? (short) conId : null,
-												tableOwner, tableName,
-												"ENABLED".equalsIgnoreCase(rsCheckTable.getString("DEPENDENCIES")),
-												schemaType, useOracdcSchemas, processLobs,
-												isCdb, odd, partition, topic, topicNameStyle, topicNameDelimiter);
 											if (isPartition) {
 												partitionsInProcessing.put(combinedDataObjectId, combinedParentTableId);
 												metrics.addPartitionInProcessing();
 												combinedDataObjectId = combinedParentTableId;
 											}
+											oraTable = rsLogMiner.getTable(combinedDataObjectId, () -> new OraTable4LogMiner(
+												isCdb ? (String) checkTable.get("PDB_NAME") : null,
+												isCdb ? (short) conId : null,
+												(String) checkTable.get("OWNER"), (String) checkTable.get("TABLE_NAME"),
+												"ENABLED".equalsIgnoreCase((String) checkTable.get("DEPENDENCIES")),
+												schemaType, useOracdcSchemas, processLobs,
+												isCdb, odd, partition, topic, topicNameStyle, topicNameDelimiter,
+												columnProjection, rowFilter));
 											tablesInProcessing.put(combinedDataObjectId, oraTable);
 											metrics.addTableInProcessing(oraTable.fqn());
 										}
 									} else {
-										tablesOutOfScope.add(combinedDataObjectId);
+										// Only this thread changes set, lock protects copy for state file
+										synchronized (tablesOutOfScope) {
+											tablesOutOfScope.add(combinedDataObjectId);
+										}
 										metrics.addTableOutOfScope();
 									}
-									rsCheckTable.close();
-									rsCheckTable = null;
-									psCheckTable.clearParameters();
+									if (jfrEvent != null && jfrEvent.shouldCommit()) {
+										jfrEvent.dataObjectId = dataObjectId;
+										jfrEvent.conId = conId;
+										jfrEvent.table = oraTable == null ? null : oraTable.fqn();
+										jfrEvent.inScope = oraTable != null;
+										jfrEvent.commit();
+									}
 								}
 							}
 
 							if (oraTable != null) {
+								// String XID is needed only for new transaction, read it before moving cursor
+								final String xid = transaction == null ? rsLogMiner.getString("XID") : null;
 								final boolean multiLineSql = rsLogMiner.getBoolean("CSF");
 								final long timestamp = rsLogMiner.getDate("TIMESTAMP").getTime();
+								metrics.addRedoToFetchLatency(System.currentTimeMillis() - timestamp);
 								final String rowId = rsLogMiner.getString("ROW_ID");
 								String sqlRedo;
 								if (multiLineSql) {
@@ -401,6 +469,8 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 										if (searchLobObjects) {
 											final short catchLobOperation = rsLogMiner.getShort("OPERATION_CODE");
 											final String catchLobXid = rsLogMiner.getString("XID");
+											final long catchLobXidKey = OraCdcTransaction.packXid(rsLogMiner.getInt("XIDUSN"),
+													rsLogMiner.getInt("XIDSLT"), rsLogMiner.getLong("XIDSQN"));
 											if (catchLobOperation == OraLogMiner.V$LOGMNR_CONTENTS_INSERT ||
 													catchLobOperation == OraLogMiner.V$LOGMNR_CONTENTS_UPDATE ||
 													catchLobOperation == OraLogMiner.V$LOGMNR_CONTENTS_DELETE) {
@@ -410,7 +480,7 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 												searchLobObjects = false;
 											} else if ((catchLobOperation == OraLogMiner.V$LOGMNR_CONTENTS_COMMIT ||
 													catchLobOperation == OraLogMiner.V$LOGMNR_CONTENTS_ROLLBACK) &&
-													(catchLobXid.equals(xid) || activeTransactions.containsKey(catchLobXid))) {
+													(catchLobXidKey == xidKey || activeTransactions.containsKey(catchLobXidKey))) {
 												// Do nothing and don't call next() for rsLogMiner
 												fetchRsLogMinerNext = false;
 												searchLobObjects = false;
@@ -419,13 +489,23 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 												// Previous row contains: DATA_OBJ# = DATA_OBJD# = LOB_ID
 												//                        RS_ID to call readLob!!!
 												final String lobRsId = rsLogMiner.getString("RS_ID");
-												if (lobRsId.equals(tableOperationRsId)) {
+												if (lobRsId.equals(tableOperationRsId) &&
+														!oraTable.getLobColumns().containsKey(lobObjectId)) {
+													// LOB column skipped by column projection
+													if (LOGGER.isDebugEnabled()) {
+														LOGGER.debug("Skipping LOB with DATA_OBJ#={} for table {}.",
+																lobObjectId, oraTable.fqn());
+													}
+												} else if (lobRsId.equals(tableOperationRsId)) {
 													final long lobSsn = rsLogMiner.getLong("SSN");
 													final long lobScn = rsLogMiner.getLong("SCN");
 													if (lobWorker == null) {
+														// LOB processing is not supported with LogMiner recording and replay
+														final OraCdcLogMinerJdbcRowSource jdbcSource =
+																(OraCdcLogMinerJdbcRowSource) rsLogMiner;
 														lobWorker = new OraCdcLargeObjectWorker(this,
-																isCdb, logMiner, psReadLob, runLatch,
-																pollInterval);
+																isCdb, jdbcSource.getLogMiner(), jdbcSource.getPsReadLob(),
+																runLatch, pollInterval);
 													}
 													if (lobs == null) {
 														lobs = new ArrayList<>();
@@ -442,7 +522,7 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 														//TODO
 														//TODO Add SCN>= to MineSql!!!
 														//TODO
-														rsLogMiner = (OracleResultSet) psLogMiner.executeQuery();
+														rsLogMiner.reopen();
 														boolean rewind = true;
 														while(rewind && rsLogMiner.next()) {
 															if (rsLogMiner.getLong("SCN") == lobScn &&
@@ -461,12 +541,11 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 										} else {
 											//Switch to next archived log
 											logMinerReady = false;
-											logMiner.stop();
-											rsLogMiner.close();
-											rsLogMiner = null;
+											rsLogMiner.stopWindow();
+											throttleIfNeeded();
 											while (!logMinerReady && runLatch.getCount() > 0) {
 												try {
-													logMinerReady = logMiner.next();
+													logMinerReady = rsLogMiner.nextWindow();
 												} catch (SQLException sqle) {
 													if (sqle instanceof SQLRecoverableException) {
 														restoreOraConnection(sqle);
@@ -475,7 +554,6 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 													}
 												}
 												if (logMinerReady) {
-													rsLogMiner = (OracleResultSet) psLogMiner.executeQuery();
 													//Exit from next archived log loop
 													break;
 												} else if (runLatch.getCount() > 0) {
@@ -508,8 +586,18 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 										LOGGER.debug("New transaction {} created. Transaction start timestamp {}, first SCN {}.",
 												xid, timestamp, lastScn);
 									}
-									transaction = new OraCdcTransaction(processLobs, queuesRoot, xid);
-									activeTransactions.put(xid, transaction);
+									final Path spillRoot = queuesRoot.next();
+									final long createStart = System.nanoTime();
+									transaction = new OraCdcTransaction(processLobs, spillRoot, xid);
+									queuesRoot.addQueueCreated(spillRoot, System.nanoTime() - createStart);
+									transaction.setXidKey(xidKey);
+									transaction.setCompressSqlRedo(compressSqlRedo);
+									transaction.setSpillRoots(queuesRoot);
+									if (committedDataOnly) {
+										// Rows of transaction are returned together in one LogMiner window
+										transaction.setMiningScn(lastMiningScn);
+									}
+									activeTransactions.put(xidKey, transaction);
 								}
 								if (processLobs) {
 									transaction.addStatement(lmStmt, lobs);
@@ -519,6 +607,19 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 								metrics.addRecord();
 							}
 							break;
+						case OraLogMiner.V$LOGMNR_CONTENTS_SELECT_LOB_LOCATOR:
+							if (taskCount > 1) {
+								// LOB locator of table processed by another task
+								if (LOGGER.isDebugEnabled()) {
+									LOGGER.debug("Skipping SELECT_LOB_LOCATOR at SCN {} for object ID {}",
+											lastScn, rsLogMiner.getLong("DATA_OBJ#"));
+								}
+								break;
+							}
+							// SELECT_LOB_LOCATOR must be processed in inner loop before!!!
+							LOGGER.error("Unexpected SELECT_LOB_LOCATOR at SCN {}, RS_ID '{}' for object ID {}",
+									lastScn, rsLogMiner.getString("RS_ID"), rsLogMiner.getLong("DATA_OBJ#"));
+							throw new SQLException("Unknown operation in OraCdcLogMinerWorkerThread.run()");
 						case OraLogMiner.V$LOGMNR_CONTENTS_INTERNAL:
 							if (LOGGER.isDebugEnabled()) {
 								LOGGER.debug("Skipping internal operation at SCN {} for object ID {}",
@@ -535,16 +636,36 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 						lastGuaranteedScn = lastScn;
 						lastGuaranteedRsId = lastRsId;
 						lastGuaranteedSsn = lastSsn;
+						lastGuaranteedCommitScn = lastCommitScn;
+						lastGuaranteedMiningScn = lastMiningScn;
+						if (heartbeatInterval > 0 && activeTransactions.isEmpty()) {
+							// No open transactions for processed tables, current position is safe for restart
+							final long heartbeatMillis = System.currentTimeMillis();
+							if (heartbeatMillis - lastHeartbeatMillis >= heartbeatInterval) {
+								final Map<String, Object> offset = new HashMap<>();
+								offset.put("SCN", lastScn);
+								offset.put("RS_ID", lastRsId);
+								offset.put("SSN", lastSsn);
+								if (committedDataOnly) {
+									offset.put("COMMIT_SCN", lastCommitScn);
+									offset.put("MINING_SCN", lastMiningScn);
+								}
+								synchronized (heartbeatLock) {
+									heartbeatOffset = offset;
+								}
+								lastHeartbeatMillis = heartbeatMillis;
+							}
+						}
+						publishTransactionsSnapshot(false);
 						if (fetchRsLogMinerNext) {
 							isRsLogMinerRowAvailable = rsLogMiner.next();
 						}
 					}
-					logMiner.stop();
-					rsLogMiner.close();
-					rsLogMiner = null;
+					rsLogMiner.stopWindow();
 					if (runLatch.getCount() > 0) {
+						throttleIfNeeded();
 						try {
-							logMinerReady = logMiner.next();
+							logMinerReady = rsLogMiner.nextWindow();
 						} catch (SQLException sqle) {
 							if (sqle instanceof SQLRecoverableException) {
 								restoreOraConnection(sqle);
@@ -567,8 +688,9 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 								LOGGER.error(ie.getMessage());
 								LOGGER.error(ExceptionUtils.getExceptionStackTrace(ie));
 							}
+							throttleIfNeeded();
 							try {
-								logMinerReady = logMiner.next();
+								logMinerReady = rsLogMiner.nextWindow();
 							} catch (SQLException sqle) {
 								if (sqle instanceof SQLRecoverableException) {
 									restoreOraConnection(sqle);
@@ -590,12 +712,15 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 				lastScn = lastGuaranteedScn;
 				lastRsId = lastGuaranteedRsId;
 				lastSsn = lastGuaranteedSsn;
+				lastCommitScn = lastGuaranteedCommitScn;
+				lastMiningScn = lastGuaranteedMiningScn;
 				running.set(false);
-				task.stop(false);
+				failureHandler.run();
 				throw new ConnectException(e);
 			}
 		}
 		LOGGER.debug("End of LogMiner loop...");
+		rsLogMiner.close();
 		running.set(false);
 		LOGGER.info("END: OraCdcLogMinerWorkerThread.run()");
 	}
@@ -612,6 +737,53 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 		return lastSsn;
 	}
 
+	/**
+	 * 
+	 * @return COMMIT_SCN of last row, 0 when mining without COMMITTED_DATA_ONLY
+	 */
+	public long getLastCommitScn() {
+		return lastCommitScn;
+	}
+
+	/**
+	 * 
+	 * @return first SCN of LogMiner window of last row, 0 when mining without COMMITTED_DATA_ONLY
+	 */
+	public long getLastMiningScn() {
+		return lastMiningScn;
+	}
+
+	/**
+	 * Returns copy of out of scope tables ids for state file
+	 * 
+	 * @return combined CON_ID and DATA_OBJ# of out of scope tables
+	 */
+	public long[] getTablesOutOfScope() {
+		synchronized (tablesOutOfScope) {
+			return tablesOutOfScope.toArray();
+		}
+	}
+
+	/**
+	 * Returns offset (SCN, RS_ID, SSN) for heartbeat record and resets it.
+	 * Offset is returned only when there are no committed transactions waiting for poll(),
+	 * queue check and offset capture are performed under the same lock as adding of
+	 * transaction to queue, so offset never passes commit of transaction not yet sent
+	 * 
+	 * @return offset or null when there is no new heartbeat
+	 */
+	public Map<String, Object> pollHeartbeatOffset() {
+		synchronized (heartbeatLock) {
+			if (committedTransactions.isEmpty()) {
+				final Map<String, Object> offset = heartbeatOffset;
+				heartbeatOffset = null;
+				return offset;
+			} else {
+				return null;
+			}
+		}
+	}
+
 	public boolean isRunning() {
 		return running.get();
 	}
@@ -624,6 +796,210 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 		LOGGER.debug("call to shutdown() completed");
 	}
 
+	/**
+	 * Sets limits for buffered transactions, when high watermark is exceeded
+	 * worker does not start new LogMiner window until low watermark is reached
+	 * 
+	 * @param spillHighWatermark      bytes, 0 - no limit
+	 * @param spillLowWatermark       bytes, 0 - 80% of high watermark
+	 * @param committedHighWatermark  committed and not processed transactions, 0 - no limit
+	 * @param committedLowWatermark   committed and not processed transactions, 0 - 80% of high watermark
+	 */
+	public void setWatermarks(final long spillHighWatermark, final long spillLowWatermark,
+			final int committedHighWatermark, final int committedLowWatermark) {
+		this.spillHighWatermark = spillHighWatermark;
+		this.spillLowWatermark = (spillLowWatermark > 0 && spillLowWatermark < spillHighWatermark) ?
+				spillLowWatermark : (spillHighWatermark / 10) * 8;
+		this.committedHighWatermark = committedHighWatermark;
+		this.committedLowWatermark = (committedLowWatermark > 0 && committedLowWatermark < committedHighWatermark) ?
+				committedLowWatermark : (committedHighWatermark * 8) / 10;
+		if (spillHighWatermark > 0) {
+			LOGGER.info("Mining will be paused when buffered transactions exceed {} bytes and resumed below {} bytes.",
+					this.spillHighWatermark, this.spillLowWatermark);
+		}
+		if (committedHighWatermark > 0) {
+			LOGGER.info("Mining will be paused when more than {} committed transactions are waiting for poll() and resumed below {}.",
+					this.committedHighWatermark, this.committedLowWatermark);
+		}
+	}
+
+	public void setCompressSqlRedo(final boolean compressSqlRedo) {
+		this.compressSqlRedo = compressSqlRedo;
+		if (compressSqlRedo) {
+			LOGGER.info("SQL_REDO of buffered transactions will be stored LZ4 compressed.");
+		}
+	}
+
+	public void setCommittedDataOnly(final boolean committedDataOnly) {
+		this.committedDataOnly = committedDataOnly;
+	}
+
+	/**
+	 * Enables hash distribution of tables between tasks, DML rows of table are processed
+	 * only when mod(OBJECT_ID of table, taskCount) = taskId, partitions are mapped to table
+	 * 
+	 * @param taskId    number of this task
+	 * @param taskCount total number of tasks
+	 */
+	public void setTaskDistribution(final int taskId, final int taskCount) {
+		this.taskId = taskId;
+		this.taskCount = taskCount;
+	}
+
+	public void setColumnProjection(final OraCdcColumnProjection columnProjection) {
+		this.columnProjection = columnProjection;
+	}
+
+	public void setRowFilter(final OraCdcRowFilter rowFilter) {
+		this.rowFilter = rowFilter;
+	}
+
+	/**
+	 * Called by task when poll() takes transaction from queue of committed transactions,
+	 * spilled bytes of transaction are counted for watermarks until transaction is released
+	 * 
+	 * @param transaction transaction taken by poll()
+	 */
+	public void transactionSent(final OraCdcTransaction transaction) {
+		sentTransactions.add(transaction);
+	}
+
+	/**
+	 * Called by task when transaction is closed after acknowledgement of all records by Kafka
+	 * or saved to state file
+	 * 
+	 * @param transaction transaction passed to {@link #transactionSent(OraCdcTransaction)}
+	 */
+	public void transactionReleased(final OraCdcTransaction transaction) {
+		sentTransactions.remove(transaction);
+	}
+
+	/**
+	 * Publishes lists of open and committed but not yet acknowledged transactions for JMX,
+	 * JMX threads never access worker collections and copy transaction attributes themselves
+	 * 
+	 * @param force when false lists are published no more than once per second
+	 */
+	private void publishTransactionsSnapshot(final boolean force) {
+		final long now = System.currentTimeMillis();
+		if (force || now - lastTransactionsSnapshotMillis >= TRANSACTIONS_SNAPSHOT_INTERVAL_MILLIS) {
+			final List<OraCdcTransaction> committed = new ArrayList<>();
+			for (final OraCdcTransaction transaction : committedTransactions) {
+				committed.add(transaction);
+			}
+			committed.addAll(sentTransactions);
+			metrics.setTransactions(activeTransactions.values(), committed);
+			lastTransactionsSnapshotMillis = now;
+		}
+	}
+
+	private long spilledBytes() {
+		long spilled = 0;
+		for (final OraCdcTransaction transaction : activeTransactions.values()) {
+			spilled += transaction.getSpilledBytes();
+		}
+		if (sentTransactions.isEmpty()) {
+			for (final OraCdcTransaction transaction : committedTransactions) {
+				spilled += transaction.getSpilledBytes();
+			}
+		} else {
+			// Readers of shared mining group use same spill files, each transaction is counted once
+			final Set<String> counted = new HashSet<>();
+			for (final OraCdcTransaction transaction : committedTransactions) {
+				if (counted.add(transaction.getXid() + ":" + transaction.getCommitScn())) {
+					spilled += transaction.getSpilledBytes();
+				}
+			}
+			for (final OraCdcTransaction transaction : sentTransactions) {
+				if (counted.add(transaction.getXid() + ":" + transaction.getCommitScn())) {
+					spilled += transaction.getSpilledBytes();
+				}
+			}
+		}
+		return spilled;
+	}
+
+	private boolean isAboveHighWatermark(final long spilled, final int committed) {
+		return (spillHighWatermark > 0 && spilled > spillHighWatermark) ||
+				(committedHighWatermark > 0 && committed > committedHighWatermark);
+	}
+
+	private boolean isBelowLowWatermark(final long spilled, final int committed) {
+		return (spillHighWatermark == 0 || spilled < spillLowWatermark) &&
+				(committedHighWatermark == 0 || committed < committedLowWatermark);
+	}
+
+	/**
+	 * Called before new LogMiner window, waits while buffered transactions are above low watermark
+	 */
+	private void throttleIfNeeded() {
+		long spilled = spilledBytes();
+		int committed = committedTransactions.size();
+		metrics.setBuffered(spilled, committed);
+		publishTransactionsSnapshot(true);
+		if (isAboveHighWatermark(spilled, committed)) {
+			LOGGER.warn("Buffered transactions size {} bytes, {} committed transactions waiting for poll(). Pausing mining.",
+					spilled, committed);
+			metrics.setThrottled(true);
+			final long throttleStarted = System.currentTimeMillis();
+			while (runLatch.getCount() > 0 && !isBelowLowWatermark(spilled, committed)) {
+				synchronized (this) {
+					try {
+						this.wait(pollInterval);
+					} catch (InterruptedException ie) {
+						LOGGER.error(ie.getMessage());
+						LOGGER.error(ExceptionUtils.getExceptionStackTrace(ie));
+					}
+				}
+				spilled = spilledBytes();
+				committed = committedTransactions.size();
+				metrics.setBuffered(spilled, committed);
+				publishTransactionsSnapshot(true);
+				if (committed == 0 && sentTransactions.isEmpty() && !isBelowLowWatermark(spilled, committed)) {
+					// Only open transactions are buffered, they can't be drained by poll() and Kafka acknowledgements
+					LOGGER.warn("Open transactions size {} bytes is above low watermark, resuming mining.", spilled);
+					break;
+				}
+			}
+			final long throttleElapsed = System.currentTimeMillis() - throttleStarted;
+			metrics.setThrottled(false);
+			metrics.addThrottledTime(throttleElapsed);
+			LOGGER.info("Mining resumed after {} ms pause. Buffered transactions size {} bytes, {} committed transactions waiting for poll().",
+					throttleElapsed, spilled, committed);
+		}
+	}
+
+	/**
+	 * Confirms packed XID of transactions restored from state file without it
+	 * 
+	 * @param xidKey        packed XID of current row
+	 * @param transaction   transaction found by packed XID or null
+	 * @return transaction for current row
+	 * @throws SQLException
+	 */
+	private OraCdcTransaction confirmXidKey(final long xidKey, final OraCdcTransaction transaction) throws SQLException {
+		if (transaction != null) {
+			if (!transaction.isXidKeyKnown()) {
+				transaction.setXidKey(xidKey);
+				unconfirmedTransactions--;
+			}
+			return transaction;
+		}
+		final String xid = rsLogMiner.getString("XID");
+		for (final OraCdcTransaction restored : activeTransactions.values()) {
+			if (!restored.isXidKeyKnown() && StringUtils.equals(xid, restored.getXid())) {
+				activeTransactions.remove(restored.getXidKey());
+				restored.setXidKey(xidKey);
+				activeTransactions.put(xidKey, restored);
+				unconfirmedTransactions--;
+				LOGGER.info("Transaction XID {} restored from state file mapped to {}.",
+						xid, OraCdcTransaction.xidKeyToString(xidKey));
+				return restored;
+			}
+		}
+		return null;
+	}
+
 	private void restoreOraConnection(SQLException sqle) {
 		LOGGER.error("Error '{}' when waiting for next archived log.", sqle.getMessage());
 		LOGGER.error("SQL errorCode = {}, SQL state = '{}'",
@@ -641,16 +1017,7 @@ public class OraCdcLogMinerWorkerThread extends Thread {
 					LOGGER.error(ExceptionUtils.getExceptionStackTrace(ie));
 				}
 				try {
-					connLogMiner = OraPoolConnectionFactory.getLogMinerConnection();
-					psLogMiner = connLogMiner.prepareStatement(
-							mineDataSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-					if (processLobs) {
-						psReadLob = (OraclePreparedStatement) connLogMiner.prepareStatement(
-								isCdb ? OraDictSqlTexts.MINE_LOB_CDB :
-										OraDictSqlTexts.MINE_LOB_NON_CDB,
-								ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-					}
-					logMiner.createStatements(connLogMiner);
+					rsLogMiner.reconnect();
 					ready = true;
 				} catch (SQLException getConnException) {
 					LOGGER.error("Error '{}' when restoring connection, SQL errorCode = {}, SQL state = '{}'",
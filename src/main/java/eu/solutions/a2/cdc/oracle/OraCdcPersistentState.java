@@ -46,6 +46,8 @@ public class OraCdcPersistentState implements Serializable {
 	private Long lastScn;
 	private String lastRsId;
 	private Long lastSsn;
+	private Long lastCommitScn;
+	private Long miningScn;
 	private Long lastOpTsMillis;
 	private String initialLoad;
 
@@ -126,6 +128,30 @@ public class OraCdcPersistentState implements Serializable {
 		this.lastSsn = lastSsn;
 	}
 
+	/**
+	 * 
+	 * @return COMMIT_SCN of last row read with a2.mining.strategy=committed
+	 */
+	public Long getLastCommitScn() {
+		return lastCommitScn;
+	}
+
+	public void setLastCommitScn(Long lastCommitScn) {
+		this.lastCommitScn = lastCommitScn;
+	}
+
+	/**
+	 * 
+	 * @return first SCN of LogMiner window of last row read with a2.mining.strategy=committed
+	 */
+	public Long getMiningScn() {
+		return miningScn;
+	}
+
+	public void setMiningScn(Long miningScn) {
+		this.miningScn = miningScn;
+	}
+
 	public Long getLastOpTsMillis() {
 		return lastOpTsMillis;
 	}
@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * 
+ * Per-table helper compiled when table schema is created. Resolves key and value
+ * Field of every column once, keeps template of Debezium source block and builds
+ * Kafka Connect offsets without HashMap.
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcRecordBuilder {
+
+	public static final String[] LOGMINER_OFFSET_KEYS = {"SCN", "RS_ID", "SSN"};
+	/** Offset keys for a2.mining.strategy=committed, see logMinerCommittedOffset() */
+	public static final String[] LOGMINER_COMMITTED_OFFSET_KEYS = {"SCN", "RS_ID", "SSN", "COMMIT_SCN", "MINING_SCN"};
+	/** Comma separated list of columns changed by UPDATE when a2.update.mode=delta */
+	public static final String CHANGED_COLUMNS_HEADER = "oracdc.changed.columns";
+
+	private final Schema schema;
+	private final Field opField;
+	private final Field tsMsField;
+	private final Field beforeField;
+	private final Field afterField;
+	private final Field sourceField;
+	private final Schema sourceSchema;
+	private final Field[] sourceFields;
+	private final Object[] sourceTemplate;
+	private final Field queryField;
+	private final Field pdbNameField;
+	private final Field scnField;
+	private final Field sourceTsMsField;
+
+	/**
+	 * 
+	 * @param table table definition with already built keySchema, valueSchema and schema
+	 * @throws SQLException
+	 */
+	public OraCdcRecordBuilder(final OraTable4SourceConnector table) throws SQLException {
+		final List<OraColumn> allColumns = table.allColumns;
+		for (int i = 0; i < allColumns.size(); i++) {
+			final OraColumn column = allColumns.get(i);
+			final String columnName = column.getColumnName();
+			final boolean pkColumn = table.pkColumns.containsKey(columnName);
+			final Field keyField = pkColumn ? table.keySchema.field(columnName) : null;
+			final Field valueField;
+			if ((table.schemaType == ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD && !pkColumn) ||
+					table.schemaType == ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM) {
+				valueField = table.valueSchema.field(columnName);
+			} else {
+				valueField = null;
+			}
+			column.compileFields(keyField, valueField);
+		}
+		if (table.schemaType == ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM) {
+			schema = table.schema;
+			opField = schema.field("op");
+			tsMsField = schema.field("ts_ms");
+			beforeField = schema.field("before");
+			afterField = schema.field("after");
+			sourceField = schema.field("source");
+			sourceSchema = sourceField.schema();
+			final Struct template = OraRdbmsInfo.getInstance().getStruct(
+					null, null, table.tableOwner, table.tableName, 0L, 0L);
+			final List<Field> fields = sourceSchema.fields();
+			sourceFields = new Field[fields.size()];
+			sourceTemplate = new Object[fields.size()];
+			for (int i = 0; i < fields.size(); i++) {
+				sourceFields[i] = fields.get(i);
+				sourceTemplate[i] = template.get(sourceFields[i]);
+			}
+			queryField = sourceSchema.field("query");
+			pdbNameField = sourceSchema.field("pdb_name");
+			scnField = sourceSchema.field("scn");
+			sourceTsMsField = sourceSchema.field("ts_ms");
+		} else {
+			schema = null;
+			opField = null;
+			tsMsField = null;
+			beforeField = null;
+			afterField = null;
+			sourceField = null;
+			sourceSchema = null;
+			sourceFields = null;
+			sourceTemplate = null;
+			queryField = null;
+			pdbNameField = null;
+			scnField = null;
+			sourceTsMsField = null;
+		}
+	}
+
+	/**
+	 * Sets column value in key and/or value struct according to schema type
+	 * 
+	 * @param column
+	 * @param columnValue
+	 * @param keyStruct    when null key is not populated
+	 * @param valueStruct
+	 */
+	public void putColumn(final OraColumn column, final Object columnValue,
+			final Struct keyStruct, final Struct valueStruct) {
+		if (keyStruct != null && column.keyField() != null) {
+			keyStruct.put(column.keyField(), columnValue);
+		}
+		if (column.valueField() != null) {
+			valueStruct.put(column.valueField(), columnValue);
+		}
+	}
+
+	/**
+	 * Sets column value in value struct
+	 * 
+	 * @param column
+	 * @param columnValue
+	 * @param valueStruct
+	 */
+	public void putValue(final OraColumn column, final Object columnValue, final Struct valueStruct) {
+		if (column.valueField() != null) {
+			valueStruct.put(column.valueField(), columnValue);
+		} else {
+			// Not in value schema, Struct throws DataException as before
+			valueStruct.put(column.getColumnName(), columnValue);
+		}
+	}
+
+	/**
+	 * Debezium source block from precompiled template
+	 * 
+	 * @param query
+	 * @param pdbName
+	 * @param scn
+	 * @param ts
+	 * @return source struct
+	 */
+	public Struct source(final String query, final String pdbName, final long scn, final Long ts) {
+		final Struct source = new Struct(sourceSchema);
+		for (int i = 0; i < sourceFields.length; i++) {
+			if (sourceTemplate[i] != null) {
+				source.put(sourceFields[i], sourceTemplate[i]);
+			}
+		}
+		if (query != null) {
+			source.put(queryField, query);
+		}
+		if (pdbName != null) {
+			source.put(pdbNameField, pdbName);
+		}
+		source.put(scnField, scn);
+		source.put(sourceTsMsField, ts == null ? 0L : ts);
+		return source;
+	}
+
+	/**
+	 * Debezium envelope
+	 * 
+	 * @param source
+	 * @param before
+	 * @param after    when null "after" is not set
+	 * @param op
+	 * @param ts
+	 * @return envelope struct
+	 */
+	public Struct envelope(final Struct source, final Struct before, final Struct after,
+			final String op, final long ts) {
+		final Struct struct = new Struct(schema);
+		struct.put(sourceField, source);
+		struct.put(beforeField, before);
+		if (after != null) {
+			struct.put(afterField, after);
+		}
+		struct.put(opField, op);
+		struct.put(tsMsField, ts);
+		return struct;
+	}
+
+	/**
+	 * 
+	 * @param scn
+	 * @param rsId
+	 * @param ssn
+	 * @return LogMiner offset (SCN, RS_ID, SSN)
+	 */
+	public static Map<String, Object> logMinerOffset(final long scn, final String rsId, final long ssn) {
+		return offset(LOGMINER_OFFSET_KEYS, scn, rsId, ssn);
+	}
+
+	/**
+	 * 
+	 * @param scn
+	 * @param rsId
+	 * @param ssn
+	 * @param commitScn  commit SCN of transaction
+	 * @param miningScn  first SCN of LogMiner window in which transaction was mined
+	 * @return LogMiner offset (SCN, RS_ID, SSN, COMMIT_SCN, MINING_SCN) for COMMITTED_DATA_ONLY
+	 */
+	public static Map<String, Object> logMinerCommittedOffset(final long scn, final String rsId, final long ssn,
+			final long commitScn, final long miningScn) {
+		return offset(LOGMINER_COMMITTED_OFFSET_KEYS, scn, rsId, ssn, commitScn, miningScn);
+	}
+
+	/**
+	 * 
+	 * @param keys    offset keys, array is not copied
+	 * @param values  offset values in order of keys
+	 * @return offset
+	 */
+	public static Map<String, Object> offset(final String[] keys, final Object... values) {
+		return new OffsetMap(keys, values);
+	}
+
+	/**
+	 * Immutable map with fixed set of keys
+	 */
+	static class OffsetMap extends AbstractMap<String, Object> {
+
+		private final String[] keys;
+		private final Object[] values;
+
+		OffsetMap(final String[] keys, final Object[] values) {
+			this.keys = keys;
+			this.values = values;
+		}
+
+		@Override
+		public int size() {
+			return keys.length;
+		}
+
+		@Override
+		public Object get(final Object key) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i].equals(key)) {
+					return values[i];
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i].equals(key)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public Set<Map.Entry<String, Object>> entrySet() {
+			return new AbstractSet<Map.Entry<String, Object>>() {
+				@Override
+				public Iterator<Map.Entry<String, Object>> iterator() {
+					return new Iterator<Map.Entry<String, Object>>() {
+						private int index = 0;
+						@Override
+						public boolean hasNext() {
+							return index < keys.length;
+						}
+						@Override
+						public Map.Entry<String, Object> next() {
+							if (index >= keys.length) {
+								throw new NoSuchElementException();
+							}
+							final Map.Entry<String, Object> entry =
+									new AbstractMap.SimpleImmutableEntry<>(keys[index], values[index]);
+							index++;
+							return entry;
+						}
+					};
+				}
+				@Override
+				public int size() {
+					return keys.length;
+				}
+			};
+		}
+	}
+
+}
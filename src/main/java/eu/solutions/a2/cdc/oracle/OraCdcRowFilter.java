@@ -0,0 +1,788 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oracle.sql.NUMBER;
+
+/**
+ * 
+ * Row filter predicates (a2.row.filter) in format
+ * OWNER.TABLE:predicate[;OWNER.TABLE:predicate...]
+ * 
+ * Predicate is a comparison (=, !=, <>, <, <=, >, >=) of column with numeric
+ * or quoted string literal, [NOT] IN list of literals, IS [NOT] NULL, combined with
+ * AND, OR, NOT and parentheses. Evaluation follows SQL three-valued logic, so
+ * redo record is accepted only when predicate is TRUE, exactly as rows selected
+ * with same predicate in WHERE clause during initial load. CHAR and NCHAR columns
+ * are compared with Oracle blank-padded semantics.
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcRowFilter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcRowFilter.class);
+
+	private final Map<String, Node> filters;
+
+	/**
+	 * 
+	 * @param filterList  value of a2.row.filter parameter
+	 */
+	public OraCdcRowFilter(final String filterList) {
+		filters = new HashMap<>();
+		for (String entry : splitEntries(filterList)) {
+			final int colonPos = StringUtils.indexOf(entry, ':');
+			if (colonPos < 1) {
+				throw new ConnectException("Invalid row filter entry '" + entry +
+						"', must be OWNER.TABLE:predicate!");
+			}
+			final String tableKey = StringUtils.upperCase(StringUtils.trim(StringUtils.substring(entry, 0, colonPos)));
+			if (StringUtils.countMatches(tableKey, '.') != 1) {
+				throw new ConnectException("Invalid table name '" + tableKey +
+						"' in row filter entry, must be OWNER.TABLE!");
+			}
+			filters.put(tableKey, parse(StringUtils.substring(entry, colonPos + 1)));
+		}
+		LOGGER.debug("Row filter set for {} table(s).", filters.size());
+	}
+
+	/**
+	 * Checks columns used in predicates against data dictionary, so misspelled column
+	 * or column with unsupported data type is reported at task start
+	 * 
+	 * @param connection  connection to dictionary database
+	 * @param isCdb       true for CDB
+	 * @throws SQLException
+	 */
+	public void validate(final Connection connection, final boolean isCdb) throws SQLException {
+		final PreparedStatement ps = connection.prepareStatement(
+				isCdb ? OraDictSqlTexts.ROW_FILTER_COLUMNS_CDB : OraDictSqlTexts.ROW_FILTER_COLUMNS_NON_CDB,
+				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		for (Map.Entry<String, Node> entry : filters.entrySet()) {
+			final int dotPos = entry.getKey().indexOf('.');
+			ps.setString(1, entry.getKey().substring(0, dotPos));
+			ps.setString(2, entry.getKey().substring(dotPos + 1));
+			final Map<String, String> dataTypes = new HashMap<>();
+			final ResultSet rs = ps.executeQuery();
+			while (rs.next()) {
+				dataTypes.put(rs.getString("COLUMN_NAME"), rs.getString("DATA_TYPE"));
+			}
+			rs.close();
+			ps.clearParameters();
+			if (dataTypes.isEmpty()) {
+				LOGGER.warn("Table {} from row filter not found in data dictionary.", entry.getKey());
+			} else {
+				entry.getValue().validate(dataTypes);
+			}
+		}
+		ps.close();
+	}
+
+	/**
+	 * Checks that columns used in predicates are not removed by column projection,
+	 * so such configuration error is reported at task start
+	 * 
+	 * @param columnProjection  a2.column.include/a2.column.exclude rules
+	 */
+	public void checkProjection(final OraCdcColumnProjection columnProjection) {
+		for (Map.Entry<String, Node> entry : filters.entrySet()) {
+			final int dotPos = entry.getKey().indexOf('.');
+			final String owner = entry.getKey().substring(0, dotPos);
+			final String table = entry.getKey().substring(dotPos + 1);
+			if (columnProjection.hasRules(owner, table)) {
+				final Set<String> referenced = new HashSet<>();
+				entry.getValue().columns(referenced);
+				for (String columnName : referenced) {
+					if (!columnProjection.isProjected(owner, table, columnName)) {
+						LOGGER.error("Column {} used in row filter for table {} is excluded by column include/exclude list!",
+								columnName, entry.getKey());
+						throw new ConnectException("Row filter column " + entry.getKey() + "." + columnName +
+								" is excluded by a2.column.include/a2.column.exclude!");
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * 
+	 * @param owner       table owner
+	 * @param table       table name
+	 * @param allColumns  columns of table
+	 * @return compiled predicate or null if no filter set for table
+	 */
+	public Compiled compile(final String owner, final String table, final List<OraColumn> allColumns) {
+		final Node node = filters.get(owner + "." + table);
+		if (node == null) {
+			return null;
+		}
+		final Map<String, OraColumn> columns = new HashMap<>();
+		for (OraColumn column : allColumns) {
+			columns.put(column.getColumnName(), column);
+		}
+		final StringBuilder sb = new StringBuilder(128);
+		node.toSql(sb);
+		final Set<String> referenced = new HashSet<>();
+		node.columns(referenced);
+		final Compiled compiled = new Compiled(node.compile(columns), sb.toString(), node.pkOnly(columns), referenced);
+		LOGGER.info("Row filter {} set for table {}.{}.", compiled.sqlWhere, owner, table);
+		return compiled;
+	}
+
+	/**
+	 * Predicate bound to table columns
+	 */
+	public static class Compiled {
+		private final Condition condition;
+		private final String sqlWhere;
+		private final boolean pkOnly;
+		private final Set<String> columns;
+
+		private Compiled(final Condition condition, final String sqlWhere,
+				final boolean pkOnly, final Set<String> columns) {
+			this.condition = condition;
+			this.sqlWhere = sqlWhere;
+			this.pkOnly = pkOnly;
+			this.columns = columns;
+		}
+
+		/**
+		 * 
+		 * @param keyStruct
+		 * @param valueStruct
+		 * @return true when predicate is TRUE for row
+		 */
+		public boolean accept(final Struct keyStruct, final Struct valueStruct) {
+			return Boolean.TRUE.equals(condition.test(keyStruct, valueStruct));
+		}
+
+		/**
+		 * 
+		 * @return predicate as SQL condition
+		 */
+		public String sqlWhere() {
+			return sqlWhere;
+		}
+
+		/**
+		 * 
+		 * @return true when predicate references only primary key columns,
+		 *         i.e. can be evaluated for DELETE redo records
+		 */
+		public boolean isPkOnly() {
+			return pkOnly;
+		}
+
+		/**
+		 * 
+		 * @param columnName
+		 * @return true when column is used in predicate
+		 */
+		public boolean references(final String columnName) {
+			return columns.contains(columnName);
+		}
+	}
+
+	@FunctionalInterface
+	interface Condition {
+		/**
+		 * @return TRUE, FALSE or null for UNKNOWN
+		 */
+		Boolean test(Struct keyStruct, Struct valueStruct);
+	}
+
+	interface Node {
+		Condition compile(Map<String, OraColumn> columns);
+		void validate(Map<String, String> dataTypes);
+		void toSql(StringBuilder sb);
+		boolean pkOnly(Map<String, OraColumn> columns);
+		void columns(Set<String> columnNames);
+	}
+
+	private static class AndOr implements Node {
+		private final boolean and;
+		private final List<Node> operands;
+		AndOr(final boolean and, final List<Node> operands) {
+			this.and = and;
+			this.operands = operands;
+		}
+		@Override
+		public Condition compile(final Map<String, OraColumn> columns) {
+			final Condition[] conditions = new Condition[operands.size()];
+			for (int i = 0; i < conditions.length; i++) {
+				conditions[i] = operands.get(i).compile(columns);
+			}
+			final Boolean dominant = and ? Boolean.FALSE : Boolean.TRUE;
+			return (keyStruct, valueStruct) -> {
+				boolean unknown = false;
+				for (Condition condition : conditions) {
+					final Boolean result = condition.test(keyStruct, valueStruct);
+					if (result == null) {
+						unknown = true;
+					} else if (result.equals(dominant)) {
+						return dominant;
+					}
+				}
+				return unknown ? null : !dominant;
+			};
+		}
+		@Override
+		public void toSql(final StringBuilder sb) {
+			sb.append('(');
+			for (int i = 0; i < operands.size(); i++) {
+				if (i > 0) {
+					sb.append(and ? " and " : " or ");
+				}
+				operands.get(i).toSql(sb);
+			}
+			sb.append(')');
+		}
+		@Override
+		public boolean pkOnly(final Map<String, OraColumn> columns) {
+			for (Node node : operands) {
+				if (!node.pkOnly(columns)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		@Override
+		public void columns(final Set<String> columnNames) {
+			operands.forEach(node -> node.columns(columnNames));
+		}
+		@Override
+		public void validate(final Map<String, String> dataTypes) {
+			operands.forEach(node -> node.validate(dataTypes));
+		}
+	}
+
+	private static class Not implements Node {
+		private final Node operand;
+		Not(final Node operand) {
+			this.operand = operand;
+		}
+		@Override
+		public Condition compile(final Map<String, OraColumn> columns) {
+			final Condition condition = operand.compile(columns);
+			return (keyStruct, valueStruct) -> {
+				final Boolean result = condition.test(keyStruct, valueStruct);
+				return result == null ? null : !result;
+			};
+		}
+		@Override
+		public void toSql(final StringBuilder sb) {
+			sb.append("not ");
+			operand.toSql(sb);
+		}
+		@Override
+		public boolean pkOnly(final Map<String, OraColumn> columns) {
+			return operand.pkOnly(columns);
+		}
+		@Override
+		public void columns(final Set<String> columnNames) {
+			operand.columns(columnNames);
+		}
+		@Override
+		public void validate(final Map<String, String> dataTypes) {
+			operand.validate(dataTypes);
+		}
+	}
+
+	private static class Comparison implements Node {
+		private final String columnName;
+		private final String operator;
+		private final List<Object> literals;
+		/**
+		 * @param columnName
+		 * @param operator     =, !=, <, <=, >, >=, IN, NOT IN, IS NULL, IS NOT NULL
+		 * @param literals     BigDecimal or String values
+		 */
+		Comparison(final String columnName, final String operator, final List<Object> literals) {
+			this.columnName = columnName;
+			this.operator = operator;
+			this.literals = literals;
+		}
+		@Override
+		public Condition compile(final Map<String, OraColumn> columns) {
+			final OraColumn column = column(columns);
+			final boolean numeric;
+			boolean blankPadded = false;
+			switch (column.getJdbcType()) {
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.INTEGER:
+			case Types.BIGINT:
+			case Types.DECIMAL:
+			case Types.NUMERIC:
+			case Types.FLOAT:
+			case Types.DOUBLE:
+				numeric = true;
+				break;
+			case Types.CHAR:
+			case Types.NCHAR:
+				blankPadded = true;
+				// fall through, CHAR and NCHAR are strings too
+			case Types.VARCHAR:
+			case Types.NVARCHAR:
+				numeric = false;
+				break;
+			default:
+				throw unsupported();
+			}
+			checkLiterals(numeric);
+			final Object[] values = literals.toArray();
+			final boolean padded = blankPadded;
+			return (keyStruct, valueStruct) -> {
+				final Object value = numeric ?
+						toBigDecimal(value(column, keyStruct, valueStruct)) :
+						value(column, keyStruct, valueStruct);
+				switch (operator) {
+				case "IS NULL":
+					return value == null;
+				case "IS NOT NULL":
+					return value != null;
+				case "IN":
+				case "NOT IN":
+					if (value == null) {
+						return null;
+					}
+					boolean found = false;
+					for (Object literal : values) {
+						if (compare(value, literal, padded) == 0) {
+							found = true;
+							break;
+						}
+					}
+					return "IN".equals(operator) ? found : !found;
+				default:
+					if (value == null) {
+						return null;
+					}
+					final int result = compare(value, values[0], padded);
+					switch (operator) {
+					case "=":
+						return result == 0;
+					case "!=":
+						return result != 0;
+					case "<":
+						return result < 0;
+					case "<=":
+						return result <= 0;
+					case ">":
+						return result > 0;
+					default:
+						return result >= 0;
+					}
+				}
+			};
+		}
+		@Override
+		public void toSql(final StringBuilder sb) {
+			sb.append('"').append(columnName).append("\" ").append(operator);
+			if (StringUtils.startsWith(operator, "IS")) {
+				return;
+			} else if (StringUtils.endsWith(operator, "IN")) {
+				sb.append(" (");
+				for (int i = 0; i < literals.size(); i++) {
+					if (i > 0) {
+						sb.append(", ");
+					}
+					literalToSql(sb, literals.get(i));
+				}
+				sb.append(')');
+			} else {
+				sb.append(' ');
+				literalToSql(sb, literals.get(0));
+			}
+		}
+		@Override
+		public boolean pkOnly(final Map<String, OraColumn> columns) {
+			return column(columns).isPartOfPk();
+		}
+		@Override
+		public void columns(final Set<String> columnNames) {
+			columnNames.add(columnName);
+		}
+		@Override
+		public void validate(final Map<String, String> dataTypes) {
+			final String dataType = dataTypes.get(columnName);
+			if (dataType == null) {
+				throw new ConnectException("Column " + columnName +
+						" used in row filter is not in table definition!");
+			}
+			switch (dataType) {
+			case "NUMBER":
+			case "FLOAT":
+			case "BINARY_FLOAT":
+			case "BINARY_DOUBLE":
+				checkLiterals(true);
+				break;
+			case "CHAR":
+			case "NCHAR":
+			case "VARCHAR2":
+			case "NVARCHAR2":
+				checkLiterals(false);
+				break;
+			default:
+				throw unsupported();
+			}
+		}
+		private OraColumn column(final Map<String, OraColumn> columns) {
+			final OraColumn column = columns.get(columnName);
+			if (column == null) {
+				throw new ConnectException("Column " + columnName +
+						" used in row filter is not in table definition!");
+			}
+			return column;
+		}
+		private void checkLiterals(final boolean numeric) {
+			for (Object literal : literals) {
+				if (numeric != (literal instanceof BigDecimal)) {
+					throw new ConnectException("Type of literal " + literal +
+							" does not match type of column " + columnName + " in row filter!");
+				}
+			}
+		}
+		private ConnectException unsupported() {
+			return new ConnectException("Column " + columnName +
+					" with unsupported data type used in row filter!");
+		}
+	}
+
+	private static Object value(final OraColumn column, final Struct keyStruct, final Struct valueStruct) {
+		if (column.valueField() != null) {
+			return valueStruct.get(column.valueField());
+		} else if (column.keyField() != null) {
+			return keyStruct.get(column.keyField());
+		} else {
+			return null;
+		}
+	}
+
+	private static BigDecimal toBigDecimal(final Object value) {
+		if (value == null) {
+			return null;
+		} else if (value instanceof BigDecimal) {
+			return (BigDecimal) value;
+		} else if (value instanceof Double || value instanceof Float) {
+			return BigDecimal.valueOf(((Number) value).doubleValue());
+		} else if (value instanceof Number) {
+			return BigDecimal.valueOf(((Number) value).longValue());
+		} else if (value instanceof byte[]) {
+			// Oracle NUMBER with oracdc schemas
+			try {
+				return new NUMBER((byte[]) value).bigDecimalValue();
+			} catch (SQLException sqle) {
+				throw new ConnectException(sqle);
+			}
+		} else {
+			return new BigDecimal(value.toString());
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compare(final Object value, final Object literal, final boolean blankPadded) {
+		if (blankPadded) {
+			return compareBlankPadded((String) value, (String) literal);
+		} else {
+			return ((Comparable) value).compareTo(literal);
+		}
+	}
+
+	/**
+	 * Oracle blank-padded comparison: shorter value is padded with blanks to length of longer
+	 * 
+	 * @param value
+	 * @param literal
+	 * @return result of comparison
+	 */
+	static int compareBlankPadded(final String value, final String literal) {
+		final int length = Math.max(value.length(), literal.length());
+		for (int i = 0; i < length; i++) {
+			final char valueChar = i < value.length() ? value.charAt(i) : ' ';
+			final char literalChar = i < literal.length() ? literal.charAt(i) : ' ';
+			if (valueChar != literalChar) {
+				return valueChar - literalChar;
+			}
+		}
+		return 0;
+	}
+
+	private static void literalToSql(final StringBuilder sb, final Object literal) {
+		if (literal instanceof BigDecimal) {
+			sb.append(((BigDecimal) literal).toPlainString());
+		} else {
+			sb.append('\'').append(StringUtils.replace((String) literal, "'", "''")).append('\'');
+		}
+	}
+
+	/**
+	 * Splits a2.row.filter value by semicolons outside of string literals
+	 * 
+	 * @param filterList
+	 * @return list of OWNER.TABLE:predicate entries
+	 */
+	static List<String> splitEntries(final String filterList) {
+		final List<String> result = new ArrayList<>();
+		if (StringUtils.isBlank(filterList)) {
+			return result;
+		}
+		boolean inLiteral = false;
+		int start = 0;
+		for (int i = 0; i < filterList.length(); i++) {
+			final char ch = filterList.charAt(i);
+			if (ch == '\'') {
+				inLiteral = !inLiteral;
+			} else if (ch == ';' && !inLiteral) {
+				if (!StringUtils.isBlank(filterList.substring(start, i))) {
+					result.add(StringUtils.trim(filterList.substring(start, i)));
+				}
+				start = i + 1;
+			}
+		}
+		if (!StringUtils.isBlank(filterList.substring(start))) {
+			result.add(StringUtils.trim(filterList.substring(start)));
+		}
+		return result;
+	}
+
+	/**
+	 * Parses predicate
+	 * 
+	 * @param predicate
+	 * @return AST
+	 */
+	static Node parse(final String predicate) {
+		final Parser parser = new Parser(predicate);
+		final Node node = parser.or();
+		if (parser.peek() != null) {
+			throw parser.error("unexpected '" + parser.peek() + "'");
+		}
+		return node;
+	}
+
+	private static class Parser {
+		private final String text;
+		private final List<String> tokens = new ArrayList<>();
+		private int pos = 0;
+
+		Parser(final String text) {
+			this.text = text;
+			int i = 0;
+			while (i < text.length()) {
+				final char ch = text.charAt(i);
+				if (Character.isWhitespace(ch)) {
+					i++;
+				} else if (ch == '\'') {
+					// String literal, '' inside is quote
+					final StringBuilder sb = new StringBuilder();
+					sb.append('\'');
+					i++;
+					while (true) {
+						if (i >= text.length()) {
+							throw error("unterminated string literal");
+						} else if (text.charAt(i) == '\'') {
+							if (i + 1 < text.length() && text.charAt(i + 1) == '\'') {
+								sb.append('\'');
+								i += 2;
+							} else {
+								i++;
+								break;
+							}
+						} else {
+							sb.append(text.charAt(i++));
+						}
+					}
+					tokens.add(sb.toString());
+				} else if (ch == '"') {
+					final int end = text.indexOf('"', i + 1);
+					if (end < 0) {
+						throw error("unterminated quoted identifier");
+					}
+					tokens.add(text.substring(i, end + 1));
+					i = end + 1;
+				} else if (ch == '(' || ch == ')' || ch == ',' || ch == '=') {
+					tokens.add(String.valueOf(ch));
+					i++;
+				} else if (ch == '<' || ch == '>' || ch == '!') {
+					if (i + 1 < text.length() &&
+							(text.charAt(i + 1) == '=' || (ch == '<' && text.charAt(i + 1) == '>'))) {
+						tokens.add(text.substring(i, i + 2));
+						i += 2;
+					} else if (ch == '!') {
+						throw error("unexpected '!'");
+					} else {
+						tokens.add(String.valueOf(ch));
+						i++;
+					}
+				} else {
+					final int start = i;
+					while (i < text.length() &&
+							(Character.isLetterOrDigit(text.charAt(i)) ||
+							text.charAt(i) == '_' || text.charAt(i) == '$' || text.charAt(i) == '#' ||
+							text.charAt(i) == '.' || text.charAt(i) == '-' || text.charAt(i) == '+')) {
+						i++;
+					}
+					if (start == i) {
+						throw error("unexpected '" + ch + "'");
+					}
+					tokens.add(text.substring(start, i));
+				}
+			}
+		}
+
+		String peek() {
+			return pos < tokens.size() ? tokens.get(pos) : null;
+		}
+
+		boolean acceptKeyword(final String keyword) {
+			if (StringUtils.equalsIgnoreCase(keyword, peek())) {
+				pos++;
+				return true;
+			} else {
+				return false;
+			}
+		}
+
+		String next(final String expected) {
+			final String token = peek();
+			if (token == null) {
+				throw error(expected + " expected");
+			}
+			pos++;
+			return token;
+		}
+
+		void expect(final String token) {
+			if (!StringUtils.equalsIgnoreCase(token, next("'" + token + "'"))) {
+				throw error("'" + token + "' expected");
+			}
+		}
+
+		Node or() {
+			final List<Node> operands = new ArrayList<>();
+			operands.add(and());
+			while (acceptKeyword("OR")) {
+				operands.add(and());
+			}
+			return operands.size() == 1 ? operands.get(0) : new AndOr(false, operands);
+		}
+
+		Node and() {
+			final List<Node> operands = new ArrayList<>();
+			operands.add(unary());
+			while (acceptKeyword("AND")) {
+				operands.add(unary());
+			}
+			return operands.size() == 1 ? operands.get(0) : new AndOr(true, operands);
+		}
+
+		Node unary() {
+			if (acceptKeyword("NOT")) {
+				return new Not(unary());
+			} else if (acceptKeyword("(")) {
+				final Node node = or();
+				expect(")");
+				return node;
+			} else {
+				return comparison();
+			}
+		}
+
+		Node comparison() {
+			final String identifier = next("column name");
+			final String columnName;
+			if (StringUtils.startsWith(identifier, "\"")) {
+				columnName = StringUtils.substring(identifier, 1, identifier.length() - 1);
+			} else if (Character.isLetter(identifier.charAt(0))) {
+				columnName = StringUtils.upperCase(identifier);
+			} else {
+				throw error("column name expected instead of '" + identifier + "'");
+			}
+			final List<Object> literals = new ArrayList<>();
+			if (acceptKeyword("IS")) {
+				final boolean not = acceptKeyword("NOT");
+				expect("NULL");
+				return new Comparison(columnName, not ? "IS NOT NULL" : "IS NULL", literals);
+			}
+			final boolean not = acceptKeyword("NOT");
+			if (acceptKeyword("IN")) {
+				expect("(");
+				literals.add(literal());
+				while (acceptKeyword(",")) {
+					literals.add(literal());
+				}
+				expect(")");
+				return new Comparison(columnName, not ? "NOT IN" : "IN", literals);
+			} else if (not) {
+				throw error("IN expected after NOT");
+			}
+			String operator = next("comparison operator");
+			switch (operator) {
+			case "=":
+			case "!=":
+			case "<":
+			case "<=":
+			case ">":
+			case ">=":
+				break;
+			case "<>":
+				operator = "!=";
+				break;
+			default:
+				throw error("comparison operator expected instead of '" + operator + "'");
+			}
+			literals.add(literal());
+			return new Comparison(columnName, operator, literals);
+		}
+
+		Object literal() {
+			final String token = next("literal");
+			if (StringUtils.startsWith(token, "'")) {
+				return token.substring(1);
+			} else {
+				try {
+					return new BigDecimal(token);
+				} catch (NumberFormatException nfe) {
+					throw error("literal expected instead of '" + token + "'");
+				}
+			}
+		}
+
+		ConnectException error(final String message) {
+			return new ConnectException("Invalid row filter predicate \"" + text + "\": " + message + "!");
+		}
+	}
+
+}
@@ -0,0 +1,386 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcLogMinerMgmt;
+import eu.solutions.a2.cdc.oracle.utils.CopyOnWriteLongObjectMap;
+import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+import eu.solutions.a2.cdc.oracle.utils.LongObjectHashMap;
+
+/**
+ * 
+ * Single LogMiner worker shared by all oracdc tasks in JVM with same value of a2.shared.mining.group
+ * Every committed transaction is published to subscribed tasks with tables of transaction in scope,
+ * all subscribers read same transaction queue with own position and apply own table filter,
+ * column projection and row filter.
+ * Parameters of LogMiner worker and spill (GROUP_PARAMS) must be same for all subscribers
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcSharedMiner {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcSharedMiner.class);
+	private static final Map<String, OraCdcSharedMiner> MINERS = new HashMap<>();
+	private static final List<String> GROUP_PARAMS = Collections.unmodifiableList(Arrays.asList(
+			ParamConstants.PROCESS_LOBS_PARAM,
+			ParamConstants.MINING_STRATEGY_PARAM,
+			ParamConstants.LGMNR_KEEP_SESSION_PARAM,
+			ParamConstants.REDO_FILES_COUNT_PARAM,
+			ParamConstants.REDO_FILES_SIZE_PARAM,
+			ParamConstants.TEMP_DIR_PARAM,
+			ParamConstants.TEMP_DIR_POLICY_PARAM,
+			ParamConstants.SPILL_COMPRESSION_PARAM,
+			ParamConstants.SPILL_HIGH_WATERMARK_PARAM,
+			ParamConstants.SPILL_LOW_WATERMARK_PARAM,
+			ParamConstants.COMMITTED_HIGH_WATERMARK_PARAM,
+			ParamConstants.COMMITTED_LOW_WATERMARK_PARAM));
+
+	private final String group;
+	private final Map<String, String> groupParams;
+	private final String stateFileName;
+	private final CopyOnWriteLongObjectMap<OraTable4LogMiner> tablesInProcessing;
+	private final LongObjectHashMap<OraCdcTransaction> activeTransactions;
+	private final List<Subscriber> subscribers;
+	// Committed transactions published when there are no subscribers, guards changes of subscribers
+	private final ArrayDeque<OraCdcTransaction> pending;
+	private final BlockingQueue<OraCdcTransaction> committedTransactions;
+	private OraCdcLogMinerWorkerThread worker;
+	private OraCdcLogMinerMgmt metrics;
+
+	/**
+	 * 
+	 * @param group              name of mining group
+	 * @param props              task properties of first subscriber, GROUP_PARAMS are used for all subscribers
+	 * @param stateFileName      file for storing mining position and in progress transactions
+	 * @param activeTransactions in progress transactions
+	 */
+	public OraCdcSharedMiner(final String group, final Map<String, String> props,
+			final String stateFileName, final LongObjectHashMap<OraCdcTransaction> activeTransactions) {
+		this.group = group;
+		this.groupParams = new HashMap<>();
+		GROUP_PARAMS.forEach(param -> groupParams.put(param, props.get(param)));
+		this.stateFileName = stateFileName;
+		this.activeTransactions = activeTransactions;
+		this.tablesInProcessing = new CopyOnWriteLongObjectMap<>();
+		this.subscribers = new CopyOnWriteArrayList<>();
+		this.pending = new ArrayDeque<>();
+		this.committedTransactions = new FanOutQueue();
+	}
+
+	/**
+	 * 
+	 * @param group name of mining group
+	 * @return shared miner or null if there is no running miner for this group
+	 */
+	public static synchronized OraCdcSharedMiner get(final String group) {
+		return MINERS.get(group);
+	}
+
+	public static synchronized void register(final OraCdcSharedMiner miner) {
+		MINERS.put(miner.group, miner);
+		LOGGER.info("LogMiner worker for shared mining group {} registered.", miner.group);
+	}
+
+	/**
+	 * 
+	 * @param task       subscribed task, stopped when worker of group fails
+	 * @param subscriber queue of committed transactions for subscriber
+	 * @param props      task properties, values of GROUP_PARAMS must be same as for first subscriber
+	 */
+	public void subscribe(final OraCdcLogMinerTask task,
+			final BlockingQueue<OraCdcTransaction> subscriber, final Map<String, String> props) {
+		for (final String param : GROUP_PARAMS) {
+			if (!Objects.equals(groupParams.get(param), props.get(param))) {
+				LOGGER.error("Value of {} for all connectors in shared mining group {} must be same!",
+						param, group);
+				throw new ConnectException("Different values of " + param +
+						" in shared mining group " + group + "!");
+			}
+		}
+		synchronized (pending) {
+			subscribers.add(new Subscriber(task, subscriber));
+			if (!pending.isEmpty()) {
+				LOGGER.info("{} transaction(s) published without subscribers passed to new subscriber of shared mining group {}.",
+						pending.size(), group);
+				while (!pending.isEmpty()) {
+					subscriber.add(pending.poll());
+				}
+			}
+		}
+		LOGGER.info("Subscribed to shared mining group {}, {} subscriber(s).", group, subscribers.size());
+	}
+
+	/**
+	 * Adds committed transaction restored from state file of group, it is passed to first subscriber
+	 * 
+	 * @param transaction committed transaction
+	 */
+	public void addPending(final OraCdcTransaction transaction) {
+		synchronized (pending) {
+			pending.add(transaction);
+		}
+	}
+
+	/**
+	 * 
+	 * @param task       subscribed task
+	 * @param subscriber queue of committed transactions for subscriber
+	 * @return true when last subscriber is removed and worker needs to be stopped
+	 */
+	public boolean unsubscribe(final OraCdcLogMinerTask task, final BlockingQueue<OraCdcTransaction> subscriber) {
+		synchronized (OraCdcSharedMiner.class) {
+			synchronized (pending) {
+				subscribers.removeIf(s -> s.queue == subscriber);
+			}
+			LOGGER.info("Unsubscribed from shared mining group {}, {} subscriber(s) left.", group, subscribers.size());
+			if (subscribers.isEmpty()) {
+				deregister();
+				return true;
+			} else {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Called by worker thread when it stops because of error. Group is removed from registry,
+	 * so next started subscriber creates new worker, and all subscribers are stopped
+	 */
+	public void workerFailed() {
+		synchronized (OraCdcSharedMiner.class) {
+			deregister();
+		}
+		LOGGER.error("LogMiner worker of shared mining group {} failed, stopping {} subscriber(s).",
+				group, subscribers.size());
+		for (final Subscriber subscriber : subscribers) {
+			subscriber.task.stop(false);
+		}
+	}
+
+	private void deregister() {
+		if (MINERS.get(group) == this) {
+			MINERS.remove(group);
+			if (metrics != null) {
+				metrics.unregister();
+			}
+		}
+	}
+
+	/**
+	 * Saves mining position, in progress transactions and transactions published without subscribers
+	 * 
+	 * @throws IOException
+	 */
+	public void saveState() throws IOException {
+		final OraRdbmsInfo rdbmsInfo;
+		try {
+			rdbmsInfo = OraRdbmsInfo.getInstance();
+		} catch (SQLException sqle) {
+			LOGGER.error(ExceptionUtils.getExceptionStackTrace(sqle));
+			throw new IOException(sqle);
+		}
+		final OraCdcPersistentState ops = new OraCdcPersistentState();
+		ops.setDbId(rdbmsInfo.getDbId());
+		ops.setInstanceName(rdbmsInfo.getInstanceName());
+		ops.setHostName(rdbmsInfo.getHostName());
+		ops.setLastOpTsMillis(System.currentTimeMillis());
+		ops.setLastScn(worker.getLastScn());
+		ops.setLastRsId(worker.getLastRsId());
+		ops.setLastSsn(worker.getLastSsn());
+		if (worker.getLastCommitScn() > 0) {
+			ops.setLastCommitScn(worker.getLastCommitScn());
+			ops.setMiningScn(worker.getLastMiningScn());
+		}
+		if (!activeTransactions.isEmpty()) {
+			final List<Map<String, Object>> wip = new ArrayList<>();
+			activeTransactions.forEach((xid, trans) -> {
+				wip.add(trans.attrsAsMap());
+				LOGGER.debug("Added to shared mining state file in progress transaction {}", trans.toString());
+			});
+			ops.setInProgressTransactions(wip);
+		}
+		synchronized (pending) {
+			if (!pending.isEmpty()) {
+				final List<Map<String, Object>> committed = new ArrayList<>();
+				pending.forEach(trans -> {
+					committed.add(trans.attrsAsMap());
+					LOGGER.debug("Added to shared mining state file committed transaction {}", trans.toString());
+				});
+				ops.setCommittedTransactions(committed);
+			}
+		}
+		try {
+			ops.toFile(stateFileName);
+		} catch (Exception e) {
+			LOGGER.error("Unable to save shared mining state file with contents:\n{}", ops.toString());
+			throw new IOException(e);
+		}
+		LOGGER.info("Shared mining group {} state saved to {} file.", group, stateFileName);
+	}
+
+	public String getGroup() {
+		return group;
+	}
+
+	public String getStateFileName() {
+		return stateFileName;
+	}
+
+	public CopyOnWriteLongObjectMap<OraTable4LogMiner> getTablesInProcessing() {
+		return tablesInProcessing;
+	}
+
+	public LongObjectHashMap<OraCdcTransaction> getActiveTransactions() {
+		return activeTransactions;
+	}
+
+	public BlockingQueue<OraCdcTransaction> getCommittedTransactions() {
+		return committedTransactions;
+	}
+
+	public OraCdcLogMinerWorkerThread getWorker() {
+		return worker;
+	}
+
+	public void setWorker(OraCdcLogMinerWorkerThread worker) {
+		this.worker = worker;
+	}
+
+	/**
+	 * 
+	 * @return metrics of LogMiner worker of group, registered with name shared-mining-&lt;GROUP&gt;
+	 */
+	public OraCdcLogMinerMgmt getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(OraCdcLogMinerMgmt metrics) {
+		this.metrics = metrics;
+	}
+
+	private static class Subscriber {
+		private final OraCdcLogMinerTask task;
+		private final BlockingQueue<OraCdcTransaction> queue;
+
+		private Subscriber(final OraCdcLogMinerTask task, final BlockingQueue<OraCdcTransaction> queue) {
+			this.task = task;
+			this.queue = queue;
+		}
+	}
+
+	/**
+	 * Queue used by LogMiner worker for committed transactions, publishes transaction to subscribers
+	 */
+	private class FanOutQueue extends LinkedBlockingQueue<OraCdcTransaction> {
+
+		private static final long serialVersionUID = 4925227125427519235L;
+
+		/**
+		 * Transactions are not stored here, returns size of longest subscriber queue
+		 */
+		@Override
+		public int size() {
+			int maxSize;
+			synchronized (pending) {
+				maxSize = pending.size();
+			}
+			for (Subscriber subscriber : subscribers) {
+				maxSize = Math.max(maxSize, subscriber.queue.size());
+			}
+			return maxSize;
+		}
+
+		/**
+		 * Iterates over transactions waiting in subscriber queues, readers of same transaction are returned once
+		 */
+		@Override
+		public Iterator<OraCdcTransaction> iterator() {
+			final Map<String, OraCdcTransaction> waiting = new LinkedHashMap<>();
+			synchronized (pending) {
+				for (OraCdcTransaction transaction : pending) {
+					waiting.putIfAbsent(transaction.getXid() + ":" + transaction.getCommitScn(), transaction);
+				}
+			}
+			for (Subscriber subscriber : subscribers) {
+				for (OraCdcTransaction transaction : subscriber.queue) {
+					waiting.putIfAbsent(transaction.getXid() + ":" + transaction.getCommitScn(), transaction);
+				}
+			}
+			return Collections.unmodifiableCollection(waiting.values()).iterator();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return size() == 0;
+		}
+
+		@Override
+		public boolean add(OraCdcTransaction transaction) {
+			final List<Subscriber> targets = new ArrayList<>();
+			synchronized (pending) {
+				if (subscribers.isEmpty()) {
+					// Kept until next subscription or saved to state file of group
+					pending.add(transaction);
+					if (LOGGER.isDebugEnabled()) {
+						LOGGER.debug("No subscribers for shared mining group {}, transaction XID {} buffered.",
+								group, transaction.getXid());
+					}
+					return true;
+				}
+				final long[] tableIds = transaction.getTableIds();
+				for (Subscriber subscriber : subscribers) {
+					if (tableIds == null || subscriber.task.isAnyTableInScope(tableIds)) {
+						targets.add(subscriber);
+					}
+				}
+				if (targets.isEmpty()) {
+					if (LOGGER.isDebugEnabled()) {
+						LOGGER.debug("Tables of transaction XID {} are out of scope for all subscribers of shared mining group {}.",
+								transaction.getXid(), group);
+					}
+					transaction.close();
+					return true;
+				}
+				// Readers share Chronicle Queue files of transaction, files are deleted after close of last reader
+				for (int i = 1; i < targets.size(); i++) {
+					targets.get(i).queue.add(transaction.share());
+				}
+				return targets.get(0).queue.add(transaction);
+			}
+		}
+
+	}
+
+}
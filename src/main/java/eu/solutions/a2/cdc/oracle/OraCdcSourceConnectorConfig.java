@@ -41,6 +41,8 @@ public class OraCdcSourceConnectorConfig extends AbstractConfig {
 	public static final String TASK_PARAM_MV_ROWID = "mvlog.rowid";
 	public static final String TASK_PARAM_MV_PK = "mvlog.pk";
 	public static final String TASK_PARAM_MV_SEQUENCE = "mvlog.seq";
+	public static final String TASK_PARAM_ID = "task.id";
+	public static final String TASK_PARAM_COUNT = "task.count";
 
 	public static ConfigDef config() {
 		return new ConfigDef()
@@ -82,6 +84,49 @@ public class OraCdcSourceConnectorConfig extends AbstractConfig {
 						Importance.MEDIUM, ParamConstants.LGMNR_START_SCN_DOC)
 				.define(ParamConstants.TEMP_DIR_PARAM, Type.STRING, "",
 						Importance.HIGH, ParamConstants.TEMP_DIR_DOC)
+				.define(ParamConstants.TEMP_DIR_POLICY_PARAM, Type.STRING,
+						ParamConstants.TEMP_DIR_POLICY_ROUND_ROBIN,
+						ConfigDef.ValidString.in(ParamConstants.TEMP_DIR_POLICY_ROUND_ROBIN,
+								ParamConstants.TEMP_DIR_POLICY_LEAST_USED),
+						Importance.LOW, ParamConstants.TEMP_DIR_POLICY_DOC)
+				.define(ParamConstants.TEMP_DIR_POOL_SIZE_PARAM, Type.INT, 0,
+						ConfigDef.Range.atLeast(0),
+						Importance.LOW, ParamConstants.TEMP_DIR_POOL_SIZE_DOC)
+				.define(ParamConstants.SOURCE_QUERY_PARAM, Type.STRING,
+						ParamConstants.SOURCE_QUERY_OMIT,
+						ConfigDef.ValidString.in(ParamConstants.SOURCE_QUERY_OMIT,
+								ParamConstants.SOURCE_QUERY_FULL,
+								ParamConstants.SOURCE_QUERY_TRUNCATE,
+								ParamConstants.SOURCE_QUERY_HASH,
+								ParamConstants.SOURCE_QUERY_RS_ID),
+						Importance.LOW, ParamConstants.SOURCE_QUERY_DOC)
+				.define(ParamConstants.SOURCE_QUERY_LENGTH_PARAM, Type.INT, 256,
+						ConfigDef.Range.atLeast(1),
+						Importance.LOW, ParamConstants.SOURCE_QUERY_LENGTH_DOC)
+				.define(ParamConstants.COLUMN_INCLUDE_PARAM, Type.LIST, "",
+						Importance.LOW, ParamConstants.COLUMN_INCLUDE_DOC)
+				.define(ParamConstants.COLUMN_EXCLUDE_PARAM, Type.LIST, "",
+						Importance.LOW, ParamConstants.COLUMN_EXCLUDE_DOC)
+				.define(ParamConstants.ROW_FILTER_PARAM, Type.STRING, "",
+						Importance.LOW, ParamConstants.ROW_FILTER_DOC)
+				.define(ParamConstants.UPDATE_MODE_PARAM, Type.STRING,
+						ParamConstants.UPDATE_MODE_FULL,
+						ConfigDef.ValidString.in(ParamConstants.UPDATE_MODE_FULL,
+								ParamConstants.UPDATE_MODE_DELTA),
+						Importance.LOW, ParamConstants.UPDATE_MODE_DOC)
+				.define(ParamConstants.TABLE_METRICS_IDLE_MS_PARAM, Type.LONG,
+						ParamConstants.TABLE_METRICS_IDLE_MS_DEFAULT,
+						ConfigDef.Range.atLeast(0),
+						Importance.LOW, ParamConstants.TABLE_METRICS_IDLE_MS_DOC)
+				.define(ParamConstants.METRICS_HTTP_PORT_PARAM, Type.INT,
+						ParamConstants.METRICS_HTTP_PORT_DEFAULT,
+						ConfigDef.Range.between(0, 65535),
+						Importance.LOW, ParamConstants.METRICS_HTTP_PORT_DOC)
+				.define(ParamConstants.SPILL_COMPRESSION_PARAM, Type.STRING,
+						ParamConstants.SPILL_COMPRESSION_NONE,
+						ConfigDef.ValidString.in(ParamConstants.SPILL_COMPRESSION_NONE,
+								ParamConstants.SPILL_COMPRESSION_LZ4),
+						Importance.LOW, ParamConstants.SPILL_COMPRESSION_DOC)
 				.define(ParamConstants.MAKE_STANDBY_ACTIVE_PARAM, Type.BOOLEAN, false,
 						Importance.LOW, ParamConstants.MAKE_STANDBY_ACTIVE_DOC)
 				.define(ParamConstants.STANDBY_WALLET_PARAM, Type.STRING, "",
@@ -121,7 +166,37 @@ public class OraCdcSourceConnectorConfig extends AbstractConfig {
 				.define(ParamConstants.PROCESS_LOBS_PARAM, Type.BOOLEAN, false,
 						Importance.LOW, ParamConstants.PROCESS_LOBS_DOC)
 				.define(ParamConstants.CONNECTION_BACKOFF_PARAM, Type.INT, ParamConstants.CONNECTION_BACKOFF_DEFAULT,
-						Importance.LOW, ParamConstants.CONNECTION_BACKOFF_DOC);
+						Importance.LOW, ParamConstants.CONNECTION_BACKOFF_DOC)
+				.define(ParamConstants.HEARTBEAT_INTERVAL_MS_PARAM, Type.INT, ParamConstants.HEARTBEAT_INTERVAL_MS_DEFAULT,
+						Importance.LOW, ParamConstants.HEARTBEAT_INTERVAL_MS_DOC)
+				.define(ParamConstants.HEARTBEAT_TOPIC_PARAM, Type.STRING, ParamConstants.HEARTBEAT_TOPIC_DEFAULT,
+						Importance.LOW, ParamConstants.HEARTBEAT_TOPIC_DOC)
+				.define(ParamConstants.TASK_DISTRIBUTION_PARAM, Type.STRING,
+						ParamConstants.TASK_DISTRIBUTION_SINGLE,
+						ConfigDef.ValidString.in(ParamConstants.TASK_DISTRIBUTION_SINGLE,
+								ParamConstants.TASK_DISTRIBUTION_HASH),
+						Importance.LOW, ParamConstants.TASK_DISTRIBUTION_DOC)
+				.define(ParamConstants.SHARED_MINING_GROUP_PARAM, Type.STRING, "",
+						Importance.LOW, ParamConstants.SHARED_MINING_GROUP_DOC)
+				.define(ParamConstants.MINING_STRATEGY_PARAM, Type.STRING,
+						ParamConstants.MINING_STRATEGY_BUFFERED,
+						ConfigDef.ValidString.in(ParamConstants.MINING_STRATEGY_BUFFERED,
+								ParamConstants.MINING_STRATEGY_COMMITTED),
+						Importance.LOW, ParamConstants.MINING_STRATEGY_DOC)
+				.define(ParamConstants.LGMNR_KEEP_SESSION_PARAM, Type.BOOLEAN, false,
+						Importance.LOW, ParamConstants.LGMNR_KEEP_SESSION_DOC)
+				.define(ParamConstants.LGMNR_RECORD_FILE_PARAM, Type.STRING, "",
+						Importance.LOW, ParamConstants.LGMNR_RECORD_FILE_DOC)
+				.define(ParamConstants.LGMNR_REPLAY_FILE_PARAM, Type.STRING, "",
+						Importance.LOW, ParamConstants.LGMNR_REPLAY_FILE_DOC)
+				.define(ParamConstants.SPILL_HIGH_WATERMARK_PARAM, Type.LONG, 0,
+						Importance.LOW, ParamConstants.SPILL_HIGH_WATERMARK_DOC)
+				.define(ParamConstants.SPILL_LOW_WATERMARK_PARAM, Type.LONG, 0,
+						Importance.LOW, ParamConstants.SPILL_LOW_WATERMARK_DOC)
+				.define(ParamConstants.COMMITTED_HIGH_WATERMARK_PARAM, Type.INT, 0,
+						Importance.LOW, ParamConstants.COMMITTED_HIGH_WATERMARK_DOC)
+				.define(ParamConstants.COMMITTED_LOW_WATERMARK_PARAM, Type.INT, 0,
+						Importance.LOW, ParamConstants.COMMITTED_LOW_WATERMARK_DOC);
 	}
 
 	public OraCdcSourceConnectorConfig(Map<?, ?> originals) {
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 
+ * Value of "query" field of Debezium source block
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcSourceQueryProfile {
+
+	public static final OraCdcSourceQueryProfile FULL =
+			new OraCdcSourceQueryProfile(ParamConstants.SOURCE_QUERY_FULL, 0);
+
+	private static final int PROFILE_FULL = 0;
+	private static final int PROFILE_OMIT = 1;
+	private static final int PROFILE_TRUNCATE = 2;
+	private static final int PROFILE_HASH = 3;
+	private static final int PROFILE_RS_ID = 4;
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final int profile;
+	private final int maxLength;
+
+	/**
+	 * 
+	 * @param profile    one of ParamConstants.SOURCE_QUERY_*
+	 * @param maxLength  max length of query for ParamConstants.SOURCE_QUERY_TRUNCATE
+	 */
+	public OraCdcSourceQueryProfile(final String profile, final int maxLength) {
+		if (StringUtils.equals(ParamConstants.SOURCE_QUERY_FULL, profile)) {
+			this.profile = PROFILE_FULL;
+		} else if (StringUtils.equals(ParamConstants.SOURCE_QUERY_TRUNCATE, profile)) {
+			this.profile = PROFILE_TRUNCATE;
+		} else if (StringUtils.equals(ParamConstants.SOURCE_QUERY_HASH, profile)) {
+			this.profile = PROFILE_HASH;
+		} else if (StringUtils.equals(ParamConstants.SOURCE_QUERY_RS_ID, profile)) {
+			this.profile = PROFILE_RS_ID;
+		} else {
+			this.profile = PROFILE_OMIT;
+		}
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * 
+	 * @param stmt redo record
+	 * @return value for "query" field of source block, null when omitted
+	 */
+	public String query(final OraCdcLogMinerStatement stmt) {
+		switch (profile) {
+		case PROFILE_FULL:
+			return stmt.getSqlRedo();
+		case PROFILE_TRUNCATE:
+			return StringUtils.left(stmt.getSqlRedo(), maxLength);
+		case PROFILE_HASH:
+			return stmt.getSqlRedo() == null ? null : hash(stmt.getSqlRedo());
+		case PROFILE_RS_ID:
+			return StringUtils.trim(stmt.getRsId()) + ":" + stmt.getSsn();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * 64-bit FNV-1a hash of string
+	 * 
+	 * @param s
+	 * @return hash as 16 hex digits
+	 */
+	static String hash(final String s) {
+		long hash = FNV_OFFSET_BASIS;
+		for (int i = 0; i < s.length(); i++) {
+			hash ^= s.charAt(i);
+			hash *= FNV_PRIME;
+		}
+		final String hex = Long.toHexString(hash);
+		return hex.length() == 16 ? hex : StringUtils.leftPad(hex, 16, '0');
+	}
+
+}
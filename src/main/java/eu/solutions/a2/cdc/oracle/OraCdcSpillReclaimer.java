@@ -0,0 +1,310 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+import net.openhft.chronicle.queue.ChronicleQueue;
+
+/**
+ * 
+ * Background thread which deletes directories of closed Chronicle Queues and
+ * keeps pool of pre-created transaction queues. Shared by all tasks in JVM,
+ * when not started directories are deleted synchronously.
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcSpillReclaimer extends Thread {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcSpillReclaimer.class);
+	private static final long WAIT_MILLIS = 100;
+	private static final String LOB_SUFFIX = ".LOBDATA";
+
+	private static OraCdcSpillReclaimer instance = null;
+	private static int users = 0;
+
+	private static final AtomicLong poolHits = new AtomicLong(0);
+	private static final AtomicLong poolMisses = new AtomicLong(0);
+	private static final AtomicLong reclaimedCount = new AtomicLong(0);
+
+	private final BlockingQueue<Path> pendingDeletes;
+	private final Map<String, BlockingQueue<PooledQueue>> pools;
+	private final Map<String, PoolKey> poolKeys;
+	private volatile int poolSize;
+	private volatile boolean running;
+
+	private OraCdcSpillReclaimer() {
+		this.setName("OraCdcSpillReclaimer-" + System.nanoTime());
+		this.setDaemon(true);
+		this.pendingDeletes = new LinkedBlockingQueue<>();
+		this.pools = new ConcurrentHashMap<>();
+		this.poolKeys = new ConcurrentHashMap<>();
+		this.poolSize = 0;
+		this.running = true;
+	}
+
+	/**
+	 * Starts reclaimer thread if needed and registers pools of pre-created
+	 * transaction queues for every spill directory
+	 * 
+	 * @param spillRoots   spill directories
+	 * @param processLobs  when true pooled queues contain LOB queue
+	 * @param poolSize     number of pre-created queues per directory, 0 - no pool
+	 */
+	public static synchronized void register(
+			final OraCdcSpillRoots spillRoots, final boolean processLobs, final int poolSize) {
+		if (instance == null) {
+			instance = new OraCdcSpillReclaimer();
+			instance.start();
+			LOGGER.info("Started {} for asynchronous deletion of closed queues.", instance.getName());
+		}
+		users++;
+		if (poolSize > 0) {
+			instance.poolSize = Math.max(instance.poolSize, poolSize);
+			for (Path root : spillRoots.roots()) {
+				final PoolKey poolKey = new PoolKey(root, processLobs);
+				instance.poolKeys.putIfAbsent(poolKey.key, poolKey);
+				instance.pools.computeIfAbsent(poolKey.key, k -> new ArrayBlockingQueue<>(poolSize));
+			}
+		}
+	}
+
+	/**
+	 * Stops reclaimer thread when called by last user. Pending directories are deleted
+	 * and pooled queues are closed and deleted before return.
+	 */
+	public static synchronized void unregister() {
+		if (instance != null) {
+			users--;
+			if (users < 1) {
+				instance.running = false;
+				try {
+					instance.join();
+				} catch (InterruptedException ie) {
+					LOGGER.error(ExceptionUtils.getExceptionStackTrace(ie));
+				}
+				instance.drain();
+				instance = null;
+				users = 0;
+			}
+		}
+	}
+
+	/**
+	 * Deletes directory in background or synchronously when reclaimer is not started
+	 * 
+	 * @param directory queue directory
+	 */
+	public static void reclaim(final Path directory) {
+		final OraCdcSpillReclaimer reclaimer = instance;
+		if (reclaimer != null && reclaimer.running) {
+			reclaimer.pendingDeletes.add(directory);
+		} else {
+			delete(directory);
+		}
+	}
+
+	/**
+	 * Takes pre-created queue from pool
+	 * 
+	 * @param root         spill directory
+	 * @param processLobs  when true pooled queue must contain LOB queue
+	 * @return pre-created queue or null when pool is empty or not configured
+	 */
+	static PooledQueue take(final Path root, final boolean processLobs) {
+		final OraCdcSpillReclaimer reclaimer = instance;
+		if (reclaimer == null || reclaimer.poolSize == 0) {
+			return null;
+		}
+		final BlockingQueue<PooledQueue> pool = reclaimer.pools.get(PoolKey.key(root, processLobs));
+		if (pool == null) {
+			return null;
+		}
+		final PooledQueue pooled = pool.poll();
+		if (pooled == null) {
+			poolMisses.incrementAndGet();
+		} else {
+			poolHits.incrementAndGet();
+		}
+		return pooled;
+	}
+
+	public static long getPoolHits() {
+		return poolHits.get();
+	}
+
+	public static long getPoolMisses() {
+		return poolMisses.get();
+	}
+
+	public static long getReclaimedCount() {
+		return reclaimedCount.get();
+	}
+
+	public static int getPendingCount() {
+		final OraCdcSpillReclaimer reclaimer = instance;
+		return reclaimer == null ? 0 : reclaimer.pendingDeletes.size();
+	}
+
+	@Override
+	public void run() {
+		while (running) {
+			try {
+				final Path directory = pendingDeletes.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+				if (directory != null) {
+					delete(directory);
+				}
+				if (pendingDeletes.isEmpty()) {
+					// Refill pools only when there is nothing to delete
+					refill();
+				}
+			} catch (InterruptedException ie) {
+				LOGGER.error(ExceptionUtils.getExceptionStackTrace(ie));
+				running = false;
+			} catch (Exception e) {
+				LOGGER.error(ExceptionUtils.getExceptionStackTrace(e));
+			}
+		}
+	}
+
+	private void refill() {
+		pools.forEach((key, pool) -> {
+			final PoolKey poolKey = poolKeys.get(key);
+			while (running && pool.size() < poolSize) {
+				final PooledQueue pooled;
+				try {
+					pooled = new PooledQueue(poolKey.root, poolKey.processLobs);
+				} catch (IOException ioe) {
+					LOGGER.error("Unable to pre-create queue in {}!", poolKey.root);
+					LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
+					break;
+				}
+				if (!pool.offer(pooled)) {
+					pooled.close();
+					break;
+				}
+			}
+		});
+	}
+
+	private void drain() {
+		pools.forEach((key, pool) -> {
+			final List<PooledQueue> unused = new ArrayList<>();
+			pool.drainTo(unused);
+			unused.forEach(PooledQueue::close);
+		});
+		pools.clear();
+		final List<Path> remaining = new ArrayList<>();
+		pendingDeletes.drainTo(remaining);
+		remaining.forEach(OraCdcSpillReclaimer::delete);
+	}
+
+	private static void delete(final Path directory) {
+		try {
+			Files.walk(directory)
+				.sorted(Comparator.reverseOrder())
+				.map(Path::toFile)
+				.forEach(File::delete);
+			reclaimedCount.incrementAndGet();
+		} catch (IOException ioe) {
+			LOGGER.error("Unable to delete Cronicle Queue files in {}.", directory);
+			LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
+		}
+	}
+
+	private static class PoolKey {
+		private final Path root;
+		private final boolean processLobs;
+		private final String key;
+
+		PoolKey(final Path root, final boolean processLobs) {
+			this.root = root;
+			this.processLobs = processLobs;
+			this.key = key(root, processLobs);
+		}
+
+		static String key(final Path root, final boolean processLobs) {
+			return root.toString() + (processLobs ? LOB_SUFFIX : "");
+		}
+	}
+
+	/**
+	 * Pre-created queue directory with already built Chronicle Queue
+	 */
+	static class PooledQueue {
+		final Path queueDirectory;
+		final Path lobsQueueDirectory;
+		final ChronicleQueue statements;
+		final ChronicleQueue lobs;
+
+		PooledQueue(final Path root, final boolean processLobs) throws IOException {
+			queueDirectory = Files.createTempDirectory(root, "pool.");
+			if (processLobs) {
+				lobsQueueDirectory = Files.createDirectory(
+						Paths.get(queueDirectory.toString() + LOB_SUFFIX));
+			} else {
+				lobsQueueDirectory = null;
+			}
+			try {
+				statements = ChronicleQueue
+						.singleBuilder(queueDirectory)
+						.build();
+				if (processLobs) {
+					lobs = ChronicleQueue
+							.singleBuilder(lobsQueueDirectory)
+							.build();
+				} else {
+					lobs = null;
+				}
+			} catch (Exception e) {
+				delete(queueDirectory);
+				if (lobsQueueDirectory != null) {
+					delete(lobsQueueDirectory);
+				}
+				throw new IOException(e);
+			}
+		}
+
+		void close() {
+			statements.close();
+			if (lobs != null) {
+				lobs.close();
+			}
+			delete(queueDirectory);
+			if (lobsQueueDirectory != null) {
+				delete(lobsQueueDirectory);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+
+/**
+ * 
+ * Set of directories used for transaction and initial load queues
+ * with placement policy and per directory statistics
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcSpillRoots {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcSpillRoots.class);
+	private static final long USABLE_SPACE_CHECK_INTERVAL_MILLIS = 1000;
+	// Directories with less usable space are used by least-used policy only when all directories are below it
+	private static final long MIN_USABLE_SPACE_BYTES = 256L * 1024 * 1024;
+
+	private final Root[] roots;
+	private final boolean leastUsed;
+	private final AtomicInteger nextRoot = new AtomicInteger(0);
+
+	/**
+	 * 
+	 * @param tmpDirs   comma separated list of directories
+	 * @param policy    ParamConstants.TEMP_DIR_POLICY_ROUND_ROBIN or ParamConstants.TEMP_DIR_POLICY_LEAST_USED
+	 */
+	public OraCdcSpillRoots(final String tmpDirs, final String policy) {
+		final List<Root> list = new ArrayList<>();
+		for (String dir : parse(tmpDirs)) {
+			list.add(new Root(Paths.get(dir)));
+		}
+		if (list.size() == 0) {
+			list.add(new Root(Paths.get(System.getProperty("java.io.tmpdir"))));
+		}
+		this.roots = list.toArray(new Root[0]);
+		this.leastUsed = StringUtils.equalsIgnoreCase(ParamConstants.TEMP_DIR_POLICY_LEAST_USED, policy);
+		LOGGER.debug("{} temporary directories with {} placement policy.",
+				roots.length,
+				leastUsed ? ParamConstants.TEMP_DIR_POLICY_LEAST_USED : ParamConstants.TEMP_DIR_POLICY_ROUND_ROBIN);
+	}
+
+	/**
+	 * Splits value of a2.tmpdir parameter
+	 * 
+	 * @param tmpDirs comma separated list of directories
+	 * @return list of directories
+	 */
+	public static List<String> parse(final String tmpDirs) {
+		final List<String> result = new ArrayList<>();
+		if (tmpDirs != null) {
+			for (String dir : StringUtils.split(tmpDirs, ',')) {
+				if (!StringUtils.isBlank(dir)) {
+					result.add(StringUtils.trim(dir));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns directory for next queue
+	 * 
+	 * @return directory for next queue
+	 */
+	public Path next() {
+		return choose().path;
+	}
+
+	/**
+	 * Records queue creation in directory returned by next()
+	 * 
+	 * @param root          directory
+	 * @param elapsedNanos  queue creation time
+	 */
+	public void addQueueCreated(final Path root, final long elapsedNanos) {
+		for (Root r : roots) {
+			if (r.path.equals(root)) {
+				r.queuesCreated.incrementAndGet();
+				r.createNanos.addAndGet(elapsedNanos);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns counter of bytes currently spilled to directory, updated by transactions
+	 * created in directory and used by least-used policy
+	 * 
+	 * @param root directory returned by next()
+	 * @return counter of spilled bytes or null for unknown directory
+	 */
+	public AtomicLong spilledBytes(final Path root) {
+		for (Root r : roots) {
+			if (r.path.equals(root)) {
+				return r.spilledBytes;
+			}
+		}
+		return null;
+	}
+
+	public int size() {
+		return roots.length;
+	}
+
+	public Path first() {
+		return roots[0].path;
+	}
+
+	public List<Path> roots() {
+		final List<Path> result = new ArrayList<>(roots.length);
+		for (Root r : roots) {
+			result.add(r.path);
+		}
+		return result;
+	}
+
+	/**
+	 * Per directory statistics for JMX
+	 * 
+	 * @return per directory statistics
+	 */
+	public String[] getStatistics() {
+		final String[] result = new String[roots.length];
+		for (int i = 0; i < roots.length; i++) {
+			final Root r = roots[i];
+			final int created = r.queuesCreated.get();
+			result[i] = r.path.toString() +
+					": queues=" + created +
+					", avgCreateMicros=" + (created == 0 ? 0 : r.createNanos.get() / created / 1000) +
+					", spilledMb=" + (r.spilledBytes.get() / (1024 * 1024)) +
+					", usableMb=" + (r.usableSpace(0) / (1024 * 1024));
+		}
+		return result;
+	}
+
+	private Root choose() {
+		if (roots.length == 1) {
+			return roots[0];
+		} else if (leastUsed) {
+			// Directory with the fewest bytes spilled by oracdc, scan starts from next directory
+			// in turn so directories with same spilled size are used alternately
+			final long now = System.currentTimeMillis();
+			final int start = Math.floorMod(nextRoot.getAndIncrement(), roots.length);
+			Root result = null;
+			long minSpilled = Long.MAX_VALUE;
+			Root maxUsableRoot = null;
+			long maxUsable = Long.MIN_VALUE;
+			for (int i = 0; i < roots.length; i++) {
+				final Root r = roots[(start + i) % roots.length];
+				final long usable = r.usableSpace(now);
+				if (usable > maxUsable) {
+					maxUsable = usable;
+					maxUsableRoot = r;
+				}
+				if (usable >= MIN_USABLE_SPACE_BYTES) {
+					final long spilled = r.spilledBytes.get();
+					if (spilled < minSpilled) {
+						minSpilled = spilled;
+						result = r;
+					}
+				}
+			}
+			return result == null ? maxUsableRoot : result;
+		} else {
+			return roots[Math.floorMod(nextRoot.getAndIncrement(), roots.length)];
+		}
+	}
+
+	private static class Root {
+		private final Path path;
+		private final AtomicInteger queuesCreated = new AtomicInteger(0);
+		private final AtomicLong createNanos = new AtomicLong(0);
+		private final AtomicLong spilledBytes = new AtomicLong(0);
+		private volatile long usableSpace = 0;
+		private volatile long usableSpaceCheckedAt = 0;
+
+		Root(final Path path) {
+			this.path = path;
+		}
+
+		/**
+		 * Usable space is cached for USABLE_SPACE_CHECK_INTERVAL_MILLIS to avoid
+		 * file system call for every new transaction
+		 * 
+		 * @param now current time in millis, 0 to force check
+		 * @return usable space in bytes
+		 */
+		long usableSpace(final long now) {
+			if (now == 0 || now - usableSpaceCheckedAt > USABLE_SPACE_CHECK_INTERVAL_MILLIS) {
+				try {
+					usableSpace = Files.getFileStore(path).getUsableSpace();
+				} catch (IOException ioe) {
+					LOGGER.error("Unable to get usable space for {}!", path);
+					LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
+					usableSpace = 0;
+				}
+				usableSpaceCheckedAt = now == 0 ? System.currentTimeMillis() : now;
+			}
+			return usableSpace;
+		}
+	}
+
+}
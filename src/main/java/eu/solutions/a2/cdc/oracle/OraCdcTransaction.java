@@ -1,19 +1,25 @@
 package eu.solutions.a2.cdc.oracle;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Comparator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcJfr;
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcTransactionCloseEvent;
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcTransactionSpillEvent;
 import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+import eu.solutions.a2.cdc.oracle.utils.LongHashSet;
 import net.openhft.chronicle.queue.ChronicleQueue;
 import net.openhft.chronicle.queue.ExcerptAppender;
 import net.openhft.chronicle.queue.ExcerptTailer;
@@ -34,11 +40,23 @@ public class OraCdcTransaction {
 	private static final String QUEUE_OFFSET = "tailerOffset";
 	private static final String TRANS_COMMIT_SCN = "commitScn";
 	private static final String PROCESS_LOBS = "processLobs";
+	private static final String QUEUE_INDEX = "tailerIndex";
+	private static final String LOBS_QUEUE_INDEX = "lobsTailerIndex";
+	private static final long INDEX_NOT_SET = -1;
+	private static final String TRANS_XID_KEY = "xidKey";
+	private static final String TRANS_MINING_SCN = "miningScn";
+	private static final String SHARED_CLAIM = "sharedClaim";
+	private static final String CLAIMS_SUFFIX = ".CLAIMS";
+	// Number of open transactions in JVM reading same shared queue directory
+	private static final Map<Path, int[]> SHARED_QUEUES = new HashMap<>();
 
 	private final String xid;
+	private long xidKey;
+	private boolean xidKeyKnown;
 	private long firstChange;
 	private long nextChange;
 	private Long commitScn;
+	private long miningScn = 0;
 	private final Path queueDirectory;
 	private final Path lobsQueueDirectory;
 	private final boolean processLobs;
@@ -50,6 +68,27 @@ public class OraCdcTransaction {
 	private ChronicleQueue lobs;
 	private ExcerptAppender lobsAppender;
 	private ExcerptTailer lobsTailer;
+	private int ackedTailerOffset;
+	private long ackedTailerIndex;
+	private long ackedLobsTailerIndex;
+	private long spilledBytes = 0;
+	// Bytes spilled to directory of transaction by all transactions, see OraCdcSpillRoots
+	private AtomicLong rootSpilledBytes;
+	private boolean compressSqlRedo = false;
+	private long firstFetchMillis = System.currentTimeMillis();
+	private long commitSeenMillis = 0;
+	// OBJECT_ID of tables changed by transaction, null for restored transaction
+	private LongHashSet tableIds;
+	private long lastTableId;
+	// Set when Chronicle Queue files are read by several subscribers of shared mining group
+	private boolean shared = false;
+	// Chronicle Queue instances used by all readers created by share(), null for restored transaction
+	private SharedQueue sharedQueue;
+	// Keeps Chronicle Queue files for subscriber after restart
+	private Path claimFile;
+	private boolean releaseClaim = false;
+	// Records sent to Kafka and not yet acknowledged together with records acknowledged after them
+	private final ArrayDeque<SentRecord> sentRecords = new ArrayDeque<>();
 
 	/**
 	 * 
@@ -65,35 +104,50 @@ public class OraCdcTransaction {
 		LOGGER.trace("BEGIN: create OraCdcTransaction for new transaction");
 		this.xid = xid;
 		this.processLobs = processLobs;
-		queueDirectory = Files.createTempDirectory(rootDir, xid + ".");
-		if (processLobs) {
-			final String lobDirectory = queueDirectory.toString() + ".LOBDATA";
-			lobsQueueDirectory = Files.createDirectory(Paths.get(lobDirectory));
+		final OraCdcSpillReclaimer.PooledQueue pooled = OraCdcSpillReclaimer.take(rootDir, processLobs);
+		if (pooled != null) {
+			queueDirectory = pooled.queueDirectory;
+			lobsQueueDirectory = pooled.lobsQueueDirectory;
+			statements = pooled.statements;
+			lobs = pooled.lobs;
 		} else {
-			lobsQueueDirectory = null;
+			queueDirectory = Files.createTempDirectory(rootDir, xid + ".");
+			if (processLobs) {
+				final String lobDirectory = queueDirectory.toString() + ".LOBDATA";
+				lobsQueueDirectory = Files.createDirectory(Paths.get(lobDirectory));
+			} else {
+				lobsQueueDirectory = null;
+			}
 		}
 		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug("Created row data queue directory {} for transaction XID {}.",
-					queueDirectory.toString(), xid);
+			LOGGER.debug("{} row data queue directory {} for transaction XID {}.",
+					pooled != null ? "Pooled" : "Created", queueDirectory.toString(), xid);
 			if (processLobs) {
-				LOGGER.debug("Created LOB data queue directory {} for transaction XID {}.",
-						lobsQueueDirectory.toString(), xid);
+				LOGGER.debug("{} LOB data queue directory {} for transaction XID {}.",
+						pooled != null ? "Pooled" : "Created", lobsQueueDirectory.toString(), xid);
 			}
 		}
 		try {
-			statements = ChronicleQueue
-				.singleBuilder(queueDirectory)
-				.build();
+			if (pooled == null) {
+				statements = ChronicleQueue
+					.singleBuilder(queueDirectory)
+					.build();
+			}
 			tailer = statements.createTailer();
 			appender = statements.acquireAppender();
 			queueSize = 0;
 			tailerOffset = 0;
+			ackedTailerOffset = 0;
+			ackedTailerIndex = INDEX_NOT_SET;
+			ackedLobsTailerIndex = INDEX_NOT_SET;
 			if (processLobs) {
-				lobs = ChronicleQueue
-						.singleBuilder(lobsQueueDirectory)
-						.build();
-					lobsTailer = lobs.createTailer();
-					lobsAppender = lobs.acquireAppender();
+				if (pooled == null) {
+					lobs = ChronicleQueue
+							.singleBuilder(lobsQueueDirectory)
+							.build();
+				}
+				lobsTailer = lobs.createTailer();
+				lobsAppender = lobs.acquireAppender();
 			}
 		} catch (Exception e) {
 			LOGGER.error("Unable to create Chronicle Queue!");
@@ -135,6 +189,32 @@ public class OraCdcTransaction {
 			final boolean processLobs, final Path queueDirectory, final String xid,
 			final long firstChange, final long nextChange, final Long commitScn,
 			final int queueSize, final int savedTailerOffset) throws IOException {
+		this(processLobs, queueDirectory, xid, firstChange, nextChange, commitScn,
+				queueSize, savedTailerOffset, INDEX_NOT_SET, INDEX_NOT_SET);
+	}
+
+	/**
+	 * 
+	 * Restores OraCdcTransaction from previously created Chronicle queue file
+	 * When savedTailerIndex (and savedLobsTailerIndex for transaction with LOBs) is set
+	 * tailer is positioned directly to this index without reading already processed records
+	 * 
+	 * @param processLobs
+	 * @param queueDirectory
+	 * @param xid
+	 * @param firstChange
+	 * @param nextChange
+	 * @param commitScn
+	 * @param queueSize
+	 * @param savedTailerOffset
+	 * @param savedTailerIndex
+	 * @param savedLobsTailerIndex
+	 */
+	public OraCdcTransaction(
+			final boolean processLobs, final Path queueDirectory, final String xid,
+			final long firstChange, final long nextChange, final Long commitScn,
+			final int queueSize, final int savedTailerOffset,
+			final long savedTailerIndex, final long savedLobsTailerIndex) throws IOException {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("BEGIN: restore OraCdcTransaction for XID={} from {}",
 					xid, queueDirectory);
@@ -170,6 +250,24 @@ public class OraCdcTransaction {
 		this.nextChange = nextChange;
 		this.commitScn = commitScn;
 		tailerOffset = 0;
+		if (savedTailerOffset > 0 &&
+				savedTailerIndex != INDEX_NOT_SET &&
+				(!processLobs || savedLobsTailerIndex != INDEX_NOT_SET)) {
+			if (seek(savedTailerIndex, savedLobsTailerIndex)) {
+				tailerOffset = savedTailerOffset;
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug("Chronicle Queue for transaction XID {} positioned to index {}, offset {}.",
+							xid, savedTailerIndex, savedTailerOffset);
+				}
+			} else {
+				LOGGER.warn("Unable to position Chronicle Queue for transaction XID {} to index {}! Rewinding queue sequentially.",
+						xid, savedTailerIndex);
+				tailer.toStart();
+				if (processLobs) {
+					lobsTailer.toStart();
+				}
+			}
+		}
 		while (tailerOffset < savedTailerOffset) {
 			OraCdcLogMinerStatement oraSql = new OraCdcLogMinerStatement();
 			final boolean result = getStatement(oraSql);
@@ -191,6 +289,16 @@ public class OraCdcTransaction {
 			}
 		}
 
+		// Records before restored position are already acknowledged
+		ackedTailerOffset = tailerOffset;
+		if (tailerOffset > 0) {
+			ackedTailerIndex = tailer.index();
+			ackedLobsTailerIndex = processLobs ? lobsTailer.index() : INDEX_NOT_SET;
+		} else {
+			ackedTailerIndex = INDEX_NOT_SET;
+			ackedLobsTailerIndex = INDEX_NOT_SET;
+		}
+
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Chronicle Queue Successfully restored in directory {} for transaction XID {} with {} records.",
 					queueDirectory.toString(), xid, queueSize);
@@ -220,9 +328,34 @@ public class OraCdcTransaction {
 		if (firstChange == 0) {
 			firstChange = oraSql.getScn();
 		}
+		if (tableIds == null) {
+			tableIds = new LongHashSet();
+			lastTableId = oraSql.getTableId();
+			tableIds.add(lastTableId);
+		} else if (oraSql.getTableId() != lastTableId) {
+			lastTableId = oraSql.getTableId();
+			tableIds.add(lastTableId);
+		}
+		final OraCdcTransactionSpillEvent jfrEvent = OraCdcJfr.AVAILABLE ? new OraCdcTransactionSpillEvent() : null;
+		if (jfrEvent != null) {
+			jfrEvent.begin();
+		}
+		oraSql.setCompressSqlRedo(compressSqlRedo);
 		appender.writeDocument(oraSql);
 		nextChange = oraSql.getScn();
 		queueSize++;
+		final int size = oraSql.size();
+		spilledBytes += size;
+		if (rootSpilledBytes != null) {
+			rootSpilledBytes.addAndGet(size);
+		}
+		if (jfrEvent != null && jfrEvent.shouldCommit()) {
+			jfrEvent.xid = xid;
+			jfrEvent.scn = nextChange;
+			jfrEvent.bytes = size;
+			jfrEvent.rows = queueSize;
+			jfrEvent.commit();
+		}
 	}
 
 	public void addStatement(final OraCdcLogMinerStatement oraSql, final List<OraCdcLargeObjectHolder> lobs) {
@@ -241,6 +374,12 @@ public class OraCdcTransaction {
 		if (lobsExists) {
 			for (int i = 0; i < lobs.size(); i++) {
 				lobsAppender.writeDocument(lobs.get(i));
+				final byte[] content = lobs.get(i).getContent();
+				final int size = 8 + (content == null ? 0 : content.length);
+				spilledBytes += size;
+				if (rootSpilledBytes != null) {
+					rootSpilledBytes.addAndGet(size);
+				}
 			}
 		}
 	}
@@ -282,35 +421,230 @@ public class OraCdcTransaction {
 		return result;
 	}
 
+	/**
+	 * 
+	 * Positions row data tailer and LOB data tailer (if any) to previously saved indexes
+	 * 
+	 * @param index index of next row data record to read
+	 * @param lobsIndex index of next LOB data record to read
+	 * @return true if all tailers are successfully positioned
+	 */
+	private boolean seek(final long index, final long lobsIndex) {
+		if (!seekQueue(tailer, index)) {
+			return false;
+		}
+		if (processLobs) {
+			return seekLobs(lobsIndex);
+		} else {
+			return true;
+		}
+	}
+
+	/**
+	 * 
+	 * Positions LOB data tailer to previously saved index
+	 * 
+	 * @param lobsIndex index of next LOB data record to read
+	 * @return true if LOB data tailer is successfully positioned
+	 */
+	public boolean seekLobs(final long lobsIndex) {
+		return seekQueue(lobsTailer, lobsIndex);
+	}
+
+	private static boolean seekQueue(final ExcerptTailer queueTailer, final long index) {
+		if (index == 0) {
+			// Tailer not moved yet, nothing read from this queue
+			queueTailer.toStart();
+			return true;
+		} else if (queueTailer.moveToIndex(index)) {
+			return true;
+		} else {
+			// moveToIndex returns false when index points to the end of queue,
+			// i.e. all records before index are already read
+			queueTailer.toEnd();
+			return queueTailer.index() == index;
+		}
+	}
+
+	/**
+	 * 
+	 * Creates reader of this transaction for another subscriber of shared mining group.
+	 * Chronicle Queue files are not copied, every reader has own tailers and position.
+	 * Files are closed and deleted when all readers are closed and no subscriber claimed them
+	 * 
+	 * @return reader of same Chronicle Queue
+	 */
+	public OraCdcTransaction share() {
+		synchronized (SHARED_QUEUES) {
+			if (sharedQueue == null) {
+				// This instance is first reader
+				sharedQueue = new SharedQueue();
+				sharedQueue.readers = 1;
+				shared = true;
+				SHARED_QUEUES.computeIfAbsent(queueDirectory, k -> new int[1])[0]++;
+			}
+			sharedQueue.readers++;
+			SHARED_QUEUES.get(queueDirectory)[0]++;
+		}
+		final OraCdcTransaction reader = new OraCdcTransaction(this);
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Transaction XID {} in {} shared with {} reader(s).",
+					xid, queueDirectory.toString(), sharedQueue.readers);
+		}
+		return reader;
+	}
+
+	private OraCdcTransaction(final OraCdcTransaction source) {
+		this.xid = source.xid;
+		this.xidKey = source.xidKey;
+		this.xidKeyKnown = source.xidKeyKnown;
+		this.firstChange = source.firstChange;
+		this.nextChange = source.nextChange;
+		this.commitScn = source.commitScn;
+		this.miningScn = source.miningScn;
+		this.queueDirectory = source.queueDirectory;
+		this.lobsQueueDirectory = source.lobsQueueDirectory;
+		this.processLobs = source.processLobs;
+		this.statements = source.statements;
+		this.tailer = statements.createTailer();
+		this.lobs = source.lobs;
+		if (processLobs) {
+			this.lobsTailer = lobs.createTailer();
+		}
+		this.queueSize = source.queueSize;
+		this.tailerOffset = 0;
+		this.ackedTailerOffset = 0;
+		this.ackedTailerIndex = INDEX_NOT_SET;
+		this.ackedLobsTailerIndex = INDEX_NOT_SET;
+		this.spilledBytes = source.spilledBytes;
+		this.rootSpilledBytes = source.rootSpilledBytes;
+		this.compressSqlRedo = source.compressSqlRedo;
+		this.firstFetchMillis = source.firstFetchMillis;
+		this.commitSeenMillis = source.commitSeenMillis;
+		this.tableIds = source.tableIds;
+		this.shared = true;
+		this.sharedQueue = source.sharedQueue;
+	}
+
+	/**
+	 * 
+	 * Keeps Chronicle Queue files of shared transaction for subscriber after restart.
+	 * Must be called before attrsAsMap() when transaction is saved to state file,
+	 * files are deleted only when transactions restored by all claiming subscribers are closed
+	 * 
+	 * @param owner name of subscriber
+	 * @throws IOException
+	 */
+	public void claim(final String owner) throws IOException {
+		final Path claimsDirectory = Paths.get(queueDirectory.toString() + CLAIMS_SUFFIX);
+		Files.createDirectories(claimsDirectory);
+		claimFile = claimsDirectory.resolve(owner);
+		if (!Files.exists(claimFile)) {
+			Files.createFile(claimFile);
+		}
+		// Claim is kept when this instance is closed
+		releaseClaim = false;
+	}
+
+	/**
+	 * 
+	 * @return true when Chronicle Queue files are read by several subscribers of shared mining group
+	 */
+	public boolean isShared() {
+		return shared;
+	}
+
+	/**
+	 * 
+	 * @return OBJECT_ID of tables changed by transaction or null when not known
+	 */
+	public long[] getTableIds() {
+		return tableIds == null ? null : tableIds.toArray();
+	}
+
 	public void close() {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Closing Cronicle Queue and deleting memory-mapped files for transaction {}.", xid);
 		}
-		if (processLobs) {
-			if (lobs != null) {
-				lobs.close();
+		final OraCdcTransactionCloseEvent jfrEvent = OraCdcJfr.AVAILABLE ? new OraCdcTransactionCloseEvent() : null;
+		if (jfrEvent != null) {
+			jfrEvent.begin();
+		}
+		boolean closeQueues = true;
+		boolean deleteFiles = true;
+		if (shared) {
+			if (statements == null) {
+				// Already closed
+				return;
+			}
+			synchronized (SHARED_QUEUES) {
+				closeQueues = sharedQueue == null || --sharedQueue.readers == 0;
+				final int[] readers = SHARED_QUEUES.get(queueDirectory);
+				final boolean lastReader = readers == null || --readers[0] == 0;
+				if (lastReader) {
+					SHARED_QUEUES.remove(queueDirectory);
+				}
+				deleteFiles = lastReader && !hasClaims();
 			}
-			lobs = null;
 		}
-		if (statements != null) {
-			statements.close();
+		if (closeQueues) {
+			if (processLobs) {
+				if (lobs != null) {
+					lobs.close();
+				}
+			}
+			if (statements != null) {
+				statements.close();
+			}
 		}
+		lobs = null;
 		statements = null;
-		try {
+		if (deleteFiles) {
 			if (processLobs) {
-				Files.walk(lobsQueueDirectory)
-				.sorted(Comparator.reverseOrder())
-				.map(Path::toFile)
-				.forEach(File::delete);
+				OraCdcSpillReclaimer.reclaim(lobsQueueDirectory);
+			}
+			OraCdcSpillReclaimer.reclaim(queueDirectory);
+			if (rootSpilledBytes != null) {
+				rootSpilledBytes.addAndGet(-spilledBytes);
+				rootSpilledBytes = null;
+			}
+		} else if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Files of shared transaction {} in {} are kept for other subscribers.",
+					xid, queueDirectory.toString());
+		}
+		if (jfrEvent != null && jfrEvent.shouldCommit()) {
+			jfrEvent.xid = xid;
+			jfrEvent.firstScn = firstChange;
+			jfrEvent.commitScn = commitScn == null ? 0 : commitScn;
+			jfrEvent.rows = queueSize;
+			jfrEvent.spilledBytes = spilledBytes;
+			jfrEvent.commit();
+		}
+	}
+
+	/**
+	 * Releases claim of restored shared transaction, must be called with SHARED_QUEUES lock
+	 * 
+	 * @return true when queue files are claimed by other subscribers
+	 */
+	private boolean hasClaims() {
+		if (releaseClaim && claimFile != null) {
+			try {
+				Files.deleteIfExists(claimFile);
+			} catch (IOException ioe) {
+				LOGGER.error("Unable to delete claim {} of shared transaction {}!", claimFile, xid);
+				LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
 			}
-			Files.walk(queueDirectory)
-				.sorted(Comparator.reverseOrder())
-				.map(Path::toFile)
-				.forEach(File::delete);
-		} catch (IOException ioe) {
-			LOGGER.error("Unable to delete Cronicle Queue files.");
-			LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
 		}
+		final Path claimsDirectory = Paths.get(queueDirectory.toString() + CLAIMS_SUFFIX);
+		if (Files.isDirectory(claimsDirectory)) {
+			final String[] claims = claimsDirectory.toFile().list();
+			if (claims != null && claims.length > 0) {
+				return true;
+			}
+			OraCdcSpillReclaimer.reclaim(claimsDirectory);
+		}
+		return false;
 	}
 
 	public int length() {
@@ -321,21 +655,125 @@ public class OraCdcTransaction {
 		return tailerOffset;
 	}
 
+	/**
+	 * Registers record read by last call of getStatement() as sent to Kafka
+	 * 
+	 * @return queue position after sent record, must be passed to recordAcked()
+	 */
+	public SentRecord recordSent() {
+		final SentRecord sent = new SentRecord(this, tailerOffset, tailer.index(),
+				processLobs ? lobsTailer.index() : INDEX_NOT_SET);
+		synchronized (sentRecords) {
+			sentRecords.addLast(sent);
+		}
+		return sent;
+	}
+
+	/**
+	 * Marks record as acknowledged by Kafka. Acknowledged position is moved over all
+	 * acknowledged records sent before first not acknowledged record
+	 * 
+	 * @param sent value returned by recordSent()
+	 */
+	public void recordAcked(final SentRecord sent) {
+		synchronized (sentRecords) {
+			sent.acked = true;
+			while (!sentRecords.isEmpty() && sentRecords.peekFirst().acked) {
+				final SentRecord first = sentRecords.pollFirst();
+				ackedTailerOffset = first.tailerOffset;
+				ackedTailerIndex = first.tailerIndex;
+				ackedLobsTailerIndex = first.lobsTailerIndex;
+			}
+		}
+	}
+
+	/**
+	 * 
+	 * @return true when all records sent from this transaction are acknowledged by Kafka
+	 */
+	public boolean allSentRecordsAcked() {
+		synchronized (sentRecords) {
+			return sentRecords.isEmpty();
+		}
+	}
+
+	/**
+	 * Returns transaction attributes for persistent state. When some of sent records
+	 * are not acknowledged by Kafka tailer position is set to position after last
+	 * record acknowledged together with all records sent before it
+	 * 
+	 * @return transaction attributes
+	 */
 	public Map<String, Object> attrsAsMap() {
+		final boolean allAcked;
+		final int savedTailerOffset;
+		final long savedTailerIndex;
+		final long savedLobsTailerIndex;
+		synchronized (sentRecords) {
+			allAcked = sentRecords.isEmpty();
+			savedTailerOffset = allAcked ? tailerOffset : ackedTailerOffset;
+			savedTailerIndex = ackedTailerIndex;
+			savedLobsTailerIndex = ackedLobsTailerIndex;
+		}
 		final Map<String, Object> transAsMap = new LinkedHashMap<>();
 		transAsMap.put(QUEUE_DIR, queueDirectory.toString());
 		transAsMap.put(TRANS_XID, xid);
+		if (xidKeyKnown) {
+			transAsMap.put(TRANS_XID_KEY, xidKey);
+		}
 		transAsMap.put(PROCESS_LOBS, processLobs);
 		transAsMap.put(TRANS_FIRST_CHANGE, firstChange);
 		transAsMap.put(TRANS_NEXT_CHANGE, nextChange);
 		transAsMap.put(QUEUE_SIZE, queueSize);
-		transAsMap.put(QUEUE_OFFSET, tailerOffset);
+		transAsMap.put(QUEUE_OFFSET, savedTailerOffset);
+		if (savedTailerOffset > 0) {
+			if (allAcked && tailer != null) {
+				transAsMap.put(QUEUE_INDEX, tailer.index());
+				if (processLobs && lobsTailer != null) {
+					transAsMap.put(LOBS_QUEUE_INDEX, lobsTailer.index());
+				}
+			} else if (!allAcked && savedTailerIndex != INDEX_NOT_SET) {
+				transAsMap.put(QUEUE_INDEX, savedTailerIndex);
+				if (processLobs) {
+					transAsMap.put(LOBS_QUEUE_INDEX, savedLobsTailerIndex);
+				}
+			}
+		}
 		if (commitScn != null) {
 			transAsMap.put(TRANS_COMMIT_SCN, commitScn);
 		}
+		if (miningScn > 0) {
+			transAsMap.put(TRANS_MINING_SCN, miningScn);
+		}
+		if (claimFile != null) {
+			transAsMap.put(SHARED_CLAIM, claimFile.toString());
+		}
 		return transAsMap;
 	}
 
+	/**
+	 * Queue position after record sent to Kafka
+	 */
+	public static final class SentRecord {
+		private final OraCdcTransaction transaction;
+		private final int tailerOffset;
+		private final long tailerIndex;
+		private final long lobsTailerIndex;
+		private boolean acked = false;
+
+		private SentRecord(final OraCdcTransaction transaction,
+				final int tailerOffset, final long tailerIndex, final long lobsTailerIndex) {
+			this.transaction = transaction;
+			this.tailerOffset = tailerOffset;
+			this.tailerIndex = tailerIndex;
+			this.lobsTailerIndex = lobsTailerIndex;
+		}
+
+		public OraCdcTransaction getTransaction() {
+			return transaction;
+		}
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder(128);
@@ -389,14 +827,137 @@ public class OraCdcTransaction {
 		final Long transCommitScn = transCommitScnObj == null ? null : valueAsLong(transCommitScnObj);
 		final Object transProcessLobsObj = attrs.get(PROCESS_LOBS);
 		final Boolean transProcessLobs = transProcessLobsObj == null ? false : (Boolean) transProcessLobsObj;
-		return new OraCdcTransaction(transProcessLobs, transDir, transXid,
-				transFirstChange, transNextChange, transCommitScn, transQueueSize, transOffset);
+		final Object transIndexObj = attrs.get(QUEUE_INDEX);
+		final long transIndex = transIndexObj == null ? INDEX_NOT_SET : valueAsLong(transIndexObj);
+		final Object transLobsIndexObj = attrs.get(LOBS_QUEUE_INDEX);
+		final long transLobsIndex = transLobsIndexObj == null ? INDEX_NOT_SET : valueAsLong(transLobsIndexObj);
+		final OraCdcTransaction transaction = new OraCdcTransaction(transProcessLobs, transDir, transXid,
+				transFirstChange, transNextChange, transCommitScn, transQueueSize, transOffset,
+				transIndex, transLobsIndex);
+		final Object transXidKeyObj = attrs.get(TRANS_XID_KEY);
+		if (transXidKeyObj == null) {
+			// State file without packed XID, key is guessed from RAW and confirmed later by worker thread
+			transaction.xidKey = xidKeyFromRaw(transXid);
+			transaction.xidKeyKnown = false;
+		} else {
+			transaction.setXidKey(valueAsLong(transXidKeyObj));
+		}
+		final Object transMiningScnObj = attrs.get(TRANS_MINING_SCN);
+		if (transMiningScnObj != null) {
+			transaction.miningScn = valueAsLong(transMiningScnObj);
+		}
+		final Object transClaimObj = attrs.get(SHARED_CLAIM);
+		if (transClaimObj != null) {
+			// Files of shared transaction are deleted only after close of last claiming subscriber
+			transaction.shared = true;
+			transaction.claimFile = Paths.get((String) transClaimObj);
+			transaction.releaseClaim = true;
+			synchronized (SHARED_QUEUES) {
+				SHARED_QUEUES.computeIfAbsent(transDir, k -> new int[1])[0]++;
+			}
+		}
+		return transaction;
+	}
+
+	/**
+	 * Packs V$LOGMNR_CONTENTS.(XIDUSN, XIDSLT, XIDSQN) to long
+	 * 
+	 * @param usn undo segment number
+	 * @param slot slot number
+	 * @param sqn sequence number
+	 * @return packed XID
+	 */
+	public static long packXid(final int usn, final int slot, final long sqn) {
+		return ((long) (usn & 0xFFFF) << 48) | ((long) (slot & 0xFFFF) << 32) | (sqn & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Renders packed XID as USN.SLOT.SQN for messages
+	 * 
+	 * @param xidKey packed XID
+	 * @return XID as USN.SLOT.SQN
+	 */
+	public static String xidKeyToString(final long xidKey) {
+		return new StringBuilder(24)
+				.append((xidKey >>> 48) & 0xFFFF)
+				.append('.')
+				.append((xidKey >>> 32) & 0xFFFF)
+				.append('.')
+				.append(xidKey & 0xFFFFFFFFL)
+				.toString();
+	}
+
+	/**
+	 * Converts V$LOGMNR_CONTENTS.XID RAW value from little-endian platform to packed XID
+	 * 
+	 * @param xid hex representation of XID
+	 * @return packed XID
+	 */
+	public static long xidKeyFromRaw(final String xid) {
+		if (xid != null && xid.length() == 16) {
+			try {
+				final long raw = Long.parseUnsignedLong(xid, 16);
+				final int usn = Short.reverseBytes((short) (raw >>> 48)) & 0xFFFF;
+				final int slot = Short.reverseBytes((short) (raw >>> 32)) & 0xFFFF;
+				final long sqn = Integer.reverseBytes((int) raw) & 0xFFFFFFFFL;
+				return packXid(usn, slot, sqn);
+			} catch (NumberFormatException nfe) {
+				LOGGER.warn("Unable to parse XID '{}'!", xid);
+			}
+		}
+		return xid == null ? 0 : xid.hashCode();
 	}
 
 	public String getXid() {
 		return xid;
 	}
 
+	/**
+	 * Approximate number of bytes written to Chronicle Queue by this instance.
+	 * Is zero for transactions restored from state file
+	 * 
+	 * @return bytes
+	 */
+	public long getSpilledBytes() {
+		return spilledBytes;
+	}
+
+	/**
+	 * Bytes spilled by this transaction are added to counter of its directory until files are deleted,
+	 * must be called once before first statement is added
+	 * 
+	 * @param spillRoots directories used for transaction queues
+	 */
+	public void setSpillRoots(final OraCdcSpillRoots spillRoots) {
+		rootSpilledBytes = spillRoots.spilledBytes(queueDirectory.getParent());
+	}
+
+	/**
+	 * When set SQL_REDO of statements added to this transaction is stored compressed
+	 * 
+	 * @param compressSqlRedo
+	 */
+	public void setCompressSqlRedo(final boolean compressSqlRedo) {
+		this.compressSqlRedo = compressSqlRedo;
+	}
+
+	public long getXidKey() {
+		return xidKey;
+	}
+
+	public void setXidKey(final long xidKey) {
+		this.xidKey = xidKey;
+		this.xidKeyKnown = true;
+	}
+
+	/**
+	 * 
+	 * @return false when packed XID is not confirmed by V$LOGMNR_CONTENTS.(XIDUSN, XIDSLT, XIDSQN)
+	 */
+	public boolean isXidKeyKnown() {
+		return xidKeyKnown;
+	}
+
 	public long getFirstChange() {
 		return firstChange;
 	}
@@ -413,10 +974,51 @@ public class OraCdcTransaction {
 		this.commitScn = commitScn;
 	}
 
+	/**
+	 * 
+	 * @return first SCN of LogMiner window in which transaction was mined with
+	 *         COMMITTED_DATA_ONLY, 0 when not known
+	 */
+	public long getMiningScn() {
+		return miningScn;
+	}
+
+	public void setMiningScn(final long miningScn) {
+		this.miningScn = miningScn;
+	}
+
+	/**
+	 * 
+	 * @return time when first row of transaction was fetched from V$LOGMNR_CONTENTS
+	 *         (or time of restore from state file)
+	 */
+	public long getFirstFetchMillis() {
+		return firstFetchMillis;
+	}
+
+	/**
+	 * 
+	 * @return time when COMMIT of transaction was fetched, 0 when not known
+	 */
+	public long getCommitSeenMillis() {
+		return commitSeenMillis;
+	}
+
+	public void setCommitSeenMillis(final long commitSeenMillis) {
+		this.commitSeenMillis = commitSeenMillis;
+	}
+
 	public Path getPath() {
 		return queueDirectory;
 	}
 
+	/**
+	 * Chronicle Queue instances used by readers of shared transaction
+	 */
+	private static final class SharedQueue {
+		private int readers = 0;
+	}
+
 	private static long valueAsLong(Object value) {
 		if (value instanceof Integer) {
 			return ((Integer) value).intValue();
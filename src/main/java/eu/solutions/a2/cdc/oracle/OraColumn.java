@@ -71,6 +71,9 @@ public class OraColumn {
 	private Boolean defaultValuePresent;
 	private String defaultValue;
 	private Object typedDefaultValue;
+	/** Set by OraCdcRecordBuilder, null when column is not in key/value schema */
+	private Field keyField;
+	private Field valueField;
 
 
 	/**
@@ -597,6 +600,19 @@ public class OraColumn {
 		this.defaultValue = defaultValue;
 	}
 
+	void compileFields(final Field keyField, final Field valueField) {
+		this.keyField = keyField;
+		this.valueField = valueField;
+	}
+
+	Field keyField() {
+		return keyField;
+	}
+
+	Field valueField() {
+		return valueField;
+	}
+
 	public Object getTypedDefaultValue() {
 		if (defaultValuePresent) {
 			return null;
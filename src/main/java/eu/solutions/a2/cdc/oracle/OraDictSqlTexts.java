@@ -297,6 +297,18 @@ order by SEQUENCE#;
 			"           where  ARCHIVED='YES' and STANDBY_DEST='NO' and ? between FIRST_CHANGE# and NEXT_CHANGE#)\n" + 
 			"order by SEQUENCE#";
 
+	/*
+select CURRENT_SCN from V$DATABASE
+	 */
+	public static final String CURRENT_SCN =
+			"select CURRENT_SCN from V$DATABASE";
+
+	/*
+select min(START_SCNB + START_SCNW * 4294967296) MIN_START_SCN from GV$TRANSACTION
+	 */
+	public static final String OLDEST_OPEN_TRANSACTION_SCN =
+			"select min(START_SCNB + START_SCNW * 4294967296) MIN_START_SCN from GV$TRANSACTION";
+
 	/*
 declare
   l_OPTION binary_integer; 
@@ -344,6 +356,40 @@ end;
 
 	/*
 begin
+  DBMS_LOGMNR.START_LOGMNR(
+    STARTSCN => ?,
+	ENDSCN => ?,
+	OPTIONS =>  
+      DBMS_LOGMNR.SKIP_CORRUPTION +
+      DBMS_LOGMNR.NO_SQL_DELIMITER +
+      DBMS_LOGMNR.NO_ROWID_IN_STMT +
+      DBMS_LOGMNR.COMMITTED_DATA_ONLY);
+end;
+	 */
+	public static final String START_LOGMINER_COMMITTED_DATA_ONLY =
+			"begin\n" + 
+			"  DBMS_LOGMNR.START_LOGMNR(\n" + 
+			"    STARTSCN => ?,\n" +
+			"	 ENDSCN => ?,\n" +
+			"	 OPTIONS =>  \n" +
+			"      DBMS_LOGMNR.SKIP_CORRUPTION +\n" +
+			"      DBMS_LOGMNR.NO_SQL_DELIMITER +\n" + 
+			"      DBMS_LOGMNR.NO_ROWID_IN_STMT +\n" + 
+			"      DBMS_LOGMNR.COMMITTED_DATA_ONLY);\n" + 
+			"end;\n";
+
+	/*
+begin
+  DBMS_LOGMNR.REMOVE_LOGFILE(LOGFILENAME => ?);
+end;
+	 */
+	public static final String REMOVE_ARCHIVED_LOG =
+			"begin\n" + 
+			"  DBMS_LOGMNR.REMOVE_LOGFILE(LOGFILENAME => ?);\n" + 
+			"end;\n";
+
+	/*
+begin
   DBMS_LOGMNR.END_LOGMNR;
 end;
 	 */
@@ -353,20 +399,20 @@ end;
 			"end;\n";
 
 /*
-select SCN, TIMESTAMP, OPERATION_CODE, XID, RS_ID, SSN, CSF, ROW_ID, DATA_OBJ#, SQL_REDO
+select SCN, TIMESTAMP, OPERATION_CODE, XID, XIDUSN, XIDSLT, XIDSQN, RS_ID, SSN, CSF, ROW_ID, DATA_OBJ#, SQL_REDO
 from   V$LOGMNR_CONTENTS
 where  OPERATION_CODE in (1,2,3)
  */
 	public static final String MINE_DATA_NON_CDB =
-			"select SCN, TIMESTAMP, OPERATION_CODE, XID, RS_ID, SSN, CSF, ROW_ID, DATA_OBJ#, DATA_OBJD#, SQL_REDO\n" + 
+			"select SCN, COMMIT_SCN, TIMESTAMP, OPERATION_CODE, XID, XIDUSN, XIDSLT, XIDSQN, RS_ID, SSN, CSF, ROW_ID, DATA_OBJ#, DATA_OBJD#, SQL_REDO\n" + 
 			"from   V$LOGMNR_CONTENTS\n";
 /*
-select SCN, TIMESTAMP, OPERATION_CODE, XID, RS_ID, SSN, CSF, ROW_ID, DATA_OBJ#, SQL_REDO,
+select SCN, TIMESTAMP, OPERATION_CODE, XID, XIDUSN, XIDSLT, XIDSQN, RS_ID, SSN, CSF, ROW_ID, DATA_OBJ#, SQL_REDO,
        SRC_CON_UID, (select CON_ID from V$CONTAINERS C where C.CON_UID = L.SRC_CON_UID) CON_ID
 from   V$LOGMNR_CONTENTS L
  */
 	public static final String MINE_DATA_CDB =
-			"select SCN, TIMESTAMP, OPERATION_CODE, XID, RS_ID, SSN, CSF, ROW_ID, DATA_OBJ#, DATA_OBJD#, SQL_REDO,\n" +
+			"select SCN, COMMIT_SCN, TIMESTAMP, OPERATION_CODE, XID, XIDUSN, XIDSLT, XIDSQN, RS_ID, SSN, CSF, ROW_ID, DATA_OBJ#, DATA_OBJD#, SQL_REDO,\n" +
 			"       SRC_CON_UID, (select CON_ID from V$CONTAINERS C where C.CON_UID = L.SRC_CON_UID) CON_ID\n" +
 			"from   V$LOGMNR_CONTENTS L\n";
 
@@ -466,6 +512,20 @@ where  O.OBJECT_TYPE in ('TABLE', 'TABLE PARTITION', 'TABLE SUBPARTITION')
 		"  and  O.OBJECT_ID=?\n" +
 		"  and  O.CON_ID=?\n";
 
+/*
+select distinct C.COLUMN_NAME, C.DATA_TYPE
+from   DBA_TAB_COLUMNS C
+where  C.OWNER=:B1 and C.TABLE_NAME=:B2
+ */
+	public static final String ROW_FILTER_COLUMNS_NON_CDB =
+			"select distinct C.COLUMN_NAME, C.DATA_TYPE\n" +
+			"from   DBA_TAB_COLUMNS C\n" +
+			"where  C.OWNER=? and C.TABLE_NAME=?";
+	public static final String ROW_FILTER_COLUMNS_CDB =
+			"select distinct C.COLUMN_NAME, C.DATA_TYPE\n" +
+			"from   CDB_TAB_COLUMNS C\n" +
+			"where  C.OWNER=? and C.TABLE_NAME=? and C.CON_ID > 2";
+
 /*
 select O.OBJECT_ID, T.OWNER, T.TABLE_NAME, T.DEPENDENCIES
 from   DBA_OBJECTS O, DBA_TABLES T
@@ -18,12 +18,16 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcJfr;
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcLogMinerStartEvent;
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcLogMinerStopEvent;
 import eu.solutions.a2.cdc.oracle.jmx.OraCdcLogMinerMgmtIntf;
 
 /**
@@ -36,14 +40,28 @@ import eu.solutions.a2.cdc.oracle.jmx.OraCdcLogMinerMgmtIntf;
 public class OraLogMiner {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(OraLogMiner.class);
+	private static final int MAX_OPEN_TRANSACTIONS_SAMPLES = 1024;
 
 	private long firstChange;
 	private long sessionFirstChange;
+	private long windowFirstChange;
+	private long lowWaterChange;
+	private long firstCommitChange = 0;
 	private long nextChange = 0;
 	private long lastSequence = -1;
 	private int numArchLogs;
 	private long sizeOfArchLogs;
 	private final boolean useNumOfArchLogs;
+	private final boolean committedDataOnly;
+	private final boolean keepSession;
+	private boolean sessionActive = false;
+	private List<String> sessionFileNames = new ArrayList<>();
+	// NEXT_CHANGE# of files in sessionFileNames, used only with COMMITTED_DATA_ONLY
+	private List<Long> sessionFileNextChanges = new ArrayList<>();
+	// {min(first SCN of open transaction, CURRENT_SCN before query), CURRENT_SCN after query}
+	private final ArrayDeque<long[]> openTransactionsSamples = new ArrayDeque<>();
+	private PreparedStatement psCurrentScn;
+	private PreparedStatement psOldestOpenTransaction;
 	private final boolean dictionaryAvailable;
 	private final long dbId;
 	private final String dbUniqueName;
@@ -52,6 +70,7 @@ public class OraLogMiner {
 	private CallableStatement csAddArchivedLogs;
 	private CallableStatement csStartLogMiner;
 	private CallableStatement csStopLogMiner;
+	private CallableStatement csRemoveArchivedLogs;
 	private int archLogsAvailable = 0;
 	private long archLogsSize = 0;
 	private List<String> fileNames = new ArrayList<>();
@@ -64,27 +83,55 @@ public class OraLogMiner {
 	public static final short V$LOGMNR_CONTENTS_DDL = 5;
 	public static final short V$LOGMNR_CONTENTS_START = 6;
 	public static final short V$LOGMNR_CONTENTS_COMMIT = 7;
+	public static final short V$LOGMNR_CONTENTS_SELECT_LOB_LOCATOR = 9;
 	public static final short V$LOGMNR_CONTENTS_ROLLBACK = 36;
 	public static final short V$LOGMNR_SELECT_LOB_LOCATOR = 9;
 	public static final short V$LOGMNR_LOB_WRITE = 10;
 	public static final short V$LOGMNR_LOB_TRIM = 11;
 	public static final short V$LOGMNR_LOB_ERASE = 28;
 
-	public OraLogMiner(final Connection connection, final OraCdcLogMinerMgmtIntf metrics,
-			final long firstChange, final int numArchLogs) throws SQLException {
-		this(connection, metrics, firstChange, numArchLogs, null);
+	public OraLogMiner(final Connection connection, final Connection connDictionary,
+			final OraCdcLogMinerMgmtIntf metrics,
+			final long firstChange, final int numArchLogs, final boolean committedDataOnly,
+			final boolean keepSession) throws SQLException {
+		this(connection, connDictionary, metrics, firstChange, numArchLogs, null, committedDataOnly, keepSession);
 	}
 
-	public OraLogMiner(final Connection connection, final OraCdcLogMinerMgmtIntf metrics,
-			final long firstChange, final long sizeOfArchLogs) throws SQLException {
-		this(connection, metrics, firstChange, null, sizeOfArchLogs);
+	public OraLogMiner(final Connection connection, final Connection connDictionary,
+			final OraCdcLogMinerMgmtIntf metrics,
+			final long firstChange, final long sizeOfArchLogs, final boolean committedDataOnly,
+			final boolean keepSession) throws SQLException {
+		this(connection, connDictionary, metrics, firstChange, null, sizeOfArchLogs, committedDataOnly, keepSession);
 	}
 
+	/**
+	 * 
+	 * @param connection         LogMiner connection
+	 * @param connDictionary     connection to primary database, used with COMMITTED_DATA_ONLY for
+	 *                           query of open transactions
+	 * @param metrics
+	 * @param firstChange
+	 * @param numArchLogs
+	 * @param sizeOfArchLogs
+	 * @param committedDataOnly
+	 * @param keepSession
+	 * @throws SQLException
+	 */
 	private OraLogMiner(
-			final Connection connection, final OraCdcLogMinerMgmtIntf metrics, final long firstChange,
-			final Integer numArchLogs, final Long sizeOfArchLogs) throws SQLException {
+			final Connection connection, final Connection connDictionary,
+			final OraCdcLogMinerMgmtIntf metrics, final long firstChange,
+			final Integer numArchLogs, final Long sizeOfArchLogs, final boolean committedDataOnly,
+			final boolean keepSession) throws SQLException {
 		LOGGER.trace("BEGIN: OraLogMiner Constructor");
 		this.metrics = metrics;
+		this.committedDataOnly = committedDataOnly;
+		if (committedDataOnly) {
+			LOGGER.info("LogMiner will be started with DBMS_LOGMNR.COMMITTED_DATA_ONLY option.");
+		}
+		this.keepSession = keepSession;
+		if (keepSession) {
+			LOGGER.info("LogMiner session will be kept open between mining windows.");
+		}
 		if (numArchLogs == null) {
 			LOGGER.trace("Limit based of size in bytes of archived logs will be used");
 			useNumOfArchLogs = false;
@@ -95,7 +142,14 @@ public class OraLogMiner {
 			this.numArchLogs = numArchLogs;
 		}
 		this.firstChange = firstChange;
+		this.lowWaterChange = firstChange;
 		createStatements(connection);
+		if (committedDataOnly) {
+			psCurrentScn = connDictionary.prepareStatement(OraDictSqlTexts.CURRENT_SCN,
+					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			psOldestOpenTransaction = connDictionary.prepareStatement(OraDictSqlTexts.OLDEST_OPEN_TRANSACTION_SCN,
+					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		}
 		PreparedStatement psOpenMode = connection.prepareStatement(OraDictSqlTexts.RDBMS_OPEN_MODE,
 				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
 		ResultSet rsOpenMode = psOpenMode.executeQuery();
@@ -127,8 +181,17 @@ public class OraLogMiner {
 		psGetArchivedLogs = connection.prepareStatement(OraDictSqlTexts.ARCHIVED_LOGS,
 				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
 		csAddArchivedLogs = connection.prepareCall(OraDictSqlTexts.ADD_ARCHIVED_LOG);
-		csStartLogMiner = connection.prepareCall(OraDictSqlTexts.START_LOGMINER);
+		csStartLogMiner = connection.prepareCall(committedDataOnly ?
+				OraDictSqlTexts.START_LOGMINER_COMMITTED_DATA_ONLY :
+				OraDictSqlTexts.START_LOGMINER);
 		csStopLogMiner = connection.prepareCall(OraDictSqlTexts.STOP_LOGMINER);
+		csRemoveArchivedLogs = connection.prepareCall(OraDictSqlTexts.REMOVE_ARCHIVED_LOG);
+		// New connection - new LogMiner session
+		sessionActive = false;
+		if (!committedDataOnly) {
+			// With COMMITTED_DATA_ONLY files still needed are added to new session
+			sessionFileNames = new ArrayList<>();
+		}
 	}
 
 	/**
@@ -138,9 +201,29 @@ public class OraLogMiner {
 	 * @throws SQLException
 	 */
 	public boolean next() throws SQLException {
+		final OraCdcLogMinerStartEvent jfrEvent = OraCdcJfr.AVAILABLE ? new OraCdcLogMinerStartEvent() : null;
+		if (jfrEvent != null) {
+			jfrEvent.begin();
+		}
+		final boolean started = nextWindow();
+		if (jfrEvent != null && jfrEvent.shouldCommit()) {
+			jfrEvent.firstScn = sessionFirstChange;
+			jfrEvent.nextScn = nextChange;
+			jfrEvent.archivedLogs = archLogsAvailable;
+			jfrEvent.archivedLogsBytes = archLogsSize;
+			jfrEvent.started = started;
+			jfrEvent.commit();
+		}
+		return started;
+	}
+
+	private boolean nextWindow() throws SQLException {
 		LOGGER.trace("BEGIN: next()");
 		archLogsAvailable = 0;
 		archLogsSize = 0;
+		if (committedDataOnly) {
+			sampleOpenTransactions();
+		}
 
 		if (firstChange == 0) {
 			// oracdc started without archived logs....
@@ -150,6 +233,7 @@ public class OraLogMiner {
 				LOGGER.debug("Nothing found in V$ARCHIVED_LOG... Will retry");
 				return false;
 			}
+			lowWaterChange = firstChange;
 		}
 
 		psGetArchivedLogs.setLong(1, firstChange);
@@ -157,6 +241,7 @@ public class OraLogMiner {
 		psGetArchivedLogs.setLong(3, firstChange);
 		ResultSet rs = psGetArchivedLogs.executeQuery();
 		fileNames = new ArrayList<>();
+		final List<Long> fileNextChanges = new ArrayList<>();
 		while (rs.next()) {
 			final long sequence = rs.getLong("SEQUENCE#");
 			nextChange = rs.getLong("NEXT_CHANGE#");
@@ -164,6 +249,7 @@ public class OraLogMiner {
 				if (firstChange < nextChange) {
 					lastSequence = sequence;
 					fileNames.add(archLogsAvailable, rs.getString("NAME"));
+					fileNextChanges.add(nextChange);
 					LOGGER.info("Adding archived log {} thread# {} sequence# {} first change number {} next log first change {}",
 							rs.getString("NAME"), rs.getShort("THREAD#"), lastSequence, rs.getLong("FIRST_CHANGE#"), nextChange);
 					archLogsAvailable++;
@@ -190,25 +276,94 @@ public class OraLogMiner {
 			LOGGER.trace("END: next() return false");
 			return false;
 		} else {
-			LOGGER.trace("Adding files to LogMiner session and starting it");
-			for (int fileNum = 0; fileNum < fileNames.size(); fileNum++) {
-				if (LOGGER.isDebugEnabled()) {
-					LOGGER.debug("Adding {} to LogMiner processing list.", fileNames.get(fileNum));
+			final long setupStartMillis = System.currentTimeMillis();
+			final long startScn;
+			if (committedDataOnly) {
+				// COMMITTED_DATA_ONLY needs redo from start of every transaction committed in window,
+				// window is started from first SCN of oldest transaction open at its first SCN
+				lowWaterChange = nextLowWaterChange(firstChange);
+				startScn = lowWaterChange;
+				final List<String> neededFileNames = new ArrayList<>();
+				final List<Long> neededFileNextChanges = new ArrayList<>();
+				final List<String> oldFileNames = new ArrayList<>();
+				for (int fileNum = 0; fileNum < sessionFileNames.size(); fileNum++) {
+					if (sessionFileNextChanges.get(fileNum) > lowWaterChange) {
+						neededFileNames.add(sessionFileNames.get(fileNum));
+						neededFileNextChanges.add(sessionFileNextChanges.get(fileNum));
+					} else {
+						oldFileNames.add(sessionFileNames.get(fileNum));
+					}
 				}
-				csAddArchivedLogs.setInt(1, fileNum);
-				csAddArchivedLogs.setString(2, fileNames.get(fileNum));
-				csAddArchivedLogs.addBatch();
+				if (keepSession && sessionActive) {
+					LOGGER.trace("Adding new files to running LogMiner session and restarting it for new SCN range");
+					addLogFiles(fileNames, false);
+					removeLogFiles(oldFileNames);
+				} else {
+					LOGGER.trace("Adding files to LogMiner session and starting it");
+					final List<String> allFileNames = new ArrayList<>(neededFileNames);
+					allFileNames.addAll(fileNames);
+					addLogFiles(allFileNames, true);
+				}
+				neededFileNames.addAll(fileNames);
+				neededFileNextChanges.addAll(fileNextChanges);
+				sessionFileNames = neededFileNames;
+				sessionFileNextChanges = neededFileNextChanges;
+				sessionFirstChange = startScn;
+			} else if (keepSession && sessionActive) {
+				LOGGER.trace("Adding new files to running LogMiner session and restarting it for new SCN range");
+				for (int fileNum = 0; fileNum < fileNames.size(); fileNum++) {
+					if (LOGGER.isDebugEnabled()) {
+						LOGGER.debug("Adding {} to LogMiner processing list.", fileNames.get(fileNum));
+					}
+					// Never pass 0 here: DBMS_LOGMNR.NEW drops session file list
+					csAddArchivedLogs.setInt(1, 1);
+					csAddArchivedLogs.setString(2, fileNames.get(fileNum));
+					csAddArchivedLogs.addBatch();
+				}
+				csAddArchivedLogs.executeBatch();
+				csAddArchivedLogs.clearBatch();
+				// Already processed files are not needed for new SCN range
+				for (int fileNum = 0; fileNum < sessionFileNames.size(); fileNum++) {
+					if (!fileNames.contains(sessionFileNames.get(fileNum))) {
+						if (LOGGER.isDebugEnabled()) {
+							LOGGER.debug("Removing {} from LogMiner processing list.", sessionFileNames.get(fileNum));
+						}
+						csRemoveArchivedLogs.setString(1, sessionFileNames.get(fileNum));
+						csRemoveArchivedLogs.addBatch();
+					}
+				}
+				csRemoveArchivedLogs.executeBatch();
+				csRemoveArchivedLogs.clearBatch();
+				sessionFileNames = new ArrayList<>(fileNames);
+				startScn = firstChange;
+			} else {
+				LOGGER.trace("Adding files to LogMiner session and starting it");
+				for (int fileNum = 0; fileNum < fileNames.size(); fileNum++) {
+					if (LOGGER.isDebugEnabled()) {
+						LOGGER.debug("Adding {} to LogMiner processing list.", fileNames.get(fileNum));
+					}
+					csAddArchivedLogs.setInt(1, fileNum);
+					csAddArchivedLogs.setString(2, fileNames.get(fileNum));
+					csAddArchivedLogs.addBatch();
+				}
+				csAddArchivedLogs.executeBatch();
+				csAddArchivedLogs.clearBatch();
+				sessionFirstChange = firstChange;
+				sessionFileNames = new ArrayList<>(fileNames);
+				startScn = firstChange;
 			}
-			csAddArchivedLogs.executeBatch();
-			csAddArchivedLogs.clearBatch();
+			// After restart with COMMITTED_DATA_ONLY transactions committed before stored commit SCN are processed
+			windowFirstChange = Math.max(firstChange, firstCommitChange);
 
 			if (LOGGER.isDebugEnabled()) {
-				LOGGER.debug("Attempting to start LogMiner for SCN range from {} to {}.", firstChange, nextChange);
+				LOGGER.debug("Attempting to start LogMiner for SCN range from {} to {}.", startScn, nextChange);
 			}
-			csStartLogMiner.setLong(1, firstChange); 
+			csStartLogMiner.setLong(1, startScn); 
 			csStartLogMiner.setLong(2, nextChange); 
 			csStartLogMiner.execute();
 			csStartLogMiner.clearParameters();
+			sessionActive = true;
+			metrics.addSessionSetup(System.currentTimeMillis() - setupStartMillis);
 			firstChange = nextChange;
 			readStartMillis = System.currentTimeMillis();
 			LOGGER.trace("END: next() returns true");
@@ -227,6 +382,8 @@ public class OraLogMiner {
 		psGetArchivedLogs.setLong(2, firstChange);
 		psGetArchivedLogs.setLong(3, firstChange);
 		ResultSet rs = psGetArchivedLogs.executeQuery();
+		final List<String> newFileNames = new ArrayList<>();
+		final List<Long> newFileNextChanges = new ArrayList<>();
 		while (rs.next()) {
 			final long sequence = rs.getLong("SEQUENCE#");
 			nextChange = rs.getLong("NEXT_CHANGE#");
@@ -234,6 +391,8 @@ public class OraLogMiner {
 				if (firstChange < nextChange) {
 					lastSequence = sequence;
 					fileNames.add(archLogsAvailable, rs.getString("NAME"));
+					newFileNames.add(rs.getString("NAME"));
+					newFileNextChanges.add(nextChange);
 					LOGGER.info("Adding archived log {} thread# {} sequence# {} first change number {} next log first change {}",
 							rs.getString("NAME"), rs.getShort("THREAD#"), lastSequence, rs.getLong("FIRST_CHANGE#"), nextChange);
 					archLogsAvailable++;
@@ -259,6 +418,12 @@ public class OraLogMiner {
 		if (archLogsAvailable == 0) {
 			LOGGER.trace("END: extend() returns false");
 			return false;
+		} else if (committedDataOnly) {
+			// Files before window start are still needed, session is not restarted from scratch
+			LOGGER.trace("Adding new files to LogMiner session and starting it");
+			addLogFiles(newFileNames, false);
+			sessionFileNames.addAll(newFileNames);
+			sessionFileNextChanges.addAll(newFileNextChanges);
 		} else {
 			LOGGER.trace("Adding files to LogMiner session and starting it");
 			for (int fileNum = 0; fileNum < fileNames.size(); fileNum++) {
@@ -271,35 +436,192 @@ public class OraLogMiner {
 			}
 			csAddArchivedLogs.executeBatch();
 			csAddArchivedLogs.clearBatch();
-
-			if (LOGGER.isDebugEnabled()) {
-				LOGGER.debug("Attempting to start LogMiner for SCN range from {} to {}.", sessionFirstChange, nextChange);
-			}
-			csStartLogMiner.setLong(1, sessionFirstChange); 
-			csStartLogMiner.setLong(2, nextChange);
-			csStartLogMiner.execute();
-			csStartLogMiner.clearParameters();
-			firstChange = nextChange;
-			readStartMillis = System.currentTimeMillis();
-			LOGGER.trace("END: extend() returns true");
-			return true;
+			sessionFileNames = new ArrayList<>(fileNames);
 		}
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Attempting to start LogMiner for SCN range from {} to {}.", sessionFirstChange, nextChange);
+		}
+		csStartLogMiner.setLong(1, sessionFirstChange); 
+		csStartLogMiner.setLong(2, nextChange);
+		csStartLogMiner.execute();
+		csStartLogMiner.clearParameters();
+		sessionActive = true;
+		firstChange = nextChange;
+		readStartMillis = System.currentTimeMillis();
+		LOGGER.trace("END: extend() returns true");
+		return true;
 	}
 
 
 	public void stop() throws SQLException {
 		LOGGER.trace("BEGIN: stop()");
-		csStopLogMiner.execute();
+		final OraCdcLogMinerStopEvent jfrEvent = OraCdcJfr.AVAILABLE ? new OraCdcLogMinerStopEvent() : null;
+		if (jfrEvent != null) {
+			jfrEvent.begin();
+		}
+		if (!keepSession) {
+			csStopLogMiner.execute();
+			sessionActive = false;
+		}
 		// Add info about processed files to JMX
 		metrics.addAlreadyProcessed(fileNames, archLogsAvailable, archLogsSize,
 				System.currentTimeMillis() - readStartMillis);
+		if (jfrEvent != null && jfrEvent.shouldCommit()) {
+			jfrEvent.firstScn = sessionFirstChange;
+			jfrEvent.nextScn = nextChange;
+			jfrEvent.archivedLogs = archLogsAvailable;
+			jfrEvent.archivedLogsBytes = archLogsSize;
+			jfrEvent.commit();
+		}
 		LOGGER.trace("END: stop()");
 	}
 
+	/**
+	 * Ends LogMiner session kept open between mining windows
+	 * 
+	 * @throws SQLException
+	 */
+	public void endSession() throws SQLException {
+		if (sessionActive) {
+			LOGGER.trace("BEGIN: endSession()");
+			csStopLogMiner.execute();
+			sessionActive = false;
+			sessionFileNames = new ArrayList<>();
+			sessionFileNextChanges = new ArrayList<>();
+			LOGGER.trace("END: endSession()");
+		}
+	}
+
+	public boolean isKeepSession() {
+		return keepSession;
+	}
+
 	public boolean isDictionaryAvailable() {
 		return dictionaryAvailable;
 	}
 
+	public boolean isCommittedDataOnly() {
+		return committedDataOnly;
+	}
+
+	/**
+	 * First SCN of current mining window. With COMMITTED_DATA_ONLY LogMiner is started
+	 * from first SCN of oldest transaction open at this SCN and transactions committed
+	 * before this SCN are already processed
+	 * 
+	 * @return first SCN of current mining window
+	 */
+	public long getWindowFirstChange() {
+		return windowFirstChange;
+	}
+
+	/**
+	 * Sets commit SCN of last processed transaction when COMMITTED_DATA_ONLY mining is restarted
+	 * from first SCN of window in which this transaction was mined, transactions committed before
+	 * this SCN are not returned
+	 * 
+	 * @param firstCommitChange commit SCN of last processed transaction
+	 */
+	public void setFirstCommitChange(final long firstCommitChange) {
+		this.firstCommitChange = firstCommitChange;
+	}
+
+	/**
+	 * SCN from which LogMiner is started for current window with COMMITTED_DATA_ONLY
+	 * 
+	 * @return first SCN of oldest transaction open at first SCN of current mining window
+	 */
+	public long getLowWaterChange() {
+		return lowWaterChange;
+	}
+
+	private void addLogFiles(final List<String> names, final boolean newList) throws SQLException {
+		for (int fileNum = 0; fileNum < names.size(); fileNum++) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Adding {} to LogMiner processing list.", names.get(fileNum));
+			}
+			// DBMS_LOGMNR.NEW only for first file of new list
+			csAddArchivedLogs.setInt(1, (newList && fileNum == 0) ? 0 : 1);
+			csAddArchivedLogs.setString(2, names.get(fileNum));
+			csAddArchivedLogs.addBatch();
+		}
+		csAddArchivedLogs.executeBatch();
+		csAddArchivedLogs.clearBatch();
+	}
+
+	private void removeLogFiles(final List<String> names) throws SQLException {
+		for (final String name : names) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Removing {} from LogMiner processing list.", name);
+			}
+			csRemoveArchivedLogs.setString(1, name);
+			csRemoveArchivedLogs.addBatch();
+		}
+		csRemoveArchivedLogs.executeBatch();
+		csRemoveArchivedLogs.clearBatch();
+	}
+
+	/**
+	 * Queries first SCN of oldest open transaction between two reads of V$DATABASE.CURRENT_SCN.
+	 * Transaction open at any SCN after second read of CURRENT_SCN is either returned by query
+	 * or started after first read of CURRENT_SCN
+	 * 
+	 * @throws SQLException
+	 */
+	private void sampleOpenTransactions() throws SQLException {
+		final long scnBefore = currentScn();
+		long oldestStartScn;
+		ResultSet rs = psOldestOpenTransaction.executeQuery();
+		if (rs.next()) {
+			oldestStartScn = rs.getLong(1);
+			if (rs.wasNull() || oldestStartScn > scnBefore) {
+				oldestStartScn = scnBefore;
+			}
+		} else {
+			oldestStartScn = scnBefore;
+		}
+		rs.close();
+		rs = null;
+		final long scnAfter = currentScn();
+		openTransactionsSamples.addLast(new long[] {oldestStartScn, scnAfter});
+		if (openTransactionsSamples.size() > MAX_OPEN_TRANSACTIONS_SAMPLES) {
+			openTransactionsSamples.removeFirst();
+		}
+	}
+
+	private long currentScn() throws SQLException {
+		ResultSet rs = psCurrentScn.executeQuery();
+		final long scn = rs.next() ? rs.getLong(1) : 0;
+		rs.close();
+		rs = null;
+		return scn;
+	}
+
+	/**
+	 * Returns first SCN for window starting at given SCN. Only samples taken completely before
+	 * given SCN are used, while mining redo generated before first sample (catch-up after start
+	 * from old SCN) window start is not moved
+	 * 
+	 * @param windowFirstChange  first SCN of window, all transactions committed before it are processed
+	 * @return first SCN of oldest transaction open at windowFirstChange
+	 */
+	private long nextLowWaterChange(final long windowFirstChange) {
+		long sampleLowWater = -1;
+		while (!openTransactionsSamples.isEmpty() &&
+				openTransactionsSamples.peekFirst()[1] < windowFirstChange) {
+			sampleLowWater = openTransactionsSamples.removeFirst()[0];
+		}
+		if (sampleLowWater > lowWaterChange) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Oldest transaction open at SCN {} started at SCN {}.",
+						windowFirstChange, sampleLowWater);
+			}
+			return sampleLowWater;
+		} else {
+			return lowWaterChange;
+		}
+	}
+
 	public long getDbId() {
 		return dbId;
 	}
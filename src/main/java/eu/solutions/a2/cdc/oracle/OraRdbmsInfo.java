@@ -116,6 +116,44 @@ public class OraRdbmsInfo {
 		ps.close();
 		ps = null;
 
+		schema = sourceSchema();
+
+		// It's No Good...
+		if (instance == null && initialCall)
+			instance = this;
+	}
+
+	/**
+	 * 
+	 * Restores database information from LogMiner recording (see OraCdcLogMinerReplay),
+	 * used without database connection
+	 * 
+	 */
+	OraRdbmsInfo(final String versionString, final short instanceNumber, final String instanceName,
+			final String hostName, final int cpuCoreCount, final long dbId, final String databaseName,
+			final String platformName, final boolean cdb, final boolean cdbRoot, final String dbCharset,
+			final String dbNCharCharset, final String dbUniqueName) {
+		this.versionString = versionString;
+		this.versionMajor = Integer.parseInt(
+				versionString.substring(0, versionString.indexOf(".")));
+		this.instanceNumber = instanceNumber;
+		this.instanceName = instanceName;
+		this.hostName = hostName;
+		this.cpuCoreCount = cpuCoreCount;
+		this.dbId = dbId;
+		this.databaseName = databaseName;
+		this.platformName = platformName;
+		this.cdb = cdb;
+		this.cdbRoot = cdbRoot;
+		this.dbCharset = dbCharset;
+		this.dbNCharCharset = dbNCharCharset;
+		this.dbUniqueName = dbUniqueName;
+		this.schema = sourceSchema();
+		if (instance == null)
+			instance = this;
+	}
+
+	private static Schema sourceSchema() {
 		SchemaBuilder schemaBuilder = SchemaBuilder
 				.struct()
 				.name("eu.solutions.a2.cdc.oracle.Source");
@@ -133,11 +171,7 @@ public class OraRdbmsInfo {
 		schemaBuilder.field("table", Schema.OPTIONAL_STRING_SCHEMA);
 		schemaBuilder.field("scn", Schema.INT64_SCHEMA);
 		schemaBuilder.field("ts_ms", Schema.INT64_SCHEMA);
-		schema = schemaBuilder.build();
-
-		// It's No Good...
-		if (instance == null && initialCall)
-			instance = this;
+		return schemaBuilder.build();
 	}
 
 	public static OraRdbmsInfo getInstance() throws SQLException {
@@ -24,7 +24,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +45,8 @@ import oracle.jdbc.OracleResultSet;
 public class OraTable extends OraTable4SourceConnector {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(OraTable.class);
+	private static final String[] OFFSET_KEYS = {OraColumn.ORA_ROWSCN};
+	private static final String[] OFFSET_KEYS_WITH_SEQUENCE = {OraColumn.ORA_ROWSCN, OraColumn.MVLOG_SEQUENCE};
 
 	private int batchSize;
 	private boolean logWithRowIds = false;
@@ -178,35 +179,28 @@ public class OraTable extends OraTable4SourceConnector {
 				Map<String, Object> offset = null;
 				if (kafkaConnectTopic != null) {
 					LOGGER.trace("BEGIN: Prepare Kafka Connect offset");
-					offset = new HashMap<>(2);
-					offset.put(OraColumn.ORA_ROWSCN, lastProcessedScn);
 					LOGGER.debug("Owner -> {}, table -> {}, last processed {} is {}.",
 							tableOwner, tableName, OraColumn.ORA_ROWSCN, lastProcessedScn);
 					if (this.logWithSequence) {
 						final long lastProcessedSequence = rsLog.getLong(OraColumn.MVLOG_SEQUENCE);
-						offset.put(OraColumn.MVLOG_SEQUENCE, lastProcessedSequence);
+						offset = OraCdcRecordBuilder.offset(OFFSET_KEYS_WITH_SEQUENCE,
+								lastProcessedScn, lastProcessedSequence);
 						LOGGER.debug("Owner -> {}, table -> {}, last processed {} is {}.",
 								tableOwner, tableName, OraColumn.MVLOG_SEQUENCE, lastProcessedSequence);
+					} else {
+						offset = OraCdcRecordBuilder.offset(OFFSET_KEYS, lastProcessedScn);
 					}
 					LOGGER.trace("END: Prepare Kafka Connect offset");
 				}
 
 				if (schemaType == ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM) {
-					final Struct struct = new Struct(schema);
-					final Struct source = OraRdbmsInfo.getInstance().getStruct(
+					final Struct source = recordBuilder.source(
 							null,
 							null,
-							tableOwner,
-							tableName,
 							lastProcessedScn,
 							rsLog.getTimestamp("TIMESTAMP$$").getTime());
-					struct.put("source", source);
-					struct.put("before", keyStruct);
-					if (!deleteOp) {
-						struct.put("after", valueStruct);
-					}
-					struct.put("op", opType);
-					struct.put("ts_ms", System.currentTimeMillis());
+					final Struct struct = recordBuilder.envelope(
+							source, keyStruct, deleteOp ? null : valueStruct, opType, System.currentTimeMillis());
 					final SourceRecord sourceRecord = new SourceRecord(
 							(kafkaConnectTopic == null) ? null : sourcePartition,
 							(kafkaConnectTopic == null) ? null : offset,
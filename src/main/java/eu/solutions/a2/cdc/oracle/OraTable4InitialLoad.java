@@ -1,7 +1,6 @@
 package eu.solutions.a2.cdc.oracle;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
@@ -17,8 +16,6 @@ import java.sql.RowId;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
@@ -61,6 +58,7 @@ public class OraTable4InitialLoad extends OraTable4SourceConnector implements Re
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(OraTable4InitialLoad.class);
 	private static final byte NULL_LENGTH_BYTE = (byte) -1;
+	private static final String[] OFFSET_KEYS = {"ROWNUM"};
 	private static final short NULL_LENGTH_SHORT = (short) -1;
 	private static final int NULL_LENGTH_INT = (int) -1;
 	private static final int LOB_CHUNK_SIZE = 16384;
@@ -106,6 +104,7 @@ public class OraTable4InitialLoad extends OraTable4SourceConnector implements Re
 		this.schema = oraTable.schema;
 		this.keySchema = oraTable.keySchema;
 		this.valueSchema = oraTable.valueSchema;
+		this.recordBuilder = oraTable.recordBuilder;
 		this.sourcePartition = oraTable.sourcePartition;
 		this.metrics = metrics;
 		this.tableFqn = oraTable.fqn();
@@ -130,7 +129,13 @@ public class OraTable4InitialLoad extends OraTable4SourceConnector implements Re
 		sb.append(tableOwner);
 		sb.append(".");
 		sb.append(tableName);
-		if (this.isRowLevelScn()) {
+		if (oraTable.getRowFilter() != null) {
+			sb.append(" where ");
+			sb.append(oraTable.getRowFilter().sqlWhere());
+			if (this.isRowLevelScn()) {
+				sb.append(" and ORA_ROWSCN < ?");
+			}
+		} else if (this.isRowLevelScn()) {
 			sb.append(" where ORA_ROWSCN < ?");
 		}
 		sqlSelect = sb.toString();
@@ -491,9 +496,9 @@ public class OraTable4InitialLoad extends OraTable4SourceConnector implements Re
 					default:
 						throw new SQLException("Unsupported JDBC Type " + oraColumn.getJdbcType());
 				}
-				if (keyStruct != null && pkColumns.containsKey(columnName)) {
+				if (keyStruct != null && oraColumn.keyField() != null) {
 					try {
-						keyStruct.put(columnName, columnValue);
+						keyStruct.put(oraColumn.keyField(), columnValue);
 					} catch (DataException de) {
 						LOGGER.error("Data exception while performing initial load for table {}, COLUMN={}, VALUE={}",
 								this.tableFqn, columnName, columnValue);
@@ -509,10 +514,7 @@ public class OraTable4InitialLoad extends OraTable4SourceConnector implements Re
 					}
 				}
 				// Don't process PK again in case of SCHEMA_TYPE_INT_KAFKA_STD
-				if ((schemaType == ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD && !pkColumns.containsKey(columnName)) ||
-						schemaType == ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM) {
-					valueStruct.put(columnName, columnValue);
-				}
+				recordBuilder.putColumn(oraColumn, columnValue, null, valueStruct);
 			}
 		} catch (SQLException sqle) {
 			LOGGER.error(ExceptionUtils.getExceptionStackTrace(sqle));
@@ -598,29 +600,16 @@ public class OraTable4InitialLoad extends OraTable4SourceConnector implements Re
 		final boolean result = tailer.readDocument(this);
 		tailerOffset++;
 		if (result) {
-			final Map<String, Object> offset = new HashMap<>();
-			offset.put("ROWNUM", tailerOffset);
+			final Map<String, Object> offset = OraCdcRecordBuilder.offset(OFFSET_KEYS, tailerOffset);
 			SourceRecord sourceRecord = null;
 			if (schemaType == ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM) {
 				final long ts = System.currentTimeMillis();
-				final Struct struct = new Struct(schema);
-				try {
-					final Struct source = OraRdbmsInfo.getInstance().getStruct(
+				final Struct source = recordBuilder.source(
 						this.tableFqn,
 						pdbName,
-						tableOwner,
-						tableName,
 						0L,
 						ts);
-					struct.put("source", source);
-				} catch (SQLException sqle) {
-					LOGGER.error(ExceptionUtils.getExceptionStackTrace(sqle));
-					throw new ConnectException(sqle);
-				}
-				struct.put("before", keyStruct);
-				struct.put("after", valueStruct);
-				struct.put("op", "c");
-				struct.put("ts_ms", ts);
+				final Struct struct = recordBuilder.envelope(source, keyStruct, valueStruct, "c", ts);
 				sourceRecord = new SourceRecord(
 						sourcePartition,
 						offset,
@@ -655,15 +644,7 @@ public class OraTable4InitialLoad extends OraTable4SourceConnector implements Re
 			tableRows.close();
 		}
 		tableRows = null;
-		try {
-			Files.walk(queueDirectory)
-				.sorted(Comparator.reverseOrder())
-				.map(Path::toFile)
-				.forEach(File::delete);
-		} catch (IOException ioe) {
-			LOGGER.error("Unable to delete Cronicle Queue files.");
-			LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
-		}
+		OraCdcSpillReclaimer.reclaim(queueDirectory);
 	}
 
 	public int length() {
@@ -72,6 +72,8 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 	private final String tableFqn;
 	private boolean withLobs = false;
 	private Map<Integer, OraColumn> lobColumns;
+	private OraCdcRowFilter.Compiled rowFilter;
+	private boolean noopUpdateSkipped = false;
 
 	/**
 	 * 
@@ -121,7 +123,43 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 			final boolean isCdb, final OraDumpDecoder odd,
 			final Map<String, String> sourcePartition, final String topicParam,
 			final int topicNameStyle, final String topicNameDelimiter) {
+		this(pdbName, conId, tableOwner, tableName, rowLevelScnDependency,
+				schemaType, useOracdcSchemas, processLobs, isCdb, odd,
+				sourcePartition, topicParam, topicNameStyle, topicNameDelimiter, null, null);
+	}
+
+	/**
+	 * 
+	 * For LogMiner worker thread with column projection and row filter
+	 * 
+	 * @param pdbName
+	 * @param conId
+	 * @param tableOwner
+	 * @param tableName
+	 * @param rowLevelScnDependency
+	 * @param schemaType
+	 * @param useOracdcSchemas
+	 * @param processLobs
+	 * @param isCdb
+	 * @param odd
+	 * @param sourcePartition
+	 * @param topicParam
+	 * @param topicNameStyle
+	 * @param topicNameDelimiter
+	 * @param columnProjection     column include/exclude lists, null for all columns
+	 * @param rowFilter            row filter predicates, null for all rows
+	 */
+	public OraTable4LogMiner(
+			final String pdbName, final Short conId, final String tableOwner,
+			final String tableName, final boolean rowLevelScnDependency,
+			final int schemaType, final boolean useOracdcSchemas, final boolean processLobs,
+			final boolean isCdb, final OraDumpDecoder odd,
+			final Map<String, String> sourcePartition, final String topicParam,
+			final int topicNameStyle, final String topicNameDelimiter,
+			final OraCdcColumnProjection columnProjection,
+			final OraCdcRowFilter rowFilter) {
 		this(pdbName, tableOwner, tableName, schemaType, processLobs);
+		this.columnProjection = columnProjection;
 		LOGGER.trace("BEGIN: Creating OraTable object from LogMiner data...");
 		setTopicDecoderPartition(topicParam, topicNameStyle, topicNameDelimiter, odd, sourcePartition);
 		this.tableWithPk = true;
@@ -158,6 +196,9 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 			if (processLobs && lobColumns.size() > 0) {
 				this.withLobs = true;
 			}
+			if (rowFilter != null) {
+				this.rowFilter = rowFilter.compile(this.tableOwner, this.tableName, allColumns);
+			}
 			rsColumns.close();
 			rsColumns = null;
 			statement.close();
@@ -178,10 +219,24 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 	 * @param schemaType
 	 */
 	public OraTable4LogMiner(Map<String, Object> tableData, final int schemaType) {
+		this(tableData, schemaType, null);
+	}
+
+	/**
+	 * 
+	 * Restore OraTable from JSON or LogMiner recording and apply column projection
+	 * 
+	 * @param tableData
+	 * @param schemaType
+	 * @param columnProjection  column include/exclude lists, null for all columns
+	 */
+	public OraTable4LogMiner(Map<String, Object> tableData, final int schemaType,
+			final OraCdcColumnProjection columnProjection) {
 		this((String) tableData.get("pdbName"),
 				(String) tableData.get("tableOwner"),
 				(String) tableData.get("tableName"),
 				schemaType, (boolean) tableData.get("processLobs"));
+		this.columnProjection = columnProjection;
 		tableWithPk = (boolean) tableData.get("tableWithPk");
 		final Boolean rowLevelScnDependency = (Boolean) tableData.get("rowLevelScn");
 		if (rowLevelScnDependency == null || !rowLevelScnDependency) {
@@ -213,7 +268,21 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 			@SuppressWarnings("unchecked")
 			List<Map<String, Object>> colDataList = (List<Map<String, Object>>) tableData.get("columns");
 			allColumns = new ArrayList<>();
+			final boolean projectColumns = columnProjection != null &&
+					columnProjection.hasRules(this.tableOwner, this.tableName);
 			for (Map<String, Object> colData : colDataList) {
+				if (projectColumns) {
+					final String columnName = (String) colData.get("columnName");
+					if (!columnProjection.isProjected(this.tableOwner, this.tableName, columnName)) {
+						if ((boolean) colData.get("partOfPk")) {
+							LOGGER.warn("Primary key column {} can't be excluded from table definition {}.",
+									columnName, tableFqn);
+						} else {
+							LOGGER.debug("Column {} excluded from table definition {}.", columnName, tableFqn);
+							continue;
+						}
+					}
+				}
 				final OraColumn column = new OraColumn(colData, keySchemaBuilder, valueSchemaBuilder, schemaType);
 				allColumns.add(column);
 				idToNameMap.put(column.getNameFromId(), column);
@@ -237,17 +306,57 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 	public SourceRecord parseRedoRecord(
 			final OraCdcLogMinerStatement stmt,
 			final List<OraCdcLargeObjectHolder> lobs) throws SQLException {
+		return parseRedoRecord(stmt, lobs, OraCdcSourceQueryProfile.FULL, false);
+	}
+
+	/**
+	 * 
+	 * @param stmt          redo record
+	 * @param lobs          LOB values for redo record
+	 * @param queryProfile  content of "query" field of Debezium source block
+	 * @param deltaUpdates  when true UPDATE contains only changed, key, mandatory and
+	 *                      row filter columns, changed columns are listed in
+	 *                      OraCdcRecordBuilder.CHANGED_COLUMNS_HEADER, UPDATE without
+	 *                      changes is skipped. UPDATE of key column is sent with all
+	 *                      columns and without OraCdcRecordBuilder.CHANGED_COLUMNS_HEADER
+	 * @return SourceRecord or null when redo record is filtered by a2.row.filter
+	 *         or skipped as UPDATE without changes (see isNoopUpdateSkipped())
+	 * @throws SQLException
+	 */
+	public SourceRecord parseRedoRecord(
+			final OraCdcLogMinerStatement stmt,
+			final List<OraCdcLargeObjectHolder> lobs,
+			final OraCdcSourceQueryProfile queryProfile,
+			final boolean deltaUpdates) throws SQLException {
+		return parseRedoRecord(stmt, lobs, queryProfile, deltaUpdates,
+				OraCdcRecordBuilder.logMinerOffset(stmt.getScn(), stmt.getRsId(), stmt.getSsn()));
+	}
+
+	/**
+	 * 
+	 * @param stmt          redo record
+	 * @param lobs          LOB values for redo record
+	 * @param queryProfile  content of "query" field of Debezium source block
+	 * @param deltaUpdates  see parseRedoRecord(OraCdcLogMinerStatement, List, OraCdcSourceQueryProfile, boolean)
+	 * @param offset        Kafka Connect offset of record
+	 * @return SourceRecord or null when redo record is filtered by a2.row.filter
+	 *         or skipped as UPDATE without changes (see isNoopUpdateSkipped())
+	 * @throws SQLException
+	 */
+	public SourceRecord parseRedoRecord(
+			final OraCdcLogMinerStatement stmt,
+			final List<OraCdcLargeObjectHolder> lobs,
+			final OraCdcSourceQueryProfile queryProfile,
+			final boolean deltaUpdates,
+			final Map<String, Object> offset) throws SQLException {
 		if (LOGGER.isTraceEnabled()) {
 			LOGGER.trace("BEGIN: parseRedoRecord()");
 		}
+		noopUpdateSkipped = false;
+		String changedColumns = null;
 		final Struct keyStruct = new Struct(keySchema);
 		final Struct valueStruct = new Struct(valueSchema);
 
-		Map<String, Object> offset = new HashMap<>(3);
-		offset.put("SCN", stmt.getScn());
-		offset.put("RS_ID", stmt.getRsId());
-		offset.put("SSN", stmt.getSsn());
-
 		if (LOGGER.isTraceEnabled()) {
 			LOGGER.trace("Parsing REDO record for {}", tableFqn);
 			LOGGER.trace("Redo record information:");
@@ -286,13 +395,13 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 				if (oraColumn != null) {
 					// Column can be excluded
 					if (StringUtils.startsWith(columnValue, "N")) {
-						valueStruct.put(oraColumn.getColumnName(), null);
+						recordBuilder.putValue(oraColumn, null, valueStruct);
 					} else if ("''".equals(columnValue) &&
 							(oraColumn.getJdbcType() == Types.BLOB ||
 							oraColumn.getJdbcType() == Types.CLOB ||
 							oraColumn.getJdbcType() == Types.NCLOB)) {
 						// EMPTY_BLOB()/EMPTY_CLOB() passed as ''
-						valueStruct.put(oraColumn.getColumnName(), new byte[0]);
+						recordBuilder.putValue(oraColumn, new byte[0], valueStruct);
 						break;
 					} else {
 						// Handle LOB inline value!
@@ -336,6 +445,10 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 			}
 			opType = "u";
 			final Set<String> setColumns = new HashSet<>();
+			// Hex values from SET clause for no-op detection in delta mode, null for NULL
+			final Map<String, String> setValues = deltaUpdates ? new HashMap<>() : null;
+			boolean keyInSet = false;
+			int unchangedCount = 0;
 			final int whereClauseStart = StringUtils.indexOf(stmt.getSqlRedo(), SQL_REDO_WHERE);
 			final int setClauseStart = StringUtils.indexOf(stmt.getSqlRedo(), SQL_REDO_SET);
 			String[] setClause = StringUtils.split(
@@ -353,11 +466,15 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 									oraColumn.getJdbcType() == Types.CLOB ||
 									oraColumn.getJdbcType() == Types.NCLOB) {
 								// Explicit NULL for LOB!
-								valueStruct.put(oraColumn.getColumnName(), new byte[0]);
+								recordBuilder.putValue(oraColumn, new byte[0], valueStruct);
 							} else {
-								valueStruct.put(oraColumn.getColumnName(), null);
+								recordBuilder.putValue(oraColumn, null, valueStruct);
 							}
 							setColumns.add(columnName);
+							keyInSet = keyInSet || oraColumn.isPartOfPk();
+							if (deltaUpdates) {
+								setValues.put(columnName, null);
+							}
 						} catch (DataException de) {
 							//TODO
 							//TODO Check for column value in WHERE clause
@@ -374,16 +491,22 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 								(oraColumn.getJdbcType() == Types.BLOB ||
 								oraColumn.getJdbcType() == Types.CLOB ||
 								oraColumn.getJdbcType() == Types.NCLOB)) {
-							valueStruct.put(oraColumn.getColumnName(), new byte[0]);
+							recordBuilder.putValue(oraColumn, new byte[0], valueStruct);
 							break;
 						} else {
 							parseRedoRecordValues(oraColumn, columnValue,
 									keyStruct, valueStruct);
 							setColumns.add(columnName);
+							keyInSet = keyInSet || oraColumn.isPartOfPk();
+							if (deltaUpdates) {
+								setValues.put(columnName, StringUtils.substringBetween(columnValue, "'"));
+							}
 						}
 					}
 				}
 			}
+			// Change of key can not be applied as delta, full row image is sent without changed columns
+			final boolean delta = deltaUpdates && !keyInSet;
 			String[] whereClause = StringUtils.splitByWholeSeparator(
 					StringUtils.substring(stmt.getSqlRedo(), whereClauseStart + 7), SQL_REDO_AND);
 			for (int i = 0; i < whereClause.length; i++) {
@@ -391,12 +514,16 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 				final String columnName;
 				if (StringUtils.endsWith(currentExpr, "L")) {
 					columnName = StringUtils.substringBefore(currentExpr, SQL_REDO_IS);
-					if (!setColumns.contains(columnName)) {
+					if (delta && setColumns.contains(columnName)) {
+						if (setValues.get(columnName) == null) {
+							unchangedCount++;
+						}
+					} else if (!setColumns.contains(columnName)) {
 						final OraColumn oraColumn = idToNameMap.get(columnName);
-						if (oraColumn != null) {
+						if (oraColumn != null && (!delta || requiredInDelta(oraColumn))) {
 							// Column can be excluded
 							try {
-								valueStruct.put(oraColumn.getColumnName(), null);
+								recordBuilder.putValue(oraColumn, null, valueStruct);
 							} catch (DataException de) {
 								// Check again for column default value...
 								// This is due "SUPPLEMENTAL LOG DATA (ALL) COLUMNS"
@@ -409,7 +536,7 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 										LOGGER.warn("\tRedo record information:");
 										LOGGER.warn("\t\tSCN = {},\tRS_ID = {},\tSSN = {}",
 												stmt.getScn(), stmt.getRsId(), stmt.getSsn());
-										valueStruct.put(oraColumn.getColumnName(), columnDefaultValue);
+										recordBuilder.putValue(oraColumn, columnDefaultValue, valueStruct);
 										throwDataException = false;
 									}
 								}
@@ -422,9 +549,14 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 					}
 				} else {
 					columnName = StringUtils.trim(StringUtils.substringBefore(currentExpr, "="));
-					if (!setColumns.contains(columnName)) {
+					if (delta && setColumns.contains(columnName)) {
+						if (StringUtils.equals(setValues.get(columnName),
+								StringUtils.substringBetween(currentExpr, "'"))) {
+							unchangedCount++;
+						}
+					} else if (!setColumns.contains(columnName)) {
 						final OraColumn oraColumn = idToNameMap.get(columnName);
-						if (oraColumn != null) {
+						if (oraColumn != null && (!delta || requiredInDelta(oraColumn))) {
 							// Column can be excluded
 							final String columnValue = StringUtils.trim(StringUtils.substringAfter(currentExpr, "="));
 							try {
@@ -441,6 +573,36 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 					}
 				}
 			}
+			if (delta) {
+				if (setValues.size() > 0 && unchangedCount == setValues.size() &&
+						(lobs == null || lobs.size() == 0)) {
+					// All SET values are equal to values in WHERE clause
+					if (LOGGER.isTraceEnabled()) {
+						LOGGER.trace("END: parseRedoRecord(), UPDATE without changes skipped");
+					}
+					noopUpdateSkipped = true;
+					return null;
+				}
+				final StringBuilder sb = new StringBuilder(setColumns.size() * 16);
+				for (String setColumn : setColumns) {
+					if (sb.length() > 0) {
+						sb.append(',');
+					}
+					sb.append(idToNameMap.get(setColumn).getColumnName());
+				}
+				if (lobs != null) {
+					for (int i = 0; i < lobs.size(); i++) {
+						final OraColumn lobColumn = lobColumns.get(lobs.get(i).getLobId());
+						if (lobColumn != null) {
+							if (sb.length() > 0) {
+								sb.append(',');
+							}
+							sb.append(lobColumn.getColumnName());
+						}
+					}
+				}
+				changedColumns = sb.toString();
+			}
 		} else {
 			// We expect here only 1,2,3 as valid values for OPERATION_CODE
 			LOGGER.error("Corrupted record found!!!\nPlease send e-mail to oracle@a2-solutions.eu with record details below:");
@@ -465,28 +627,33 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 						LOGGER.debug("{}: setting value for LOB column {}, value length={}.",
 								fqn(), lobColumns.get(lob.getLobId()).getColumnName(), lob.getContent().length);
 					}
-					valueStruct.put(lobColumns.get(lob.getLobId()).getColumnName(), lob.getContent());
+					recordBuilder.putValue(lobColumns.get(lob.getLobId()), lob.getContent(), valueStruct);
 				}
 			}
 		}
 
+		if (rowFilter != null &&
+				(stmt.getOperation() != OraLogMiner.V$LOGMNR_CONTENTS_DELETE || rowFilter.isPkOnly()) &&
+				!rowFilter.accept(keyStruct, valueStruct)) {
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("END: parseRedoRecord(), record filtered");
+			}
+			return null;
+		}
+
 		SourceRecord sourceRecord = null;
 		if (schemaType == ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM) {
-			final Struct struct = new Struct(schema);
-			final Struct source = OraRdbmsInfo.getInstance().getStruct(
-					stmt.getSqlRedo(),
+			final Struct source = recordBuilder.source(
+					queryProfile.query(stmt),
 					pdbName,
-					tableOwner,
-					tableName,
 					stmt.getScn(),
 					stmt.getTs());
-			struct.put("source", source);
-			struct.put("before", keyStruct);
-			if (stmt.getOperation() != OraLogMiner.V$LOGMNR_CONTENTS_DELETE) {
-				struct.put("after", valueStruct);
-			}
-			struct.put("op", opType);
-			struct.put("ts_ms", System.currentTimeMillis());
+			final Struct struct = recordBuilder.envelope(
+					source,
+					keyStruct,
+					stmt.getOperation() != OraLogMiner.V$LOGMNR_CONTENTS_DELETE ? valueStruct : null,
+					opType,
+					System.currentTimeMillis());
 			sourceRecord = new SourceRecord(
 					sourcePartition,
 					offset,
@@ -515,12 +682,28 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 			}
 			sourceRecord.headers().addString("op", opType);
 		}
+		if (changedColumns != null) {
+			sourceRecord.headers().addString(OraCdcRecordBuilder.CHANGED_COLUMNS_HEADER, changedColumns);
+		}
 		if (LOGGER.isTraceEnabled()) {
 			LOGGER.trace("END: parseRedoRecord()");
 		}
 		return sourceRecord;
 	}
 
+	/**
+	 * 
+	 * @return true when last call of parseRedoRecord() skipped UPDATE without changes
+	 */
+	public boolean isNoopUpdateSkipped() {
+		return noopUpdateSkipped;
+	}
+
+	private boolean requiredInDelta(final OraColumn oraColumn) {
+		return oraColumn.isPartOfPk() || !oraColumn.isNullable() ||
+				(rowFilter != null && rowFilter.references(oraColumn.getColumnName()));
+	}
+
 	private void parseRedoRecordValues(
 			final OraColumn oraColumn, final String hexValue,
 			final Struct keyStruct, final Struct valueStruct) throws SQLException {
@@ -619,13 +802,7 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 					columnValue = oraColumn.unsupportedTypeValue();
 					break;
 			}
-			if (pkColumns.containsKey(columnName)) {
-				keyStruct.put(columnName, columnValue);
-			}
-			if ((schemaType == ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD && !pkColumns.containsKey(columnName)) ||
-				schemaType == ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM) {
-				valueStruct.put(columnName, columnValue);
-			}
+			recordBuilder.putColumn(oraColumn, columnValue, keyStruct, valueStruct);
 		} catch (SQLException sqle) {
 			LOGGER.error(
 					"{}! While decoding redo values for table {}\n\t\tcolumn {}\n\t\tJDBC Type {}\n\t\tdump value (hex) '{}'",
@@ -671,6 +848,21 @@ public class OraTable4LogMiner extends OraTable4SourceConnector {
 		return lobColumns;
 	}
 
+	public OraCdcRowFilter.Compiled getRowFilter() {
+		return rowFilter;
+	}
+
+	/**
+	 * Compiles row filter for table restored from recorded definition
+	 * 
+	 * @param rowFilter row filter predicates, null for all rows
+	 */
+	void setRowFilter(final OraCdcRowFilter rowFilter) {
+		if (rowFilter != null) {
+			this.rowFilter = rowFilter.compile(this.tableOwner, this.tableName, allColumns);
+		}
+	}
+
 	public void setTopicDecoderPartition(final String topicParam,
 			final int topicNameStyle, final String topicNameDelimiter,
 			final OraDumpDecoder odd, final Map<String, String> sourcePartition) {
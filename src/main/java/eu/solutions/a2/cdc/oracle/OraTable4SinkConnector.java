@@ -39,6 +39,8 @@ import org.apache.kafka.connect.sink.SinkRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcJfr;
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcSinkExecEvent;
 import eu.solutions.a2.cdc.oracle.jmx.OraCdcSinkTableInfo;
 import eu.solutions.a2.cdc.oracle.schema.JdbcTypes;
 import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
@@ -69,6 +71,11 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 	private final boolean onlyPkColumns;
 	private final Map<String, OraColumn> lobColumns = new HashMap<>();
 	private Map<String, LobSqlHolder> lobColsSqlMap;
+	private final Map<String, PartialUpdateHolder> partialUpdates = new HashMap<>();
+	private int partialUpdateCount = 0;
+	private long partialUpdateTime = 0;
+	// SQL text or partial update holder of statement with pending batch
+	private Object pendingBatch = null;
 
 
 	/**
@@ -84,8 +91,24 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 	public OraTable4SinkConnector(
 			final OraCdcJdbcSinkConnectionPool sinkPool, final String tableName,
 			final SinkRecord record, final boolean autoCreateTable, final int schemaType) throws SQLException {
+		this(sinkPool.getDbType(), tableName, record, schemaType);
+		checkTable(sinkPool, autoCreateTable);
+	}
+
+	/**
+	 * Creates table definition and SQL statements without check of table in target database
+	 * 
+	 * @param dbType
+	 * @param tableName
+	 * @param record
+	 * @param schemaType
+	 * @throws SQLException 
+	 */
+	OraTable4SinkConnector(
+			final int dbType, final String tableName,
+			final SinkRecord record, final int schemaType) throws SQLException {
 		super(schemaType);
-		dbType = sinkPool.getDbType();
+		this.dbType = dbType;
 		LOGGER.trace("Creating OraTable object from Kafka connect SinkRecord...");
 		final List<Field> keyFields;
 		final List<Field> valueFields;
@@ -142,7 +165,7 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 			onlyPkColumns = false;
 		}
 		metrics = new OraCdcSinkTableInfo(this.tableName);
-		prepareSql(sinkPool, autoCreateTable);
+		prepareSql();
 		upsertCount = 0;
 		deleteCount = 0;
 		upsertTime = 0;
@@ -150,8 +173,7 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 	}
 
 
-	private void prepareSql(final OraCdcJdbcSinkConnectionPool sinkPool,
-							final boolean autoCreateTable) throws SQLException {
+	private void prepareSql() {
 		// Prepare UPDATE/INSERT/DELETE statements...
 		LOGGER.debug("Prepare UPDATE/INSERT/DELETE statements for table {}", this.tableName);
 		final Map<String, String> sqlTexts = TargetDbSqlUtils.generateSinkSql(
@@ -174,7 +196,10 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 						this.tableName, columnName, holder.SQL_TEXT);
 			});
 		}
+	}
 
+	private void checkTable(final OraCdcJdbcSinkConnectionPool sinkPool,
+							final boolean autoCreateTable) throws SQLException {
 		// Check for table existence
 		try (Connection connection = sinkPool.getConnection()) {
 			LOGGER.debug("Check for table {} in database", this.tableName);
@@ -242,6 +267,10 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 		LOGGER.trace("End of SQL and DB preparation for table {}.", this.tableName);
 	}
 
+	public OraCdcSinkTableInfo getMetrics() {
+		return metrics;
+	}
+
 	public String getTableFqn() {
 		return tableOwner + "." + tableName;
 	}
@@ -263,10 +292,27 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 			opType = ((Struct) record.value()).getString("op");
 			LOGGER.debug("Operation type set payload to {}.", opType);
 		}
+		final PartialUpdateHolder partialUpdate;
+		if ("u".equals(opType)) {
+			partialUpdate = partialUpdate(record);
+		} else {
+			partialUpdate = null;
+		}
+		final Object batch = "d".equals(opType) ? sinkDeleteSql :
+				(partialUpdate != null ? partialUpdate : sinkUpsertSql);
+		if (pendingBatch != null && pendingBatch != batch) {
+			// Batches of different statements are executed one after another,
+			// flush to apply changes in order of records
+			exec();
+		}
+		pendingBatch = batch;
 		final long nanosStart = System.nanoTime();
 		if ("d".equals(opType)) {
 			processDelete(connection, record);
 			deleteTime += System.nanoTime() - nanosStart;
+		} else if (partialUpdate != null) {
+			processPartialUpdate(connection, record, partialUpdate);
+			partialUpdateTime += System.nanoTime() - nanosStart;
 		} else {
 			processUpsert(connection, record);
 			upsertTime += System.nanoTime() - nanosStart;
@@ -277,6 +323,7 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 	public void exec() throws SQLException {
 		LOGGER.trace("BEGIN: exec()");
 		final long nanosStart = System.nanoTime();
+		final OraCdcSinkExecEvent jfrEvent = beginSinkExecEvent(false);
 		if (sinkUpsert != null && upsertCount > 0) {
 			execUpsert();
 			sinkUpsert.clearBatch();
@@ -294,12 +341,26 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 			deleteCount = 0;
 			deleteTime = 0;
 		}
+		if (partialUpdateCount > 0) {
+			final long partialNanosStart = System.nanoTime();
+			execPartialUpdate(false);
+			execLobUpdate(false);
+			partialUpdateTime += System.nanoTime() - partialNanosStart;
+			metrics.addUpsert(partialUpdateCount, partialUpdateTime);
+			partialUpdateCount = 0;
+			partialUpdateTime = 0;
+		}
+		pendingBatch = null;
+		if (jfrEvent != null) {
+			jfrEvent.commit();
+		}
 		LOGGER.trace("END: exec()");
 	}
 
 	public void execAndCloseCursors() throws SQLException {
 		LOGGER.trace("BEGIN: closeCursors()");
 		final long nanosStart = System.nanoTime();
+		final OraCdcSinkExecEvent jfrEvent = beginSinkExecEvent(true);
 		if (sinkUpsert != null) {
 			if (upsertCount > 0) {
 				execUpsert();
@@ -324,9 +385,41 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 			deleteCount = 0;
 			deleteTime = 0;
 		}
+		if (partialUpdates.size() > 0) {
+			final long partialNanosStart = System.nanoTime();
+			final int execCount = partialUpdateCount;
+			execPartialUpdate(true);
+			if (execCount > 0) {
+				execLobUpdate(true);
+				partialUpdateTime += System.nanoTime() - partialNanosStart;
+				metrics.addUpsert(execCount, partialUpdateTime);
+			}
+			partialUpdateCount = 0;
+			partialUpdateTime = 0;
+		}
+		pendingBatch = null;
+		if (jfrEvent != null) {
+			jfrEvent.commit();
+		}
 		LOGGER.trace("END: closeCursors()");
 	}
 
+	private OraCdcSinkExecEvent beginSinkExecEvent(final boolean closeCursors) {
+		if (OraCdcJfr.AVAILABLE) {
+			final OraCdcSinkExecEvent jfrEvent = new OraCdcSinkExecEvent();
+			if (jfrEvent.isEnabled()) {
+				jfrEvent.begin();
+				jfrEvent.table = tableName;
+				jfrEvent.upserts = upsertCount;
+				jfrEvent.deletes = deleteCount;
+				jfrEvent.partialUpdates = partialUpdateCount;
+				jfrEvent.closeCursors = closeCursors;
+				return jfrEvent;
+			}
+		}
+		return null;
+	}
+
 	private void execUpsert() throws SQLException {
 		try {
 			sinkUpsert.executeBatch();
@@ -452,6 +545,133 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 		sinkUpsert.addBatch();
 		upsertCount++;
 
+		addLobUpdates(connection, keyStruct, valueStruct);
+		LOGGER.trace("END: processUpsert()");
+	}
+
+	/**
+	 * 
+	 * @param record
+	 * @return holder for partial update or null when record is not delta UPDATE
+	 * @throws DataException when delta UPDATE changes primary key or column not in table
+	 */
+	private PartialUpdateHolder partialUpdate(final SinkRecord record) {
+		final Header header = record.headers().lastWithName(OraCdcRecordBuilder.CHANGED_COLUMNS_HEADER);
+		if (header == null || header.value() == null) {
+			return null;
+		}
+		final String changedColumns = header.value().toString();
+		PartialUpdateHolder holder = partialUpdates.get(changedColumns);
+		if (holder == null) {
+			holder = new PartialUpdateHolder();
+			holder.COLUMNS = new ArrayList<>();
+			for (String columnName : StringUtils.split(changedColumns, ',')) {
+				if (lobColumns.containsKey(columnName)) {
+					// Processed by LOB update statements
+					continue;
+				}
+				OraColumn changed = null;
+				for (OraColumn oraColumn : allColumns) {
+					if (StringUtils.equals(columnName, oraColumn.getColumnName())) {
+						changed = oraColumn;
+						break;
+					}
+				}
+				if (changed == null) {
+					// Upsert of delta record overwrites unchanged columns with NULL
+					LOGGER.error("Changed column {} of table {} is primary key column or not in table!",
+							columnName, this.tableName);
+					LOGGER.error("Set a2.update.mode=full in source connector to process this UPDATE.");
+					throw new DataException("Unable to apply delta UPDATE of column " + columnName +
+							" to table " + this.tableName + "!");
+				}
+				holder.COLUMNS.add(changed);
+			}
+			if (holder.COLUMNS != null && holder.COLUMNS.size() > 0) {
+				holder.SQL_TEXT = TargetDbSqlUtils.partialUpdateSql(tableName, pkColumns, holder.COLUMNS);
+				LOGGER.debug("Table name -> {}, partial UPDATE statement ->\n{}", this.tableName, holder.SQL_TEXT);
+			}
+			partialUpdates.put(changedColumns, holder);
+		}
+		return holder;
+	}
+
+	private void processPartialUpdate(final Connection connection, final SinkRecord record,
+			final PartialUpdateHolder holder) throws SQLException {
+		LOGGER.trace("BEGIN: processPartialUpdate()");
+		final Struct keyStruct;
+		final Struct valueStruct;
+		if (schemaType == ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD) {
+			keyStruct = (Struct) record.key();
+			valueStruct = (Struct) record.value();
+		} else { // if (schemaType == ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM)
+			keyStruct = ((Struct) record.value()).getStruct("before");
+			valueStruct = ((Struct) record.value()).getStruct("after");
+		}
+		if (holder.SQL_TEXT != null) {
+			if (holder.STATEMENT == null) {
+				holder.STATEMENT = connection.prepareStatement(holder.SQL_TEXT);
+				holder.EXEC_COUNT = 0;
+			}
+			int columnNo = 1;
+			for (int i = 0; i < holder.COLUMNS.size(); i++) {
+				final OraColumn oraColumn = holder.COLUMNS.get(i);
+				try {
+					oraColumn.bindWithPrepStmt(dbType, holder.STATEMENT, columnNo, valueStruct.get(oraColumn.getColumnName()));
+					columnNo++;
+				} catch (DataException | SQLException de) {
+					LOGGER.error("Data error while performing partial update! Table={}, column={}, {}.",
+							tableName, oraColumn.getColumnName(), structValueAsString(oraColumn, valueStruct));
+					LOGGER.error("SQL statement:\n\t{}", holder.SQL_TEXT);
+					throw new DataException(de);
+				}
+			}
+			Iterator<Entry<String, OraColumn>> iterator = pkColumns.entrySet().iterator();
+			while (iterator.hasNext()) {
+				final OraColumn oraColumn = iterator.next().getValue();
+				try {
+					oraColumn.bindWithPrepStmt(dbType, holder.STATEMENT, columnNo, keyStruct.get(oraColumn.getColumnName()));
+					columnNo++;
+				} catch (DataException de) {
+					LOGGER.error("Data error while performing partial update! Table={}, PK column={}, {}.",
+							tableName, oraColumn.getColumnName(), structValueAsString(oraColumn, keyStruct));
+					throw new DataException(de);
+				}
+			}
+			holder.STATEMENT.addBatch();
+			holder.EXEC_COUNT++;
+		}
+		partialUpdateCount++;
+		addLobUpdates(connection, keyStruct, valueStruct);
+		LOGGER.trace("END: processPartialUpdate()");
+	}
+
+	private void execPartialUpdate(final boolean closeCursor) throws SQLException {
+		Iterator<Entry<String, PartialUpdateHolder>> iterator = partialUpdates.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final PartialUpdateHolder holder = iterator.next().getValue();
+			try {
+				if (holder.EXEC_COUNT > 0) {
+					holder.STATEMENT.executeBatch();
+					holder.STATEMENT.clearBatch();
+					holder.EXEC_COUNT = 0;
+				}
+				if (closeCursor && holder.STATEMENT != null) {
+					holder.STATEMENT.close();
+					holder.STATEMENT = null;
+				}
+			} catch(SQLException sqle) {
+				LOGGER.error("Error {} while executing partial update statement {}",
+						sqle.getMessage(), holder.SQL_TEXT);
+				throw new SQLException(sqle);
+			}
+		}
+	}
+
+	private void addLobUpdates(final Connection connection,
+			final Struct keyStruct, final Struct valueStruct) throws SQLException {
+		int columnNo;
+		Iterator<Entry<String, OraColumn>> iterator;
 		if (lobColumns.size() > 0) {
 			Iterator<Entry<String, LobSqlHolder>> lobIterator = lobColsSqlMap.entrySet().iterator();
 			while (lobIterator.hasNext()) {
@@ -496,7 +716,6 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 			}
 
 		}
-		LOGGER.trace("END: processUpsert()");
 	}
 
 	private void processDelete(
@@ -562,6 +781,13 @@ public class OraTable4SinkConnector extends OraTableDefinition {
 		return sb.toString();
 	}
 
+	private class PartialUpdateHolder {
+		protected List<OraColumn> COLUMNS;
+		protected String SQL_TEXT;
+		protected PreparedStatement STATEMENT;
+		protected int EXEC_COUNT;
+	}
+
 	private class LobSqlHolder {
 		protected String COLUMN;
 		protected String SQL_TEXT;
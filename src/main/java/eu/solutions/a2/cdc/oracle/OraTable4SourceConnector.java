@@ -55,6 +55,8 @@ public abstract class OraTable4SourceConnector extends OraTableDefinition {
 	protected Schema schema;
 	protected Schema keySchema;
 	protected Schema valueSchema;
+	protected OraCdcRecordBuilder recordBuilder;
+	protected OraCdcColumnProjection columnProjection;
 	private boolean rowLevelScn;
 
 	protected OraTable4SourceConnector(String tableOwner, String tableName, int schemaType) {
@@ -153,7 +155,21 @@ public abstract class OraTable4SourceConnector extends OraTableDefinition {
 			}
 		}
 
+		final boolean projectColumns = !mviewSource && columnProjection != null &&
+				columnProjection.hasRules(this.tableOwner, this.tableName);
 		while (rsColumns.next()) {
+			if (projectColumns) {
+				final String columnName = rsColumns.getString("COLUMN_NAME");
+				if (!columnProjection.isProjected(this.tableOwner, this.tableName, columnName)) {
+					if (pkColsSet != null && pkColsSet.contains(columnName)) {
+						LOGGER.warn("Primary key column {} can't be excluded from table definition {}.",
+								columnName, tableFqn);
+					} else {
+						LOGGER.debug("Column {} excluded from table definition {}.", columnName, tableFqn);
+						continue;
+					}
+				}
+			}
 			final OraColumn column = new OraColumn(
 					mviewSource, useOracdcSchemas, processLobs,
 					rsColumns, keySchemaBuilder, valueSchemaBuilder, schemaType, pkColsSet);
@@ -264,6 +280,7 @@ public abstract class OraTable4SourceConnector extends OraTableDefinition {
 			schemaBuilder.field("source", OraRdbmsInfo.getInstance().getSchema());
 			schema = schemaBuilder.build();
 		}
+		recordBuilder = new OraCdcRecordBuilder(this);
 	}
 
 	public boolean isRowLevelScn() {
@@ -398,14 +415,8 @@ public abstract class OraTable4SourceConnector extends OraTableDefinition {
 					columnValue = oraColumn.unsupportedTypeValue();
 					break;
 			}
-			if (keyStruct != null && pkColumns.containsKey(columnName)) {
-				keyStruct.put(columnName, columnValue);
-			}
 			// Don't process PK again in case of SCHEMA_TYPE_INT_KAFKA_STD
-			if ((schemaType == ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD && !pkColumns.containsKey(columnName)) ||
-					schemaType == ParamConstants.SCHEMA_TYPE_INT_DEBEZIUM) {
-				valueStruct.put(columnName, columnValue);
-			}
+			recordBuilder.putColumn(oraColumn, columnValue, keyStruct, valueStruct);
 		}
 	}
 
@@ -74,7 +74,52 @@ public class ParamConstants {
 	public static final String LGMNR_START_SCN_DOC = "When set DBMS_LOGMNR.START_LOGMNR will start mining from this SCN. When not set min(FIRST_CHANGE#) from V$ARCHIVED_LOG will used. Overrides SCN value  stored in offset file";
 
 	public static final String TEMP_DIR_PARAM = "a2.tmpdir";
-	public static final String TEMP_DIR_DOC = "Temporary directory for non-heap storage. When not set, OS temp directory used"; 
+	public static final String TEMP_DIR_DOC = "Temporary directory for non-heap storage. When not set, OS temp directory used. Comma separated list of directories can be used to spread transaction and initial load queues across several devices"; 
+
+	public static final String TEMP_DIR_POLICY_PARAM = "a2.tmpdir.policy";
+	public static final String TEMP_DIR_POLICY_DOC = "Placement policy for new queues when a2.tmpdir contains more than one directory. Valid values - round-robin (default) and least-used (directory with the fewest bytes of currently spilled transactions)";
+	public static final String TEMP_DIR_POLICY_ROUND_ROBIN = "round-robin";
+	public static final String TEMP_DIR_POLICY_LEAST_USED = "least-used";
+
+	public static final String TEMP_DIR_POOL_SIZE_PARAM = "a2.tmpdir.pool.size";
+	public static final String TEMP_DIR_POOL_SIZE_DOC = "Number of pre-created transaction queues kept ready in each a2.tmpdir directory. Default - 0, queues are created when transaction starts";
+
+	public static final String SPILL_COMPRESSION_PARAM = "a2.spill.compression";
+	public static final String SPILL_COMPRESSION_DOC = "Compression of V$LOGMNR_CONTENTS.SQL_REDO stored in transaction queues. Valid values - none (default) and lz4";
+	public static final String SPILL_COMPRESSION_NONE = "none";
+	public static final String SPILL_COMPRESSION_LZ4 = "lz4";
+
+	public static final String SOURCE_QUERY_PARAM = "a2.debezium.source.query";
+	public static final String SOURCE_QUERY_DOC = "Content of 'query' field of Debezium source block for LogMiner records. Valid values - omit (default), full (V$LOGMNR_CONTENTS.SQL_REDO), truncate (first a2.debezium.source.query.length characters of SQL_REDO), hash (64-bit hash of SQL_REDO), rs_id (RS_ID and SSN of redo record)";
+	public static final String SOURCE_QUERY_OMIT = "omit";
+	public static final String SOURCE_QUERY_FULL = "full";
+	public static final String SOURCE_QUERY_TRUNCATE = "truncate";
+	public static final String SOURCE_QUERY_HASH = "hash";
+	public static final String SOURCE_QUERY_RS_ID = "rs_id";
+
+	public static final String SOURCE_QUERY_LENGTH_PARAM = "a2.debezium.source.query.length";
+	public static final String SOURCE_QUERY_LENGTH_DOC = "Max length of 'query' field of Debezium source block when a2.debezium.source.query set to truncate. Default - 256";
+
+	public static final String COLUMN_INCLUDE_PARAM = "a2.column.include";
+	public static final String COLUMN_INCLUDE_DOC = "List of columns in OWNER.TABLE.COLUMN format. When set for table only listed and primary key columns are processed";
+	public static final String COLUMN_EXCLUDE_PARAM = "a2.column.exclude";
+	public static final String COLUMN_EXCLUDE_DOC = "List of columns in OWNER.TABLE.COLUMN format to exclude from processing";
+
+	public static final String ROW_FILTER_PARAM = "a2.row.filter";
+	public static final String ROW_FILTER_DOC = "Row filter predicates in format OWNER.TABLE:predicate separated by semicolon. Predicate - comparison of column with literal, [NOT] IN, IS [NOT] NULL combined with AND/OR/NOT";
+
+	public static final String UPDATE_MODE_PARAM = "a2.update.mode";
+	public static final String UPDATE_MODE_DOC = "Content of UPDATE records. full (default) - all columns from redo record, delta - only changed columns listed in oracdc.changed.columns header together with key and mandatory columns, UPDATE without changes is skipped, UPDATE of key column is sent with all columns";
+	public static final String UPDATE_MODE_FULL = "full";
+	public static final String UPDATE_MODE_DELTA = "delta";
+
+	public static final String TABLE_METRICS_IDLE_MS_PARAM = "a2.table.metrics.idle.ms";
+	public static final String TABLE_METRICS_IDLE_MS_DOC = "Per-table LogMiner source MBean is unregistered when no records for table were processed during this interval in ms. When set to 0 per-table MBeans are not created. Default - 600000 (10 minutes)";
+	public static final long TABLE_METRICS_IDLE_MS_DEFAULT = 600_000;
+
+	public static final String METRICS_HTTP_PORT_PARAM = "a2.metrics.http.port";
+	public static final String METRICS_HTTP_PORT_DOC = "When set to non-zero value oracdc starts HTTP server on this port rendering metrics of all oracdc tasks in this JVM in OpenMetrics (Prometheus) text format at /metrics. Default - 0 (disabled)";
+	public static final int METRICS_HTTP_PORT_DEFAULT = 0;
 
 	public static final String MAKE_STANDBY_ACTIVE_PARAM = "a2.standby.activate";
 	public static final String MAKE_STANDBY_ACTIVE_DOC = "Use standby database with V$DATABASE.OPEN_MODE = MOUNTED for LogMiner calls. Default - false"; 
@@ -127,4 +172,42 @@ public class ParamConstants {
 	public static final String CONNECTION_BACKOFF_DOC = "backoff time in milliseconds between reconnectoion attempts. Default - 30000ms";
 	public static final int CONNECTION_BACKOFF_DEFAULT = 30000;
 
+	public static final String HEARTBEAT_INTERVAL_MS_PARAM = "a2.heartbeat.interval.ms";
+	public static final String HEARTBEAT_INTERVAL_MS_DOC = "Interval in ms for sending heartbeat record with last processed SCN, RS_ID and SSN when there are no open transactions for processed tables. Heartbeat records advance source offset when processed tables are quiet. Default - 0 (heartbeats disabled)";
+	public static final int HEARTBEAT_INTERVAL_MS_DEFAULT = 0;
+
+	public static final String HEARTBEAT_TOPIC_PARAM = "a2.heartbeat.topic";
+	public static final String HEARTBEAT_TOPIC_DOC = "Kafka topic for heartbeat records. Default - oracdc-heartbeat";
+	public static final String HEARTBEAT_TOPIC_DEFAULT = "oracdc-heartbeat";
+
+	public static final String TASK_DISTRIBUTION_PARAM = "a2.task.distribution";
+	public static final String TASK_DISTRIBUTION_DOC = "When set to 'single' (default) all tables are processed by one task. When set to 'hash' up to tasks.max tasks are started and each task mines only rows of tables with mod(OBJECT_ID, <TASK_COUNT>) equal to task number, partitions are processed by task of their table";
+	public static final String TASK_DISTRIBUTION_SINGLE = "single";
+	public static final String TASK_DISTRIBUTION_HASH = "hash";
+
+	public static final String LGMNR_KEEP_SESSION_PARAM = "a2.logminer.keep.session";
+	public static final String LGMNR_KEEP_SESSION_DOC = "When set to true LogMiner session is kept open between mining windows: new archived logs are added to running session, already processed logs are removed from it and DBMS_LOGMNR.START_LOGMNR is called only with new SCN range. Default - false, session is ended with DBMS_LOGMNR.END_LOGMNR after every mining window";
+
+	public static final String SPILL_HIGH_WATERMARK_PARAM = "a2.spill.high.watermark.bytes";
+	public static final String SPILL_HIGH_WATERMARK_DOC = "When total size of transactions buffered in a2.tmpdir and not yet acknowledged by Kafka exceeds this value, LogMiner worker does not start new mining window until size drops below a2.spill.low.watermark.bytes. Default - 0, no limit";
+	public static final String SPILL_LOW_WATERMARK_PARAM = "a2.spill.low.watermark.bytes";
+	public static final String SPILL_LOW_WATERMARK_DOC = "Size of buffered transactions below which paused LogMiner worker resumes mining. Default - 0, 80% of a2.spill.high.watermark.bytes";
+	public static final String COMMITTED_HIGH_WATERMARK_PARAM = "a2.committed.high.watermark";
+	public static final String COMMITTED_HIGH_WATERMARK_DOC = "When number of committed transactions not yet processed by poll() exceeds this value, LogMiner worker does not start new mining window until number drops below a2.committed.low.watermark. Default - 0, no limit";
+	public static final String COMMITTED_LOW_WATERMARK_PARAM = "a2.committed.low.watermark";
+	public static final String COMMITTED_LOW_WATERMARK_DOC = "Number of committed transactions not yet processed by poll() below which paused LogMiner worker resumes mining. Default - 0, 80% of a2.committed.high.watermark";
+
+	public static final String SHARED_MINING_GROUP_PARAM = "a2.shared.mining.group";
+	public static final String LGMNR_RECORD_FILE_PARAM = "a2.logminer.record.file";
+	public static final String LGMNR_RECORD_FILE_DOC = "When set LogMiner worker records V$LOGMNR_CONTENTS rows and data dictionary answers to this gzip-compressed file for offline replay with a2.logminer.replay.file. Not supported with a2.process.lobs and a2.shared.mining.group. Default - not set";
+	public static final String LGMNR_REPLAY_FILE_PARAM = "a2.logminer.replay.file";
+	public static final String LGMNR_REPLAY_FILE_DOC = "When set task does not connect to database and replays file written with a2.logminer.record.file at full speed through LogMiner worker. Stored state file and offsets are ignored. Intended for benchmarks and regression tests. Default - not set";
+
+	public static final String SHARED_MINING_GROUP_DOC = "When set all LogMiner connectors in same JVM with same value of this parameter share one LogMiner session. Each connector receives committed transactions and applies own a2.include/a2.exclude filter. Default - not set, each connector runs own LogMiner session";
+
+	public static final String MINING_STRATEGY_PARAM = "a2.mining.strategy";
+	public static final String MINING_STRATEGY_DOC = "LogMiner mining strategy. When set to 'buffered' (default) oracdc reads all changes and buffers transactions until commit or rollback. When set to 'committed' LogMiner is started with DBMS_LOGMNR.COMMITTED_DATA_ONLY and returns only changes of committed transactions grouped by transaction. With 'committed' every mining window is started from first SCN of oldest transaction open at start of window, so transactions started in previous windows are returned completely. After restart mining is started from first SCN of window of last processed row and already processed rows are skipped using stored COMMIT_SCN, SCN, RS_ID and SSN";
+	public static final String MINING_STRATEGY_BUFFERED = "buffered";
+	public static final String MINING_STRATEGY_COMMITTED = "committed";
+
 }
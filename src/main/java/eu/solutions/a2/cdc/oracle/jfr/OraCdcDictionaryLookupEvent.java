@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 
+ * Data dictionary lookup for unknown DATA_OBJ#
+ * 
+ * @author averemee
+ *
+ */
+@Name("eu.solutions.a2.oracdc.DictionaryLookup")
+@Label("Dictionary Lookup")
+@Category({"oracdc", "LogMiner"})
+@Description("Data dictionary lookup for unknown DATA_OBJ#")
+@StackTrace(false)
+public class OraCdcDictionaryLookupEvent extends Event {
+
+	@Label("DATA_OBJ#")
+	public long dataObjectId;
+
+	@Label("CON_ID")
+	public long conId;
+
+	@Label("Table")
+	public String table;
+
+	@Label("In Scope")
+	public boolean inScope;
+
+}
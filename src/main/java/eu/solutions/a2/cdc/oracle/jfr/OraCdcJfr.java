@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.jfr;
+
+/**
+ * 
+ * JDK Flight Recorder support. Event classes of this package are instantiated only
+ * when AVAILABLE is true, so oracdc runs on Java 8 builds without jdk.jfr.
+ * When JFR is available but recording is not active events cost only allocation
+ * which is eliminated by JIT
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcJfr {
+
+	public static final boolean AVAILABLE = isAvailable();
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, OraCdcJfr.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+}
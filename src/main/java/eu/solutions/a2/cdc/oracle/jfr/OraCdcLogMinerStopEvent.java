@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 
+ * Stopping LogMiner at the end of mining window (OraLogMiner.stop)
+ * 
+ * @author averemee
+ *
+ */
+@Name("eu.solutions.a2.oracdc.LogMinerStop")
+@Label("LogMiner Stop")
+@Category({"oracdc", "LogMiner"})
+@Description("Stopping LogMiner at the end of mining window (OraLogMiner.stop)")
+@StackTrace(false)
+public class OraCdcLogMinerStopEvent extends Event {
+
+	@Label("First SCN")
+	public long firstScn;
+
+	@Label("Next SCN")
+	public long nextScn;
+
+	@Label("Archived Logs")
+	public int archivedLogs;
+
+	@Label("Archived Logs Size")
+	@DataAmount
+	public long archivedLogsBytes;
+
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 
+ * Execution of sink batch for table (OraTable4SinkConnector.exec)
+ * 
+ * @author averemee
+ *
+ */
+@Name("eu.solutions.a2.oracdc.SinkExec")
+@Label("Sink Exec")
+@Category({"oracdc", "Sink"})
+@Description("Execution of sink batch for table (OraTable4SinkConnector.exec)")
+@StackTrace(false)
+public class OraCdcSinkExecEvent extends Event {
+
+	@Label("Table")
+	public String table;
+
+	@Label("Upserts")
+	public int upserts;
+
+	@Label("Deletes")
+	public int deletes;
+
+	@Label("Partial Updates")
+	public int partialUpdates;
+
+	@Label("Close Cursors")
+	public boolean closeCursors;
+
+}
@@ -122,6 +122,25 @@ public class OraCdcInitialLoad implements OraCdcInitialLoadMBean {
 		return sendRowsColumns.get();
 	}
 
+	/**
+	 * Renders initial load metrics for OraCdcMetricsHttpServer
+	 * 
+	 * @param writer
+	 * @param connectorName
+	 */
+	public void collectMetrics(final OraCdcOpenMetricsWriter writer, final String connectorName) {
+		writer.counter("initial_load_selected_rows", "Rows selected from source tables",
+				sqlSelectRows.get(), "connector", connectorName);
+		writer.counter("initial_load_select_nanos", "Time spent selecting rows",
+				sqlSelectNanos.get(), "connector", connectorName);
+		writer.counter("initial_load_sent_rows", "Rows sent to Kafka",
+				sendRows.get(), "connector", connectorName);
+		writer.counter("initial_load_send_nanos", "Time spent sending rows",
+				sendNanos.get(), "connector", connectorName);
+		writer.gauge("initial_load_processed_tables", "Tables with completed initial load",
+				processedTableCount, "connector", connectorName);
+	}
+
 	public void startSelectTable(String fqn) {
 		synchronized (tablesSelect) {
 			tablesSelect.add(fqn);
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.jmx;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 
+ * Log-linear histogram (HdrHistogram-like, 32 linear sub-buckets per power of two,
+ * i.e. ~3% relative precision) with lock-free recording for latency percentiles
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcLatencyHistogram {
+
+	private static final int PRECISION_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << PRECISION_BITS;
+	private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+	private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - PRECISION_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong max = new AtomicLong(0);
+	private final LongAdder sum = new LongAdder();
+
+	/**
+	 * Records value, negative values are recorded as zero
+	 * 
+	 * @param value
+	 */
+	public void record(final long value) {
+		final long recorded = value < 0 ? 0 : value;
+		counts.incrementAndGet(index(recorded));
+		sum.add(recorded);
+		long current = max.get();
+		while (recorded > current) {
+			if (max.compareAndSet(current, recorded)) {
+				break;
+			}
+			current = max.get();
+		}
+	}
+
+	/**
+	 * 
+	 * @param percentile  0.5 for p50, 0.999 for p999
+	 * @return highest value equivalent to percentile or 0 when nothing recorded
+	 */
+	public long getValueAtPercentile(final double percentile) {
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			total += counts.get(i);
+		}
+		if (total == 0) {
+			return 0;
+		}
+		final long target = Math.max(1, (long) Math.ceil(percentile * total));
+		long cumulative = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			cumulative += counts.get(i);
+			if (cumulative >= target) {
+				return Math.min(highestEquivalentValue(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * 
+	 * @param value upper bound
+	 * @return number of recorded values in buckets up to and including bucket of value
+	 */
+	public long getCountAtOrBelow(final long value) {
+		if (value < 0) {
+			return 0;
+		}
+		final int last = index(value);
+		long cumulative = 0;
+		for (int i = 0; i <= last; i++) {
+			cumulative += counts.get(i);
+		}
+		return cumulative;
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public long getSum() {
+		return sum.sum();
+	}
+
+	public long getCount() {
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			total += counts.get(i);
+		}
+		return total;
+	}
+
+	static int index(final long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		} else {
+			final int shift = 63 - Long.numberOfLeadingZeros(value) - PRECISION_BITS;
+			final int subBucket = (int) (value >>> shift);
+			return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (subBucket - SUB_BUCKETS);
+		}
+	}
+
+	static long highestEquivalentValue(final int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		} else {
+			final int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+			final long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+			return ((subBucket + 1) << shift) - 1;
+		}
+	}
+
+}
@@ -17,15 +17,24 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.math3.util.Precision;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.solutions.a2.cdc.oracle.OraCdcLogMinerTask;
+import eu.solutions.a2.cdc.oracle.OraCdcSpillReclaimer;
+import eu.solutions.a2.cdc.oracle.OraCdcSpillRoots;
+import eu.solutions.a2.cdc.oracle.OraCdcTransaction;
 import eu.solutions.a2.cdc.oracle.OraRdbmsInfo;
 import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+import eu.solutions.a2.cdc.oracle.utils.SqlRedoCompressor;
 
 /**
  * 
@@ -48,6 +57,21 @@ public class OraCdcLogMinerMgmt extends OraCdcLogMinerMgmtBase implements OraCdc
 	private int batchesSentCount = 0;
 	private long parseTimeElapsed = 0;
 	private int parsePerSecond = 0;
+	private long bufferedBytes = 0;
+	private int committedWaitingCount = 0;
+	private volatile boolean throttled = false;
+	private int throttledCount = 0;
+	private long throttledTimeElapsed = 0;
+	private OraCdcSpillRoots spillRoots;
+	private long filteredRecordsCount = 0;
+	private long noopUpdatesCount = 0;
+	private final OraCdcLatencyHistogram redoToFetch = new OraCdcLatencyHistogram();
+	private final OraCdcLatencyHistogram fetchToCommit = new OraCdcLatencyHistogram();
+	private final OraCdcLatencyHistogram commitToPoll = new OraCdcLatencyHistogram();
+	private final OraCdcLatencyHistogram parseTime = new OraCdcLatencyHistogram();
+	private final Map<String, AtomicLong> filteredRecords = new ConcurrentHashMap<>();
+	private volatile List<OraCdcTransaction> openTransactions = Collections.emptyList();
+	private volatile List<OraCdcTransaction> committedTransactions = Collections.emptyList();
 
 	private final OraCdcLogMinerTask task;
 
@@ -229,8 +253,353 @@ public class OraCdcLogMinerMgmt extends OraCdcLogMinerMgmtBase implements OraCdc
 	public float getRedoReadMbPerSecond() {
 		return redoReadMbPerSec;
 	}
+
+	@Override
+	public int getSessionSetupCount() {
+		return sessionSetupCount;
+	}
+	@Override
+	public long getSessionSetupElapsedMillis() {
+		return sessionSetupTimeElapsed;
+	}
+	@Override
+	public String getSessionSetupElapsed() {
+		Duration duration = Duration.ofMillis(sessionSetupTimeElapsed);
+		return OraCdcMBeanUtils.formatDuration(duration);
+	}
 	
 
+	public void setBuffered(final long bufferedBytes, final int committedWaitingCount) {
+		this.bufferedBytes = bufferedBytes;
+		this.committedWaitingCount = committedWaitingCount;
+	}
+	@Override
+	public long getBufferedBytes() {
+		return bufferedBytes;
+	}
+	@Override
+	public int getCommittedWaitingTransactionsCount() {
+		return committedWaitingCount;
+	}
+
+	/**
+	 * Called by worker thread only, lists are not modified after call.
+	 * Attributes of transactions are copied by JMX thread when requested
+	 * 
+	 * @param openTransactions
+	 * @param committedTransactions committed transactions waiting for poll(), being sent and not yet acknowledged
+	 */
+	public void setTransactions(
+			final List<OraCdcTransaction> openTransactions,
+			final List<OraCdcTransaction> committedTransactions) {
+		this.openTransactions = openTransactions;
+		this.committedTransactions = committedTransactions;
+	}
+	@Override
+	public int getOpenTransactionsCount() {
+		return openTransactions.size();
+	}
+	@Override
+	public long getOldestOpenTransactionFirstScn() {
+		final OraCdcTransactionInfo oldest = oldestOpenTransaction();
+		return oldest == null ? 0 : oldest.getFirstChange();
+	}
+	@Override
+	public String getOldestOpenTransactionXid() {
+		final OraCdcTransactionInfo oldest = oldestOpenTransaction();
+		return oldest == null ? null : oldest.getXid();
+	}
+	@Override
+	public long getOldestOpenTransactionAgeMillis() {
+		final OraCdcTransactionInfo oldest = oldestOpenTransaction();
+		return oldest == null ? 0 : System.currentTimeMillis() - oldest.getFirstFetchMillis();
+	}
+	@Override
+	public String[] listOpenTransactions(final int topN, final String orderBy) {
+		return listTransactions(snapshot(openTransactions), topN, orderBy);
+	}
+	@Override
+	public String[] listCommittedTransactions(final int topN, final String orderBy) {
+		return listTransactions(snapshot(committedTransactions), topN, orderBy);
+	}
+
+	private OraCdcTransactionInfo oldestOpenTransaction() {
+		OraCdcTransaction oldest = null;
+		for (final OraCdcTransaction transaction : openTransactions) {
+			if (oldest == null || transaction.getFirstChange() < oldest.getFirstChange()) {
+				oldest = transaction;
+			}
+		}
+		return oldest == null ? null : new OraCdcTransactionInfo(oldest);
+	}
+
+	/**
+	 * Copies attributes of transactions published by worker, readers of same transaction
+	 * in shared mining group are returned once
+	 * 
+	 * @param transactions
+	 * @return attributes of transactions
+	 */
+	private static List<OraCdcTransactionInfo> snapshot(final List<OraCdcTransaction> transactions) {
+		final Map<String, OraCdcTransactionInfo> result = new LinkedHashMap<>();
+		for (final OraCdcTransaction transaction : transactions) {
+			result.putIfAbsent(transaction.getXid() + ":" + transaction.getCommitScn(),
+					new OraCdcTransactionInfo(transaction));
+		}
+		return new ArrayList<>(result.values());
+	}
+
+	private static String[] listTransactions(
+			final List<OraCdcTransactionInfo> snapshot, final int topN, final String orderBy) {
+		final long now = System.currentTimeMillis();
+		return snapshot
+				.stream()
+				.sorted(OraCdcTransactionInfo.comparator(orderBy))
+				.limit(topN > 0 ? topN : snapshot.size())
+				.map(info -> info.toString(now))
+				.toArray(String[]::new);
+	}
+
+	/**
+	 * Renders task metrics for OraCdcMetricsHttpServer
+	 * 
+	 * @param writer
+	 * @param connectorName
+	 */
+	public void collectMetrics(final OraCdcOpenMetricsWriter writer, final String connectorName) {
+		writer.counter("logminer_records", "Redo records fetched from V$LOGMNR_CONTENTS",
+				totalRecordsCount, "connector", connectorName);
+		writer.counter("logminer_committed_records", "Redo records of committed transactions",
+				recordsCommittedCount, "connector", connectorName);
+		writer.counter("logminer_rolledback_records", "Redo records of rolled back transactions",
+				recordsRolledBackCount, "connector", connectorName);
+		writer.counter("logminer_committed_transactions", "Committed transactions",
+				transactionsCommittedCount, "connector", connectorName);
+		writer.counter("logminer_rolledback_transactions", "Rolled back transactions",
+				transactionsRolledBackCount, "connector", connectorName);
+		writer.counter("logminer_sent_records", "Records sent to Kafka",
+				recordsSentCount, "connector", connectorName);
+		writer.counter("logminer_sent_batches", "Batches sent to Kafka",
+				batchesSentCount, "connector", connectorName);
+		writer.counter("logminer_filtered_records", "Records not sent to Kafka due to a2.row.filter",
+				filteredRecordsCount, "connector", connectorName);
+		filteredRecords.forEach((tableName, count) ->
+			writer.counter("logminer_table_filtered_records", "Records not sent to Kafka due to a2.row.filter by table",
+					count.get(), "connector", connectorName, "table", tableName));
+		writer.counter("logminer_noop_updates", "UPDATE records without changes skipped in delta mode",
+				noopUpdatesCount, "connector", connectorName);
+		writer.counter("logminer_processed_archivelogs", "Processed archived logs",
+				super.processedArchivedRedoCount, "connector", connectorName);
+		writer.counter("logminer_processed_archivelogs_bytes", "Size of processed archived logs",
+				super.processedArchivedRedoSize, "connector", connectorName);
+		writer.counter("logminer_redo_read_millis", "Time spent reading redo",
+				super.redoReadTimeElapsed, "connector", connectorName);
+		writer.counter("logminer_parse_millis", "Time spent parsing SQL_REDO",
+				parseTimeElapsed, "connector", connectorName);
+		writer.counter("logminer_throttled", "Number of mining pauses due to buffered transactions",
+				throttledCount, "connector", connectorName);
+		writer.counter("logminer_throttled_millis", "Time mining was paused due to buffered transactions",
+				throttledTimeElapsed, "connector", connectorName);
+		writer.gauge("logminer_tables_in_processing", "Tables in processing",
+				tablesInProcessing.size(), "connector", connectorName);
+		writer.gauge("logminer_last_processed_scn", "Last processed SCN",
+				super.lastScn, "connector", connectorName);
+		writer.gauge("logminer_buffered_bytes", "Size of buffered transactions",
+				bufferedBytes, "connector", connectorName);
+		writer.gauge("logminer_committed_waiting_transactions", "Committed transactions waiting for poll()",
+				committedWaitingCount, "connector", connectorName);
+		writer.gauge("logminer_throttle_active", "1 when mining is paused due to buffered transactions",
+				throttled ? 1 : 0, "connector", connectorName);
+		writer.gauge("logminer_open_transactions", "Open transactions",
+				getOpenTransactionsCount(), "connector", connectorName);
+		writer.gauge("logminer_oldest_open_transaction_first_scn", "FIRST_CHANGE# of oldest open transaction",
+				getOldestOpenTransactionFirstScn(), "connector", connectorName);
+		writer.gauge("logminer_oldest_open_transaction_age_millis", "Age of oldest open transaction",
+				getOldestOpenTransactionAgeMillis(), "connector", connectorName);
+		writer.histogram("logminer_redo_to_fetch_millis", "Latency between V$LOGMNR_CONTENTS.TIMESTAMP and fetch of row",
+				redoToFetch, "connector", connectorName);
+		writer.histogram("logminer_fetch_to_commit_millis", "Latency between fetch of first row of transaction and fetch of COMMIT",
+				fetchToCommit, "connector", connectorName);
+		writer.histogram("logminer_commit_to_poll_millis", "Latency between fetch of COMMIT and emission of record by poll()",
+				commitToPoll, "connector", connectorName);
+		writer.histogram("logminer_parse_time_micros", "Time to parse SQL_REDO of one record",
+				parseTime, "connector", connectorName);
+	}
+
+	public void setThrottled(final boolean throttled) {
+		this.throttled = throttled;
+		if (throttled) {
+			throttledCount++;
+		}
+	}
+	public void addThrottledTime(final long throttledMillis) {
+		throttledTimeElapsed += throttledMillis;
+	}
+	@Override
+	public boolean isThrottled() {
+		return throttled;
+	}
+	@Override
+	public int getThrottledCount() {
+		return throttledCount;
+	}
+	@Override
+	public long getThrottledElapsedMillis() {
+		return throttledTimeElapsed;
+	}
+	@Override
+	public String getThrottledElapsed() {
+		Duration duration = Duration.ofMillis(throttledTimeElapsed);
+		return OraCdcMBeanUtils.formatDuration(duration);
+	}
+
+	public void setSpillRoots(final OraCdcSpillRoots spillRoots) {
+		this.spillRoots = spillRoots;
+	}
+	@Override
+	public String[] getTempDirectories() {
+		if (spillRoots == null) {
+			return new String[0];
+		} else {
+			return spillRoots.getStatistics();
+		}
+	}
+
+	@Override
+	public long getQueuePoolHits() {
+		return OraCdcSpillReclaimer.getPoolHits();
+	}
+	@Override
+	public long getQueuePoolMisses() {
+		return OraCdcSpillReclaimer.getPoolMisses();
+	}
+	@Override
+	public long getReclaimedQueuesCount() {
+		return OraCdcSpillReclaimer.getReclaimedCount();
+	}
+	@Override
+	public int getPendingQueueDeletesCount() {
+		return OraCdcSpillReclaimer.getPendingCount();
+	}
+
+	@Override
+	public long getSqlRedoRawBytes() {
+		return SqlRedoCompressor.getRawBytes();
+	}
+	@Override
+	public long getSqlRedoCompressedBytes() {
+		return SqlRedoCompressor.getCompressedBytes();
+	}
+	@Override
+	public float getSqlRedoCompressionRatio() {
+		final long compressed = SqlRedoCompressor.getCompressedBytes();
+		if (compressed == 0) {
+			return 0;
+		} else {
+			return ((float) SqlRedoCompressor.getRawBytes()) / compressed;
+		}
+	}
+
+	public void addFilteredRecord(final String tableFqn) {
+		filteredRecordsCount++;
+		filteredRecords.computeIfAbsent(tableFqn, k -> new AtomicLong(0)).incrementAndGet();
+	}
+	@Override
+	public long getFilteredRecordsCount() {
+		return filteredRecordsCount;
+	}
+	@Override
+	public String[] getFilteredRecordsByTable() {
+		final List<String> result = new ArrayList<>(filteredRecords.size());
+		filteredRecords.forEach((tableFqn, count) -> result.add(tableFqn + "=" + count.get()));
+		return result.toArray(new String[0]);
+	}
+
+	public void addNoopUpdate() {
+		noopUpdatesCount++;
+	}
+	@Override
+	public long getNoopUpdatesCount() {
+		return noopUpdatesCount;
+	}
+
+	public void addRedoToFetchLatency(final long millis) {
+		redoToFetch.record(millis);
+	}
+	@Override
+	public long getRedoToFetchLatencyP50Millis() {
+		return redoToFetch.getValueAtPercentile(0.5);
+	}
+	@Override
+	public long getRedoToFetchLatencyP99Millis() {
+		return redoToFetch.getValueAtPercentile(0.99);
+	}
+	@Override
+	public long getRedoToFetchLatencyP999Millis() {
+		return redoToFetch.getValueAtPercentile(0.999);
+	}
+	@Override
+	public long getRedoToFetchLatencyMaxMillis() {
+		return redoToFetch.getMax();
+	}
+	public void addFetchToCommitLatency(final long millis) {
+		fetchToCommit.record(millis);
+	}
+	@Override
+	public long getFetchToCommitLatencyP50Millis() {
+		return fetchToCommit.getValueAtPercentile(0.5);
+	}
+	@Override
+	public long getFetchToCommitLatencyP99Millis() {
+		return fetchToCommit.getValueAtPercentile(0.99);
+	}
+	@Override
+	public long getFetchToCommitLatencyP999Millis() {
+		return fetchToCommit.getValueAtPercentile(0.999);
+	}
+	@Override
+	public long getFetchToCommitLatencyMaxMillis() {
+		return fetchToCommit.getMax();
+	}
+	public void addCommitToPollLatency(final long millis) {
+		commitToPoll.record(millis);
+	}
+	@Override
+	public long getCommitToPollLatencyP50Millis() {
+		return commitToPoll.getValueAtPercentile(0.5);
+	}
+	@Override
+	public long getCommitToPollLatencyP99Millis() {
+		return commitToPoll.getValueAtPercentile(0.99);
+	}
+	@Override
+	public long getCommitToPollLatencyP999Millis() {
+		return commitToPoll.getValueAtPercentile(0.999);
+	}
+	@Override
+	public long getCommitToPollLatencyMaxMillis() {
+		return commitToPoll.getMax();
+	}
+	public void addParseTime(final long micros) {
+		parseTime.record(micros);
+	}
+	@Override
+	public long getParseTimeP50Micros() {
+		return parseTime.getValueAtPercentile(0.5);
+	}
+	@Override
+	public long getParseTimeP99Micros() {
+		return parseTime.getValueAtPercentile(0.99);
+	}
+	@Override
+	public long getParseTimeP999Micros() {
+		return parseTime.getValueAtPercentile(0.999);
+	}
+	@Override
+	public long getParseTimeMaxMicros() {
+		return parseTime.getMax();
+	}
+
 	@Override
 	public long getElapsedTimeMillis() {
 		return System.currentTimeMillis() - super.startTimeMillis;
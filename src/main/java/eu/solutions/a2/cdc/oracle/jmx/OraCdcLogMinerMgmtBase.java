@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
 import javax.management.MBeanRegistrationException;
 import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
@@ -56,6 +57,9 @@ public class OraCdcLogMinerMgmtBase {
 	protected long lastScn = 0;
 	protected long redoReadTimeElapsed = 0;
 	protected float redoReadMbPerSec = 0;
+	protected int sessionSetupCount = 0;
+	protected long sessionSetupTimeElapsed = 0;
+	private ObjectName name;
 
 	public OraCdcLogMinerMgmtBase(
 			final OraRdbmsInfo rdbmsInfo, final String connectorName, final String jmxTypeName) {
@@ -69,7 +73,7 @@ public class OraCdcLogMinerMgmtBase {
 			sb.append(rdbmsInfo.getInstanceName());
 			sb.append("_");
 			sb.append(rdbmsInfo.getHostName());
-			ObjectName name = new ObjectName(sb.toString());
+			name = new ObjectName(sb.toString());
 			MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
 			mbs.registerMBean(this, name);
 		} catch (MalformedObjectNameException | InstanceAlreadyExistsException | MBeanRegistrationException | NotCompliantMBeanException e) {
@@ -79,6 +83,15 @@ public class OraCdcLogMinerMgmtBase {
 		}
 	}
 
+	public void unregister() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+			LOGGER.debug("MBean {} unregistered.", name);
+		} catch (InstanceNotFoundException | MBeanRegistrationException e) {
+			LOGGER.warn("Unable to unregister MBean {} - {}", name, e.getMessage());
+		}
+	}
+
 	public void start(long startScn) {
 		this.startTimeMillis = System.currentTimeMillis();
 		this.startTime = LocalDateTime.now();
@@ -113,4 +126,9 @@ public class OraCdcLogMinerMgmtBase {
 		}
 	}
 
+	public void addSessionSetup(final long sessionSetupMillis) {
+		sessionSetupCount++;
+		sessionSetupTimeElapsed += sessionSetupMillis;
+	}
+
 }
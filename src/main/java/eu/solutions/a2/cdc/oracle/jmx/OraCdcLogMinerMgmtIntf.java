@@ -27,5 +27,6 @@ public interface OraCdcLogMinerMgmtIntf {
 			final List<String> nowProcessedArchiveLogs, final long currentFirstScn, final long currentNextScn);
 	public void addAlreadyProcessed(final List<String> lastProcessed, final int count, final long size,
 			final long redoReadMillis);
+	public void addSessionSetup(final long sessionSetupMillis);
 
 }
@@ -49,6 +49,48 @@ public interface OraCdcLogMinerMgmtMBean {
 	public long getRedoReadElapsedMillis();
 	public String getRedoReadElapsed();
 	public float getRedoReadMbPerSecond();
+	public int getSessionSetupCount();
+	public long getSessionSetupElapsedMillis();
+	public String getSessionSetupElapsed();
+	public long getBufferedBytes();
+	public int getCommittedWaitingTransactionsCount();
+	public boolean isThrottled();
+	public int getThrottledCount();
+	public long getThrottledElapsedMillis();
+	public String getThrottledElapsed();
+	public String[] getTempDirectories();
+	public long getQueuePoolHits();
+	public long getQueuePoolMisses();
+	public long getReclaimedQueuesCount();
+	public int getPendingQueueDeletesCount();
+	public long getSqlRedoRawBytes();
+	public long getSqlRedoCompressedBytes();
+	public float getSqlRedoCompressionRatio();
+	public long getFilteredRecordsCount();
+	public String[] getFilteredRecordsByTable();
+	public long getNoopUpdatesCount();
+	public int getOpenTransactionsCount();
+	public long getOldestOpenTransactionFirstScn();
+	public String getOldestOpenTransactionXid();
+	public long getOldestOpenTransactionAgeMillis();
+	public String[] listOpenTransactions(int topN, String orderBy);
+	public String[] listCommittedTransactions(int topN, String orderBy);
+	public long getRedoToFetchLatencyP50Millis();
+	public long getRedoToFetchLatencyP99Millis();
+	public long getRedoToFetchLatencyP999Millis();
+	public long getRedoToFetchLatencyMaxMillis();
+	public long getFetchToCommitLatencyP50Millis();
+	public long getFetchToCommitLatencyP99Millis();
+	public long getFetchToCommitLatencyP999Millis();
+	public long getFetchToCommitLatencyMaxMillis();
+	public long getCommitToPollLatencyP50Millis();
+	public long getCommitToPollLatencyP99Millis();
+	public long getCommitToPollLatencyP999Millis();
+	public long getCommitToPollLatencyMaxMillis();
+	public long getParseTimeP50Micros();
+	public long getParseTimeP99Micros();
+	public long getParseTimeP999Micros();
+	public long getParseTimeMaxMicros();
 
 	public void saveCurrentState();
 	public void saveCurrentTablesSchema();
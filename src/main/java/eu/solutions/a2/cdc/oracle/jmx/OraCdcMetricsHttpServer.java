@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.jmx;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+
+/**
+ * 
+ * Optional HTTP endpoint (/metrics) rendering metrics of all oracdc tasks
+ * running in this JVM in OpenMetrics text format.
+ * Server is started by first registered source and stopped after last source is unregistered
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcMetricsHttpServer {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcMetricsHttpServer.class);
+	public static final String PATH = "/metrics";
+
+	private static final List<OraCdcMetricsSource> sources = new CopyOnWriteArrayList<>();
+	private static HttpServer server;
+	private static ExecutorService executor;
+	private static int serverPort;
+
+	public static synchronized void register(final int port, final OraCdcMetricsSource source) {
+		if (server == null) {
+			try {
+				server = HttpServer.create(new InetSocketAddress(port), 0);
+			} catch (IOException ioe) {
+				LOGGER.error("Unable to start metrics HTTP server on port {}!", port);
+				LOGGER.error(ExceptionUtils.getExceptionStackTrace(ioe));
+				throw new ConnectException(ioe);
+			}
+			executor = Executors.newSingleThreadExecutor(r -> {
+				final Thread thread = new Thread(r, "oracdc-metrics-http");
+				thread.setDaemon(true);
+				return thread;
+			});
+			server.setExecutor(executor);
+			server.createContext(PATH, OraCdcMetricsHttpServer::handle);
+			server.start();
+			serverPort = port;
+			LOGGER.info("oracdc metrics are available at http://<host>:{}{}", port, PATH);
+		} else if (port != serverPort) {
+			LOGGER.warn("Metrics HTTP server is already running on port {}, port {} ignored.",
+					serverPort, port);
+		}
+		sources.add(source);
+	}
+
+	public static synchronized void unregister(final OraCdcMetricsSource source) {
+		if (sources.remove(source) && sources.isEmpty() && server != null) {
+			server.stop(0);
+			executor.shutdown();
+			server = null;
+			executor = null;
+			LOGGER.info("oracdc metrics HTTP server on port {} stopped.", serverPort);
+		}
+	}
+
+	/**
+	 * 
+	 * @return metrics of all registered sources in OpenMetrics text format
+	 */
+	public static String scrape() {
+		final OraCdcOpenMetricsWriter writer = new OraCdcOpenMetricsWriter();
+		for (final OraCdcMetricsSource source : sources) {
+			source.collect(writer);
+		}
+		return writer.render();
+	}
+
+	private static void handle(final HttpExchange exchange) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			final byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", OraCdcOpenMetricsWriter.CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream os = exchange.getResponseBody()) {
+				os.write(body);
+			}
+		} catch (RuntimeException re) {
+			LOGGER.error(ExceptionUtils.getExceptionStackTrace(re));
+			exchange.sendResponseHeaders(500, -1);
+		} finally {
+			exchange.close();
+		}
+	}
+
+}
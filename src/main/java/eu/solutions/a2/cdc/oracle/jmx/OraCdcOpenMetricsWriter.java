@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.jmx;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 
+ * Renders metrics in OpenMetrics text format, samples are grouped by metric family
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcOpenMetricsWriter {
+
+	public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+	private static final String PREFIX = "oracdc_";
+	private static final long[] BUCKET_BOUNDS = {
+			1, 2, 5, 10, 20, 50, 100, 200, 500,
+			1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, 200_000, 500_000,
+			1_000_000, 2_000_000, 5_000_000, 10_000_000};
+
+	private final Map<String, Family> families = new LinkedHashMap<>();
+
+	/**
+	 * 
+	 * @param name metric name without "oracdc_" prefix and "_total" suffix
+	 * @param help
+	 * @param value
+	 * @param labels label names and values: name1, value1, name2, value2...
+	 */
+	public void counter(final String name, final String help, final long value, final String... labels) {
+		family(name, "counter", help).sample(PREFIX + name + "_total", labels, null, null, Long.toString(value));
+	}
+
+	public void gauge(final String name, final String help, final long value, final String... labels) {
+		family(name, "gauge", help).sample(PREFIX + name, labels, null, null, Long.toString(value));
+	}
+
+	public void gauge(final String name, final String help, final double value, final String... labels) {
+		family(name, "gauge", help).sample(PREFIX + name, labels, null, null, Double.toString(value));
+	}
+
+	/**
+	 * Renders histogram with cumulative buckets at 1-2-5 bounds from 1 to 10,000,000,
+	 * bucket counts are exact up to 63 and within histogram precision above
+	 * 
+	 * @param name
+	 * @param help
+	 * @param histogram
+	 * @param labels
+	 */
+	public void histogram(final String name, final String help,
+			final OraCdcLatencyHistogram histogram, final String... labels) {
+		final Family family = family(name, "histogram", help);
+		for (final long bound : BUCKET_BOUNDS) {
+			family.sample(PREFIX + name + "_bucket", labels, "le", Long.toString(bound),
+					Long.toString(histogram.getCountAtOrBelow(bound)));
+		}
+		final long count = histogram.getCount();
+		family.sample(PREFIX + name + "_bucket", labels, "le", "+Inf", Long.toString(count));
+		family.sample(PREFIX + name + "_sum", labels, null, null, Long.toString(histogram.getSum()));
+		family.sample(PREFIX + name + "_count", labels, null, null, Long.toString(count));
+	}
+
+	public String render() {
+		final StringBuilder sb = new StringBuilder(4096);
+		families.forEach((name, family) -> {
+			sb.append("# TYPE ");
+			sb.append(PREFIX);
+			sb.append(name);
+			sb.append(' ');
+			sb.append(family.type);
+			sb.append("\n# HELP ");
+			sb.append(PREFIX);
+			sb.append(name);
+			sb.append(' ');
+			escape(sb, family.help, false);
+			sb.append('\n');
+			sb.append(family.samples);
+		});
+		sb.append("# EOF\n");
+		return sb.toString();
+	}
+
+	private Family family(final String name, final String type, final String help) {
+		Family family = families.get(name);
+		if (family == null) {
+			family = new Family(type, help);
+			families.put(name, family);
+		}
+		return family;
+	}
+
+	private static void escape(final StringBuilder sb, final String value, final boolean quote) {
+		for (int i = 0; i < value.length(); i++) {
+			final char ch = value.charAt(i);
+			switch (ch) {
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '"':
+				sb.append(quote ? "\\\"" : "\"");
+				break;
+			default:
+				sb.append(ch);
+			}
+		}
+	}
+
+	private static class Family {
+		private final String type;
+		private final String help;
+		private final StringBuilder samples = new StringBuilder(256);
+
+		Family(final String type, final String help) {
+			this.type = type;
+			this.help = help;
+		}
+
+		void sample(final String sampleName, final String[] labels,
+				final String extraLabel, final String extraValue, final String value) {
+			samples.append(sampleName);
+			if (labels.length > 0 || extraLabel != null) {
+				samples.append('{');
+				boolean first = true;
+				for (int i = 0; i + 1 < labels.length; i += 2) {
+					if (labels[i + 1] == null) {
+						continue;
+					}
+					if (!first) {
+						samples.append(',');
+					}
+					samples.append(labels[i]);
+					samples.append("=\"");
+					escape(samples, labels[i + 1], true);
+					samples.append('"');
+					first = false;
+				}
+				if (extraLabel != null) {
+					if (!first) {
+						samples.append(',');
+					}
+					samples.append(extraLabel);
+					samples.append("=\"");
+					samples.append(extraValue);
+					samples.append('"');
+				}
+				samples.append('}');
+			}
+			samples.append(' ');
+			samples.append(value);
+			samples.append('\n');
+		}
+	}
+
+}
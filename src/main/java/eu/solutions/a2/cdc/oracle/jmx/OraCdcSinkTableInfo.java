@@ -41,6 +41,7 @@ public class OraCdcSinkTableInfo implements OraCdcSinkTableInfoMBean {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcSinkTableInfoMBean.class);
 
+	private final String tableName;
 	private long startTimeMillis;
 	private LocalDateTime startTime;
 	private long elapsedUpsertNanos;
@@ -49,6 +50,7 @@ public class OraCdcSinkTableInfo implements OraCdcSinkTableInfoMBean {
 	private long deleteRecordsCount;
 
 	public OraCdcSinkTableInfo(final String tableName) {
+		this.tableName = tableName;
 		this.startTimeMillis = System.currentTimeMillis();
 		this.startTime = LocalDateTime.now();
 		this.elapsedUpsertNanos = 0;
@@ -98,6 +100,23 @@ public class OraCdcSinkTableInfo implements OraCdcSinkTableInfoMBean {
 		return (upsertRecordsCount + deleteRecordsCount);
 	}
 
+	/**
+	 * Renders table metrics for OraCdcMetricsHttpServer
+	 * 
+	 * @param writer
+	 * @param connectorName
+	 */
+	public void collectMetrics(final OraCdcOpenMetricsWriter writer, final String connectorName, final String taskId) {
+		writer.counter("sink_table_upserts", "Upserted records",
+				upsertRecordsCount, "connector", connectorName, "task", taskId, "table", tableName);
+		writer.counter("sink_table_upsert_nanos", "Time spent on upserts",
+				elapsedUpsertNanos, "connector", connectorName, "task", taskId, "table", tableName);
+		writer.counter("sink_table_deletes", "Deleted records",
+				deleteRecordsCount, "connector", connectorName, "task", taskId, "table", tableName);
+		writer.counter("sink_table_delete_nanos", "Time spent on deletes",
+				elapsedDeleteNanos, "connector", connectorName, "task", taskId, "table", tableName);
+	}
+
 	public void addUpsert(int processed, long opNanos) {
 		upsertRecordsCount += processed;
 		elapsedUpsertNanos += opNanos;
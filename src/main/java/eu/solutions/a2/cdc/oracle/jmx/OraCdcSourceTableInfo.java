@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.solutions.a2.cdc.oracle.OraLogMiner;
+import eu.solutions.a2.cdc.oracle.utils.ExceptionUtils;
+
+/**
+ * 
+ * Per-table metrics of LogMiner source task.
+ * Registered when first record for table is processed and unregistered
+ * by task when table is idle (see a2.table.metrics.idle.ms)
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcSourceTableInfo implements OraCdcSourceTableInfoMBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OraCdcSourceTableInfo.class);
+
+	private final String tableName;
+	private final ObjectName name;
+	private final long startTimeMillis;
+	private final LocalDateTime startTime;
+	private final LongAdder insertCount = new LongAdder();
+	private final LongAdder updateCount = new LongAdder();
+	private final LongAdder deleteCount = new LongAdder();
+	private final LongAdder recordsSentCount = new LongAdder();
+	private final LongAdder redoBytes = new LongAdder();
+	private final LongAdder parseNanos = new LongAdder();
+	private volatile long lastScn = 0;
+	private volatile long lastRecordMillis;
+
+	public OraCdcSourceTableInfo(final String connectorName, final String tableName) {
+		this.tableName = tableName;
+		this.startTimeMillis = System.currentTimeMillis();
+		this.startTime = LocalDateTime.now();
+		this.lastRecordMillis = startTimeMillis;
+		try {
+			final StringBuilder sb = new StringBuilder(96);
+			sb.append("eu.solutions.a2.oracdc:type=LogMiner-table-metrics,name=");
+			sb.append(connectorName);
+			sb.append(",tableName=");
+			sb.append(ObjectName.quote(tableName));
+			name = new ObjectName(sb.toString());
+			MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+			mbs.registerMBean(this, name);
+			LOGGER.debug("MBean {} registered.", sb.toString());
+		} catch (MalformedObjectNameException | InstanceAlreadyExistsException | MBeanRegistrationException | NotCompliantMBeanException e) {
+			LOGGER.error("Unable to register MBean - " + e.getMessage() + " !!!!");
+			LOGGER.error(ExceptionUtils.getExceptionStackTrace(e));
+			throw new ConnectException(e);
+		}
+	}
+
+	/**
+	 * 
+	 * @param operation V$LOGMNR_CONTENTS.OPERATION_CODE
+	 * @param redoLength length of SQL_REDO
+	 * @param elapsedNanos time to parse SQL_REDO
+	 * @param scn SCN of record
+	 * @param sent true if record was sent to Kafka, false if record was skipped
+	 */
+	public void addRecord(final short operation, final int redoLength,
+			final long elapsedNanos, final long scn, final boolean sent) {
+		switch (operation) {
+		case OraLogMiner.V$LOGMNR_CONTENTS_INSERT:
+			insertCount.increment();
+			break;
+		case OraLogMiner.V$LOGMNR_CONTENTS_UPDATE:
+			updateCount.increment();
+			break;
+		case OraLogMiner.V$LOGMNR_CONTENTS_DELETE:
+			deleteCount.increment();
+			break;
+		}
+		if (sent) {
+			recordsSentCount.increment();
+		}
+		redoBytes.add(redoLength);
+		parseNanos.add(elapsedNanos);
+		lastScn = scn;
+		lastRecordMillis = System.currentTimeMillis();
+	}
+
+	/**
+	 * Renders table metrics for OraCdcMetricsHttpServer
+	 * 
+	 * @param writer
+	 * @param connectorName
+	 */
+	public void collectMetrics(final OraCdcOpenMetricsWriter writer, final String connectorName) {
+		writer.counter("logminer_table_inserts", "INSERT redo records processed",
+				insertCount.sum(), "connector", connectorName, "table", tableName);
+		writer.counter("logminer_table_updates", "UPDATE redo records processed",
+				updateCount.sum(), "connector", connectorName, "table", tableName);
+		writer.counter("logminer_table_deletes", "DELETE redo records processed",
+				deleteCount.sum(), "connector", connectorName, "table", tableName);
+		writer.counter("logminer_table_sent_records", "Records sent to Kafka",
+				recordsSentCount.sum(), "connector", connectorName, "table", tableName);
+		writer.counter("logminer_table_redo_bytes", "Length of processed SQL_REDO",
+				redoBytes.sum(), "connector", connectorName, "table", tableName);
+		writer.counter("logminer_table_parse_nanos", "Time spent parsing SQL_REDO",
+				parseNanos.sum(), "connector", connectorName, "table", tableName);
+		writer.gauge("logminer_table_last_scn", "SCN of last processed redo record",
+				lastScn, "connector", connectorName, "table", tableName);
+	}
+
+	public void unregister() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+			LOGGER.debug("MBean {} unregistered.", name);
+		} catch (InstanceNotFoundException | MBeanRegistrationException e) {
+			LOGGER.warn("Unable to unregister MBean {} - {}", name, e.getMessage());
+		}
+	}
+
+	@Override
+	public String getTableName() {
+		return tableName;
+	}
+	@Override
+	public String getStartTime() {
+		return startTime.format(DateTimeFormatter.ISO_DATE_TIME);
+	}
+	@Override
+	public long getElapsedTimeMillis() {
+		return System.currentTimeMillis() - startTimeMillis;
+	}
+	@Override
+	public String getElapsedTime() {
+		Duration duration = Duration.ofMillis(System.currentTimeMillis() - startTimeMillis);
+		return OraCdcMBeanUtils.formatDuration(duration);
+	}
+	@Override
+	public long getInsertCount() {
+		return insertCount.sum();
+	}
+	@Override
+	public long getUpdateCount() {
+		return updateCount.sum();
+	}
+	@Override
+	public long getDeleteCount() {
+		return deleteCount.sum();
+	}
+	@Override
+	public long getRecordsSentCount() {
+		return recordsSentCount.sum();
+	}
+	@Override
+	public long getRedoBytes() {
+		return redoBytes.sum();
+	}
+	@Override
+	public long getParseTimeNanos() {
+		return parseNanos.sum();
+	}
+	@Override
+	public String getParseTime() {
+		Duration duration = Duration.ofNanos(parseNanos.sum());
+		return OraCdcMBeanUtils.formatDuration(duration);
+	}
+	@Override
+	public long getLastScn() {
+		return lastScn;
+	}
+	@Override
+	public String getLastRecordTime() {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(lastRecordMillis), ZoneId.systemDefault())
+				.format(DateTimeFormatter.ISO_DATE_TIME);
+	}
+	@Override
+	public long getIdleTimeMillis() {
+		return System.currentTimeMillis() - lastRecordMillis;
+	}
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.jmx;
+
+import java.util.Comparator;
+
+import eu.solutions.a2.cdc.oracle.OraCdcTransaction;
+
+/**
+ * 
+ * Immutable copy of transaction attributes taken by JMX thread
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcTransactionInfo {
+
+	public static final String ORDER_BY_ROWS = "ROWS";
+	public static final String ORDER_BY_BYTES = "BYTES";
+	public static final String ORDER_BY_SCN = "SCN";
+	public static final String ORDER_BY_AGE = "AGE";
+
+	private final String xid;
+	private final long firstChange;
+	private final Long commitScn;
+	private final int length;
+	private final long spilledBytes;
+	private final long firstFetchMillis;
+	private final String queueDirectory;
+
+	public OraCdcTransactionInfo(final OraCdcTransaction transaction) {
+		this.xid = transaction.getXid();
+		this.firstChange = transaction.getFirstChange();
+		this.commitScn = transaction.getCommitScn();
+		this.length = transaction.length();
+		this.spilledBytes = transaction.getSpilledBytes();
+		this.firstFetchMillis = transaction.getFirstFetchMillis();
+		this.queueDirectory = transaction.getPath() == null ? null : transaction.getPath().toString();
+	}
+
+	public String getXid() {
+		return xid;
+	}
+
+	public long getFirstChange() {
+		return firstChange;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public long getSpilledBytes() {
+		return spilledBytes;
+	}
+
+	public long getFirstFetchMillis() {
+		return firstFetchMillis;
+	}
+
+	/**
+	 * 
+	 * @param orderBy one of ROWS, BYTES, SCN or AGE
+	 * @return comparator placing largest, oldest transactions first
+	 */
+	public static Comparator<OraCdcTransactionInfo> comparator(final String orderBy) {
+		if (orderBy == null || ORDER_BY_ROWS.equalsIgnoreCase(orderBy)) {
+			return Comparator.comparingInt(OraCdcTransactionInfo::getLength).reversed();
+		} else if (ORDER_BY_BYTES.equalsIgnoreCase(orderBy)) {
+			return Comparator.comparingLong(OraCdcTransactionInfo::getSpilledBytes).reversed();
+		} else if (ORDER_BY_SCN.equalsIgnoreCase(orderBy)) {
+			return Comparator.comparingLong(OraCdcTransactionInfo::getFirstChange);
+		} else if (ORDER_BY_AGE.equalsIgnoreCase(orderBy)) {
+			return Comparator.comparingLong(OraCdcTransactionInfo::getFirstFetchMillis);
+		} else {
+			throw new IllegalArgumentException("Unknown order '" + orderBy +
+					"', valid values are " + ORDER_BY_ROWS + ", " + ORDER_BY_BYTES + ", " +
+					ORDER_BY_SCN + " and " + ORDER_BY_AGE + "!");
+		}
+	}
+
+	public String toString(final long nowMillis) {
+		final StringBuilder sb = new StringBuilder(256);
+		sb.append("XID=");
+		sb.append(xid);
+		sb.append(", FIRST_CHANGE#=");
+		sb.append(firstChange);
+		if (commitScn != null) {
+			sb.append(", COMMIT_SCN=");
+			sb.append(commitScn);
+		}
+		sb.append(", ROWS=");
+		sb.append(length);
+		sb.append(", SPILLED_BYTES=");
+		sb.append(spilledBytes);
+		sb.append(", AGE_MS=");
+		sb.append(nowMillis - firstFetchMillis);
+		sb.append(", QUEUE=");
+		sb.append(queueDirectory);
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return toString(System.currentTimeMillis());
+	}
+
+}
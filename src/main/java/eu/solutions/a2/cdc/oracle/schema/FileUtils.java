@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
+import eu.solutions.a2.cdc.oracle.OraCdcColumnProjection;
 import eu.solutions.a2.cdc.oracle.OraTable4LogMiner;
 import eu.solutions.a2.cdc.oracle.ParamConstants;
 
@@ -40,8 +41,22 @@ public class FileUtils {
 
 	public static Map<Long, OraTable4LogMiner> readDictionaryFile(
 			final String fileName, Integer schemaType) throws IOException {
+		return readDictionaryFile(fileName, schemaType, null);
+	}
+
+	/**
+	 * 
+	 * @param fileName         dictionary file
+	 * @param schemaType       schema type, when null ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD is used
+	 * @param columnProjection a2.column.include/a2.column.exclude applied to stored columns, can be null
+	 * @return table definitions
+	 * @throws IOException
+	 */
+	public static Map<Long, OraTable4LogMiner> readDictionaryFile(
+			final String fileName, Integer schemaType,
+			final OraCdcColumnProjection columnProjection) throws IOException {
 		InputStream is = new FileInputStream(fileName);
-		Map<Long, OraTable4LogMiner> schemas = readDictionaryFile(is, schemaType);
+		Map<Long, OraTable4LogMiner> schemas = readDictionaryFile(is, schemaType, columnProjection);
 		is.close();
 		return schemas;
 	}
@@ -49,13 +64,14 @@ public class FileUtils {
 	public static Map<Long, OraTable4LogMiner> readDictionaryFile(
 			final File file, Integer schemaType) throws IOException {
 		InputStream is = new FileInputStream(file);
-		Map<Long, OraTable4LogMiner> schemas = readDictionaryFile(is, schemaType);
+		Map<Long, OraTable4LogMiner> schemas = readDictionaryFile(is, schemaType, null);
 		is.close();
 		return schemas;
 	}
 
 	private static Map<Long, OraTable4LogMiner> readDictionaryFile(
-			final InputStream is, Integer schemaType) throws IOException {
+			final InputStream is, Integer schemaType,
+			final OraCdcColumnProjection columnProjection) throws IOException {
 		Map<String, Map<String, Object>> fileData = new HashMap<>();
 		final ObjectReader reader = new ObjectMapper()
 				.readerFor(fileData.getClass());
@@ -64,7 +80,8 @@ public class FileUtils {
 		try {
 			fileData.forEach((k, v) -> {
 				schemas.put(Long.parseLong(k), new OraTable4LogMiner(v, 
-					(schemaType == null) ? ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD : schemaType));
+					(schemaType == null) ? ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD : schemaType,
+					columnProjection));
 			});
 		} catch (Exception e) {
 			throw new IOException(e);
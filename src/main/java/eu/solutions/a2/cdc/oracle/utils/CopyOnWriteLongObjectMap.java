@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 
+ * Thread safe map with primitive long keys for read mostly data like table definitions.
+ * Readers use volatile snapshot without locking and without boxing of keys,
+ * every modification copies snapshot.
+ * 
+ * @author averemee
+ *
+ * @param <V> type of values
+ */
+public class CopyOnWriteLongObjectMap<V> extends AbstractMap<Long, V> {
+
+	private volatile LongObjectHashMap<V> snapshot;
+
+	public CopyOnWriteLongObjectMap() {
+		snapshot = new LongObjectHashMap<>();
+	}
+
+	public CopyOnWriteLongObjectMap(final Map<Long, ? extends V> source) {
+		final LongObjectHashMap<V> initial = new LongObjectHashMap<>(source.size());
+		source.forEach((key, value) -> initial.put(key, value));
+		snapshot = initial;
+	}
+
+	public V get(final long key) {
+		return snapshot.get(key);
+	}
+
+	public boolean containsKey(final long key) {
+		return snapshot.get(key) != null;
+	}
+
+	public synchronized V put(final long key, final V value) {
+		final LongObjectHashMap<V> copy = new LongObjectHashMap<>(snapshot);
+		final V previous = copy.put(key, value);
+		snapshot = copy;
+		return previous;
+	}
+
+	public synchronized V remove(final long key) {
+		if (snapshot.get(key) == null) {
+			return null;
+		}
+		final LongObjectHashMap<V> copy = new LongObjectHashMap<>(snapshot);
+		final V previous = copy.remove(key);
+		snapshot = copy;
+		return previous;
+	}
+
+	@Override
+	public V get(final Object key) {
+		return (key instanceof Long) ? snapshot.get((Long) key) : null;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return (key instanceof Long) && snapshot.get((Long) key) != null;
+	}
+
+	@Override
+	public V put(final Long key, final V value) {
+		return put(key.longValue(), value);
+	}
+
+	@Override
+	public V remove(final Object key) {
+		return (key instanceof Long) ? remove(((Long) key).longValue()) : null;
+	}
+
+	@Override
+	public synchronized void clear() {
+		snapshot = new LongObjectHashMap<>();
+	}
+
+	@Override
+	public int size() {
+		return snapshot.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return snapshot.isEmpty();
+	}
+
+	@Override
+	public void forEach(final BiConsumer<? super Long, ? super V> action) {
+		snapshot.forEach((key, value) -> action.accept(key, value));
+	}
+
+	@Override
+	public Set<Map.Entry<Long, V>> entrySet() {
+		final LongObjectHashMap<V> current = snapshot;
+		final List<Map.Entry<Long, V>> entries = new ArrayList<>(current.size());
+		current.forEach((key, value) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(key, value)));
+		return new AbstractSet<Map.Entry<Long, V>>() {
+			@Override
+			public Iterator<Map.Entry<Long, V>> iterator() {
+				return entries.iterator();
+			}
+			@Override
+			public int size() {
+				return entries.size();
+			}
+		};
+	}
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.utils;
+
+/**
+ * 
+ * Hash set of primitive long values, backed by {@link LongObjectHashMap}.
+ * Not thread safe.
+ * 
+ * @author averemee
+ *
+ */
+public class LongHashSet {
+
+	private static final Object PRESENT = Boolean.TRUE;
+
+	private final LongObjectHashMap<Object> map;
+
+	public LongHashSet() {
+		map = new LongObjectHashMap<>();
+	}
+
+	/**
+	 * Creates copy of set
+	 * 
+	 * @param source
+	 */
+	public LongHashSet(final LongHashSet source) {
+		map = new LongObjectHashMap<>(source.map);
+	}
+
+	public boolean contains(final long value) {
+		return map.get(value) != null;
+	}
+
+	public boolean add(final long value) {
+		return map.put(value, PRESENT) == null;
+	}
+
+	public boolean remove(final long value) {
+		return map.remove(value) != null;
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public void clear() {
+		map.clear();
+	}
+
+	public long[] toArray() {
+		return map.keys();
+	}
+
+}
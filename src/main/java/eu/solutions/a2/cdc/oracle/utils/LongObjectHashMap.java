@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 
+ * Open addressing (linear probing) hash map with primitive long keys.
+ * Lookups do not box keys. Not thread safe, null values are not allowed.
+ * 
+ * @author averemee
+ *
+ * @param <V> type of values
+ */
+public class LongObjectHashMap<V> {
+
+	private static final int DEFAULT_EXPECTED_SIZE = 16;
+	private static final long PHI = 0x9E3779B97F4A7C15L;
+
+	private long[] keys;
+	// null value marks free slot
+	private Object[] values;
+	private int size;
+	private int mask;
+	private int resizeAt;
+
+	@FunctionalInterface
+	public interface EntryConsumer<V> {
+		void accept(final long key, final V value);
+	}
+
+	public LongObjectHashMap() {
+		this(DEFAULT_EXPECTED_SIZE);
+	}
+
+	public LongObjectHashMap(final int expectedSize) {
+		allocate(capacityFor(expectedSize));
+	}
+
+	/**
+	 * Creates copy of map
+	 * 
+	 * @param source
+	 */
+	public LongObjectHashMap(final LongObjectHashMap<V> source) {
+		this.keys = source.keys.clone();
+		this.values = source.values.clone();
+		this.size = source.size;
+		this.mask = source.mask;
+		this.resizeAt = source.resizeAt;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(final long key) {
+		int pos = slot(key);
+		Object value;
+		while ((value = values[pos]) != null) {
+			if (keys[pos] == key) {
+				return (V) value;
+			}
+			pos = (pos + 1) & mask;
+		}
+		return null;
+	}
+
+	public boolean containsKey(final long key) {
+		return get(key) != null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V put(final long key, final V value) {
+		if (value == null) {
+			throw new NullPointerException("Null values are not supported!");
+		}
+		int pos = slot(key);
+		Object existing;
+		while ((existing = values[pos]) != null) {
+			if (keys[pos] == key) {
+				values[pos] = value;
+				return (V) existing;
+			}
+			pos = (pos + 1) & mask;
+		}
+		keys[pos] = key;
+		values[pos] = value;
+		if (++size > resizeAt) {
+			rehash(values.length << 1);
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V remove(final long key) {
+		int pos = slot(key);
+		Object value;
+		while ((value = values[pos]) != null) {
+			if (keys[pos] == key) {
+				shiftKeys(pos);
+				size--;
+				return (V) value;
+			}
+			pos = (pos + 1) & mask;
+		}
+		return null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		if (size > 0) {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = null;
+			}
+			size = 0;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public void forEach(final EntryConsumer<? super V> action) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				action.accept(keys[i], (V) values[i]);
+			}
+		}
+	}
+
+	public long[] keys() {
+		final long[] result = new long[size];
+		int index = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				result[index++] = keys[i];
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<V> values() {
+		final List<V> result = new ArrayList<>(size);
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				result.add((V) values[i]);
+			}
+		}
+		return result;
+	}
+
+	private int slot(final long key) {
+		final long hash = key * PHI;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	/**
+	 * Backward shift deletion, keeps probe sequences without tombstones
+	 * 
+	 * @param pos free slot
+	 */
+	private void shiftKeys(int pos) {
+		int last;
+		while (true) {
+			last = pos;
+			pos = (pos + 1) & mask;
+			while (true) {
+				if (values[pos] == null) {
+					values[last] = null;
+					return;
+				}
+				final int home = slot(keys[pos]);
+				if (last <= pos ? (last >= home || home > pos) : (last >= home && home > pos)) {
+					break;
+				}
+				pos = (pos + 1) & mask;
+			}
+			keys[last] = keys[pos];
+			values[last] = values[pos];
+		}
+	}
+
+	private void rehash(final int capacity) {
+		final long[] oldKeys = keys;
+		final Object[] oldValues = values;
+		allocate(capacity);
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				int pos = slot(oldKeys[i]);
+				while (values[pos] != null) {
+					pos = (pos + 1) & mask;
+				}
+				keys[pos] = oldKeys[i];
+				values[pos] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(final int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		// Load factor 0.5 keeps probe sequences short
+		resizeAt = capacity >> 1;
+	}
+
+	private static int capacityFor(final int expectedSize) {
+		final int required = Math.max(4, expectedSize << 1);
+		return Integer.highestOneBit(required - 1) << 1;
+	}
+
+}
@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * 
+ * Compression of V$LOGMNR_CONTENTS.SQL_REDO for transaction queues.
+ * Frequent SQL_REDO fragments are replaced with two byte codes and result is
+ * compressed with LZ4 block compression.
+ * 
+ * @author averemee
+ *
+ */
+public class SqlRedoCompressor {
+
+	private static final byte ESCAPE = 0x01;
+	private static final String[] TOKENS = {
+		"insert into \"",
+		"update \"",
+		"delete from \"",
+		"\".\"",
+		"\"(\"",
+		"\",\"",
+		"\") values (",
+		"','",
+		"');",
+		"\" set \"",
+		"\" = '",
+		"' where \"",
+		"' and \"",
+		"\" where \"",
+		"\" IS NULL",
+		" and ROWID = '",
+		" where ROWID = '",
+		"HEXTORAW('",
+		"TO_DATE('",
+		"TO_TIMESTAMP('",
+		"TO_TIMESTAMP_TZ('",
+		"', 'DD-MON-RR')",
+		"', 'DD-MON-RR HH24:MI:SS')",
+		"', 'DD-MON-RR HH24.MI.SSXFF')",
+		"EMPTY_CLOB()",
+		"EMPTY_BLOB()",
+		"NULL,",
+		"NULL",
+		"', \"",
+		"\" = NULL",
+		"000000",
+		"FFFFFF"
+	};
+	private static final byte[][] TOKEN_BYTES;
+	/** Token indexes by first byte, longest token first */
+	private static final int[][] TOKENS_BY_FIRST_BYTE;
+	private static final LZ4Compressor COMPRESSOR;
+	private static final LZ4FastDecompressor DECOMPRESSOR;
+
+	private static final AtomicLong rawBytes = new AtomicLong(0);
+	private static final AtomicLong compressedBytes = new AtomicLong(0);
+
+	static {
+		TOKEN_BYTES = new byte[TOKENS.length][];
+		for (int i = 0; i < TOKENS.length; i++) {
+			TOKEN_BYTES[i] = TOKENS[i].getBytes(StandardCharsets.US_ASCII);
+		}
+		TOKENS_BY_FIRST_BYTE = new int[256][];
+		for (int b = 0; b < 256; b++) {
+			int count = 0;
+			for (byte[] token : TOKEN_BYTES) {
+				if ((token[0] & 0xFF) == b) {
+					count++;
+				}
+			}
+			if (count > 0) {
+				final int[] indexes = new int[count];
+				count = 0;
+				// TOKENS are checked in order, longer tokens with same prefix must be listed first
+				for (int i = 0; i < TOKEN_BYTES.length; i++) {
+					if ((TOKEN_BYTES[i][0] & 0xFF) == b) {
+						indexes[count++] = i;
+					}
+				}
+				TOKENS_BY_FIRST_BYTE[b] = indexes;
+			}
+		}
+		final LZ4Factory factory = LZ4Factory.fastestInstance();
+		COMPRESSOR = factory.fastCompressor();
+		DECOMPRESSOR = factory.fastDecompressor();
+	}
+
+	/**
+	 * Compressed SQL_REDO
+	 */
+	public static class Block {
+		/** length of SQL_REDO after token substitution */
+		public final int substitutedLength;
+		public final byte[] data;
+		public final int length;
+
+		public Block(final int substitutedLength, final byte[] data, final int length) {
+			this.substitutedLength = substitutedLength;
+			this.data = data;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Compresses SQL_REDO
+	 * 
+	 * @param sqlRedo  SQL_REDO
+	 * @return compressed block or null when compression does not reduce size
+	 */
+	public static Block compress(final String sqlRedo) {
+		if (sqlRedo == null || sqlRedo.length() == 0) {
+			return null;
+		}
+		final byte[] source = sqlRedo.getBytes(StandardCharsets.UTF_8);
+		final byte[] substituted = substitute(source);
+		final byte[] compressed = new byte[COMPRESSOR.maxCompressedLength(substituted.length)];
+		final int compressedLength = COMPRESSOR.compress(
+				substituted, 0, substituted.length, compressed, 0, compressed.length);
+		rawBytes.addAndGet(source.length);
+		// Two stop bit encoded lengths are stored with compressed data
+		if (compressedLength + 4 < source.length) {
+			compressedBytes.addAndGet(compressedLength + 4);
+			return new Block(substituted.length, compressed, compressedLength);
+		} else {
+			compressedBytes.addAndGet(source.length);
+			return null;
+		}
+	}
+
+	/**
+	 * Restores SQL_REDO
+	 * 
+	 * @param substitutedLength  length of SQL_REDO after token substitution
+	 * @param data               LZ4 compressed data
+	 * @return SQL_REDO
+	 */
+	public static String decompress(final int substitutedLength, final byte[] data) {
+		final byte[] substituted = new byte[substitutedLength];
+		DECOMPRESSOR.decompress(data, 0, substituted, 0, substitutedLength);
+		return new String(expand(substituted), StandardCharsets.UTF_8);
+	}
+
+	static byte[] substitute(final byte[] source) {
+		final byte[] result = new byte[source.length * 2];
+		int pos = 0;
+		int i = 0;
+		while (i < source.length) {
+			final byte b = source[i];
+			if (b == ESCAPE) {
+				result[pos++] = ESCAPE;
+				result[pos++] = 0;
+				i++;
+				continue;
+			}
+			final int[] candidates = TOKENS_BY_FIRST_BYTE[b & 0xFF];
+			int matched = -1;
+			if (candidates != null) {
+				for (int index : candidates) {
+					if (matches(source, i, TOKEN_BYTES[index])) {
+						matched = index;
+						break;
+					}
+				}
+			}
+			if (matched < 0) {
+				result[pos++] = b;
+				i++;
+			} else {
+				result[pos++] = ESCAPE;
+				result[pos++] = (byte) (matched + 1);
+				i += TOKEN_BYTES[matched].length;
+			}
+		}
+		final byte[] trimmed = new byte[pos];
+		System.arraycopy(result, 0, trimmed, 0, pos);
+		return trimmed;
+	}
+
+	static byte[] expand(final byte[] substituted) {
+		int length = 0;
+		for (int i = 0; i < substituted.length; i++) {
+			if (substituted[i] == ESCAPE) {
+				final int code = substituted[++i];
+				length += code == 0 ? 1 : TOKEN_BYTES[code - 1].length;
+			} else {
+				length++;
+			}
+		}
+		final byte[] result = new byte[length];
+		int pos = 0;
+		for (int i = 0; i < substituted.length; i++) {
+			if (substituted[i] == ESCAPE) {
+				final int code = substituted[++i];
+				if (code == 0) {
+					result[pos++] = ESCAPE;
+				} else {
+					final byte[] token = TOKEN_BYTES[code - 1];
+					System.arraycopy(token, 0, result, pos, token.length);
+					pos += token.length;
+				}
+			} else {
+				result[pos++] = substituted[i];
+			}
+		}
+		return result;
+	}
+
+	private static boolean matches(final byte[] source, final int offset, final byte[] token) {
+		if (offset + token.length > source.length) {
+			return false;
+		}
+		for (int i = 1; i < token.length; i++) {
+			if (source[offset + i] != token[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static long getRawBytes() {
+		return rawBytes.get();
+	}
+
+	public static long getCompressedBytes() {
+		return compressedBytes.get();
+	}
+
+}
@@ -427,4 +427,40 @@ public class TargetDbSqlUtils {
 		return generatedSql;
 	}
 
+	/**
+	 * 
+	 * @param tableName
+	 * @param pkColumns
+	 * @param columns    columns to update
+	 * @return update statement for given columns with PK columns in WHERE clause
+	 */
+	public static String partialUpdateSql(final String tableName,
+			final Map<String, OraColumn> pkColumns,
+			final List<OraColumn> columns) {
+		final StringBuilder sb = new StringBuilder(256);
+		sb.append("update ");
+		sb.append(tableName);
+		sb.append(" set ");
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) {
+				sb.append(",");
+			}
+			sb.append(columns.get(i).getColumnName());
+			sb.append("=?");
+		}
+		sb.append(" where ");
+		Iterator<Entry<String, OraColumn>> iterator = pkColumns.entrySet().iterator();
+		boolean firstColumn = true;
+		while (iterator.hasNext()) {
+			if (firstColumn) {
+				firstColumn = false;
+			} else {
+				sb.append(" and ");
+			}
+			sb.append(iterator.next().getValue().getColumnName());
+			sb.append("=?");
+		}
+		return sb.toString();
+	}
+
 }
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.utils.CopyOnWriteLongObjectMap;
+import eu.solutions.a2.cdc.oracle.utils.LongHashSet;
+import eu.solutions.a2.cdc.oracle.utils.LongObjectHashMap;
+
+public class LongObjectHashMapTest {
+
+	@Test
+	public void test() {
+		final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+		final Map<Long, String> expected = new HashMap<>();
+		final Random random = new Random(20201019);
+		for (int i = 0; i < 100_000; i++) {
+			// Small key range to get collisions, removals and updates
+			final long key = (((long) random.nextInt(2048)) << 32) | random.nextInt(512);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), map.remove(key));
+			} else {
+				final String value = Integer.toString(i);
+				assertEquals(expected.put(key, value), map.put(key, value));
+			}
+		}
+		assertEquals(expected.size(), map.size());
+		expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+		map.forEach((key, value) -> assertEquals(expected.get(key), value));
+		assertNull(map.get(-1L));
+
+		final LongObjectHashMap<String> copy = new LongObjectHashMap<>(map);
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertEquals(expected.size(), copy.size());
+
+		final long combinedId = (3L << 32) | 74590L;
+		final LongHashSet set = new LongHashSet();
+		assertTrue(set.add(combinedId));
+		assertFalse(set.add(combinedId));
+		assertTrue(set.contains(combinedId));
+		assertFalse(set.contains(74590L));
+		assertEquals(1, set.size());
+		assertEquals(combinedId, set.toArray()[0]);
+	}
+
+	@Test
+	public void testCopyOnWrite() {
+		final CopyOnWriteLongObjectMap<String> map = new CopyOnWriteLongObjectMap<>();
+		final long combinedId = (3L << 32) | 74590L;
+		map.put(combinedId, "SCOTT.DEPT");
+		assertEquals("SCOTT.DEPT", map.get(combinedId));
+		assertTrue(map.containsKey(Long.valueOf(combinedId)));
+		assertEquals(1, map.entrySet().size());
+		assertEquals("SCOTT.DEPT", map.remove(combinedId));
+		assertTrue(map.isEmpty());
+
+	}
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.solutions.a2.cdc.oracle.schema.FileUtils;
+
+public class OraCdcColumnProjectionTest {
+
+	@Test
+	public void test() {
+		final OraCdcColumnProjection projection = new OraCdcColumnProjection(
+				Arrays.asList("ont.oe_order_lines_all.line_id", "ONT.OE_ORDER_LINES_ALL.ORDERED_QUANTITY"),
+				Arrays.asList("SCOTT.EMP.COMM"));
+
+		assertTrue(projection.hasRules("ONT", "OE_ORDER_LINES_ALL"));
+		assertTrue(projection.isProjected("ONT", "OE_ORDER_LINES_ALL", "LINE_ID"));
+		assertTrue(projection.isProjected("ONT", "OE_ORDER_LINES_ALL", "ORDERED_QUANTITY"));
+		assertFalse(projection.isProjected("ONT", "OE_ORDER_LINES_ALL", "ATTRIBUTE1"));
+
+		assertTrue(projection.hasRules("SCOTT", "EMP"));
+		assertTrue(projection.isProjected("SCOTT", "EMP", "SAL"));
+		assertFalse(projection.isProjected("SCOTT", "EMP", "COMM"));
+
+		assertFalse(projection.hasRules("SCOTT", "DEPT"));
+		assertTrue(projection.isProjected("SCOTT", "DEPT", "DNAME"));
+
+		assertTrue(OraCdcColumnProjection.isValidEntry(" SCOTT.EMP.SAL "));
+		assertFalse(OraCdcColumnProjection.isValidEntry("EMP.SAL"));
+		assertFalse(OraCdcColumnProjection.isValidEntry("SCOTT..SAL"));
+		assertFalse(OraCdcColumnProjection.isValidEntry("SCOTT.EMP."));
+	}
+
+	@Test
+	public void testDictionaryFile() throws IOException {
+		final Map<String, Object> tableData = OraCdcTestFixtures.tableData("SCOTT", "EMP",
+				OraCdcTestFixtures.column("EMPNO", Types.INTEGER, true),
+				OraCdcTestFixtures.column("SAL", Types.INTEGER, false),
+				OraCdcTestFixtures.column("COMM", Types.INTEGER, false));
+		final File dictionary = File.createTempFile("oracdc-dictionary", ".json");
+		dictionary.deleteOnExit();
+		new ObjectMapper().writeValue(dictionary, Collections.singletonMap("74590", tableData));
+
+		final OraCdcColumnProjection projection = new OraCdcColumnProjection(
+				null, Arrays.asList("SCOTT.EMP.COMM"));
+		final OraTable4LogMiner table = FileUtils.readDictionaryFile(
+				dictionary.getAbsolutePath(), null, projection).get(74590L);
+		assertEquals(2, table.getAllColumns().size());
+		assertFalse(table.getAllColumns().stream().anyMatch(column -> "COMM".equals(column.getColumnName())));
+	}
+
+	@Test(expected = ConnectException.class)
+	public void testInvalidEntry() {
+		new OraCdcColumnProjection(Arrays.asList("SCOTT.EMP"), null);
+	}
+
+}
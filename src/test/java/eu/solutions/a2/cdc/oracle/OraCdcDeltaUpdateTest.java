@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.utils.TargetDbSqlUtils;
+
+public class OraCdcDeltaUpdateTest {
+
+	private static final String SALES = "53414c4553";
+	private static final String BOSTON = "424f53544f4e";
+	private static final String DALLAS = "44414c4c4153";
+
+	@Test
+	public void test() throws SQLException {
+		final OraTable4LogMiner table = table();
+
+		// DNAME changed, LOC is nullable and unchanged, BUDGET is mandatory and unchanged
+		final OraCdcLogMinerStatement update = update(
+				"update \"SCOTT\".\"DEPT\" set \"DNAME\" = '" + SALES + "' where \"DEPTNO\" = 'c10b' and \"DNAME\" = '" +
+				DALLAS + "' and \"LOC\" = '" + BOSTON + "' and \"BUDGET\" = 'c20b' and ROWID = 'AAAWbzAAEAAAB6FAAA';");
+		final SourceRecord delta = table.parseRedoRecord(update, null, OraCdcSourceQueryProfile.FULL, true);
+		assertFalse(table.isNoopUpdateSkipped());
+		assertEquals(10, ((Struct) delta.key()).get("DEPTNO"));
+		assertEquals("SALES", ((Struct) delta.value()).get("DNAME"));
+		assertNull(((Struct) delta.value()).get("LOC"));
+		assertEquals(1000, ((Struct) delta.value()).get("BUDGET"));
+		assertEquals("DNAME",
+				delta.headers().lastWithName(OraCdcRecordBuilder.CHANGED_COLUMNS_HEADER).value());
+
+		final SourceRecord full = table.parseRedoRecord(update, null, OraCdcSourceQueryProfile.FULL, false);
+		assertEquals("BOSTON", ((Struct) full.value()).get("LOC"));
+		assertNull(full.headers().lastWithName(OraCdcRecordBuilder.CHANGED_COLUMNS_HEADER));
+
+		// Values in SET clause are equal to values in WHERE clause
+		final OraCdcLogMinerStatement noop = update(
+				"update \"SCOTT\".\"DEPT\" set \"DNAME\" = '" + SALES + "', \"LOC\" = NULL where \"DEPTNO\" = 'c10b' and \"DNAME\" = '" +
+				SALES + "' and \"LOC\" IS NULL and \"BUDGET\" = 'c20b' and ROWID = 'AAAWbzAAEAAAB6FAAA';");
+		assertNull(table.parseRedoRecord(noop, null, OraCdcSourceQueryProfile.FULL, true));
+		assertTrue(table.isNoopUpdateSkipped());
+		assertEquals("SALES", ((Struct) table.parseRedoRecord(
+				noop, null, OraCdcSourceQueryProfile.FULL, false).value()).get("DNAME"));
+		assertFalse(table.isNoopUpdateSkipped());
+
+		// Change of key is sent as full row image
+		final OraCdcLogMinerStatement keyUpdate = update(
+				"update \"SCOTT\".\"DEPT\" set \"DEPTNO\" = 'c115' where \"DEPTNO\" = 'c10b' and \"DNAME\" = '" +
+				DALLAS + "' and \"LOC\" = '" + BOSTON + "' and \"BUDGET\" = 'c20b' and ROWID = 'AAAWbzAAEAAAB6FAAA';");
+		final SourceRecord keyChange = table.parseRedoRecord(keyUpdate, null, OraCdcSourceQueryProfile.FULL, true);
+		assertEquals(20, ((Struct) keyChange.key()).get("DEPTNO"));
+		assertEquals("DALLAS", ((Struct) keyChange.value()).get("DNAME"));
+		assertEquals("BOSTON", ((Struct) keyChange.value()).get("LOC"));
+		assertNull(keyChange.headers().lastWithName(OraCdcRecordBuilder.CHANGED_COLUMNS_HEADER));
+
+		final Map<String, OraColumn> pkColumns = new HashMap<>();
+		pkColumns.put("DEPTNO", table.getPkColumns().get("DEPTNO"));
+		final List<OraColumn> columns = new ArrayList<>();
+		for (OraColumn column : table.getAllColumns()) {
+			if (!column.isPartOfPk()) {
+				columns.add(column);
+			}
+		}
+		assertEquals("update DEPT set DNAME=?,LOC=?,BUDGET=? where DEPTNO=?",
+				TargetDbSqlUtils.partialUpdateSql("DEPT", pkColumns, columns));
+	}
+
+	private OraCdcLogMinerStatement update(final String sqlRedo) {
+		return new OraCdcLogMinerStatement(
+				74590, OraLogMiner.V$LOGMNR_CONTENTS_UPDATE, sqlRedo,
+				System.currentTimeMillis(), 275168436063l, " 0x000098.000001b5.0010 ", 7, "AAAWbzAAEAAAB6FAAA");
+	}
+
+	private OraTable4LogMiner table() {
+		return OraCdcTestFixtures.table("SCOTT", "DEPT",
+				OraCdcTestFixtures.column("DEPTNO", Types.INTEGER, true, false),
+				OraCdcTestFixtures.column("DNAME", Types.VARCHAR, false, true),
+				OraCdcTestFixtures.column("LOC", Types.VARCHAR, false, true),
+				OraCdcTestFixtures.column("BUDGET", Types.INTEGER, false, false));
+	}
+
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.jfr.OraCdcJfr;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class OraCdcJfrTest {
+
+	@Test
+	public void test() throws IOException {
+		Assume.assumeTrue(OraCdcJfr.AVAILABLE);
+		JfrRecordingCheck.run();
+	}
+
+	/**
+	 * References jdk.jfr classes, loaded only after OraCdcJfr.AVAILABLE check
+	 */
+	private static class JfrRecordingCheck {
+
+		static void run() throws IOException {
+			final OraCdcLogMinerStatement updIn1 =  new  OraCdcLogMinerStatement(
+					74590, (short)3, "update DEPT set DNAME='SALES' where DEPTNO=10",
+					System.currentTimeMillis(),275168436063l," 0x000098.000001b5.0010 ",
+					0, "AAAWbzAAEAAAB6FAAA");
+			final OraCdcLogMinerStatement updIn2 =  new  OraCdcLogMinerStatement(
+					74590, (short)3, "update DEPT set DNAME='OPERATIONS' where DEPTNO=20",
+					System.currentTimeMillis(),275168436122l," 0x000098.000001b5.0020 ",
+					0, "AAAWbzAAEAAAB6FABB");
+
+			final Path queuesRoot = FileSystems.getDefault().getPath(System.getProperty("java.io.tmpdir"));
+			final Path jfrFile = Files.createTempFile("oracdc-", ".jfr");
+			try (Recording recording = new Recording()) {
+				recording.enable("eu.solutions.a2.oracdc.TransactionSpill");
+				recording.enable("eu.solutions.a2.oracdc.TransactionClose");
+				recording.start();
+
+				final OraCdcTransaction transaction = new OraCdcTransaction(queuesRoot, "0000270016000020", updIn1);
+				transaction.addStatement(updIn2);
+				transaction.setCommitScn(275168436200l);
+				transaction.close();
+
+				recording.stop();
+				recording.dump(jfrFile);
+			}
+
+			final List<RecordedEvent> events = RecordingFile.readAllEvents(jfrFile);
+			Files.deleteIfExists(jfrFile);
+			final List<RecordedEvent> spills = events
+					.stream()
+					.filter(e -> "eu.solutions.a2.oracdc.TransactionSpill".equals(e.getEventType().getName()))
+					.collect(Collectors.toList());
+			assertEquals(2, spills.size());
+			assertEquals("0000270016000020", spills.get(1).getString("xid"));
+			assertEquals(2, spills.get(1).getInt("rows"));
+
+			final List<RecordedEvent> closes = events
+					.stream()
+					.filter(e -> "eu.solutions.a2.oracdc.TransactionClose".equals(e.getEventType().getName()))
+					.collect(Collectors.toList());
+			assertEquals(1, closes.size());
+			assertEquals(275168436063l, closes.get(0).getLong("firstScn"));
+			assertEquals(275168436200l, closes.get(0).getLong("commitScn"));
+			assertEquals(2, closes.get(0).getInt("rows"));
+		}
+
+	}
+
+}
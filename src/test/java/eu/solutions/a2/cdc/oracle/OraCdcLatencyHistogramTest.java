@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcLatencyHistogram;
+
+public class OraCdcLatencyHistogramTest {
+
+	@Test
+	public void test() {
+		final OraCdcLatencyHistogram histogram = new OraCdcLatencyHistogram();
+		assertEquals(0, histogram.getValueAtPercentile(0.99));
+		for (long i = 1; i <= 10_000; i++) {
+			histogram.record(i);
+		}
+		histogram.record(-5);
+		assertEquals(10_001, histogram.getCount());
+		assertEquals(10_000, histogram.getMax());
+
+		final long p50 = histogram.getValueAtPercentile(0.5);
+		final long p99 = histogram.getValueAtPercentile(0.99);
+		final long p999 = histogram.getValueAtPercentile(0.999);
+		assertTrue("p50=" + p50, Math.abs(p50 - 5_000) <= 5_000 * 0.04);
+		assertTrue("p99=" + p99, Math.abs(p99 - 9_900) <= 9_900 * 0.04);
+		assertTrue("p999=" + p999, p999 >= 9_990 && p999 <= 10_000);
+		assertEquals(10_000, histogram.getValueAtPercentile(1.0));
+
+		final OraCdcLatencyHistogram small = new OraCdcLatencyHistogram();
+		small.record(3);
+		small.record(7);
+		assertEquals(3, small.getValueAtPercentile(0.5));
+		assertEquals(7, small.getValueAtPercentile(0.99));
+
+		final OraCdcLatencyHistogram large = new OraCdcLatencyHistogram();
+		large.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, large.getValueAtPercentile(0.5));
+	}
+
+}
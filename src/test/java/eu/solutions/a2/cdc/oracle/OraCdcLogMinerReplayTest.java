@@ -0,0 +1,412 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcLogMinerMgmt;
+import eu.solutions.a2.cdc.oracle.utils.CopyOnWriteLongObjectMap;
+import eu.solutions.a2.cdc.oracle.utils.LongHashSet;
+import eu.solutions.a2.cdc.oracle.utils.LongObjectHashMap;
+import oracle.sql.NUMBER;
+
+public class OraCdcLogMinerReplayTest {
+
+	private static final String INSERT =
+			"insert into \"SCOTT\".\"DEPT\"(\"DEPTNO\",\"DNAME\") values ('c10b','53414c4553');";
+
+	@Test
+	public void test() throws IOException, SQLException {
+		final OraRdbmsInfo rdbmsInfo = new OraRdbmsInfo("19.0.0.0.0", (short) 1, "ORCL", "dbhost", 4,
+				1541267564L, "ORCL", "Linux x86 64-bit", false, false, "AL32UTF8", "AL16UTF16", "ORCL");
+		final File file = File.createTempFile("oracdc", ".lmr");
+		file.deleteOnExit();
+
+		final FakeRowSource fake = new FakeRowSource(Arrays.asList(
+				Arrays.asList(
+						row(275168436063L, OraLogMiner.V$LOGMNR_CONTENTS_INSERT, 74590, INSERT),
+						row(275168436064L, OraLogMiner.V$LOGMNR_CONTENTS_COMMIT, 0, "commit;")),
+				Arrays.asList(
+						row(275168436070L, OraLogMiner.V$LOGMNR_CONTENTS_INSERT, 74591, "insert into \"SCOTT\".\"EMP\""))));
+		final OraCdcLogMinerRecorder recorder = new OraCdcLogMinerRecorder(fake, file.getAbsolutePath(),
+				rdbmsInfo, 275168436000L, null, 0);
+		// First window, cursor reopened once as during rewind
+		assertTrue(recorder.nextWindow());
+		assertTrue(recorder.next());
+		recorder.reopen();
+		assertTrue(recorder.next());
+		assertEquals(74590, recorder.getLong("DATA_OBJ#"));
+		assertEquals("Y", recorder.checkTable(74590, 0).get("IS_TABLE"));
+		assertEquals("DEPT", recorder.getTable(74590, FakeRowSource::table).getTableName());
+		assertTrue(recorder.next());
+		assertFalse(recorder.next());
+		recorder.stopWindow();
+		// Second window, table is out of scope
+		assertTrue(recorder.nextWindow());
+		assertTrue(recorder.next());
+		assertNull(recorder.checkTable(74591, 0));
+		assertFalse(recorder.next());
+		recorder.stopWindow();
+		assertFalse(recorder.nextWindow());
+		recorder.close();
+
+		// Column projection of replaying connector is applied to recorded definition, PK column is kept
+		final OraCdcColumnProjection columnProjection = new OraCdcColumnProjection(
+				null, Arrays.asList("SCOTT.DEPT.DEPTNO", "SCOTT.DEPT.LOC"));
+		final OraCdcLogMinerReplay replay = new OraCdcLogMinerReplay(file.getAbsolutePath(), tableData -> {
+			final OraTable4LogMiner table = new OraTable4LogMiner(tableData, ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD,
+					columnProjection);
+			table.setTopicDecoderPartition("", ParamConstants.TOPIC_NAME_STYLE_INT_TABLE, "_",
+					new OraDumpDecoder("AL32UTF8", "AL16UTF16"), new HashMap<>());
+			return table;
+		});
+		assertEquals(rdbmsInfo.getDbId(), replay.getRdbmsInfo().getDbId());
+		assertEquals("19.0.0.0.0", replay.getRdbmsInfo().getVersionString());
+		assertEquals(275168436000L, replay.getFirstScn());
+		assertNull(replay.getFirstRsId());
+
+		assertTrue(replay.nextWindow());
+		// Row fetched before reopen is replayed too
+		assertTrue(replay.next());
+		assertEquals(275168436063L, replay.getLong("SCN"));
+		assertTrue(replay.next());
+		assertEquals(OraLogMiner.V$LOGMNR_CONTENTS_INSERT, replay.getShort("OPERATION_CODE"));
+		assertEquals(" 0x000098.000001b5.0010 ", replay.getString("RS_ID"));
+		assertEquals(1_700_000_000_000L, replay.getDate("TIMESTAMP").getTime());
+		assertEquals(INSERT, replay.getString("SQL_REDO"));
+		final Map<String, Object> checkTable = replay.checkTable(74590, 0);
+		assertEquals("SCOTT", checkTable.get("OWNER"));
+		assertEquals(74590L, checkTable.get("PARENT_OBJECT_ID"));
+		final OraTable4LogMiner table = replay.getTable(74590, () -> null);
+		assertEquals(2, table.getAllColumns().size());
+		final SourceRecord record = table.parseRedoRecord(
+				new OraCdcLogMinerStatement(74590, replay.getShort("OPERATION_CODE"), replay.getString("SQL_REDO"),
+						replay.getDate("TIMESTAMP").getTime(), replay.getLong("SCN"), replay.getString("RS_ID"),
+						replay.getLong("SSN"), replay.getString("ROW_ID")),
+				null);
+		assertEquals(10, ((Struct) record.key()).get("DEPTNO"));
+		assertEquals("SALES", ((Struct) record.value()).get("DNAME"));
+		assertNull(record.valueSchema().field("LOC"));
+		// Commit is not read by worker, stopWindow() skips it
+		replay.stopWindow();
+
+		assertTrue(replay.nextWindow());
+		assertTrue(replay.next());
+		assertNull(replay.checkTable(74591, 0));
+		assertFalse(replay.next());
+		replay.stopWindow();
+		assertFalse(replay.nextWindow());
+		assertTrue(replay.isCompleted());
+		assertEquals(4, replay.getRowCount());
+		replay.close();
+	}
+
+	@Test
+	public void testWorkerRewind() throws IOException, SQLException, InterruptedException {
+		final OraRdbmsInfo rdbmsInfo = new OraRdbmsInfo("19.0.0.0.0", (short) 1, "ORCL", "dbhost", 4,
+				1541267564L, "ORCL", "Linux x86 64-bit", false, false, "AL32UTF8", "AL16UTF16", "ORCL");
+		final File file = File.createTempFile("oracdc", ".lmr");
+		file.deleteOnExit();
+		final String skippedCommitRsId = " 0x000098.000001b5.0020 ";
+
+		// Transaction 1 was sent before restart, worker is rewound to its commit
+		final FakeRowSource fake = new FakeRowSource(Arrays.asList(
+				Arrays.asList(
+						row(275168436063L, OraLogMiner.V$LOGMNR_CONTENTS_INSERT, 74590, INSERT,
+								1L, " 0x000098.000001b5.0010 "),
+						row(275168436064L, OraLogMiner.V$LOGMNR_CONTENTS_COMMIT, 0, "commit;",
+								1L, skippedCommitRsId),
+						row(275168436065L, OraLogMiner.V$LOGMNR_CONTENTS_INSERT, 74590, INSERT,
+								2L, " 0x000098.000001b5.0030 "),
+						row(275168436066L, OraLogMiner.V$LOGMNR_CONTENTS_COMMIT, 0, "commit;",
+								2L, " 0x000098.000001b5.0040 "))));
+		final OraCdcLogMinerRecorder recorder = new OraCdcLogMinerRecorder(fake, file.getAbsolutePath(),
+				rdbmsInfo, 275168436000L, skippedCommitRsId, 0);
+		final BlockingQueue<OraCdcTransaction> recorded = runWorker(rdbmsInfo, "record", recorder,
+				worker -> worker.rewind(275168436064L, skippedCommitRsId, 0), () -> !fake.completed());
+		assertEquals(1, recorded.size());
+		assertTrue(recorded.peek().getXidKey() == OraCdcTransaction.packXid(10, 27, 2L));
+		recorded.forEach(OraCdcTransaction::close);
+
+		final OraCdcLogMinerReplay replay = new OraCdcLogMinerReplay(file.getAbsolutePath(),
+				tableData -> new OraTable4LogMiner(tableData, ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD));
+		assertEquals(skippedCommitRsId, replay.getFirstRsId());
+		// Same as OraCdcLogMinerTask.start() does for replay
+		final BlockingQueue<OraCdcTransaction> replayed = runWorker(rdbmsInfo, "replay", replay,
+				worker -> worker.rewind(replay.getFirstScn(), replay.getFirstRsId(), replay.getFirstSsn()),
+				() -> !replay.isCompleted());
+		// Rows fetched by recorded worker while rewinding are not replayed as data
+		assertEquals(1, replayed.size());
+		assertTrue(replayed.peek().getXidKey() == OraCdcTransaction.packXid(10, 27, 2L));
+		assertEquals(1, replayed.peek().length());
+		assertEquals(4, replay.getRowCount());
+		replayed.forEach(OraCdcTransaction::close);
+	}
+
+	@Test
+	public void testWorkerCommittedRestart() throws SQLException, InterruptedException {
+		final OraRdbmsInfo rdbmsInfo = new OraRdbmsInfo("19.0.0.0.0", (short) 1, "ORCL", "dbhost", 4,
+				1541267564L, "ORCL", "Linux x86 64-bit", false, false, "AL32UTF8", "AL16UTF16", "ORCL");
+		final String lastSentRsId = " 0x000098.000001b5.0010 ";
+
+		// COMMITTED_DATA_ONLY: first row of transaction 1 was sent before restart
+		final FakeRowSource fake = new FakeRowSource(Arrays.asList(
+				Arrays.asList(
+						commitScn(row(275168436063L, OraLogMiner.V$LOGMNR_CONTENTS_INSERT, 74590, INSERT,
+								1L, lastSentRsId), 275168436066L),
+						commitScn(row(275168436064L, OraLogMiner.V$LOGMNR_CONTENTS_INSERT, 74590, INSERT,
+								1L, " 0x000098.000001b5.0020 "), 275168436066L),
+						commitScn(row(275168436066L, OraLogMiner.V$LOGMNR_CONTENTS_COMMIT, 0, "commit;",
+								1L, " 0x000098.000001b5.0040 "), 275168436066L),
+						commitScn(row(275168436065L, OraLogMiner.V$LOGMNR_CONTENTS_INSERT, 74590, INSERT,
+								2L, " 0x000098.000001b5.0030 "), 275168436067L),
+						commitScn(row(275168436067L, OraLogMiner.V$LOGMNR_CONTENTS_COMMIT, 0, "commit;",
+								2L, " 0x000098.000001b5.0050 "), 275168436067L))));
+		final BlockingQueue<OraCdcTransaction> committed = runWorker(rdbmsInfo, "committed", fake,
+				worker -> {
+					worker.setCommittedDataOnly(true);
+					worker.rewindCommitted(275168436066L, 275168436063L, lastSentRsId, 0);
+				}, () -> !fake.completed());
+		assertEquals(2, committed.size());
+		final OraCdcTransaction first = committed.poll();
+		assertTrue(first.getXidKey() == OraCdcTransaction.packXid(10, 27, 1L));
+		// Only row after last sent one
+		assertEquals(1, first.length());
+		first.close();
+		final OraCdcTransaction second = committed.poll();
+		assertTrue(second.getXidKey() == OraCdcTransaction.packXid(10, 27, 2L));
+		assertEquals(1, second.length());
+		second.close();
+	}
+
+	/**
+	 * Runs LogMiner worker over row source until it is processed
+	 * 
+	 * @return committed transactions
+	 */
+	private static BlockingQueue<OraCdcTransaction> runWorker(final OraRdbmsInfo rdbmsInfo,
+			final String connectorName, final OraCdcLogMinerRowSource rowSource,
+			final WorkerAction rewind, final BooleanSupplier running) throws SQLException, InterruptedException {
+		final BlockingQueue<OraCdcTransaction> committed = new LinkedBlockingQueue<>();
+		final OraCdcLogMinerMgmt metrics = new OraCdcLogMinerMgmt(rdbmsInfo, connectorName, null);
+		try {
+			final OraCdcLogMinerWorkerThread worker = new OraCdcLogMinerWorkerThread(
+					() -> {}, 10, new HashMap<>(), rowSource,
+					new CopyOnWriteLongObjectMap<>(), new LongHashSet(),
+					ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD, false, false, "",
+					new OraDumpDecoder("AL32UTF8", "AL16UTF16"), new OraCdcSpillRoots("", null),
+					new LongObjectHashMap<>(), committed, metrics,
+					ParamConstants.TOPIC_NAME_STYLE_INT_TABLE, "_", 100, 0);
+			rewind.apply(worker);
+			worker.start();
+			final long deadline = System.currentTimeMillis() + 10_000;
+			while (running.getAsBoolean() && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			worker.shutdown();
+			worker.join(10_000);
+			assertFalse(worker.isAlive());
+		} finally {
+			metrics.unregister();
+		}
+		return committed;
+	}
+
+	@FunctionalInterface
+	private interface WorkerAction {
+		void apply(OraCdcLogMinerWorkerThread worker) throws SQLException;
+	}
+
+	private static Map<String, Object> row(final long scn, final short operation,
+			final long dataObjectId, final String sqlRedo) {
+		return row(scn, operation, dataObjectId, sqlRedo, 62408L, " 0x000098.000001b5.0010 ");
+	}
+
+	private static Map<String, Object> row(final long scn, final short operation,
+			final long dataObjectId, final String sqlRedo, final long xidSqn, final String rsId) {
+		final Map<String, Object> row = new HashMap<>();
+		row.put("SCN", scn);
+		row.put("COMMIT_SCN", 0L);
+		row.put("TIMESTAMP", new Date(1_700_000_000_000L));
+		row.put("OPERATION_CODE", operation);
+		row.put("XID", "0A001B00C8F30000");
+		row.put("XIDUSN", 10);
+		row.put("XIDSLT", 27);
+		row.put("XIDSQN", xidSqn);
+		row.put("RS_ID", rsId);
+		row.put("SSN", 0L);
+		row.put("CSF", false);
+		row.put("ROW_ID", "AAAWbzAAEAAAB6FAAA");
+		row.put("DATA_OBJ#", dataObjectId);
+		row.put("SQL_REDO", sqlRedo);
+		return row;
+	}
+
+	private static Map<String, Object> commitScn(final Map<String, Object> row, final long commitScn) {
+		row.put("COMMIT_SCN", commitScn);
+		return row;
+	}
+
+	/**
+	 * In-memory LogMiner rows, each element of list is a mining window
+	 */
+	private static class FakeRowSource implements OraCdcLogMinerRowSource {
+
+		private final List<List<Map<String, Object>>> windows;
+		private int window = -1;
+		private int position;
+		private boolean completed = false;
+
+		FakeRowSource(final List<List<Map<String, Object>>> windows) {
+			this.windows = windows;
+		}
+
+		static OraTable4LogMiner table() {
+			return OraCdcTestFixtures.table("SCOTT", "DEPT",
+					OraCdcTestFixtures.column("DEPTNO", Types.INTEGER, true),
+					OraCdcTestFixtures.column("DNAME", Types.VARCHAR, false),
+					OraCdcTestFixtures.column("LOC", Types.VARCHAR, false));
+		}
+
+		@Override
+		public boolean nextWindow() {
+			if (window + 1 < windows.size()) {
+				window++;
+				position = 0;
+				return true;
+			} else {
+				completed = true;
+				return false;
+			}
+		}
+
+		boolean completed() {
+			return completed;
+		}
+
+		@Override
+		public void stopWindow() {
+		}
+
+		@Override
+		public boolean next() {
+			return ++position <= windows.get(window).size();
+		}
+
+		@Override
+		public void reopen() {
+			position = 0;
+		}
+
+		private Object value(final String column) throws SQLException {
+			final Map<String, Object> row = windows.get(window).get(position - 1);
+			if (!row.containsKey(column)) {
+				throw new SQLException("Invalid column name " + column);
+			}
+			return row.get(column);
+		}
+
+		@Override
+		public short getShort(final String column) throws SQLException {
+			return (short) value(column);
+		}
+
+		@Override
+		public int getInt(final String column) throws SQLException {
+			return (int) value(column);
+		}
+
+		@Override
+		public long getLong(final String column) throws SQLException {
+			return (long) value(column);
+		}
+
+		@Override
+		public boolean getBoolean(final String column) throws SQLException {
+			return (boolean) value(column);
+		}
+
+		@Override
+		public String getString(final String column) throws SQLException {
+			return (String) value(column);
+		}
+
+		@Override
+		public Date getDate(final String column) throws SQLException {
+			return (Date) value(column);
+		}
+
+		@Override
+		public NUMBER getNUMBER(final String column) throws SQLException {
+			throw new SQLException("Not supported!");
+		}
+
+		@Override
+		public Map<String, Object> checkTable(final long dataObjectId, final long conId) {
+			if (dataObjectId == 74590) {
+				final Map<String, Object> checkTable = new HashMap<>();
+				checkTable.put("IS_TABLE", "Y");
+				checkTable.put("PARENT_OBJECT_ID", dataObjectId);
+				checkTable.put("OWNER", "SCOTT");
+				checkTable.put("TABLE_NAME", "DEPT");
+				checkTable.put("DEPENDENCIES", "DISABLED");
+				return checkTable;
+			} else {
+				return null;
+			}
+		}
+
+		@Override
+		public OraTable4LogMiner getTable(final long combinedDataObjectId,
+				final Supplier<OraTable4LogMiner> reader) {
+			return table();
+		}
+
+		@Override
+		public long getMiningScn() {
+			return 0;
+		}
+
+		@Override
+		public void reconnect() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
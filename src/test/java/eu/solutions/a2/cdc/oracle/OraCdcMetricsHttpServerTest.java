@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcLatencyHistogram;
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcMetricsHttpServer;
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcMetricsSource;
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcOpenMetricsWriter;
+
+public class OraCdcMetricsHttpServerTest {
+
+	@Test
+	public void test() throws IOException {
+		final OraCdcLatencyHistogram histogram = new OraCdcLatencyHistogram();
+		histogram.record(10);
+		histogram.record(20);
+		final OraCdcMetricsSource source1 = writer -> {
+			writer.counter("logminer_sent_records", "Records sent to Kafka", 5, "connector", "c1");
+			writer.histogram("logminer_parse_time_micros", "Parse time", histogram, "connector", "c1");
+		};
+		final OraCdcMetricsSource source2 = writer -> {
+			writer.counter("logminer_sent_records", "Records sent to Kafka", 7, "connector", "c2");
+			writer.gauge("logminer_table_last_scn", "Last SCN", 42, "connector", "c2", "table", "SCOTT.\"DEPT\"");
+		};
+
+		final int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		OraCdcMetricsHttpServer.register(port, source1);
+		OraCdcMetricsHttpServer.register(port, source2);
+		try {
+			final HttpURLConnection connection = (HttpURLConnection)
+					new URL("http://localhost:" + port + OraCdcMetricsHttpServer.PATH).openConnection();
+			assertEquals(200, connection.getResponseCode());
+			assertEquals(OraCdcOpenMetricsWriter.CONTENT_TYPE, connection.getContentType());
+			final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			try (InputStream is = connection.getInputStream()) {
+				final byte[] buffer = new byte[4096];
+				int read;
+				while ((read = is.read(buffer)) != -1) {
+					baos.write(buffer, 0, read);
+				}
+			}
+			final String body = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+			assertTrue(body, body.startsWith(
+					"# TYPE oracdc_logminer_sent_records counter\n" +
+					"# HELP oracdc_logminer_sent_records Records sent to Kafka\n" +
+					"oracdc_logminer_sent_records_total{connector=\"c1\"} 5\n" +
+					"oracdc_logminer_sent_records_total{connector=\"c2\"} 7\n"));
+			assertTrue(body, body.contains("# TYPE oracdc_logminer_parse_time_micros histogram\n"));
+			assertTrue(body, body.contains("oracdc_logminer_parse_time_micros_bucket{connector=\"c1\",le=\"5\"} 0\n"));
+			assertTrue(body, body.contains("oracdc_logminer_parse_time_micros_bucket{connector=\"c1\",le=\"10\"} 1\n"));
+			assertTrue(body, body.contains("oracdc_logminer_parse_time_micros_bucket{connector=\"c1\",le=\"20\"} 2\n"));
+			assertTrue(body, body.contains("oracdc_logminer_parse_time_micros_bucket{connector=\"c1\",le=\"+Inf\"} 2\n"));
+			assertTrue(body, body.contains("oracdc_logminer_parse_time_micros_sum{connector=\"c1\"} 30\n"));
+			assertTrue(body, body.contains("oracdc_logminer_parse_time_micros_count{connector=\"c1\"} 2\n"));
+			assertTrue(body, body.contains("oracdc_logminer_table_last_scn{connector=\"c2\",table=\"SCOTT.\\\"DEPT\\\"\"} 42\n"));
+			assertTrue(body, body.endsWith("# EOF\n"));
+		} finally {
+			OraCdcMetricsHttpServer.unregister(source1);
+			OraCdcMetricsHttpServer.unregister(source2);
+		}
+	}
+
+}
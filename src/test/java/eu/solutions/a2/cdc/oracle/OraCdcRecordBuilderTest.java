@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.Test;
+
+public class OraCdcRecordBuilderTest {
+
+	@Test
+	public void test() throws SQLException {
+		final OraTable4LogMiner table = OraCdcTestFixtures.table("SCOTT", "DEPT",
+				OraCdcTestFixtures.column("DEPTNO", Types.INTEGER, true),
+				OraCdcTestFixtures.column("DNAME", Types.VARCHAR, false));
+
+		final OraCdcLogMinerStatement stmt = new OraCdcLogMinerStatement(
+				74590, OraLogMiner.V$LOGMNR_CONTENTS_INSERT,
+				"insert into \"SCOTT\".\"DEPT\"(\"DEPTNO\",\"DNAME\") values ('c10b','53414c4553');",
+				System.currentTimeMillis(), 275168436063l, " 0x000098.000001b5.0010 ", 7, "AAAWbzAAEAAAB6FAAA");
+		final SourceRecord record = table.parseRedoRecord(stmt, null);
+		assertEquals(10, ((Struct) record.key()).get("DEPTNO"));
+		assertEquals("SALES", ((Struct) record.value()).get("DNAME"));
+
+		final Map<String, ?> offset = record.sourceOffset();
+		assertEquals(3, offset.size());
+		assertEquals(275168436063l, offset.get("SCN"));
+		assertEquals(" 0x000098.000001b5.0010 ", offset.get("RS_ID"));
+		assertEquals(7l, offset.get("SSN"));
+		final Map<String, Object> expected = new HashMap<>();
+		expected.put("SCN", 275168436063l);
+		expected.put("RS_ID", " 0x000098.000001b5.0010 ");
+		expected.put("SSN", 7l);
+		assertEquals(expected, offset);
+		assertEquals(expected.hashCode(), offset.hashCode());
+		assertTrue(offset.containsKey("SSN"));
+
+	}
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.junit.Test;
+
+public class OraCdcRowFilterTest {
+
+	@Test
+	public void test() throws SQLException {
+		final OraTable4LogMiner table = table();
+		final OraCdcRowFilter filter = new OraCdcRowFilter(
+				"scott.emp: DEPTNO in (10, 20) and (JOB = 'CLERK' or SAL >= 2500.5) and COMM is null;" +
+				"SCOTT.DEPT:DNAME <> 'O''Reilly;s'");
+		assertEquals(2, OraCdcRowFilter.splitEntries(" a:b ;; c:'d;e' ").size());
+		assertNull(filter.compile("SCOTT", "BONUS", table.getAllColumns()));
+
+		final OraCdcRowFilter.Compiled compiled = filter.compile("SCOTT", "EMP", table.getAllColumns());
+		assertEquals("(\"DEPTNO\" IN (10, 20) and (\"JOB\" = 'CLERK' or \"SAL\" >= 2500.5) and \"COMM\" IS NULL)",
+				compiled.sqlWhere());
+		assertFalse(compiled.isPkOnly());
+
+		assertTrue(compiled.accept(key(table, 1), value(table, 10, "CLERK", 800d, null)));
+		assertTrue(compiled.accept(key(table, 2), value(table, 20, "MANAGER", 2975d, null)));
+		assertFalse(compiled.accept(key(table, 3), value(table, 30, "CLERK", 950d, null)));
+		assertFalse(compiled.accept(key(table, 4), value(table, 20, "SALESMAN", 1250d, null)));
+		assertFalse(compiled.accept(key(table, 5), value(table, 10, "CLERK", 800d, 300d)));
+
+		// SQL three-valued logic: NULL in comparison is UNKNOWN and NOT UNKNOWN is UNKNOWN
+		final OraCdcRowFilter notFilter = new OraCdcRowFilter("SCOTT.EMP:not DEPTNO = 10 or EMPNO < 0");
+		final OraCdcRowFilter.Compiled notCompiled = notFilter.compile("SCOTT", "EMP", table.getAllColumns());
+		assertEquals("(not \"DEPTNO\" = 10 or \"EMPNO\" < 0)", notCompiled.sqlWhere());
+		assertTrue(notCompiled.accept(key(table, 1), value(table, 20, null, null, null)));
+		assertFalse(notCompiled.accept(key(table, 1), value(table, 10, null, null, null)));
+		assertFalse(notCompiled.accept(key(table, 1), value(table, null, null, null, null)));
+		assertTrue(notCompiled.accept(key(table, -1), value(table, null, null, null, null)));
+
+		assertTrue(new OraCdcRowFilter("SCOTT.EMP:EMPNO not in (1,2)")
+				.compile("SCOTT", "EMP", table.getAllColumns()).isPkOnly());
+	}
+
+	@Test(expected = ConnectException.class)
+	public void testSyntaxError() {
+		new OraCdcRowFilter("SCOTT.EMP:DEPTNO in (10, 20");
+	}
+
+	@Test(expected = ConnectException.class)
+	public void testTypeMismatch() throws SQLException {
+		new OraCdcRowFilter("SCOTT.EMP:DEPTNO = '10'").compile("SCOTT", "EMP", table().getAllColumns());
+	}
+
+	@Test(expected = ConnectException.class)
+	public void testUnknownColumn() throws SQLException {
+		new OraCdcRowFilter("SCOTT.EMP:ORG_ID = 204").compile("SCOTT", "EMP", table().getAllColumns());
+	}
+
+	@Test
+	public void testProjection() {
+		final OraCdcRowFilter filter = new OraCdcRowFilter("SCOTT.EMP:DEPTNO = 10 and COMM is null");
+		filter.checkProjection(new OraCdcColumnProjection(null, Arrays.asList("SCOTT.EMP.SAL")));
+		try {
+			filter.checkProjection(new OraCdcColumnProjection(null, Arrays.asList("SCOTT.EMP.COMM")));
+			fail("Row filter column excluded by projection must be reported at task start!");
+		} catch (ConnectException ce) {
+			assertTrue(ce.getMessage().contains("SCOTT.EMP.COMM"));
+		}
+	}
+
+	@Test
+	public void testBlankPadded() throws SQLException {
+		final OraTable4LogMiner table = OraCdcTestFixtures.table("SCOTT", "CODES",
+				OraCdcTestFixtures.column("ID", Types.INTEGER, true),
+				OraCdcTestFixtures.column("CODE", Types.CHAR, false),
+				OraCdcTestFixtures.column("NAME", Types.VARCHAR, false));
+		final Struct key = new Struct(table.keySchema).put("ID", 1);
+
+		// CHAR(5) column value is padded with blanks, literal is compared as padded to same length
+		final OraCdcRowFilter.Compiled charCompiled = new OraCdcRowFilter("SCOTT.CODES:CODE in ('AB', 'CD ')")
+				.compile("SCOTT", "CODES", table.getAllColumns());
+		assertTrue(charCompiled.accept(key, new Struct(table.valueSchema).put("CODE", "AB   ")));
+		assertTrue(charCompiled.accept(key, new Struct(table.valueSchema).put("CODE", "CD   ")));
+		assertFalse(charCompiled.accept(key, new Struct(table.valueSchema).put("CODE", "ABC  ")));
+		assertTrue(new OraCdcRowFilter("SCOTT.CODES:CODE < 'AB!'")
+				.compile("SCOTT", "CODES", table.getAllColumns())
+				.accept(key, new Struct(table.valueSchema).put("CODE", "AB   ")));
+
+		// VARCHAR2 uses nonpadded comparison
+		final OraCdcRowFilter.Compiled varcharCompiled = new OraCdcRowFilter("SCOTT.CODES:NAME = 'AB'")
+				.compile("SCOTT", "CODES", table.getAllColumns());
+		assertTrue(varcharCompiled.accept(key, new Struct(table.valueSchema).put("NAME", "AB")));
+		assertFalse(varcharCompiled.accept(key, new Struct(table.valueSchema).put("NAME", "AB ")));
+
+		assertEquals(0, OraCdcRowFilter.compareBlankPadded("A  ", "A"));
+		assertTrue(OraCdcRowFilter.compareBlankPadded("A", "A\t") > 0);
+	}
+
+	@Test
+	public void testValidate() {
+		final Map<String, String> dataTypes = new HashMap<>();
+		dataTypes.put("EMPNO", "NUMBER");
+		dataTypes.put("JOB", "VARCHAR2");
+		dataTypes.put("HIREDATE", "DATE");
+		OraCdcRowFilter.parse("EMPNO > 10 and JOB = 'CLERK'").validate(dataTypes);
+		try {
+			OraCdcRowFilter.parse("EMPNO > 10 or not ORG_ID = 204").validate(dataTypes);
+			fail("Unknown column must be reported before table definition is read!");
+		} catch (ConnectException ce) {
+			assertTrue(ce.getMessage().contains("ORG_ID"));
+		}
+		try {
+			OraCdcRowFilter.parse("HIREDATE is null").validate(dataTypes);
+			fail("Unsupported data type must be reported before table definition is read!");
+		} catch (ConnectException ce) {
+			assertTrue(ce.getMessage().contains("HIREDATE"));
+		}
+		try {
+			OraCdcRowFilter.parse("JOB = 10").validate(dataTypes);
+			fail("Literal type mismatch must be reported before table definition is read!");
+		} catch (ConnectException ce) {
+			assertTrue(ce.getMessage().contains("JOB"));
+		}
+	}
+
+	private OraTable4LogMiner table() {
+		return OraCdcTestFixtures.table("SCOTT", "EMP",
+				OraCdcTestFixtures.column("EMPNO", Types.INTEGER, true),
+				OraCdcTestFixtures.column("JOB", Types.VARCHAR, false),
+				OraCdcTestFixtures.column("SAL", Types.DOUBLE, false),
+				OraCdcTestFixtures.column("COMM", Types.DOUBLE, false),
+				OraCdcTestFixtures.column("DEPTNO", Types.TINYINT, false));
+	}
+
+	private Struct key(final OraTable4LogMiner table, final int empNo) {
+		return new Struct(table.keySchema).put("EMPNO", empNo);
+	}
+
+	private Struct value(final OraTable4LogMiner table,
+			final Integer deptNo, final String job, final Double sal, final Double comm) {
+		return new Struct(table.valueSchema)
+				.put("DEPTNO", deptNo == null ? null : deptNo.byteValue())
+				.put("JOB", job)
+				.put("SAL", sal)
+				.put("COMM", comm);
+	}
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.utils.LongObjectHashMap;
+
+public class OraCdcSharedMinerTest {
+
+	private final static OraCdcLogMinerStatement updIn1 =  new  OraCdcLogMinerStatement(
+			74590, (short)3, "update DEPT set DNAME='SALES' where DEPTNO=10",
+			System.currentTimeMillis(),275168436063l," 0x000098.000001b5.0010 ",
+			0, "AAAWbzAAEAAAB6FAAA");
+
+	@Test
+	public void test() throws IOException {
+		final Map<String, String> props = new HashMap<>();
+		props.put(ParamConstants.PROCESS_LOBS_PARAM, "false");
+		props.put(ParamConstants.SPILL_COMPRESSION_PARAM, ParamConstants.SPILL_COMPRESSION_LZ4);
+		final OraCdcSharedMiner miner = new OraCdcSharedMiner(
+				"TEST", props, "oracdc.shared.TEST.state", new LongObjectHashMap<>());
+		OraCdcSharedMiner.register(miner);
+		assertSame(miner, OraCdcSharedMiner.get("TEST"));
+
+		final List<OraCdcLogMinerTask> stopped = new ArrayList<>();
+		final OraCdcLogMinerTask task1 = new StoppedTask(stopped);
+		final OraCdcLogMinerTask task2 = new StoppedTask(stopped);
+		final BlockingQueue<OraCdcTransaction> queue1 = new LinkedBlockingQueue<>();
+		final BlockingQueue<OraCdcTransaction> queue2 = new LinkedBlockingQueue<>();
+		miner.subscribe(task1, queue1, props);
+		miner.subscribe(task2, queue2, new HashMap<>(props));
+
+		// Spill settings are set by first subscriber for all group
+		final Map<String, String> otherProps = new HashMap<>(props);
+		otherProps.remove(ParamConstants.SPILL_COMPRESSION_PARAM);
+		try {
+			miner.subscribe(new StoppedTask(stopped), new LinkedBlockingQueue<>(), otherProps);
+			fail("Subscriber with different a2.spill.compression must be rejected!");
+		} catch (ConnectException ce) {
+			assertTrue(ce.getMessage().contains(ParamConstants.SPILL_COMPRESSION_PARAM));
+		}
+
+		// Every subscriber reads same queue, waiting transactions are visible to worker once
+		final Path queuesRoot = FileSystems.getDefault().getPath(System.getProperty("java.io.tmpdir"));
+		final OraCdcTransaction transaction = new OraCdcTransaction(queuesRoot, "0000270016000012", updIn1);
+		final BlockingQueue<OraCdcTransaction> committed = miner.getCommittedTransactions();
+		assertTrue(committed.isEmpty());
+		committed.add(transaction);
+		assertEquals(1, queue1.size());
+		assertEquals(1, queue2.size());
+		assertEquals(queue1.peek().getPath(), queue2.peek().getPath());
+		assertFalse(committed.isEmpty());
+		final Iterator<OraCdcTransaction> iterator = committed.iterator();
+		assertTrue(iterator.hasNext());
+		iterator.next();
+		assertFalse(iterator.hasNext());
+		queue1.poll().close();
+		assertTrue(transaction.getPath().toFile().exists());
+		queue2.poll().close();
+		assertFalse(transaction.getPath().toFile().exists());
+		assertTrue(committed.isEmpty());
+
+		// Transaction is not published to subscriber with all tables out of scope
+		((StoppedTask) task2).outOfScope.add(74590L);
+		committed.add(new OraCdcTransaction(queuesRoot, "0000270016000013", updIn1));
+		assertEquals(1, queue1.size());
+		assertTrue(queue2.isEmpty());
+		queue1.poll().close();
+
+		// Failure of worker stops all subscribers, next task creates new worker
+		miner.workerFailed();
+		assertNull(OraCdcSharedMiner.get("TEST"));
+		assertEquals(2, stopped.size());
+		assertTrue(stopped.contains(task1));
+		assertTrue(stopped.contains(task2));
+	}
+
+	@Test
+	public void testNoSubscribers() throws IOException {
+		final Map<String, String> props = new HashMap<>();
+		final OraCdcSharedMiner miner = new OraCdcSharedMiner(
+				"TEST-BUFFER", props, "oracdc.shared.TEST-BUFFER.state", new LongObjectHashMap<>());
+		final Path queuesRoot = FileSystems.getDefault().getPath(System.getProperty("java.io.tmpdir"));
+		final OraCdcTransaction transaction = new OraCdcTransaction(queuesRoot, "0000270016000014", updIn1);
+		final BlockingQueue<OraCdcTransaction> committed = miner.getCommittedTransactions();
+
+		// Transaction committed without subscribers is passed to next subscriber
+		assertTrue(committed.add(transaction));
+		assertEquals(1, committed.size());
+		assertTrue(transaction.getPath().toFile().exists());
+		final BlockingQueue<OraCdcTransaction> queue = new LinkedBlockingQueue<>();
+		miner.subscribe(new StoppedTask(new ArrayList<>()), queue, props);
+		assertSame(transaction, queue.poll());
+		transaction.close();
+	}
+
+	private static class StoppedTask extends OraCdcLogMinerTask {
+
+		private final List<OraCdcLogMinerTask> stopped;
+		private final Set<Long> outOfScope = new HashSet<>();
+
+		StoppedTask(final List<OraCdcLogMinerTask> stopped) {
+			this.stopped = stopped;
+		}
+
+		@Override
+		public void stop(boolean stopWorker) {
+			stopped.add(this);
+		}
+
+		@Override
+		boolean isAnyTableInScope(final long[] tableIds) {
+			for (final long tableId : tableIds) {
+				if (!outOfScope.contains(tableId)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
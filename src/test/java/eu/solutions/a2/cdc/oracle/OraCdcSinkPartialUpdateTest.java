@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.Test;
+
+public class OraCdcSinkPartialUpdateTest {
+
+	private static final Schema KEY_SCHEMA = SchemaBuilder.struct()
+			.field("DEPTNO", Schema.INT32_SCHEMA)
+			.build();
+	private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+			.field("DNAME", Schema.OPTIONAL_STRING_SCHEMA)
+			.field("LOC", Schema.OPTIONAL_STRING_SCHEMA)
+			.build();
+
+	@Test
+	public void test() throws SQLException {
+		final List<String> executed = new ArrayList<>();
+		final Connection connection = connection(executed);
+		final OraTable4SinkConnector table = new OraTable4SinkConnector(
+				OraCdcJdbcSinkConnectionPool.DB_TYPE_ORACLE, "DEPT",
+				record("c", null, 10, "SALES", "BOSTON"), ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD);
+
+		table.putData(connection, record("c", null, 10, "SALES", "BOSTON"));
+		table.putData(connection, record("u", "DNAME", 10, "RESEARCH", null));
+		table.putData(connection, record("u", "LOC", 10, null, "DALLAS"));
+		table.putData(connection, record("u", "DNAME", 10, "ACCOUNTING", null));
+		table.putData(connection, record("d", null, 10, null, null));
+		table.putData(connection, record("d", null, 20, null, null));
+		table.exec();
+
+		// Statements are executed in order of records, every change of statement flushes pending batch
+		assertEquals(5, executed.size());
+		assertTrue(executed.get(0), executed.get(0).startsWith("merge into DEPT"));
+		assertEquals("update DEPT set DNAME=? where DEPTNO=?:1", executed.get(1));
+		assertEquals("update DEPT set LOC=? where DEPTNO=?:1", executed.get(2));
+		assertEquals("update DEPT set DNAME=? where DEPTNO=?:1", executed.get(3));
+		assertEquals("delete from DEPT where DEPTNO=?:2", executed.get(4));
+
+		// Upsert of delta record would overwrite unchanged columns with NULL
+		try {
+			table.putData(connection, record("u", "DEPTNO,DNAME", 30, "OPERATIONS", null));
+			fail("Delta UPDATE of primary key must not be applied as upsert!");
+		} catch (DataException de) {
+			assertTrue(de.getMessage().contains("DEPTNO"));
+		}
+		try {
+			table.putData(connection, record("u", "DNAME,BUDGET", 30, "OPERATIONS", null));
+			fail("Delta UPDATE of column not in table must not be applied as upsert!");
+		} catch (DataException de) {
+			assertTrue(de.getMessage().contains("BUDGET"));
+		}
+		assertEquals(5, executed.size());
+	}
+
+	private SinkRecord record(final String op, final String changedColumns,
+			final int deptNo, final String dname, final String loc) {
+		final ConnectHeaders headers = new ConnectHeaders();
+		headers.addString("op", op);
+		if (changedColumns != null) {
+			headers.addString(OraCdcRecordBuilder.CHANGED_COLUMNS_HEADER, changedColumns);
+		}
+		return new SinkRecord("DEPT", 0,
+				KEY_SCHEMA, new Struct(KEY_SCHEMA).put("DEPTNO", deptNo),
+				VALUE_SCHEMA, "d".equals(op) ? null : new Struct(VALUE_SCHEMA).put("DNAME", dname).put("LOC", loc),
+				0, null, null, headers);
+	}
+
+	/**
+	 * 
+	 * @param executed receives SQL text and batch size of every executeBatch() call
+	 * @return connection which records batches instead of executing them
+	 */
+	private Connection connection(final List<String> executed) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+					if ("prepareStatement".equals(method.getName())) {
+						final String sql = (String) args[0];
+						final int[] batchSize = new int[1];
+						return Proxy.newProxyInstance(getClass().getClassLoader(),
+								new Class<?>[] {PreparedStatement.class}, (psProxy, psMethod, psArgs) -> {
+									switch (psMethod.getName()) {
+									case "addBatch":
+										batchSize[0]++;
+										return null;
+									case "executeBatch":
+										executed.add(sql + ":" + batchSize[0]);
+										final int[] result = new int[batchSize[0]];
+										batchSize[0] = 0;
+										return result;
+									default:
+										return null;
+									}
+								});
+					}
+					return null;
+				});
+	}
+
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class OraCdcSourceQueryProfileTest {
+
+	@Test
+	public void test() {
+		final OraCdcLogMinerStatement stmt = new OraCdcLogMinerStatement(
+				74590, OraLogMiner.V$LOGMNR_CONTENTS_INSERT,
+				"insert into \"SCOTT\".\"DEPT\"(\"DEPTNO\",\"DNAME\") values ('c10b','53414c4553');",
+				System.currentTimeMillis(), 275168436063l, " 0x000098.000001b5.0010 ", 7, "AAAWbzAAEAAAB6FAAA");
+
+		assertNull(new OraCdcSourceQueryProfile(ParamConstants.SOURCE_QUERY_OMIT, 256).query(stmt));
+		assertEquals(stmt.getSqlRedo(), OraCdcSourceQueryProfile.FULL.query(stmt));
+		assertEquals("insert into", new OraCdcSourceQueryProfile(ParamConstants.SOURCE_QUERY_TRUNCATE, 11).query(stmt));
+		assertEquals(stmt.getSqlRedo(), new OraCdcSourceQueryProfile(ParamConstants.SOURCE_QUERY_TRUNCATE, 4096).query(stmt));
+		assertEquals("0x000098.000001b5.0010:7", new OraCdcSourceQueryProfile(ParamConstants.SOURCE_QUERY_RS_ID, 256).query(stmt));
+		final String hash = new OraCdcSourceQueryProfile(ParamConstants.SOURCE_QUERY_HASH, 256).query(stmt);
+		assertEquals(16, hash.length());
+		assertEquals(hash, OraCdcSourceQueryProfile.hash(stmt.getSqlRedo()));
+		assertNotEquals(hash, OraCdcSourceQueryProfile.hash(stmt.getSqlRedo() + " "));
+	}
+
+	@Test
+	public void testFnv1a64() {
+		// Test vectors from FNV reference implementation (http://www.isthe.com/chongo/tech/comp/fnv/)
+		assertEquals("cbf29ce484222325", OraCdcSourceQueryProfile.hash(""));
+		assertEquals("af63dc4c8601ec8c", OraCdcSourceQueryProfile.hash("a"));
+		assertEquals("85944171f73967e8", OraCdcSourceQueryProfile.hash("foobar"));
+	}
+
+}
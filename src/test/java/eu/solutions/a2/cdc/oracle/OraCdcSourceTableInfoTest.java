@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcSourceTableInfo;
+
+public class OraCdcSourceTableInfoTest {
+
+	@Test
+	public void test() throws Exception {
+		final MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+		final ObjectName name = new ObjectName(
+				"eu.solutions.a2.oracdc:type=LogMiner-table-metrics,name=test-connector,tableName=\"SCOTT.DEPT\"");
+		final OraCdcSourceTableInfo tableInfo = new OraCdcSourceTableInfo("test-connector", "SCOTT.DEPT");
+		assertTrue(mbs.isRegistered(name));
+
+		tableInfo.addRecord(OraLogMiner.V$LOGMNR_CONTENTS_INSERT, 100, 1_000, 10, true);
+		tableInfo.addRecord(OraLogMiner.V$LOGMNR_CONTENTS_UPDATE, 120, 2_000, 11, true);
+		tableInfo.addRecord(OraLogMiner.V$LOGMNR_CONTENTS_UPDATE, 80, 3_000, 12, false);
+		tableInfo.addRecord(OraLogMiner.V$LOGMNR_CONTENTS_DELETE, 50, 4_000, 13, true);
+
+		assertEquals(1L, mbs.getAttribute(name, "InsertCount"));
+		assertEquals(2L, mbs.getAttribute(name, "UpdateCount"));
+		assertEquals(1L, mbs.getAttribute(name, "DeleteCount"));
+		assertEquals(3L, mbs.getAttribute(name, "RecordsSentCount"));
+		assertEquals(350L, mbs.getAttribute(name, "RedoBytes"));
+		assertEquals(10_000L, mbs.getAttribute(name, "ParseTimeNanos"));
+		assertEquals(13L, mbs.getAttribute(name, "LastScn"));
+
+		tableInfo.unregister();
+		assertFalse(mbs.isRegistered(name));
+	}
+
+}
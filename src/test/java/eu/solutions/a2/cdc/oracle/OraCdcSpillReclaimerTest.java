@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class OraCdcSpillReclaimerTest {
+
+	@Test
+	public void test() throws IOException, InterruptedException {
+		final Path root = Files.createTempDirectory("oracdc.reclaimer.");
+		final OraCdcSpillRoots spillRoots = new OraCdcSpillRoots(
+				root.toString(), ParamConstants.TEMP_DIR_POLICY_ROUND_ROBIN);
+		OraCdcSpillReclaimer.register(spillRoots, false, 2);
+		try {
+			// Wait for pool refill
+			for (int i = 0; i < 50 && countDirectories(root) < 2; i++) {
+				Thread.sleep(100);
+			}
+			assertEquals(2, countDirectories(root));
+
+			final long hits = OraCdcSpillReclaimer.getPoolHits();
+			final OraCdcTransaction transaction = new OraCdcTransaction(false, root, "0A001F00B1050000");
+			assertEquals(hits + 1, OraCdcSpillReclaimer.getPoolHits());
+			assertEquals(root, transaction.getPath().getParent());
+			final Path queueDirectory = transaction.getPath();
+			transaction.close();
+			for (int i = 0; i < 50 && queueDirectory.toFile().exists(); i++) {
+				Thread.sleep(100);
+			}
+			assertFalse(queueDirectory.toFile().exists());
+		} finally {
+			OraCdcSpillReclaimer.unregister();
+		}
+		// Pooled queues are deleted by last unregister
+		assertEquals(0, countDirectories(root));
+		assertTrue(Files.deleteIfExists(root));
+
+		// Without reclaimer directory is deleted synchronously
+		final OraCdcTransaction transaction = new OraCdcTransaction(false, spillRoots.first().getParent(), "0A001F00B1050001");
+		transaction.close();
+		assertFalse(transaction.getPath().toFile().exists());
+	}
+
+	private long countDirectories(final Path root) throws IOException {
+		try (Stream<Path> files = Files.list(root)) {
+			return files.count();
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class OraCdcSpillRootsTest {
+
+	@Test
+	public void test() throws IOException {
+		final Path first = Files.createTempDirectory("oracdc.spill.1.");
+		final Path second = Files.createTempDirectory("oracdc.spill.2.");
+		try {
+			assertEquals(2, OraCdcSpillRoots.parse(" " + first + " ,," + second).size());
+
+			final OraCdcSpillRoots roundRobin = new OraCdcSpillRoots(
+					first + "," + second, ParamConstants.TEMP_DIR_POLICY_ROUND_ROBIN);
+			assertEquals(2, roundRobin.size());
+			assertEquals(first, roundRobin.next());
+			assertEquals(second, roundRobin.next());
+			assertEquals(first, roundRobin.next());
+
+			final OraCdcSpillRoots leastUsed = new OraCdcSpillRoots(
+					first + "," + second, ParamConstants.TEMP_DIR_POLICY_LEAST_USED);
+			final Path root = leastUsed.next();
+			assertTrue(first.equals(root) || second.equals(root));
+			final OraCdcTransaction transaction = new OraCdcTransaction(false, root, "0A001F00B1050000");
+			leastUsed.addQueueCreated(root, 2000);
+			assertEquals(root, transaction.getPath().getParent());
+			transaction.setSpillRoots(leastUsed);
+			transaction.addStatement(new OraCdcLogMinerStatement(
+					74590, (short)3, "update DEPT set DNAME='ACCOUNTING' where DEPTNO=30",
+					System.currentTimeMillis(), 275168436125l, " 0x000098.000001b5.0030 ", 0, "AAAWbzAAEAAAB6FACC"));
+			assertEquals(transaction.getSpilledBytes(), leastUsed.spilledBytes(root).get());
+			// Directory with spilled transaction is used only after other directory
+			final Path other = first.equals(root) ? second : first;
+			assertEquals(other, leastUsed.next());
+			assertEquals(other, leastUsed.next());
+			transaction.close();
+			assertEquals(0, leastUsed.spilledBytes(root).get());
+			final String[] statistics = leastUsed.getStatistics();
+			assertEquals(2, statistics.length);
+			assertTrue(statistics[first.equals(root) ? 0 : 1].contains("queues=1, avgCreateMicros=2"));
+
+			final OraCdcSpillRoots defaultRoot = new OraCdcSpillRoots("", null);
+			assertEquals(1, defaultRoot.size());
+			assertEquals(new File(System.getProperty("java.io.tmpdir")).toPath(), defaultRoot.first());
+		} finally {
+			Files.deleteIfExists(first);
+			Files.deleteIfExists(second);
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.utils.SqlRedoCompressor;
+
+public class OraCdcSqlRedoCompressionTest {
+
+	@Test
+	public void test() throws IOException {
+		final StringBuilder sb = new StringBuilder(4096);
+		sb.append("insert into \"AR\".\"RA_CUSTOMER_TRX_LINES_ALL\"(\"CUSTOMER_TRX_LINE_ID\",\"CUSTOMER_TRX_ID\"");
+		for (int i = 0; i < 40; i++) {
+			sb.append(",\"ATTRIBUTE").append(i).append("\"");
+		}
+		sb.append(") values ('1001','2002'");
+		for (int i = 0; i < 40; i++) {
+			sb.append(i % 2 == 0 ? ",NULL" : ",HEXTORAW('0000000000000000')");
+		}
+		sb.append(");\u0001 é");
+		final String sqlRedo = sb.toString();
+
+		final SqlRedoCompressor.Block block = SqlRedoCompressor.compress(sqlRedo);
+		assertTrue(block.length * 3 < sqlRedo.length());
+		final byte[] data = new byte[block.length];
+		System.arraycopy(block.data, 0, data, 0, block.length);
+		assertEquals(sqlRedo, SqlRedoCompressor.decompress(block.substitutedLength, data));
+		// No gain for very short statements
+		assertNull(SqlRedoCompressor.compress("x"));
+
+		final String tmpDir = System.getProperty("java.io.tmpdir");
+		final Path queuesRoot = FileSystems.getDefault().getPath(tmpDir);
+		final OraCdcTransaction transaction = new OraCdcTransaction(false, queuesRoot, "0A001F00B1050000");
+		transaction.setCompressSqlRedo(true);
+		final OraCdcLogMinerStatement large = new OraCdcLogMinerStatement(
+				74590, (short)1, sqlRedo, System.currentTimeMillis(), 275168436063l,
+				" 0x000098.000001b5.0010 ", 0, "AAAWbzAAEAAAB6FAAA");
+		final OraCdcLogMinerStatement small = new OraCdcLogMinerStatement(
+				74590, (short)3, "x", System.currentTimeMillis(), 275168436064l,
+				" 0x000098.000001b5.0020 ", 0, "AAAWbzAAEAAAB6FAAB");
+		transaction.addStatement(large);
+		transaction.addStatement(small);
+		assertTrue(transaction.getSpilledBytes() < sqlRedo.length());
+
+		final OraCdcLogMinerStatement read = new OraCdcLogMinerStatement();
+		transaction.getStatement(read);
+		assertEquals(sqlRedo, read.getSqlRedo());
+		assertEquals((short)1, read.getOperation());
+		assertEquals(large.getRowId(), read.getRowId());
+		transaction.getStatement(read);
+		assertEquals("x", read.getSqlRedo());
+		assertEquals((short)3, read.getOperation());
+		assertEquals(small.getScn(), read.getScn());
+		transaction.close();
+	}
+
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 
+ * Shared test data builders
+ * 
+ * @author averemee
+ *
+ */
+public class OraCdcTestFixtures {
+
+	/**
+	 * 
+	 * @param name
+	 * @param jdbcType
+	 * @param partOfPk
+	 * @return column definition for OraTable4LogMiner, columns which are not part of PK are nullable
+	 */
+	public static Map<String, Object> column(final String name, final int jdbcType, final boolean partOfPk) {
+		return column(name, jdbcType, partOfPk, !partOfPk);
+	}
+
+	/**
+	 * 
+	 * @param name
+	 * @param jdbcType
+	 * @param partOfPk
+	 * @param nullable
+	 * @return column definition for OraTable4LogMiner
+	 */
+	public static Map<String, Object> column(final String name, final int jdbcType,
+			final boolean partOfPk, final boolean nullable) {
+		final Map<String, Object> column = new HashMap<>();
+		column.put("columnName", name);
+		column.put("nameFromId", "\"" + name + "\"");
+		column.put("partOfPk", partOfPk);
+		column.put("jdbcType", jdbcType);
+		column.put("nullable", nullable);
+		return column;
+	}
+
+	/**
+	 * 
+	 * @param owner
+	 * @param name
+	 * @param columns created by column()
+	 * @return table definition for OraTable4LogMiner or dictionary file, table has PK and LOBs are not processed
+	 */
+	@SafeVarargs
+	public static Map<String, Object> tableData(final String owner, final String name,
+			final Map<String, Object>... columns) {
+		final Map<String, Object> tableData = new HashMap<>();
+		tableData.put("tableOwner", owner);
+		tableData.put("tableName", name);
+		tableData.put("processLobs", false);
+		tableData.put("tableWithPk", true);
+		tableData.put("columns", new ArrayList<>(Arrays.asList(columns)));
+		return tableData;
+	}
+
+	/**
+	 * 
+	 * @param owner
+	 * @param name
+	 * @param columns created by column()
+	 * @return table with Kafka topic named as table and AL32UTF8/AL16UTF16 decoder
+	 */
+	@SafeVarargs
+	public static OraTable4LogMiner table(final String owner, final String name,
+			final Map<String, Object>... columns) {
+		final OraTable4LogMiner table = new OraTable4LogMiner(
+				tableData(owner, name, columns), ParamConstants.SCHEMA_TYPE_INT_KAFKA_STD);
+		table.setTopicDecoderPartition("", ParamConstants.TOPIC_NAME_STYLE_INT_TABLE, "_",
+				new OraDumpDecoder("AL32UTF8", "AL16UTF16"), new HashMap<>());
+		return table;
+	}
+
+}
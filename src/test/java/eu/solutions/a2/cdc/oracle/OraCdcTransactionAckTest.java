@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class OraCdcTransactionAckTest {
+
+	private final static OraCdcLogMinerStatement updIn1 =  new  OraCdcLogMinerStatement(
+			74590, (short)3, "update DEPT set DNAME='SALES' where DEPTNO=10",
+			System.currentTimeMillis(),275168436063l," 0x000098.000001b5.0010 ",
+			0, "AAAWbzAAEAAAB6FAAA");
+
+	private final static OraCdcLogMinerStatement updIn2 =  new  OraCdcLogMinerStatement(
+			74590, (short)3, "update DEPT set DNAME='OPERATIONS' where DEPTNO=20",
+			System.currentTimeMillis(),275168436122l," 0x000098.000001b5.0020 ",
+			0, "AAAWbzAAEAAAB6FABB");
+
+	private final static OraCdcLogMinerStatement updIn3 =  new  OraCdcLogMinerStatement(
+			74590, (short)3, "update DEPT set DNAME='ACCOUNTING' where DEPTNO=30",
+			System.currentTimeMillis(),275168436125l," 0x000098.000001b5.0030 ",
+			0, "AAAWbzAAEAAAB6FACC");
+
+	@Test
+	public void test() throws IOException {
+		final String tmpDir = System.getProperty("java.io.tmpdir");
+		final Path queuesRoot = FileSystems.getDefault().getPath(tmpDir);
+		final OraCdcTransaction transaction = new OraCdcTransaction(queuesRoot, "0000270016000010", updIn1);
+		transaction.addStatement(updIn2);
+		transaction.addStatement(updIn3);
+
+		OraCdcLogMinerStatement updOut = new OraCdcLogMinerStatement();
+		assertTrue(transaction.getStatement(updOut));
+		final OraCdcTransaction.SentRecord sent1 = transaction.recordSent();
+		assertTrue(transaction.getStatement(updOut));
+		final OraCdcTransaction.SentRecord sent2 = transaction.recordSent();
+		transaction.recordAcked(sent2);
+
+		// Second record acknowledged before first, restart from beginning
+		assertFalse(transaction.allSentRecordsAcked());
+		Map<String, Object> attrs = transaction.attrsAsMap();
+		assertEquals(0, attrs.get("tailerOffset"));
+		assertFalse(attrs.containsKey("tailerIndex"));
+
+		transaction.recordAcked(sent1);
+		assertTrue(transaction.allSentRecordsAcked());
+		attrs = transaction.attrsAsMap();
+		assertEquals(2, attrs.get("tailerOffset"));
+		assertTrue(attrs.containsKey("tailerIndex"));
+
+		// Third record is not acknowledged, restart after second
+		assertTrue(transaction.getStatement(updOut));
+		transaction.recordSent();
+		assertFalse(transaction.allSentRecordsAcked());
+		attrs = transaction.attrsAsMap();
+		assertEquals(2, attrs.get("tailerOffset"));
+		assertTrue(attrs.containsKey("tailerIndex"));
+
+		// Restored transaction starts from acknowledged position, i.e. from third record
+		final OraCdcTransaction restored = OraCdcTransaction.restoreFromMap(attrs);
+		assertTrue(restored.getStatement(updOut));
+		final OraCdcTransaction.SentRecord sent3 = restored.recordSent();
+		assertEquals("Not same strings!", updIn3.getSqlRedo(), updOut.getSqlRedo());
+		attrs = restored.attrsAsMap();
+		assertEquals(2, attrs.get("tailerOffset"));
+		assertTrue(attrs.containsKey("tailerIndex"));
+		restored.recordAcked(sent3);
+		assertEquals(3, restored.attrsAsMap().get("tailerOffset"));
+		restored.close();
+	}
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import eu.solutions.a2.cdc.oracle.jmx.OraCdcTransactionInfo;
+
+public class OraCdcTransactionInfoTest {
+
+	private static OraCdcLogMinerStatement statement(final long scn) {
+		return new OraCdcLogMinerStatement(
+				74590, (short)3, "update DEPT set DNAME='SALES' where DEPTNO=10",
+				System.currentTimeMillis(), scn, " 0x000098.000001b5.0010 ",
+				0, "AAAWbzAAEAAAB6FAAA");
+	}
+
+	@Test
+	public void test() throws IOException {
+		final String tmpDir = System.getProperty("java.io.tmpdir");
+		final Path queuesRoot = FileSystems.getDefault().getPath(tmpDir);
+
+		final OraCdcTransaction small = new OraCdcTransaction(queuesRoot, "0000270016000011", statement(300));
+		final OraCdcTransaction large = new OraCdcTransaction(queuesRoot, "0000270016000012", statement(200));
+		large.addStatement(statement(301));
+		large.addStatement(statement(302));
+		final OraCdcTransaction oldest = new OraCdcTransaction(queuesRoot, "0000270016000013", statement(100));
+		oldest.addStatement(statement(303));
+
+		final List<OraCdcTransactionInfo> snapshot = new ArrayList<>();
+		snapshot.add(new OraCdcTransactionInfo(small));
+		snapshot.add(new OraCdcTransactionInfo(large));
+		snapshot.add(new OraCdcTransactionInfo(oldest));
+
+		snapshot.sort(OraCdcTransactionInfo.comparator(OraCdcTransactionInfo.ORDER_BY_ROWS));
+		assertEquals("0000270016000012", snapshot.get(0).getXid());
+		assertEquals(3, snapshot.get(0).getLength());
+		assertEquals("0000270016000011", snapshot.get(2).getXid());
+
+		snapshot.sort(OraCdcTransactionInfo.comparator("scn"));
+		assertEquals("0000270016000013", snapshot.get(0).getXid());
+		assertEquals(100, snapshot.get(0).getFirstChange());
+
+		final String line = snapshot.get(0).toString();
+		assertTrue(line, line.startsWith("XID=0000270016000013, FIRST_CHANGE#=100, ROWS=2,"));
+		assertTrue(line, line.contains("QUEUE=" + oldest.getPath()));
+
+		try {
+			OraCdcTransactionInfo.comparator("XID");
+			throw new AssertionError("IllegalArgumentException expected");
+		} catch (IllegalArgumentException iae) {
+			assertTrue(iae.getMessage().contains("XID"));
+		}
+
+		small.close();
+		large.close();
+		oldest.close();
+	}
+
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class OraCdcTransactionShareTest {
+
+	private final static OraCdcLogMinerStatement updIn1 =  new  OraCdcLogMinerStatement(
+			74590, (short)3, "update DEPT set DNAME='SALES' where DEPTNO=10",
+			System.currentTimeMillis(),275168436063l," 0x000098.000001b5.0010 ",
+			0, "AAAWbzAAEAAAB6FAAA");
+
+	private final static OraCdcLogMinerStatement updIn2 =  new  OraCdcLogMinerStatement(
+			74590, (short)3, "update DEPT set DNAME='OPERATIONS' where DEPTNO=20",
+			System.currentTimeMillis(),275168436122l," 0x000098.000001b5.0020 ",
+			0, "AAAWbzAAEAAAB6FABB");
+
+	private final static OraCdcLogMinerStatement updIn3 =  new  OraCdcLogMinerStatement(
+			74590, (short)3, "update DEPT set DNAME='ACCOUNTING' where DEPTNO=30",
+			System.currentTimeMillis(),275168436125l," 0x000098.000001b5.0030 ",
+			0, "AAAWbzAAEAAAB6FACC");
+
+	@Test
+	public void test() throws IOException {
+		final String tmpDir = System.getProperty("java.io.tmpdir");
+		final Path queuesRoot = FileSystems.getDefault().getPath(tmpDir);
+		final OraCdcTransaction transaction = new OraCdcTransaction(queuesRoot, "0000270016000011", updIn1);
+		transaction.addStatement(updIn2);
+		transaction.addStatement(updIn3);
+		assertArrayEquals(new long[] {74590}, transaction.getTableIds());
+
+		final OraCdcTransaction reader = transaction.share();
+		assertTrue(transaction.isShared());
+		assertEquals(transaction.getPath(), reader.getPath());
+		assertEquals(transaction.getXid(), reader.getXid());
+		assertEquals(transaction.getCommitScn(), reader.getCommitScn());
+
+		// Both readers are read independently
+		OraCdcLogMinerStatement updOut = new OraCdcLogMinerStatement();
+		for (OraCdcLogMinerStatement updIn : new OraCdcLogMinerStatement[] {updIn1, updIn2, updIn3}) {
+			assertTrue(reader.getStatement(updOut));
+			assertEquals("Not same strings!", updIn.getSqlRedo(), updOut.getSqlRedo());
+		}
+		assertFalse(reader.getStatement(updOut));
+		reader.close();
+		assertTrue(transaction.getPath().toFile().exists());
+
+		for (OraCdcLogMinerStatement updIn : new OraCdcLogMinerStatement[] {updIn1, updIn2, updIn3}) {
+			assertTrue(transaction.getStatement(updOut));
+			assertEquals("Not same strings!", updIn.getSqlRedo(), updOut.getSqlRedo());
+		}
+		transaction.close();
+		assertFalse(transaction.getPath().toFile().exists());
+	}
+
+	@Test
+	public void testClaim() throws IOException {
+		final String tmpDir = System.getProperty("java.io.tmpdir");
+		final Path queuesRoot = FileSystems.getDefault().getPath(tmpDir);
+		final OraCdcTransaction transaction = new OraCdcTransaction(queuesRoot, "0000270016000012", updIn1);
+		transaction.addStatement(updIn2);
+		final OraCdcTransaction reader = transaction.share();
+
+		// Subscriber stops before transaction is sent
+		reader.claim("test-connector");
+		final Map<String, Object> attrs = reader.attrsAsMap();
+		reader.close();
+		transaction.close();
+		assertTrue(transaction.getPath().toFile().exists());
+
+		// and reads it after restart
+		final OraCdcTransaction restored = OraCdcTransaction.restoreFromMap(attrs);
+		assertTrue(restored.isShared());
+		OraCdcLogMinerStatement updOut = new OraCdcLogMinerStatement();
+		for (OraCdcLogMinerStatement updIn : new OraCdcLogMinerStatement[] {updIn1, updIn2}) {
+			assertTrue(restored.getStatement(updOut));
+			assertEquals("Not same strings!", updIn.getSqlRedo(), updOut.getSqlRedo());
+		}
+		restored.close();
+		assertFalse(transaction.getPath().toFile().exists());
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package eu.solutions.a2.cdc.oracle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class OraCdcXidKeyTest {
+
+	@Test
+	public void test() throws IOException {
+		// XIDUSN=10, XIDSLT=31, XIDSQN=1457 on little-endian platform
+		final long xidKey = OraCdcTransaction.packXid(10, 31, 1457);
+		assertEquals(xidKey, OraCdcTransaction.xidKeyFromRaw("0A001F00B1050000"));
+		assertEquals("10.31.1457", OraCdcTransaction.xidKeyToString(xidKey));
+		assertEquals("65535.65535.4294967295",
+				OraCdcTransaction.xidKeyToString(OraCdcTransaction.packXid(0xFFFF, 0xFFFF, 0xFFFFFFFFL)));
+
+		final String tmpDir = System.getProperty("java.io.tmpdir");
+		final Path queuesRoot = FileSystems.getDefault().getPath(tmpDir);
+		final OraCdcTransaction transaction = new OraCdcTransaction(false, queuesRoot, "0A001F00B1050000");
+		transaction.setXidKey(xidKey);
+		Map<String, Object> attrs = transaction.attrsAsMap();
+		OraCdcTransaction restored = OraCdcTransaction.restoreFromMap(attrs);
+		assertTrue(restored.isXidKeyKnown());
+		assertEquals(xidKey, restored.getXidKey());
+
+		// State file without packed XID
+		attrs.remove("xidKey");
+		restored = OraCdcTransaction.restoreFromMap(attrs);
+		assertFalse(restored.isXidKeyKnown());
+		assertEquals(xidKey, restored.getXidKey());
+		restored.close();
+	}
+
+}